@@ -0,0 +1,108 @@
+package com.baracho.pontointeligente.api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.baracho.pontointeligente.api.ControlePontoApplication;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+
+/**
+ * Contexto da aplicação com o perfil test (H2 em memória), iniciado uma vez
+ * por fork, com uma empresa, um funcionario e QTD_LANCAMENTOS lançamentos.
+ * O log de SQL e as estatísticas do Hibernate ficam desligados para não
+ * entrarem na medição.
+ */
+@State(Scope.Benchmark)
+public class AplicacaoBenchmark {
+
+	public static final String CPF = "24291173474";
+	public static final int QTD_LANCAMENTOS = 1000;
+
+	/**
+	 * Propriedades das medições, passadas como argumentos de linha de comando
+	 * para prevalecer sobre o application.properties.
+	 */
+	public static final String[] ARGUMENTOS = {
+			"--spring.jpa.show-sql=false",
+			"--spring.jpa.properties.hibernate.show_sql=false",
+			"--spring.jpa.properties.hibernate.use_sql_comments=false",
+			"--spring.jpa.properties.hibernate.format_sql=false",
+			"--spring.jpa.properties.hibernate.generate_statistics=false",
+			"--logging.level.root=WARN" };
+
+	private ConfigurableApplicationContext contexto;
+	private Funcionario funcionario;
+
+	@Setup(Level.Trial)
+	public void iniciar() {
+		this.contexto = new SpringApplicationBuilder(ControlePontoApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("test")
+				.run(ARGUMENTOS);
+		this.popular();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		this.contexto.close();
+	}
+
+	public <T> T getBean(Class<T> tipo) {
+		return this.contexto.getBean(tipo);
+	}
+
+	public Funcionario getFuncionario() {
+		return funcionario;
+	}
+
+	private void popular() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.getBean(EmpresaRepository.class).save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(CPF);
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.getBean(FuncionarioRepository.class).save(funcionario);
+
+		long inicio = System.currentTimeMillis() - QTD_LANCAMENTOS * 3600_000L;
+		List<Lancamento> lancamentos = new ArrayList<Lancamento>(QTD_LANCAMENTOS);
+		for(int i = 0; i < QTD_LANCAMENTOS; i++) {
+			lancamentos.add(novoLancamento(this.funcionario, new Date(inicio + i * 3600_000L)));
+		}
+		this.getBean(LancamentoRepository.class).saveAll(lancamentos);
+	}
+
+	public static Lancamento novoLancamento(Funcionario funcionario, Date data) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(data);
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setDescricao("Lançamento de exemplo");
+		lancamento.setLocalizacao("-23.5505,-46.6333");
+		lancamento.setFuncionario(funcionario);
+		return lancamento;
+	}
+
+}
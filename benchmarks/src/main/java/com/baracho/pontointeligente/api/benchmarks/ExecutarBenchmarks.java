@@ -0,0 +1,32 @@
+package com.baracho.pontointeligente.api.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks com os argumentos de linha de comando do JMH. Sem -rf
+ * e -rff, o resultado é gravado em JSON em jmh-resultado.json, para comparar
+ * execuções entre commits.
+ */
+public class ExecutarBenchmarks {
+
+	public static final String ARQUIVO_RESULTADO = "jmh-resultado.json";
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions linhaComando = new CommandLineOptions(args);
+		ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaComando);
+		if(!linhaComando.getResultFormat().hasValue()) {
+			opcoes.resultFormat(ResultFormatType.JSON);
+		}
+		if(!linhaComando.getResult().hasValue()) {
+			opcoes.result(ARQUIVO_RESULTADO);
+		}
+		new Runner(opcoes.build()).run();
+	}
+
+}
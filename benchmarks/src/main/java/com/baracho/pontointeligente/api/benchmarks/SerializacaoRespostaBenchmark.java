@@ -0,0 +1,92 @@
+package com.baracho.pontointeligente.api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.baracho.pontointeligente.api.dtos.LancamentoDto;
+import com.baracho.pontointeligente.api.dtos.PaginaDto;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.utils.DataHoraCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização das respostas de listagem de lançamentos pelo ObjectMapper da
+ * aplicação: a página por cursor devolvida hoje pelo LancamentoController e a
+ * Page do Spring Data, usada antes da paginação por cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoRespostaBenchmark {
+
+	@Param({ "25", "1000" })
+	private int qtdItens;
+
+	private ObjectMapper objectMapper;
+	private Response<PaginaDto<LancamentoDto>> respostaPagina;
+	private Response<Page<LancamentoDto>> respostaPage;
+
+	@Setup(Level.Trial)
+	public void preparar(AplicacaoBenchmark aplicacao) {
+		this.objectMapper = aplicacao.getBean(ObjectMapper.class);
+		DataHoraCodec codec = aplicacao.getBean(DataHoraCodec.class);
+
+		long inicio = 1677669330000L;
+		List<LancamentoDto> itens = new ArrayList<LancamentoDto>(this.qtdItens);
+		for(int i = 0; i < this.qtdItens; i++) {
+			LancamentoDto lancamentoDto = new LancamentoDto();
+			lancamentoDto.setId(Optional.of((long) i + 1));
+			lancamentoDto.setData(codec.formatar(new Date(inicio + i * 3600_000L)));
+			lancamentoDto.setTipo(TipoEnum.values()[i % TipoEnum.values().length].name());
+			lancamentoDto.setDescricao("Lançamento de exemplo " + i);
+			lancamentoDto.setLocalizacao("-23.5505,-46.6333");
+			lancamentoDto.setFuncionarioId(1L);
+			itens.add(lancamentoDto);
+		}
+
+		PaginaDto<LancamentoDto> pagina = new PaginaDto<LancamentoDto>();
+		pagina.setItens(itens);
+		pagina.setQtdPorPagina(this.qtdItens);
+		pagina.setProximaPagina("AQkBAAABhpzqXkAAAAAAAAAAKg");
+		this.respostaPagina = new Response<PaginaDto<LancamentoDto>>();
+		this.respostaPagina.setData(pagina);
+
+		this.respostaPage = new Response<Page<LancamentoDto>>();
+		this.respostaPage.setData(new PageImpl<LancamentoDto>(itens, PageRequest.of(0, this.qtdItens), 10L * this.qtdItens));
+	}
+
+	@Benchmark
+	public byte[] respostaPaginaDto() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.respostaPagina);
+	}
+
+	@Benchmark
+	public byte[] respostaPage() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsBytes(this.respostaPage);
+	}
+
+}
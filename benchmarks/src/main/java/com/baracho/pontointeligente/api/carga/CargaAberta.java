@@ -0,0 +1,237 @@
+package com.baracho.pontointeligente.api.carga;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.baracho.pontointeligente.api.dtos.LancamentoDto;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.utils.DataHoraCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Dispara requisições em modelo aberto: os instantes de envio seguem um
+ * processo de Poisson com a taxa da ConfiguracaoCarga e não dependem das
+ * respostas anteriores, como clientes independentes batendo o ponto.
+ *
+ * A latência é medida a partir do instante em que a requisição deveria ter
+ * sido enviada, não de quando foi de fato. Se o disparador atrasar porque a
+ * máquina está saturada, a espera entra na medição e os percentis não sofrem
+ * de omissão coordenada. O tempo de serviço, do envio à resposta, é gravado
+ * à parte para comparação.
+ */
+public class CargaAberta {
+
+	private static final Logger log = LoggerFactory.getLogger(CargaAberta.class);
+
+	private static final Duration TEMPO_MAXIMO_RESPOSTA = Duration.ofSeconds(60);
+
+	/**
+	 * Operações e seus pesos no sorteio: a maior parte marca o ponto, o resto
+	 * consulta os lançamentos e o banco de horas.
+	 */
+	public enum Operacao {
+		MARCAR_PONTO(0.85),
+		LISTAR_LANCAMENTOS(0.10),
+		BANCO_HORAS(0.05);
+
+		private final double peso;
+
+		Operacao(double peso) {
+			this.peso = peso;
+		}
+	}
+
+	private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+	private final URI base;
+	private final ConfiguracaoCarga configuracao;
+	private final long[] funcionarios;
+	private final String[] tokens;
+	private final ObjectMapper objectMapper;
+	private final DataHoraCodec dataHoraCodec;
+	private final SplittableRandom aleatorio;
+
+	private final Map<Operacao, Recorder> latencias = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, Recorder> servico = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, Histogram> totalLatencias = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, Histogram> totalServico = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, AtomicLong> erros = new EnumMap<>(Operacao.class);
+
+	public CargaAberta(URI base, ConfiguracaoCarga configuracao, long[] funcionarios, String[] tokens,
+			ObjectMapper objectMapper, DataHoraCodec dataHoraCodec) {
+		this.base = base;
+		this.configuracao = configuracao;
+		this.funcionarios = funcionarios;
+		this.tokens = tokens;
+		this.objectMapper = objectMapper;
+		this.dataHoraCodec = dataHoraCodec;
+		this.aleatorio = new SplittableRandom(configuracao.getSemente());
+		for(Operacao operacao : Operacao.values()) {
+			this.latencias.put(operacao, new Recorder(3));
+			this.servico.put(operacao, new Recorder(3));
+			this.totalLatencias.put(operacao, new Histogram(3));
+			this.totalServico.put(operacao, new Histogram(3));
+			this.erros.put(operacao, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Executa a carga pela duração configurada e aguarda as respostas
+	 * pendentes. Os histogramas de cada segundo são gravados em arquivoLog.
+	 *
+	 * @param arquivoLog
+	 * @throws FileNotFoundException
+	 */
+	public void executar(String arquivoLog) throws FileNotFoundException {
+		List<CompletableFuture<?>> pendentes = new ArrayList<CompletableFuture<?>>();
+		ScheduledExecutorService intervalos = Executors.newSingleThreadScheduledExecutor();
+		try(PrintStream saida = new PrintStream(arquivoLog)) {
+			HistogramLogWriter escritor = new HistogramLogWriter(saida);
+			long inicioMillis = System.currentTimeMillis();
+			escritor.outputLogFormatVersion();
+			escritor.outputStartTime(inicioMillis);
+			escritor.setBaseTime(inicioMillis);
+			escritor.outputLegend();
+			intervalos.scheduleAtFixedRate(() -> this.gravarIntervalo(escritor), 1, 1, TimeUnit.SECONDS);
+
+			long inicio = System.nanoTime();
+			long duracao = this.configuracao.getDuracaoNanos();
+			double proxima = 0;
+			long disparadas = 0;
+			while(proxima < duracao) {
+				long pretendido = inicio + (long) proxima;
+				esperarAte(pretendido);
+				pendentes.add(this.disparar(this.sortearOperacao(), pretendido));
+				disparadas++;
+				// intervalo exponencial até a próxima chegada, na taxa do momento
+				proxima += -Math.log(1 - this.aleatorio.nextDouble()) / this.configuracao.taxaEm((long) proxima) * 1e9;
+			}
+			log.info("{} requisições disparadas, aguardando respostas", disparadas);
+			CompletableFuture.allOf(pendentes.toArray(new CompletableFuture<?>[0])).exceptionally(erro -> null).join();
+
+			intervalos.shutdown();
+			intervalos.awaitTermination(5, TimeUnit.SECONDS);
+			this.gravarIntervalo(escritor);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			intervalos.shutdownNow();
+		}
+	}
+
+	public Histogram getLatencias(Operacao operacao) {
+		return totalLatencias.get(operacao);
+	}
+
+	public Histogram getServico(Operacao operacao) {
+		return totalServico.get(operacao);
+	}
+
+	public long getErros(Operacao operacao) {
+		return erros.get(operacao).get();
+	}
+
+	private CompletableFuture<?> disparar(Operacao operacao, long pretendido) {
+		HttpRequest requisicao = this.montarRequisicao(operacao);
+		long envio = System.nanoTime();
+		return this.cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+				.whenComplete((resposta, erro) -> {
+					long fim = System.nanoTime();
+					this.latencias.get(operacao).recordValue(fim - pretendido);
+					this.servico.get(operacao).recordValue(fim - envio);
+					if(erro != null || resposta.statusCode() >= 400) {
+						this.erros.get(operacao).incrementAndGet();
+					}
+				});
+	}
+
+	private HttpRequest montarRequisicao(Operacao operacao) {
+		int indice = this.aleatorio.nextInt(this.funcionarios.length);
+		long funcionarioId = this.funcionarios[indice];
+		HttpRequest.Builder requisicao = HttpRequest.newBuilder().timeout(TEMPO_MAXIMO_RESPOSTA)
+				.header("Content-Type", "application/json")
+				.header("Authorization", "Bearer " + this.tokens[indice]);
+		switch(operacao) {
+		case MARCAR_PONTO:
+			return requisicao.uri(this.base.resolve("/api/lancamentos"))
+					.POST(HttpRequest.BodyPublishers.ofByteArray(this.marcacao(funcionarioId))).build();
+		case LISTAR_LANCAMENTOS:
+			return requisicao.uri(this.base.resolve("/api/lancamentos/funcionario/" + funcionarioId)).GET().build();
+		default:
+			return requisicao.uri(this.base.resolve("/api/funcionarios/" + funcionarioId + "/banco-horas")).GET().build();
+		}
+	}
+
+	private byte[] marcacao(long funcionarioId) {
+		LancamentoDto lancamentoDto = new LancamentoDto();
+		lancamentoDto.setId(Optional.empty());
+		lancamentoDto.setData(this.dataHoraCodec.formatar(new Date()));
+		// na troca de turno uns chegam e outros saem
+		lancamentoDto.setTipo(this.aleatorio.nextDouble() < 0.7 ? TipoEnum.INICIO_TRABALHO.name()
+				: TipoEnum.TERMINO_TRABALHO.name());
+		lancamentoDto.setLocalizacao("-23.5505,-46.6333");
+		lancamentoDto.setFuncionarioId(funcionarioId);
+		try {
+			return this.objectMapper.writeValueAsBytes(lancamentoDto);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Operacao sortearOperacao() {
+		double sorteio = this.aleatorio.nextDouble();
+		for(Operacao operacao : Operacao.values()) {
+			sorteio -= operacao.peso;
+			if(sorteio < 0) {
+				return operacao;
+			}
+		}
+		return Operacao.MARCAR_PONTO;
+	}
+
+	/**
+	 * Grava o intervalo de cada operação no log, com a operação como tag, e
+	 * acumula nos totais.
+	 */
+	private synchronized void gravarIntervalo(HistogramLogWriter escritor) {
+		for(Operacao operacao : Operacao.values()) {
+			Histogram intervalo = this.latencias.get(operacao).getIntervalHistogram();
+			intervalo.setTag(operacao.name());
+			escritor.outputIntervalHistogram(intervalo);
+			this.totalLatencias.get(operacao).add(intervalo);
+			this.totalServico.get(operacao).add(this.servico.get(operacao).getIntervalHistogram());
+		}
+	}
+
+	private static void esperarAte(long instante) {
+		long restante;
+		while((restante = instante - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(restante);
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.baracho.pontointeligente.api.carga;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos chave=valor.
+ *
+ * A taxa de chegada parte de taxa requisições por segundo, sobe em forma de
+ * sino até taxa * multiplicadorPico no meio da janela de pico (a troca de
+ * turno das 08:00) e volta à taxa base no resfriamento.
+ */
+public class ConfiguracaoCarga {
+
+	private int empresas = 5;
+	private int funcionariosPorEmpresa = 40;
+	private int anos = 1;
+	private double taxa = 20;
+	private double multiplicadorPico = 10;
+	private int segundosAquecimento = 15;
+	private int segundosPico = 30;
+	private int segundosResfriamento = 15;
+	private long semente = 42;
+	private String saida = "carga";
+
+	public ConfiguracaoCarga() {}
+
+	/**
+	 * @param args no formato chave=valor, com as chaves iguais aos campos
+	 * @return ConfiguracaoCarga
+	 * @throws IllegalArgumentException se uma chave não existir ou um valor for inválido
+	 */
+	public static ConfiguracaoCarga ler(String[] args) {
+		ConfiguracaoCarga configuracao = new ConfiguracaoCarga();
+		for(String arg : args) {
+			int separador = arg.indexOf('=');
+			if(separador <= 0) {
+				throw new IllegalArgumentException("Argumento fora do formato chave=valor: " + arg);
+			}
+			configuracao.definir(arg.substring(0, separador), arg.substring(separador + 1));
+		}
+		if(configuracao.empresas < 1 || configuracao.funcionariosPorEmpresa < 1 || configuracao.anos < 0
+				|| configuracao.taxa <= 0 || configuracao.multiplicadorPico < 1) {
+			throw new IllegalArgumentException("Configuração de carga inválida: " + configuracao);
+		}
+		return configuracao;
+	}
+
+	private void definir(String chave, String valor) {
+		switch(chave) {
+		case "empresas": this.empresas = Integer.parseInt(valor); break;
+		case "funcionariosPorEmpresa": this.funcionariosPorEmpresa = Integer.parseInt(valor); break;
+		case "anos": this.anos = Integer.parseInt(valor); break;
+		case "taxa": this.taxa = Double.parseDouble(valor); break;
+		case "multiplicadorPico": this.multiplicadorPico = Double.parseDouble(valor); break;
+		case "segundosAquecimento": this.segundosAquecimento = Integer.parseInt(valor); break;
+		case "segundosPico": this.segundosPico = Integer.parseInt(valor); break;
+		case "segundosResfriamento": this.segundosResfriamento = Integer.parseInt(valor); break;
+		case "semente": this.semente = Long.parseLong(valor); break;
+		case "saida": this.saida = valor; break;
+		default: throw new IllegalArgumentException("Parâmetro de carga desconhecido: " + chave);
+		}
+	}
+
+	/**
+	 * @param nanos tempo desde o início da carga
+	 * @return requisições por segundo pretendidas nesse instante
+	 */
+	public double taxaEm(long nanos) {
+		double segundos = nanos / 1e9 - this.segundosAquecimento;
+		if(segundos < 0 || segundos >= this.segundosPico) {
+			return this.taxa;
+		}
+		// sino centrado no meio da janela, com seis desvios padrão de largura
+		double desvio = this.segundosPico / 6.0;
+		double z = (segundos - this.segundosPico / 2.0) / desvio;
+		return this.taxa + this.taxa * (this.multiplicadorPico - 1) * Math.exp(-z * z / 2);
+	}
+
+	public long getDuracaoNanos() {
+		return TimeUnit.SECONDS.toNanos(this.segundosAquecimento + this.segundosPico + this.segundosResfriamento);
+	}
+
+	public int getEmpresas() {
+		return empresas;
+	}
+
+	public int getFuncionariosPorEmpresa() {
+		return funcionariosPorEmpresa;
+	}
+
+	public int getAnos() {
+		return anos;
+	}
+
+	public double getTaxa() {
+		return taxa;
+	}
+
+	public double getMultiplicadorPico() {
+		return multiplicadorPico;
+	}
+
+	public long getSemente() {
+		return semente;
+	}
+
+	public String getSaida() {
+		return saida;
+	}
+
+	@Override
+	public String toString() {
+		return "ConfiguracaoCarga [empresas=" + empresas + ", funcionariosPorEmpresa=" + funcionariosPorEmpresa
+				+ ", anos=" + anos + ", taxa=" + taxa + ", multiplicadorPico=" + multiplicadorPico
+				+ ", segundosAquecimento=" + segundosAquecimento + ", segundosPico=" + segundosPico
+				+ ", segundosResfriamento=" + segundosResfriamento + ", semente=" + semente + ", saida=" + saida + "]";
+	}
+
+}
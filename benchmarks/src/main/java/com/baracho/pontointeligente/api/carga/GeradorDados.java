@@ -0,0 +1,183 @@
+package com.baracho.pontointeligente.api.carga;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.services.LancamentoService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+
+/**
+ * Gera empresas, funcionarios e o histórico de lançamentos dos últimos anos,
+ * até ontem. Cada funcionario segue um turno, com atrasos, almoços e horas
+ * extras sorteados e cerca de 3% de faltas. A maior parte está no turno
+ * comercial das 08:00, o que concentra as marcações na troca de turno.
+ *
+ * Os lançamentos de cada funcionario são gravados pelo LancamentoService em
+ * uma transação, com o recálculo do banco de horas.
+ */
+public class GeradorDados {
+
+	private static final Logger log = LoggerFactory.getLogger(GeradorDados.class);
+
+	private static final double PROBABILIDADE_FALTA = 0.03;
+
+	/*
+	 * Turnos em minutos desde a meia-noite do dia da entrada; o noturno
+	 * termina no dia seguinte. Os turnos fora do comercial são escalas 6x1.
+	 */
+	private static final Turno[] TURNOS = {
+			new Turno(8 * 60, 12 * 60, 17 * 60, false, 0.60),
+			new Turno(6 * 60, 10 * 60, 14 * 60, true, 0.15),
+			new Turno(14 * 60, 18 * 60, 22 * 60, true, 0.15),
+			new Turno(22 * 60, 26 * 60, 30 * 60, true, 0.10) };
+
+	private final ApplicationContext contexto;
+	private final ConfiguracaoCarga configuracao;
+	private final Random aleatorio;
+	private final ZoneId fuso = ZoneId.systemDefault();
+
+	public GeradorDados(ApplicationContext contexto, ConfiguracaoCarga configuracao) {
+		this.contexto = contexto;
+		this.configuracao = configuracao;
+		this.aleatorio = new Random(configuracao.getSemente());
+	}
+
+	/**
+	 * @return ids dos funcionarios criados
+	 */
+	public long[] gerar() {
+		EmpresaRepository empresaRepository = this.contexto.getBean(EmpresaRepository.class);
+		FuncionarioRepository funcionarioRepository = this.contexto.getBean(FuncionarioRepository.class);
+		LancamentoService lancamentoService = this.contexto.getBean(LancamentoService.class);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(
+				this.contexto.getBean(PlatformTransactionManager.class));
+
+		// um único hash, o BCrypt de cada funcionario dominaria a geração
+		String senha = this.contexto.getBean(SenhaService.class).gerarHash("123456").join();
+		LocalDate hoje = LocalDate.now(this.fuso);
+		LocalDate inicio = hoje.minusYears(this.configuracao.getAnos());
+		long[] ids = new long[this.configuracao.getEmpresas() * this.configuracao.getFuncionariosPorEmpresa()];
+		long qtdLancamentos = 0;
+		int n = 0;
+
+		for(int e = 0; e < this.configuracao.getEmpresas(); e++) {
+			Empresa empresa = new Empresa();
+			empresa.setRazaoSocial("Empresa de carga " + e);
+			empresa.setCnpj(String.format("%014d", 10000000000000L + e));
+			empresa = empresaRepository.save(empresa);
+
+			for(int f = 0; f < this.configuracao.getFuncionariosPorEmpresa(); f++, n++) {
+				Funcionario funcionario = new Funcionario();
+				funcionario.setNome("Funcionario " + n);
+				funcionario.setEmail("funcionario" + n + "@empresa" + e + ".com");
+				funcionario.setCpf(String.format("%011d", 10000000000L + n));
+				funcionario.setSenha(senha);
+				funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+				funcionario.setValorHora(new BigDecimal("25.00"));
+				funcionario.setQtdHorasTrabalhoDia(8f);
+				funcionario.setQtdHorasAlmoco(1f);
+				funcionario.setEmpresa(empresa);
+				funcionario = funcionarioRepository.save(funcionario);
+				ids[n] = funcionario.getId();
+
+				List<Lancamento> lancamentos = this.historico(funcionario.getId(), this.sortearTurno(), inicio, hoje);
+				transactionTemplate.executeWithoutResult(status -> lancamentoService.persistirLote(lancamentos));
+				qtdLancamentos += lancamentos.size();
+			}
+			log.info("Empresa {} de {} gerada, {} lançamentos até agora", e + 1, this.configuracao.getEmpresas(),
+					qtdLancamentos);
+		}
+		return ids;
+	}
+
+	private List<Lancamento> historico(Long funcionarioId, Turno turno, LocalDate inicio, LocalDate fim) {
+		DayOfWeek folga = DayOfWeek.of((int) (funcionarioId % 7) + 1);
+		List<Lancamento> lancamentos = new ArrayList<Lancamento>();
+		for(LocalDate dia = inicio; dia.isBefore(fim); dia = dia.plusDays(1)) {
+			boolean trabalha = turno.escala6x1 ? dia.getDayOfWeek() != folga
+					: dia.getDayOfWeek() != DayOfWeek.SATURDAY && dia.getDayOfWeek() != DayOfWeek.SUNDAY;
+			if(!trabalha || this.aleatorio.nextDouble() < PROBABILIDADE_FALTA) {
+				continue;
+			}
+
+			ZonedDateTime meiaNoite = dia.atStartOfDay(this.fuso);
+			// chega um pouco antes, almoça por volta de uma hora e às vezes fica depois do horário
+			int entrada = turno.entrada * 60 + this.sortear(-2 * 60, 5 * 60, -25 * 60, 15 * 60);
+			int inicioAlmoco = turno.almoco * 60 + this.sortear(0, 5 * 60, -20 * 60, 20 * 60);
+			int terminoAlmoco = inicioAlmoco + 60 * 60 + this.sortear(0, 4 * 60, -15 * 60, 15 * 60);
+			int saida = turno.saida * 60 + this.sortear(5 * 60, 10 * 60, -15 * 60, 90 * 60);
+
+			lancamentos.add(novoLancamento(funcionarioId, meiaNoite.plusSeconds(entrada), TipoEnum.INICIO_TRABALHO));
+			lancamentos.add(novoLancamento(funcionarioId, meiaNoite.plusSeconds(inicioAlmoco), TipoEnum.INICIO_ALMOCO));
+			lancamentos.add(novoLancamento(funcionarioId, meiaNoite.plusSeconds(terminoAlmoco), TipoEnum.TERMINO_ALMOCO));
+			lancamentos.add(novoLancamento(funcionarioId, meiaNoite.plusSeconds(saida), TipoEnum.TERMINO_TRABALHO));
+		}
+		return lancamentos;
+	}
+
+	/**
+	 * @return segundos sorteados de uma normal, limitados a [minimo, maximo]
+	 */
+	private int sortear(int media, int desvio, int minimo, int maximo) {
+		int valor = (int) Math.round(media + this.aleatorio.nextGaussian() * desvio);
+		return Math.max(minimo, Math.min(maximo, valor));
+	}
+
+	private Turno sortearTurno() {
+		double sorteio = this.aleatorio.nextDouble();
+		for(Turno turno : TURNOS) {
+			sorteio -= turno.peso;
+			if(sorteio < 0) {
+				return turno;
+			}
+		}
+		return TURNOS[0];
+	}
+
+	private static Lancamento novoLancamento(Long funcionarioId, ZonedDateTime data, TipoEnum tipo) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(Date.from(data.toInstant()));
+		lancamento.setTipo(tipo);
+		lancamento.setLocalizacao("-23.5505,-46.6333");
+		lancamento.setFuncionario(new Funcionario());
+		lancamento.getFuncionario().setId(funcionarioId);
+		return lancamento;
+	}
+
+	private static final class Turno {
+		private final int entrada;
+		private final int almoco;
+		private final int saida;
+		private final boolean escala6x1;
+		private final double peso;
+
+		private Turno(int entrada, int almoco, int saida, boolean escala6x1, double peso) {
+			this.entrada = entrada;
+			this.almoco = almoco;
+			this.saida = saida;
+			this.escala6x1 = escala6x1;
+			this.peso = peso;
+		}
+	}
+
+}
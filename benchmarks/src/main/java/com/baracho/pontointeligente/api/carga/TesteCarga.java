@@ -0,0 +1,102 @@
+package com.baracho.pontointeligente.api.carga;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.net.URI;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.baracho.pontointeligente.api.ControlePontoApplication;
+import com.baracho.pontointeligente.api.benchmarks.AplicacaoBenchmark;
+import com.baracho.pontointeligente.api.carga.CargaAberta.Operacao;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.TokenService;
+import com.baracho.pontointeligente.api.utils.DataHoraCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Teste de carga da api no mesmo processo: sobe a aplicação com o perfil
+ * test (H2 em memória) numa porta livre, gera a massa de dados e reproduz o
+ * pico de marcações da troca de turno pela api REST.
+ *
+ * Ao final imprime os percentis por operação e grava, com o prefixo saida,
+ * a distribuição de percentis de cada operação (.hgrm) e o log de
+ * histogramas por segundo (.hlog), que mostra a evolução durante o pico.
+ */
+public class TesteCarga {
+
+	private static final Logger log = LoggerFactory.getLogger(TesteCarga.class);
+
+	private static final double NANOS_POR_MILLI = 1e6;
+
+	public static void main(String[] args) throws FileNotFoundException {
+		ConfiguracaoCarga configuracao = ConfiguracaoCarga.ler(args);
+		log.info("Iniciando teste de carga: {}", configuracao);
+
+		try(ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ControlePontoApplication.class)
+				.profiles("test")
+				.properties("server.port=0")
+				.run(AplicacaoBenchmark.ARGUMENTOS)) {
+			long inicio = System.currentTimeMillis();
+			long[] funcionarios = new GeradorDados(contexto, configuracao).gerar();
+			log.info("Massa de dados gerada em {} s", (System.currentTimeMillis() - inicio) / 1000);
+
+			String[] tokens = gerarTokens(contexto, funcionarios);
+
+			int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+			CargaAberta carga = new CargaAberta(URI.create("http://localhost:" + porta), configuracao, funcionarios,
+					tokens, contexto.getBean(ObjectMapper.class), contexto.getBean(DataHoraCodec.class));
+			carga.executar(configuracao.getSaida() + ".hlog");
+			relatar(carga, configuracao.getSaida());
+		}
+	}
+
+	/**
+	 * Um token por funcionario, como se cada um tivesse feito login, sem o
+	 * custo do bcrypt de POST /auth entrar no teste.
+	 */
+	private static String[] gerarTokens(ConfigurableApplicationContext contexto, long[] funcionarios) {
+		TokenService tokenService = contexto.getBean(TokenService.class);
+		IndiceIdentidadesService indiceIdentidadesService = contexto.getBean(IndiceIdentidadesService.class);
+		String[] tokens = new String[funcionarios.length];
+		for(int i = 0; i < funcionarios.length; i++) {
+			long empresaId = indiceIdentidadesService.buscarEmpresaIdDoFuncionario(funcionarios[i]);
+			tokens[i] = tokenService.gerarToken(new UsuarioAutenticado(funcionarios[i], empresaId, PerfilEnum.ROLE_USUARIO));
+		}
+		return tokens;
+	}
+
+	private static void relatar(CargaAberta carga, String saida) throws FileNotFoundException {
+		System.out.println();
+		System.out.printf("%-20s %9s %7s   %-43s   %-43s%n", "", "", "",
+				"latência desde o envio pretendido (ms)", "tempo de serviço (ms)");
+		System.out.printf("%-20s %9s %7s   %9s %9s %9s %9s   %9s %9s %9s %9s%n", "operação", "requisições", "erros",
+				"p50", "p99", "p99.9", "máx", "p50", "p99", "p99.9", "máx");
+		for(Operacao operacao : Operacao.values()) {
+			Histogram latencias = carga.getLatencias(operacao);
+			Histogram servico = carga.getServico(operacao);
+			System.out.printf("%-20s %9d %7d   %9.2f %9.2f %9.2f %9.2f   %9.2f %9.2f %9.2f %9.2f%n", operacao,
+					latencias.getTotalCount(), carga.getErros(operacao),
+					percentil(latencias, 50), percentil(latencias, 99), percentil(latencias, 99.9),
+					latencias.getMaxValue() / NANOS_POR_MILLI,
+					percentil(servico, 50), percentil(servico, 99), percentil(servico, 99.9),
+					servico.getMaxValue() / NANOS_POR_MILLI);
+
+			try(PrintStream arquivo = new PrintStream(saida + "-" + operacao.name().toLowerCase() + ".hgrm")) {
+				latencias.outputPercentileDistribution(arquivo, NANOS_POR_MILLI);
+			}
+		}
+	}
+
+	private static double percentil(Histogram histograma, double percentil) {
+		return histograma.getValueAtPercentile(percentil) / NANOS_POR_MILLI;
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import com.baracho.pontointeligente.api.benchmarks.AplicacaoBenchmark;
+import com.baracho.pontointeligente.api.dtos.EmpresaDto;
+import com.baracho.pontointeligente.api.dtos.FuncionarioDto;
+import com.baracho.pontointeligente.api.dtos.LancamentoDto;
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+
+/**
+ * Conversões entre DTOs e entidades feitas pelos controllers, com os beans
+ * do contexto da aplicação. Fica no pacote dos controllers para acessar os
+ * métodos de conversão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoDtoBenchmark {
+
+	private LancamentoController lancamentoController;
+	private FuncionarioController funcionarioController;
+	private EmpresaController empresaController;
+
+	private LancamentoDto lancamentoDto;
+	private Lancamento lancamento;
+	private LancamentoResumo resumo;
+	private Funcionario funcionario;
+
+	@Setup(Level.Trial)
+	public void preparar(AplicacaoBenchmark aplicacao) {
+		this.lancamentoController = aplicacao.getBean(LancamentoController.class);
+		this.funcionarioController = aplicacao.getBean(FuncionarioController.class);
+		this.empresaController = aplicacao.getBean(EmpresaController.class);
+
+		this.lancamentoDto = new LancamentoDto();
+		this.lancamentoDto.setId(Optional.empty());
+		this.lancamentoDto.setData("2023-03-01 08:15:30");
+		this.lancamentoDto.setTipo(TipoEnum.INICIO_TRABALHO.name());
+		this.lancamentoDto.setDescricao("Lançamento de exemplo");
+		this.lancamentoDto.setLocalizacao("-23.5505,-46.6333");
+		this.lancamentoDto.setFuncionarioId(1L);
+
+		this.funcionario = new Funcionario();
+		this.funcionario.setId(1L);
+		this.funcionario.setNome("Fulano de Tal");
+		this.funcionario.setEmail("email@email.com");
+		this.funcionario.setValorHora(new BigDecimal("42.50"));
+		this.funcionario.setQtdHorasTrabalhoDia(8f);
+		this.funcionario.setQtdHorasAlmoco(1f);
+		this.funcionario.setEmpresa(new Empresa());
+		this.funcionario.getEmpresa().setId(1L);
+		this.funcionario.getEmpresa().setCnpj("51463645000100");
+		this.funcionario.getEmpresa().setRazaoSocial("Empresa de exemplo");
+
+		this.lancamento = AplicacaoBenchmark.novoLancamento(this.funcionario, new Date(1677669330000L));
+		this.lancamento.setId(1L);
+		this.resumo = new LancamentoResumo(1L, new Date(1677669330000L), TipoEnum.INICIO_TRABALHO,
+				"Lançamento de exemplo", "-23.5505,-46.6333", 1L);
+	}
+
+	@Benchmark
+	public Lancamento dtoParaLancamento() throws ParseException {
+		BindingResult result = new BeanPropertyBindingResult(this.lancamentoDto, "lancamentoDto");
+		return this.lancamentoController.converterDtoParaLancamento(this.lancamentoDto, result);
+	}
+
+	@Benchmark
+	public LancamentoDto lancamentoParaDto() {
+		return this.lancamentoController.converterLancamentoParaLancamentoDto(this.lancamento);
+	}
+
+	@Benchmark
+	public LancamentoDto resumoParaDto() {
+		return this.lancamentoController.converterResumoParaLancamentoDto(this.resumo);
+	}
+
+	@Benchmark
+	public FuncionarioDto funcionarioParaDto() {
+		return this.funcionarioController.converterFuncionarioEmFuncionarioDto(this.funcionario);
+	}
+
+	@Benchmark
+	public EmpresaDto empresaParaDto() {
+		return this.empresaController.converterEmpresaEmEmpresaDto(this.funcionario.getEmpresa());
+	}
+
+}
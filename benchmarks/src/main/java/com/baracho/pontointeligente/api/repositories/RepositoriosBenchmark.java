@@ -0,0 +1,100 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.baracho.pontointeligente.api.benchmarks.AplicacaoBenchmark;
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+
+/**
+ * Operações dos repositórios no H2 em memória, com o funcionario e os
+ * lançamentos criados pelo AplicacaoBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoriosBenchmark {
+
+	private static final int QTD_POR_PAGINA = 25;
+
+	private LancamentoRepository lancamentoRepository;
+	private FuncionarioRepository funcionarioRepository;
+	private Funcionario funcionario;
+	private Long lancamentoId;
+	private Date dataLancamento;
+	private Date de;
+	private Date ate;
+	private Pageable primeiraPagina;
+
+	@Setup(Level.Trial)
+	public void preparar(AplicacaoBenchmark aplicacao) {
+		this.lancamentoRepository = aplicacao.getBean(LancamentoRepository.class);
+		this.funcionarioRepository = aplicacao.getBean(FuncionarioRepository.class);
+		this.funcionario = aplicacao.getFuncionario();
+		Lancamento lancamento = this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId(),
+				PageRequest.of(0, 1)).getContent().get(0);
+		this.lancamentoId = lancamento.getId();
+		this.dataLancamento = lancamento.getData();
+		this.de = new Date(0);
+		this.ate = new Date(Long.MAX_VALUE / 2);
+		this.primeiraPagina = PageRequest.of(0, QTD_POR_PAGINA,
+				Sort.by(Sort.Direction.DESC, "data").and(Sort.by(Sort.Direction.DESC, "id")));
+	}
+
+	@Benchmark
+	public Slice<LancamentoResumo> paginaPorCursor() {
+		return this.lancamentoRepository.findPrimeiraPagina(this.funcionario.getId(), this.de, this.ate,
+				this.primeiraPagina);
+	}
+
+	@Benchmark
+	public Page<Lancamento> paginaPorOffset() {
+		return this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId(), this.primeiraPagina);
+	}
+
+	@Benchmark
+	public Optional<LancamentoResumo> resumoPorId() {
+		return this.lancamentoRepository.findResumoPorId(this.lancamentoId);
+	}
+
+	@Benchmark
+	public Funcionario funcionarioPorCpf() {
+		return this.funcionarioRepository.findByCpf(AplicacaoBenchmark.CPF);
+	}
+
+	@Benchmark
+	public int atualizarLancamento() {
+		return this.lancamentoRepository.atualizar(this.lancamentoId, this.funcionario.getId(), this.dataLancamento,
+				TipoEnum.INICIO_TRABALHO, "Lançamento de exemplo", "-23.5505,-46.6333", new Date());
+	}
+
+	@Benchmark
+	public Lancamento incluirLancamento() {
+		return this.lancamentoRepository.save(AplicacaoBenchmark.novoLancamento(this.funcionario, new Date()));
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.baracho.pontointeligente.api.benchmarks.AplicacaoBenchmark;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+
+/**
+ * Hash e verificação de senha pelo SenhaService, com o custo de
+ * senha.bcrypt.custo, incluindo a passagem pelo pool de senhas. O cadastro
+ * paga a geração, e o login a verificação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SenhaServiceBenchmark {
+
+	private static final String SENHA = "123456";
+
+	private SenhaService senhaService;
+	private Funcionario funcionario;
+
+	@Setup(Level.Trial)
+	public void preparar(AplicacaoBenchmark aplicacao) {
+		this.senhaService = aplicacao.getBean(SenhaService.class);
+		// cópia fora do contexto de persistência, com o hash no custo configurado: a verificação não regrava a senha
+		this.funcionario = new Funcionario();
+		this.funcionario.setId(aplicacao.getFuncionario().getId());
+		this.funcionario.setSenha(this.senhaService.gerarHash(SENHA).join());
+	}
+
+	@Benchmark
+	public String gerarHash() {
+		return this.senhaService.gerarHash(SENHA).join();
+	}
+
+	@Benchmark
+	public boolean verificar() {
+		return this.senhaService.verificar(this.funcionario, SENHA).join();
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compara o DataHoraCodec com um SimpleDateFormat novo a cada chamada (a
+ * alternativa segura ao formato compartilhado) e com o DateTimeFormatter.
+ * Roda pelo método main, com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DataHoraCodecBenchmark {
+
+	private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+	private static final String TEXTO = "2023-03-01 08:15:30";
+
+	private final DataHoraCodec codec = new DataHoraCodec(FUSO);
+	private final DateTimeFormatter formatador = DateTimeFormatter.ofPattern(DataHoraCodec.FORMATO).withZone(FUSO);
+	private final Date data = new Date(1677669330000L);
+
+	@Benchmark
+	public String formatarCodec() {
+		return this.codec.formatar(this.data);
+	}
+
+	@Benchmark
+	public String formatarSimpleDateFormat() {
+		return novoFormato().format(this.data);
+	}
+
+	@Benchmark
+	public String formatarDateTimeFormatter() {
+		return this.formatador.format(this.data.toInstant());
+	}
+
+	@Benchmark
+	public long lerCodec() throws ParseException {
+		return this.codec.ler(TEXTO);
+	}
+
+	@Benchmark
+	public long lerSimpleDateFormat() throws ParseException {
+		return novoFormato().parse(TEXTO).getTime();
+	}
+
+	@Benchmark
+	public long lerDateTimeFormatter() {
+		return Instant.from(LocalDateTime.parse(TEXTO, this.formatador).atZone(FUSO)).toEpochMilli();
+	}
+
+	private static SimpleDateFormat novoFormato() {
+		SimpleDateFormat formato = new SimpleDateFormat(DataHoraCodec.FORMATO);
+		formato.setTimeZone(TimeZone.getTimeZone(FUSO));
+		return formato;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DataHoraCodecBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
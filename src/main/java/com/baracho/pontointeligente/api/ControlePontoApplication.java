@@ -1,15 +1,38 @@
 package com.baracho.pontointeligente.api;
 
+import java.time.ZoneId;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.baracho.pontointeligente.api.utils.DataHoraCodec;
+import com.baracho.pontointeligente.api.utils.DataHoraModule;
+import com.fasterxml.jackson.databind.Module;
 
 
-@SpringBootApplication(exclude = { SecurityAutoConfiguration.class })
+/* autenticação só por token JWT, sem o usuario em memória padrão do Spring Boot */
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
 public class ControlePontoApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ControlePontoApplication.class, args);
 	}
+	
+	/**
+	 * Formato de data e hora dos lançamentos, no fuso do servidor.
+	 */
+	@Bean
+	public DataHoraCodec dataHoraCodec() {
+		return new DataHoraCodec(ZoneId.systemDefault());
+	}
+	
+	@Bean
+	public Module dataHoraModule(DataHoraCodec dataHoraCodec) {
+		return new DataHoraModule(dataHoraCodec);
+	}
 
 }
@@ -0,0 +1,190 @@
+package com.baracho.pontointeligente.api.afd;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.baracho.pontointeligente.api.utils.FusoHorario;
+
+/**
+ * Escritor de arquivos AFD no leiaute da Portaria 671/2021.
+ *
+ * As marcações são formatadas em um buffer de linha reaproveitado e escritas
+ * direto no OutputStream, sem criar objetos por registro. O escritor gera o
+ * cabeçalho (tipo 1), as marcações (tipo 3) e o trailer (tipo 9).
+ */
+public final class AfdEscritor {
+
+	private static final byte[] FIM_LINHA = { '\r', '\n' };
+	private static final byte[] HEXA = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+	private static final String VERSAO_LEIAUTE = "003";
+
+	private final OutputStream saida;
+	private final ZoneId fuso;
+	private final FusoHorario fusoHorario;
+	private final byte[] linha = new byte[AfdLeiaute.TAMANHO_MARCACAO];
+	private long nsr;
+	private long marcacoes;
+
+	public AfdEscritor(OutputStream saida, ZoneId fuso) {
+		this.saida = saida;
+		this.fuso = fuso;
+		this.fusoHorario = new FusoHorario(fuso);
+	}
+
+	/**
+	 * Escreve o registro de cabeçalho (tipo 1).
+	 *
+	 * @param cnpj
+	 * @param razaoSocial
+	 * @param inicio
+	 * @param fim
+	 * @throws IOException
+	 */
+	public void escreverCabecalho(String cnpj, String razaoSocial, LocalDate inicio, LocalDate fim) throws IOException {
+		StringBuilder cabecalho = new StringBuilder(300);
+		cabecalho.append("000000000").append('1').append('1');
+		this.completar(cabecalho, apenasDigitos(cnpj), 14, '0', true);
+		this.completar(cabecalho, "", 14, ' ', false);
+		this.completar(cabecalho, razaoSocial == null ? "" : razaoSocial, 150, ' ', false);
+		this.completar(cabecalho, "", 17, ' ', false);
+		cabecalho.append(inicio.format(DateTimeFormatter.ISO_LOCAL_DATE));
+		cabecalho.append(fim.format(DateTimeFormatter.ISO_LOCAL_DATE));
+		cabecalho.append(ZonedDateTime.now(this.fuso).format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxx")));
+		cabecalho.append(VERSAO_LEIAUTE);
+
+		byte[] bytes = cabecalho.toString().getBytes(StandardCharsets.ISO_8859_1);
+		this.saida.write(bytes);
+		this.escreverCrc(bytes, bytes.length);
+		this.saida.write(FIM_LINHA);
+	}
+
+	/**
+	 * Escreve uma marcação de ponto (tipo 3) com o próximo NSR.
+	 *
+	 * @param dataHora milissegundos desde a epoch
+	 * @param cpf CPF do empregado em formato numérico
+	 * @throws IOException
+	 */
+	public void escreverMarcacao(long dataHora, long cpf) throws IOException {
+		byte[] l = this.linha;
+		this.nsr++;
+		this.marcacoes++;
+
+		int offsetSegundos = this.fusoHorario.offsetSegundos(dataHora);
+		long segundosLocais = Math.floorDiv(dataHora, 1000L) + offsetSegundos;
+		long dias = Math.floorDiv(segundosLocais, 86400L);
+		int segundosDoDia = (int) (segundosLocais - dias * 86400L);
+
+		long z = dias + 719468;
+		long era = Math.floorDiv(z, 146097);
+		long diaDaEra = z - era * 146097;
+		long anoDaEra = (diaDaEra - diaDaEra / 1460 + diaDaEra / 36524 - diaDaEra / 146096) / 365;
+		long diaDoAno = diaDaEra - (365 * anoDaEra + anoDaEra / 4 - anoDaEra / 100);
+		long mesAjustado = (5 * diaDoAno + 2) / 153;
+		int dia = (int) (diaDoAno - (153 * mesAjustado + 2) / 5 + 1);
+		int mes = (int) (mesAjustado < 10 ? mesAjustado + 3 : mesAjustado - 9);
+		int ano = (int) (anoDaEra + era * 400 + (mes <= 2 ? 1 : 0));
+
+		numero(l, AfdLeiaute.POSICAO_NSR, AfdLeiaute.TAMANHO_NSR, this.nsr);
+		l[AfdLeiaute.POSICAO_TIPO] = AfdLeiaute.TIPO_MARCACAO;
+		int d = AfdLeiaute.POSICAO_DATA_HORA;
+		numero(l, d, 4, ano);
+		l[d + 4] = '-';
+		numero(l, d + 5, 2, mes);
+		l[d + 7] = '-';
+		numero(l, d + 8, 2, dia);
+		l[d + 10] = 'T';
+		numero(l, d + 11, 2, segundosDoDia / 3600);
+		l[d + 13] = ':';
+		numero(l, d + 14, 2, segundosDoDia / 60 % 60);
+		l[d + 16] = ':';
+		numero(l, d + 17, 2, segundosDoDia % 60);
+		int offsetAbsoluto = Math.abs(offsetSegundos);
+		l[d + 19] = (byte) (offsetSegundos < 0 ? '-' : '+');
+		numero(l, d + 20, 2, offsetAbsoluto / 3600);
+		numero(l, d + 22, 2, offsetAbsoluto / 60 % 60);
+		numero(l, AfdLeiaute.POSICAO_CPF, AfdLeiaute.TAMANHO_CPF, cpf);
+
+		int tamanhoSemCrc = AfdLeiaute.TAMANHO_MARCACAO - 4;
+		int crc = crc16(l, tamanhoSemCrc);
+		for(int i = 0; i < 4; i++) {
+			l[tamanhoSemCrc + i] = HEXA[(crc >> (12 - 4 * i)) & 0xF];
+		}
+
+		this.saida.write(l, 0, AfdLeiaute.TAMANHO_MARCACAO);
+		this.saida.write(FIM_LINHA);
+	}
+
+	/**
+	 * Escreve o trailer (tipo 9) com a quantidade de registros de cada tipo.
+	 *
+	 * @throws IOException
+	 */
+	public void escreverTrailer() throws IOException {
+		StringBuilder trailer = new StringBuilder(64);
+		trailer.append("999999999");
+		this.completar(trailer, "0", 9, '0', true);
+		this.completar(trailer, Long.toString(this.marcacoes), 9, '0', true);
+		for(int tipo = 4; tipo <= 7; tipo++) {
+			this.completar(trailer, "0", 9, '0', true);
+		}
+		trailer.append('9');
+		this.saida.write(trailer.toString().getBytes(StandardCharsets.US_ASCII));
+		this.saida.write(FIM_LINHA);
+	}
+
+	public long getMarcacoes() {
+		return marcacoes;
+	}
+
+	private void escreverCrc(byte[] bytes, int tamanho) throws IOException {
+		int crc = crc16(bytes, tamanho);
+		for(int i = 0; i < 4; i++) {
+			this.saida.write(HEXA[(crc >> (12 - 4 * i)) & 0xF]);
+		}
+	}
+
+	private void completar(StringBuilder destino, String valor, int tamanho, char preenchimento, boolean aDireita) {
+		String ajustado = valor.length() > tamanho ? valor.substring(0, tamanho) : valor;
+		if(!aDireita) {
+			destino.append(ajustado);
+		}
+		for(int i = ajustado.length(); i < tamanho; i++) {
+			destino.append(preenchimento);
+		}
+		if(aDireita) {
+			destino.append(ajustado);
+		}
+	}
+
+	private static String apenasDigitos(String valor) {
+		return valor == null ? "" : valor.replaceAll("\\D", "");
+	}
+
+	private static void numero(byte[] destino, int inicio, int tamanho, long valor) {
+		for(int i = inicio + tamanho - 1; i >= inicio; i--) {
+			destino[i] = (byte) ('0' + valor % 10);
+			valor /= 10;
+		}
+	}
+
+	/**
+	 * CRC-16/KERMIT, o CRC exigido pela Portaria 671 para os registros do AFD.
+	 */
+	private static int crc16(byte[] bytes, int tamanho) {
+		int crc = 0;
+		for(int i = 0; i < tamanho; i++) {
+			crc ^= bytes[i] & 0xFF;
+			for(int bit = 0; bit < 8; bit++) {
+				crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+			}
+		}
+		return ((crc & 0xFF) << 8) | (crc >>> 8);
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.baracho.pontointeligente.api.afd;
+
+/**
+ * Leiaute do registro de marcação de ponto (tipo 3) do AFD da Portaria 671/2021.
+ *
+ * <pre>
+ * 001-009  NSR
+ * 010-010  tipo do registro ("3")
+ * 011-034  data e hora da marcação (AAAA-MM-ddThh:mm:00-0300)
+ * 035-046  CPF do empregado
+ * 047-050  CRC-16 do registro
+ * </pre>
+ */
+public final class AfdLeiaute {
+
+	public static final int TAMANHO_MARCACAO = 50;
+	public static final byte TIPO_MARCACAO = '3';
+
+	static final int POSICAO_NSR = 0;
+	static final int TAMANHO_NSR = 9;
+	static final int POSICAO_TIPO = 9;
+	static final int POSICAO_DATA_HORA = 10;
+	static final int POSICAO_CPF = 34;
+	static final int TAMANHO_CPF = 12;
+
+	private AfdLeiaute() {}
+
+	/**
+	 * Converte uma data do calendário gregoriano em dias desde 1970-01-01.
+	 *
+	 * @param ano
+	 * @param mes
+	 * @param dia
+	 * @return long
+	 */
+	public static long diasDesdeEpoch(int ano, int mes, int dia) {
+		int anoAjustado = mes <= 2 ? ano - 1 : ano;
+		long era = Math.floorDiv(anoAjustado, 400);
+		long anoDaEra = anoAjustado - era * 400;
+		long diaDoAno = (153L * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+		long diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+		return era * 146097 + diaDaEra - 719468;
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.baracho.pontointeligente.api.afd;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Leitor sequencial de arquivos AFD baseado em memória mapeada.
+ *
+ * O arquivo é mapeado em janelas e os registros de largura fixa são lidos
+ * direto dos bytes, sem criar Strings por linha. Linhas que não são marcações
+ * de ponto no leiaute da Portaria 671 (cabeçalho, ajustes, trailer, leiaute
+ * antigo da Portaria 1510) são contadas como ignoradas.
+ */
+public final class AfdLeitor {
+
+	private static final long TAMANHO_JANELA = 64L * 1024 * 1024;
+	private static final int TAMANHO_MAXIMO_LINHA = 1024;
+
+	private final FileChannel canal;
+	private final long tamanho;
+	private MappedByteBuffer janela;
+	private long inicioJanela;
+	private long posicao;
+	private long linhasLidas;
+	private long linhasIgnoradas;
+
+	/**
+	 * @param canal
+	 * @param posicaoInicial deslocamento, em bytes, do início de uma linha
+	 * @throws IOException
+	 */
+	public AfdLeitor(FileChannel canal, long posicaoInicial) throws IOException {
+		this.canal = canal;
+		this.tamanho = canal.size();
+		this.posicao = posicaoInicial;
+	}
+
+	/**
+	 * Avança até a próxima marcação de ponto, preenchendo a instância informada.
+	 *
+	 * @param marcacao
+	 * @return false ao final do arquivo
+	 * @throws IOException
+	 */
+	public boolean proxima(MarcacaoAfd marcacao) throws IOException {
+		while(this.posicao < this.tamanho) {
+			this.garantirJanela();
+			int inicio = (int) (this.posicao - this.inicioJanela);
+			int limite = this.janela.limit();
+			int fim = inicio;
+			while(fim < limite && this.janela.get(fim) != '\n') {
+				fim++;
+			}
+
+			if(fim == limite && this.inicioJanela + limite < this.tamanho && inicio > 0) {
+				this.mapear(this.posicao);
+				continue;
+			}
+
+			int fimConteudo = fim;
+			if(fimConteudo > inicio && this.janela.get(fimConteudo - 1) == '\r') {
+				fimConteudo--;
+			}
+			this.posicao = this.inicioJanela + Math.min(fim + 1, limite);
+			this.linhasLidas++;
+
+			if(this.lerMarcacao(inicio, fimConteudo - inicio, marcacao)) {
+				return true;
+			}
+			this.linhasIgnoradas++;
+		}
+		return false;
+	}
+
+	/**
+	 * @return deslocamento, em bytes, do início da próxima linha
+	 */
+	public long getPosicao() {
+		return posicao;
+	}
+
+	public long getTamanho() {
+		return tamanho;
+	}
+
+	public long getLinhasLidas() {
+		return linhasLidas;
+	}
+
+	public long getLinhasIgnoradas() {
+		return linhasIgnoradas;
+	}
+
+	private void garantirJanela() throws IOException {
+		if(this.janela == null) {
+			this.mapear(this.posicao);
+			return;
+		}
+
+		long fimJanela = this.inicioJanela + this.janela.limit();
+		if(fimJanela < this.tamanho && this.posicao + TAMANHO_MAXIMO_LINHA > fimJanela) {
+			this.mapear(this.posicao);
+		}
+	}
+
+	private void mapear(long inicio) throws IOException {
+		this.inicioJanela = inicio;
+		this.janela = this.canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMANHO_JANELA, this.tamanho - inicio));
+	}
+
+	private boolean lerMarcacao(int inicio, int tamanhoLinha, MarcacaoAfd marcacao) {
+		if(tamanhoLinha != AfdLeiaute.TAMANHO_MARCACAO
+				|| this.janela.get(inicio + AfdLeiaute.POSICAO_TIPO) != AfdLeiaute.TIPO_MARCACAO) {
+			return false;
+		}
+
+		long nsr = this.numero(inicio + AfdLeiaute.POSICAO_NSR, AfdLeiaute.TAMANHO_NSR);
+		long cpf = this.numero(inicio + AfdLeiaute.POSICAO_CPF, AfdLeiaute.TAMANHO_CPF);
+		int d = inicio + AfdLeiaute.POSICAO_DATA_HORA;
+		int ano = (int) this.numero(d, 4);
+		int mes = (int) this.numero(d + 5, 2);
+		int dia = (int) this.numero(d + 8, 2);
+		int hora = (int) this.numero(d + 11, 2);
+		int minuto = (int) this.numero(d + 14, 2);
+		int segundo = (int) this.numero(d + 17, 2);
+		int horasFuso = (int) this.numero(d + 20, 2);
+		int minutosFuso = (int) this.numero(d + 22, 2);
+		byte sinalFuso = this.janela.get(d + 19);
+
+		if(nsr < 0 || cpf <= 0 || ano < 0 || mes < 1 || mes > 12 || dia < 1 || dia > 31 || hora > 23 || minuto > 59
+				|| segundo > 59 || horasFuso < 0 || minutosFuso < 0 || (sinalFuso != '-' && sinalFuso != '+')) {
+			return false;
+		}
+
+		long segundosFuso = (horasFuso * 3600L + minutosFuso * 60L) * (sinalFuso == '-' ? -1 : 1);
+		long diaLocal = AfdLeiaute.diasDesdeEpoch(ano, mes, dia);
+		long segundos = diaLocal * 86400L + hora * 3600L + minuto * 60L + segundo - segundosFuso;
+		marcacao.preencher(nsr, segundos * 1000L, diaLocal, (diaLocal * 86400L - segundosFuso) * 1000L, cpf);
+		return true;
+	}
+
+	/**
+	 * Lê um número decimal de largura fixa. Retorna -1 se houver caracteres não numéricos.
+	 */
+	private long numero(int inicio, int tamanho) {
+		long valor = 0;
+		for(int i = inicio; i < inicio + tamanho; i++) {
+			int digito = this.janela.get(i) - '0';
+			if(digito < 0 || digito > 9) {
+				return -1;
+			}
+			valor = valor * 10 + digito;
+		}
+		return valor;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.baracho.pontointeligente.api.afd;
+
+/**
+ * Marcação de ponto (registro tipo 3) lida de um arquivo AFD.
+ *
+ * A instância é mutável e reaproveitada pelo leitor a cada linha, evitando
+ * alocação por registro.
+ */
+public final class MarcacaoAfd {
+
+	private long nsr;
+	private long dataHora;
+	private long dia;
+	private long inicioDoDia;
+	private long cpf;
+
+	public MarcacaoAfd() {}
+
+	/**
+	 * @return número sequencial do registro no arquivo
+	 */
+	public long getNsr() {
+		return nsr;
+	}
+
+	/**
+	 * @return data e hora da marcação em milissegundos desde a epoch
+	 */
+	public long getDataHora() {
+		return dataHora;
+	}
+
+	/**
+	 * @return dia da marcação no fuso registrado no arquivo, em dias desde a epoch
+	 */
+	public long getDia() {
+		return dia;
+	}
+
+	/**
+	 * @return início do dia da marcação no fuso registrado no arquivo, em
+	 *         milissegundos desde a epoch
+	 */
+	public long getInicioDoDia() {
+		return inicioDoDia;
+	}
+
+	/**
+	 * @return CPF do empregado em formato numérico
+	 */
+	public long getCpf() {
+		return cpf;
+	}
+
+	void preencher(long nsr, long dataHora, long dia, long inicioDoDia, long cpf) {
+		this.nsr = nsr;
+		this.dataHora = dataHora;
+		this.dia = dia;
+		this.inicioDoDia = inicioDoDia;
+		this.cpf = cpf;
+	}
+
+	@Override
+	public String toString() {
+		return "MarcacaoAfd [nsr=" + nsr + ", dataHora=" + dataHora + ", dia=" + dia + ", cpf=" + cpf + "]";
+	}
+
+}
@@ -0,0 +1,208 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.baracho.pontointeligente.api.dtos.EstatisticasCacheDto;
+import com.baracho.pontointeligente.api.dtos.FilaGravacaoDto;
+import com.baracho.pontointeligente.api.dtos.GravacaoJfrDto;
+import com.baracho.pontointeligente.api.dtos.TraceLentoDto;
+import com.baracho.pontointeligente.api.rastreamento.TracesLentos;
+import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.services.BancoHorasService;
+import com.baracho.pontointeligente.api.services.EstatisticasCacheService;
+import com.baracho.pontointeligente.api.services.GravacaoJfrService;
+import com.baracho.pontointeligente.api.services.impl.FilaGravacaoLancamentos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+	
+	private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+	
+	@Autowired
+	private FilaGravacaoLancamentos filaGravacao;
+	
+	@Autowired
+	private EstatisticasCacheService estatisticasCacheService;
+	
+	@Autowired
+	private TracesLentos tracesLentos;
+	
+	@Autowired
+	private GravacaoJfrService gravacaoJfrService;
+	
+	@Autowired
+	private BancoHorasService bancoHorasService;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	public AdminController() {}
+	
+	/**
+	 * Retorna as estatísticas da fila de gravação de lançamentos.
+	 * 
+	 * @return ResponseEntity<Response<FilaGravacaoDto>>
+	 */
+	@GetMapping(value = "/fila-gravacao")
+	public ResponseEntity<Response<FilaGravacaoDto>> estatisticasFilaGravacao() {
+		log.info("Consultando estatísticas da fila de gravação");
+		Response<FilaGravacaoDto> response = new Response<FilaGravacaoDto>();
+		response.setData(this.filaGravacao.obterEstatisticas());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retorna as estatísticas de cada região do cache de segundo nível.
+	 * 
+	 * @return ResponseEntity<Response<List<EstatisticasCacheDto>>>
+	 */
+	@GetMapping(value = "/cache")
+	public ResponseEntity<Response<List<EstatisticasCacheDto>>> estatisticasCache() {
+		log.info("Consultando estatísticas do cache");
+		Response<List<EstatisticasCacheDto>> response = new Response<List<EstatisticasCacheDto>>();
+		response.setData(this.estatisticasCacheService.obterEstatisticas());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retorna as requisições mais lentas da janela recente, com o tempo de
+	 * cada fase (controller, servico, repositorio, serializacao).
+	 * 
+	 * @return ResponseEntity<Response<List<TraceLentoDto>>>
+	 */
+	@GetMapping(value = "/traces/slow")
+	public ResponseEntity<Response<List<TraceLentoDto>>> tracesLentos() {
+		log.info("Consultando as requisições mais lentas");
+		Response<List<TraceLentoDto>> response = new Response<List<TraceLentoDto>>();
+		response.setData(this.tracesLentos.obterLentos());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Inicia uma gravação do Java Flight Recorder, que para sozinha depois de
+	 * duracaoSegundos (limitada a jfr.duracao_maxima_segundos).
+	 * 
+	 * @param duracaoSegundos
+	 * @return ResponseEntity<Response<GravacaoJfrDto>>
+	 */
+	@PostMapping(value = "/jfr")
+	public ResponseEntity<Response<GravacaoJfrDto>> iniciarGravacaoJfr(
+			@RequestParam(value = "duracaoSegundos", defaultValue = "60") long duracaoSegundos) {
+		log.info("Iniciando gravação JFR por {} s", duracaoSegundos);
+		Response<GravacaoJfrDto> response = new Response<GravacaoJfrDto>();
+		Optional<GravacaoJfrDto> gravacao = this.gravacaoJfrService.iniciar(duracaoSegundos);
+		if(!gravacao.isPresent()) {
+			response.getErrors().add("Já existe uma gravação JFR em andamento");
+			return ResponseEntity.badRequest().body(response);
+		}
+		response.setData(gravacao.get());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retorna o estado da última gravação JFR.
+	 * 
+	 * @return ResponseEntity<Response<GravacaoJfrDto>>
+	 */
+	@GetMapping(value = "/jfr")
+	public ResponseEntity<Response<GravacaoJfrDto>> estadoGravacaoJfr() {
+		Response<GravacaoJfrDto> response = new Response<GravacaoJfrDto>();
+		Optional<GravacaoJfrDto> gravacao = this.gravacaoJfrService.obterEstado();
+		if(!gravacao.isPresent()) {
+			response.getErrors().add("Nenhuma gravação JFR iniciada");
+			return ResponseEntity.badRequest().body(response);
+		}
+		response.setData(gravacao.get());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Para a gravação JFR em andamento e retorna o arquivo .jfr, que pode ser
+	 * aberto no JDK Mission Control ou lido com "jfr print".
+	 * 
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	@PostMapping(value = "/jfr/parar")
+	public ResponseEntity<StreamingResponseBody> pararGravacaoJfr() {
+		log.info("Parando gravação JFR");
+		Optional<Path> arquivo = this.gravacaoJfrService.parar();
+		if(!arquivo.isPresent()) {
+			Response<GravacaoJfrDto> response = new Response<GravacaoJfrDto>();
+			response.getErrors().add("Nenhuma gravação JFR iniciada");
+			return this.erro(response);
+		}
+		
+		String nome = "ponto-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".jfr";
+		StreamingResponseBody corpo = saida -> {
+			try {
+				Files.copy(arquivo.get(), saida);
+			} finally {
+				Files.deleteIfExists(arquivo.get());
+			}
+		};
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + "\"")
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(corpo);
+	}
+
+	/**
+	 * Recalcula os totais diários e o banco de horas a partir dos lançamentos,
+	 * de um funcionario ou de todos. Preenche o histórico gravado antes dos
+	 * totais diários existirem; pode ser repetido sem alterar o resultado.
+	 * 
+	 * @param funcionarioId
+	 * @return ResponseEntity<Response<Integer>> quantidade de funcionarios recalculados
+	 */
+	@PostMapping(value = "/banco-horas/recalcular")
+	public ResponseEntity<Response<Integer>> recalcularBancoHoras(
+			@RequestParam(value = "funcionarioId", required = false) Long funcionarioId) {
+		log.info("Recalculando histórico do banco de horas. Funcionario: {}", funcionarioId);
+		Response<Integer> response = new Response<Integer>();
+		if(funcionarioId != null) {
+			this.bancoHorasService.recalcularHistorico(funcionarioId);
+			response.setData(1);
+		}else {
+			response.setData(this.bancoHorasService.recalcularHistorico());
+		}
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Resposta de erro de um endpoint de arquivo, serializada aqui porque o
+	 * corpo precisa ser um StreamingResponseBody.
+	 * 
+	 * @param response
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	private ResponseEntity<StreamingResponseBody> erro(Response<GravacaoJfrDto> response) {
+		try {
+			byte[] corpo = this.objectMapper.writeValueAsBytes(response);
+			return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(saida -> saida.write(corpo));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Erro serializando resposta", e);
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.baracho.pontointeligente.api.dtos.AutenticacaoDto;
+import com.baracho.pontointeligente.api.dtos.TokenDto;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.FuncionarioService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+import io.opentelemetry.context.Context;
+
+@RestController
+@RequestMapping("/auth")
+@CrossOrigin(origins = "*")
+public class AutenticacaoController {
+	
+	private static final Logger log = LoggerFactory.getLogger(AutenticacaoController.class);
+	private static final String CREDENCIAIS_INVALIDAS = "Email ou senha inválidos.";
+	
+	@Autowired
+	private FuncionarioService funcionarioService;
+	
+	@Autowired
+	private SenhaService senhaService;
+	
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private Executor executorRequisicoes;
+	
+	@Autowired
+	private TokenService tokenService;
+	
+	public AutenticacaoController() {}
+	
+	/**
+	 * Gera um token JWT para o funcionario com o email e a senha informados.
+	 * A senha é conferida no pool de senhas e o token é gerado no executor
+	 * das requisições quando a verificação termina.
+	 * 
+	 * @param autenticacaoDto
+	 * @param result
+	 * @return CompletableFuture<ResponseEntity<Response<TokenDto>>>
+	 */
+	@PostMapping
+	public CompletableFuture<ResponseEntity<Response<TokenDto>>> autenticar(@Valid @RequestBody AutenticacaoDto autenticacaoDto,
+			BindingResult result) {
+		log.info("Autenticando: {}", autenticacaoDto);
+		Response<TokenDto> response = new Response<TokenDto>();
+		
+		if(result.hasErrors()) {
+			log.error("Erro validando autenticação: {}", result.getAllErrors());
+			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+		}
+		
+		// email não cadastrado também passa por uma verificação de senha, para não responder mais rápido
+		Optional<Funcionario> funcionario = this.funcionarioService.buscarEmail(autenticacaoDto.getEmail());
+		CompletableFuture<Boolean> verificacao = funcionario.isPresent()
+				? this.senhaService.verificar(funcionario.get(), autenticacaoDto.getSenha())
+				: this.senhaService.verificarSemCadastro(autenticacaoDto.getSenha());
+		
+		return verificacao.thenApplyAsync(valida -> {
+			if(!valida) {
+				log.info("Autenticação recusada para o funcionario {}", funcionario.map(Funcionario::getId).orElse(null));
+				response.getErrors().add(CREDENCIAIS_INVALIDAS);
+				return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+			}
+			// o id da empresa vem da chave estrangeira, sem carregar a empresa
+			UsuarioAutenticado usuario = new UsuarioAutenticado(funcionario.get().getId(),
+					funcionario.get().getEmpresa().getId(), funcionario.get().getPerfil());
+			response.setData(new TokenDto(this.tokenService.gerarToken(usuario)));
+			return ResponseEntity.ok(response);
+		}, Context.taskWrapping(this.executorRequisicoes));
+	}
+
+}
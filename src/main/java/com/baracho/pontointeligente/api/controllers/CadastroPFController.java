@@ -1,14 +1,19 @@
 package com.baracho.pontointeligente.api.controllers;
 
 import java.math.BigDecimal;
-import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
@@ -23,9 +28,14 @@ import com.baracho.pontointeligente.api.entities.Empresa;
 import com.baracho.pontointeligente.api.entities.Funcionario;
 import com.baracho.pontointeligente.api.enums.PerfilEnum;
 import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
 import com.baracho.pontointeligente.api.services.EmpresaServices;
 import com.baracho.pontointeligente.api.services.FuncionarioService;
-import com.baracho.pontointeligente.api.utils.PasswordUtils;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+import com.baracho.pontointeligente.api.utils.RestricoesUtils;
+
+import io.opentelemetry.context.Context;
 
 @RestController
 @RequestMapping("api/cadastrar-pf")
@@ -34,28 +44,52 @@ public class CadastroPFController {
 	
 	private static final Logger log = LoggerFactory.getLogger(CadastroPFController.class);
 	
+	private static final String CPF_EXISTENTE = "CPF já existente";
+	private static final String EMAIL_EXISTENTE = "Email já existente";
+	
 	@Autowired
 	private EmpresaServices empresaService;
 	
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidades;
+	
 	@Autowired 
 	private FuncionarioService funcionarioService;
 	
+	@Autowired
+	private SenhaService senhaService;
+	
+	@Autowired
+	private ControleAcesso controleAcesso;
+	
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private Executor executorRequisicoes;
+	
 	public CadastroPFController() {}
 	
 	/**
-	 * Cadastrar um funcionario pessoa fisica no sistema.
+	 * Cadastrar um funcionario pessoa fisica no sistema, feito por um
+	 * ROLE_ADMIN da empresa do funcionario. O hash da senha é
+	 * gerado no pool de senhas e a gravação segue no executor das requisições,
+	 * sem ocupar as threads de hash.
 	 * 
 	 * @param cadastroPFDto  
 	 * @param result 
-	 * @return ResponseEntity<Response<CadastroPFDto>> 
-	 * @throws NoSuchAlgorithmException 
+	 * @return CompletableFuture<ResponseEntity<Response<CadastroPFDto>>> 
 	 * 
 	 */
 	@PostMapping
-	public ResponseEntity<Response<CadastroPFDto>> cadastrarPFDto(@Valid @RequestBody CadastroPFDto cadastroPFDto, BindingResult result) throws NoSuchAlgorithmException{
+	public CompletableFuture<ResponseEntity<Response<CadastroPFDto>>> cadastrarPFDto(@Valid @RequestBody CadastroPFDto cadastroPFDto, BindingResult result) {
 
-		log.info("cadastro de Pessoa Fisica: {}", cadastroPFDto.toString());
+		log.info("cadastro de Pessoa Fisica: {}", cadastroPFDto);
 		Response<CadastroPFDto> response = new Response<CadastroPFDto>();
+		Optional<Empresa> empresa = this.empresaService.buscarPorCnpj(cadastroPFDto.getCnpj());
+		if(empresa.isPresent() && !this.controleAcesso.podeAcessarEmpresa(empresa.get().getId())) {
+			log.info("Acesso negado à empresa {} para {}", empresa.get().getId(), this.controleAcesso.usuario().orElse(null));
+			response.getErrors().add(ControleAcesso.ACESSO_NEGADO_EMPRESA);
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body(response));
+		}
 		
 		validarDadosExistentes(cadastroPFDto, result);
 		Funcionario funcionario = this.converterDtoParaFuncionario(cadastroPFDto, result);
@@ -63,14 +97,29 @@ public class CadastroPFController {
 		if(result.hasErrors()) {
 			log.error("Erro validando dados de cadastro de Pessoa Fisica: {}", result.getAllErrors());
 			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
-			return ResponseEntity.badRequest().body(response);
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
 		}
 		
-		Optional<Empresa> empresa = this.empresaService.buscarPorCnpj(cadastroPFDto.getCnpj());
 		empresa.ifPresent(emp -> funcionario.setEmpresa(emp));
-		this.funcionarioService.persistir(funcionario);
-		response.setData(this.converterCadastroPFDto(funcionario));
-		return ResponseEntity.ok(response);
+		return this.senhaService.gerarHash(cadastroPFDto.getSenha()).thenApplyAsync(hash -> {
+			funcionario.setSenha(hash);
+			try {
+				this.funcionarioService.persistir(funcionario);
+			} catch (DataIntegrityViolationException e) {
+				// cadastro simultâneo, possivelmente em outra instância, passou pela validação
+				if(RestricoesUtils.violou(e, Funcionario.CHAVE_CPF)) {
+					response.getErrors().add(CPF_EXISTENTE);
+				} else if(RestricoesUtils.violou(e, Funcionario.CHAVE_EMAIL)) {
+					response.getErrors().add(EMAIL_EXISTENTE);
+				} else {
+					throw e;
+				}
+				log.info("Cadastro PF recusado pela chave única: {}", response.getErrors());
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(this.converterCadastroPFDto(funcionario));
+			return ResponseEntity.ok(response);
+		}, Context.taskWrapping(this.executorRequisicoes));
 	}
 	
 	
@@ -80,16 +129,16 @@ public class CadastroPFController {
 	
 	
 	private void validarDadosExistentes(CadastroPFDto cadastroPFDto, BindingResult result) {
-		Optional<Empresa> empresa = this.empresaService.buscarPorCnpj(cadastroPFDto.getCnpj());
-		if(!empresa.isPresent()) {
+		if(!this.indiceIdentidades.cnpjCadastrado(cadastroPFDto.getCnpj())) {
 			result.addError(new ObjectError("empresa", "Empresa não cadastrada"));
 		}
 		
-		this.funcionarioService.buscarPorCpf(cadastroPFDto.getCpf()) 
-				.ifPresent(func -> result.addError(new ObjectError("funcionario", "CPF já existente")));
+		if(this.indiceIdentidades.cpfCadastrado(cadastroPFDto.getCpf())) {
+			result.addError(new ObjectError("funcionario", CPF_EXISTENTE));
+		}
 		
 		this.funcionarioService.buscarEmail(cadastroPFDto.getEmail()) 
-				.ifPresent(func -> result.addError(new ObjectError("funcionario", "Email já existente")));
+				.ifPresent(func -> result.addError(new ObjectError("funcionario", EMAIL_EXISTENTE)));
 		
 		
 	}
@@ -99,15 +148,13 @@ public class CadastroPFController {
 	 * @param cadastroPFDto
 	 * @param result
 	 * @return Funcionario
-	 * @throws NoSuchAlgorithmException
 	 */
-	private Funcionario converterDtoParaFuncionario(CadastroPFDto cadastroPFDto, BindingResult result) throws NoSuchAlgorithmException{
+	private Funcionario converterDtoParaFuncionario(CadastroPFDto cadastroPFDto, BindingResult result) {
 		Funcionario funcionario = new Funcionario();
 		funcionario.setNome(cadastroPFDto.getNome());
 		funcionario.setEmail(cadastroPFDto.getEmail());
 		funcionario.setCpf(cadastroPFDto.getCpf());
 		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
-		funcionario.setSenha(PasswordUtils.gerarBcrypt(cadastroPFDto.getSenha()));
 		cadastroPFDto.getQtdHorasAlmoco()
 					.ifPresent(qtdHorasAlmoco -> funcionario.setQtdHorasAlmoco(Float.valueOf(qtdHorasAlmoco)));
 		
@@ -1,16 +1,22 @@
 package com.baracho.pontointeligente.api.controllers;
 
-import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,7 +28,11 @@ import com.baracho.pontointeligente.api.enums.PerfilEnum;
 import com.baracho.pontointeligente.api.response.Response;
 import com.baracho.pontointeligente.api.services.EmpresaServices;
 import com.baracho.pontointeligente.api.services.FuncionarioService;
-import com.baracho.pontointeligente.api.utils.PasswordUtils;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+import com.baracho.pontointeligente.api.utils.RestricoesUtils;
+
+import io.opentelemetry.context.Context;
 
 @RestController
 @RequestMapping("/api/cadastrar-pj")
@@ -30,28 +40,48 @@ import com.baracho.pontointeligente.api.utils.PasswordUtils;
 public class CadastroPJController {
 	private static final Logger log = LoggerFactory.getLogger(CadastroPJController.class);
 	
+	private static final String EMPRESA_EXISTENTE = "Empresa já existente.";
+	private static final String CPF_EXISTENTE = "CPF já existente";
+	private static final String EMAIL_EXISTENTE = "Emial já existente";
+	
 	@Autowired
 	private FuncionarioService funcionarioService;
 	
 	@Autowired
 	private EmpresaServices empresaService;
 	
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidades;
+	
+	@Autowired
+	private SenhaService senhaService;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private Executor executorRequisicoes;
+	
 	
 	
 	public CadastroPJController() {}
 	
 	/**
-	 * Cadastra uma pessoa jurídica no sistema.
+	 * Cadastra uma pessoa jurídica no sistema. O funcionario cadastrado é
+	 * ROLE_ADMIN só da empresa nova, que ainda não tem outros funcionarios.
+	 * O hash da senha é gerado no
+	 * pool de senhas e a gravação segue no executor das requisições, sem
+	 * ocupar as threads de hash.
 	 * 
 	 * @param cadastroPJDto
 	 * @param result
-	 * @return ResponseEntity<Response<CadastroPJDto>>
-	 * @throws NoSuchAlgorithmException
+	 * @return CompletableFuture<ResponseEntity<Response<CadastroPJDto>>>
 	 */
-	
-	public ResponseEntity<Response<CadastroPJDto>> cadastrar(@Valid @RequestBody CadastroPJDto cadastroPJDto, 
-			BindingResult result) throws NoSuchAlgorithmException{
-		log.info("Cadastro PJ: {}", cadastroPJDto.toString());
+	@PostMapping
+	public CompletableFuture<ResponseEntity<Response<CadastroPJDto>>> cadastrar(@Valid @RequestBody CadastroPJDto cadastroPJDto, 
+			BindingResult result) {
+		log.info("Cadastro PJ: {}", cadastroPJDto);
 		
 		Response<CadastroPJDto> response = new Response<CadastroPJDto>();
 		
@@ -62,17 +92,35 @@ public class CadastroPJController {
 		if(result.hasErrors()) {
 			log.error("Erro validando dados de cadastro PJ: {}", result.getAllErrors());
 			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
-			return ResponseEntity.badRequest().body(response);
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
 		}
 		
-		this.empresaService.persistir(empresa);
-		funcionario.setEmpresa(empresa);
-		this.funcionarioService.persistir(funcionario);
-		
-		response.setData(this.converterCadastroPJDto(funcionario));
-		
-		
-		return ResponseEntity.ok(response);
+		return this.senhaService.gerarHash(cadastroPJDto.getSenha()).thenApplyAsync(hash -> {
+			funcionario.setSenha(hash);
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> {
+					this.empresaService.persistir(empresa);
+					funcionario.setEmpresa(empresa);
+					this.funcionarioService.persistir(funcionario);
+				});
+			} catch (DataIntegrityViolationException e) {
+				// cadastro simultâneo, possivelmente em outra instância, passou pela validação
+				if(RestricoesUtils.violou(e, Empresa.CHAVE_CNPJ)) {
+					response.getErrors().add(EMPRESA_EXISTENTE);
+				} else if(RestricoesUtils.violou(e, Funcionario.CHAVE_CPF)) {
+					response.getErrors().add(CPF_EXISTENTE);
+				} else if(RestricoesUtils.violou(e, Funcionario.CHAVE_EMAIL)) {
+					response.getErrors().add(EMAIL_EXISTENTE);
+				} else {
+					throw e;
+				}
+				log.info("Cadastro PJ recusado pela chave única: {}", response.getErrors());
+				return ResponseEntity.badRequest().body(response);
+			}
+			
+			response.setData(this.converterCadastroPJDto(funcionario));
+			return ResponseEntity.ok(response);
+		}, Context.taskWrapping(this.executorRequisicoes));
 	}
 	
 	/**
@@ -83,14 +131,16 @@ public class CadastroPJController {
 	 */
 	
 	private void validarDadosExistentes(CadastroPJDto cadastroPJDto, BindingResult result) {
-		this.empresaService.buscarPorCnpj(cadastroPJDto.getCnpj())
-						.ifPresent(emp -> result.addError(new ObjectError("empresa", "Empresa já existente.")));
+		if(this.indiceIdentidades.cnpjCadastrado(cadastroPJDto.getCnpj())) {
+			result.addError(new ObjectError("empresa", EMPRESA_EXISTENTE));
+		}
 		
-		this.funcionarioService.buscarPorCpf(cadastroPJDto.getCpf())
-						.ifPresent(func -> result.addError(new ObjectError("funcionario", "CPF já existente")));
+		if(this.indiceIdentidades.cpfCadastrado(cadastroPJDto.getCpf())) {
+			result.addError(new ObjectError("funcionario", CPF_EXISTENTE));
+		}
 		
 		this.funcionarioService.buscarEmail(cadastroPJDto.getEmail())
-						.ifPresent(func -> result.addError(new ObjectError("funcionario", "Emial já existente")));
+						.ifPresent(func -> result.addError(new ObjectError("funcionario", EMAIL_EXISTENTE)));
 	}
 	
 	/**
@@ -114,16 +164,14 @@ public class CadastroPJController {
 	 * @param cadastroPJDto
 	 * @param result
 	 * @return Funcionario
-	 * @throws NoSuchAlgoritmException
 	 */
 	
-	private Funcionario converterDtoParaFuncionario(CadastroPJDto cadastroPJDto, BindingResult result) throws NoSuchAlgorithmException {
+	private Funcionario converterDtoParaFuncionario(CadastroPJDto cadastroPJDto, BindingResult result) {
 		Funcionario funcionario = new Funcionario();
 		funcionario.setNome(cadastroPJDto.getNome());
 		funcionario.setEmail(cadastroPJDto.getEmail());
 		funcionario.setCpf(cadastroPJDto.getCpf());
 		funcionario.setPerfil(PerfilEnum.ROLE_ADMIN);
-		funcionario.setSenha(PasswordUtils.gerarBcrypt(cadastroPJDto.getSenha()));
 		
 		return funcionario;
 		
@@ -1,21 +1,35 @@
 package com.baracho.pontointeligente.api.controllers;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.baracho.pontointeligente.api.dtos.EmpresaDto;
 import com.baracho.pontointeligente.api.entities.Empresa;
 import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
 import com.baracho.pontointeligente.api.services.EmpresaServices;
+import com.baracho.pontointeligente.api.services.EspelhoPontoService;
+import com.baracho.pontointeligente.api.services.ExportacaoAfdService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api/empresas")
@@ -27,11 +41,23 @@ public class EmpresaController {
 	@Autowired
 	EmpresaServices empresaService;
 	
+	@Autowired
+	private ExportacaoAfdService exportacaoAfdService;
+	
+	@Autowired
+	private EspelhoPontoService espelhoPontoService;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private ControleAcesso controleAcesso;
+	
 	public EmpresaController() {}
 	
 	/**
 	 * 
-	 * Retorna uma empresa dado um cnpj
+	 * Retorna uma empresa dado um cnpj, se for a empresa do usuario autenticado
 	 * @return ResponseEntity<Response<EmpresaDto>>
 	 */
 	
@@ -46,6 +72,11 @@ public class EmpresaController {
 			response.getErrors().add("Empresa não encontrada para o cnpj " + cnpj);
 			return ResponseEntity.badRequest().body(response);
 		}
+		if(!this.controleAcesso.podeAcessarEmpresa(empresa.get().getId())) {
+			log.info("Acesso negado à empresa {} para {}", empresa.get().getId(), this.controleAcesso.usuario().orElse(null));
+			response.getErrors().add(ControleAcesso.ACESSO_NEGADO_EMPRESA);
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+		}
 		
 		response.setData(this.converterEmpresaEmEmpresaDto(empresa.get()));
 		return ResponseEntity.ok(response);
@@ -53,13 +84,125 @@ public class EmpresaController {
 		
 	}
 	
+	/**
+	 * Exporta o AFD das marcações dos funcionarios da empresa no período.
+	 * O arquivo é escrito direto na resposta enquanto os lançamentos são lidos.
+	 * 
+	 * @param id
+	 * @param inicio
+	 * @param fim
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	@GetMapping(value = "/{id}/afd")
+	public ResponseEntity<StreamingResponseBody> exportarAfd(@PathVariable("id") Long id,
+			@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+			@RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+		log.info("Exportando AFD da empresa {} de {} a {}", id, inicio, fim);
+		if(!this.controleAcesso.podeAcessarEmpresa(id)) {
+			return this.acessoNegado(id);
+		}
+		Response<EmpresaDto> response = new Response<EmpresaDto>();
+		Optional<Empresa> empresa = this.empresaService.buscarPorId(id);
+		
+		if(!empresa.isPresent()) {
+			response.getErrors().add("Empresa não encontrada para o id " + id);
+		}else if(fim.isBefore(inicio)) {
+			response.getErrors().add("Data final anterior à data inicial");
+		}
+		
+		if(!response.getErrors().isEmpty()) {
+			return this.erro(response);
+		}
+		
+		String arquivo = "AFD_" + empresa.get().getCnpj() + "_" + inicio + "_" + fim + ".txt";
+		StreamingResponseBody corpo = saida -> this.exportacaoAfdService.exportar(empresa.get(), inicio, fim, saida);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+				.contentType(MediaType.TEXT_PLAIN)
+				.body(corpo);
+	}
+	
+	/**
+	 * Gera os espelhos de ponto dos funcionarios da empresa na competência
+	 * (AAAA-MM) e os envia em um ZIP, escrito à medida que ficam prontos.
+	 * 
+	 * @param id
+	 * @param competencia
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	@GetMapping(value = "/{id}/espelhos")
+	public ResponseEntity<StreamingResponseBody> gerarEspelhos(@PathVariable("id") Long id, @RequestParam("competencia") String competencia) {
+		log.info("Gerando espelhos de ponto da empresa {} na competência {}", id, competencia);
+		if(!this.controleAcesso.podeAcessarEmpresa(id)) {
+			return this.acessoNegado(id);
+		}
+		Response<EmpresaDto> response = new Response<EmpresaDto>();
+		Optional<Empresa> empresa = this.empresaService.buscarPorId(id);
+		YearMonth mes = null;
+		
+		if(!empresa.isPresent()) {
+			response.getErrors().add("Empresa não encontrada para o id " + id);
+		}
+		try {
+			mes = YearMonth.parse(competencia);
+		} catch (DateTimeParseException e) {
+			response.getErrors().add("Competência inválida, use o formato AAAA-MM.");
+		}
+		
+		if(!response.getErrors().isEmpty()) {
+			return this.erro(response);
+		}
+		
+		YearMonth competenciaEspelhos = mes;
+		String arquivo = "espelhos_" + empresa.get().getCnpj() + "_" + competenciaEspelhos + ".zip";
+		StreamingResponseBody corpo = saida -> this.espelhoPontoService.gerarZip(empresa.get(), competenciaEspelhos, saida);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+				.contentType(MediaType.parseMediaType("application/zip"))
+				.body(corpo);
+	}
+	
+	/**
+	 * Resposta de erro de um endpoint de arquivo. O corpo precisa ser um
+	 * StreamingResponseBody para que o Spring trate o retorno como streaming,
+	 * então o Response é serializado aqui.
+	 * 
+	 * @param response
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	private ResponseEntity<StreamingResponseBody> erro(Response<EmpresaDto> response) {
+		return this.erro(HttpStatus.BAD_REQUEST, response);
+	}
+	
+	private ResponseEntity<StreamingResponseBody> erro(HttpStatus status, Response<EmpresaDto> response) {
+		try {
+			byte[] corpo = this.objectMapper.writeValueAsBytes(response);
+			return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(saida -> saida.write(corpo));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Erro serializando resposta", e);
+		}
+	}
+	
+	/**
+	 * Resposta 403 de um endpoint de arquivo de outra empresa.
+	 * 
+	 * @param id
+	 * @return ResponseEntity<StreamingResponseBody>
+	 */
+	private ResponseEntity<StreamingResponseBody> acessoNegado(Long id) {
+		log.info("Acesso negado à empresa {} para {}", id, this.controleAcesso.usuario().orElse(null));
+		Response<EmpresaDto> response = new Response<EmpresaDto>();
+		response.getErrors().add(ControleAcesso.ACESSO_NEGADO_EMPRESA);
+		return this.erro(HttpStatus.FORBIDDEN, response);
+	}
+	
 	/**
 	 * Popula um DTO com os dados de uma empresa.
 	 * 
 	 * @param empresa
 	 * @return EmpresaDto
 	 */
-	private EmpresaDto converterEmpresaEmEmpresaDto(Empresa empresa) {
+	EmpresaDto converterEmpresaEmEmpresaDto(Empresa empresa) {
 		EmpresaDto empresaDto = new EmpresaDto();
 		empresaDto.setId(empresa.getId());
 		empresaDto.setCnpj(empresa.getCnpj());
@@ -0,0 +1,174 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.baracho.pontointeligente.api.dtos.FolhaPagamentoDto;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.FolhaPagamento;
+import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
+import com.baracho.pontointeligente.api.services.EmpresaServices;
+import com.baracho.pontointeligente.api.services.FolhaPagamentoService;
+
+@RestController
+@RequestMapping("/api/folhas-pagamento")
+@CrossOrigin(origins = "*")
+public class FolhaPagamentoController {
+
+	private static final Logger log = LoggerFactory.getLogger(FolhaPagamentoController.class);
+
+	@Autowired
+	private FolhaPagamentoService folhaPagamentoService;
+
+	@Autowired
+	private EmpresaServices empresaService;
+
+	@Autowired
+	private ControleAcesso controleAcesso;
+
+	public FolhaPagamentoController() {}
+
+	/**
+	 * Inicia o cálculo da folha de pagamento de uma empresa em uma competência.
+	 *
+	 * @param folhaPagamentoDto
+	 * @param result
+	 * @return ResponseEntity<Response<FolhaPagamentoDto>>
+	 */
+	@PostMapping
+	public ResponseEntity<Response<FolhaPagamentoDto>> calcular(@Valid @RequestBody FolhaPagamentoDto folhaPagamentoDto,
+			BindingResult result) {
+
+		log.info("Calculando folha de pagamento: {}", folhaPagamentoDto);
+		if(!result.hasErrors() && !this.controleAcesso.podeAcessarEmpresa(folhaPagamentoDto.getEmpresaId())) {
+			return this.acessoNegado(folhaPagamentoDto.getEmpresaId());
+		}
+		Response<FolhaPagamentoDto> response = new Response<FolhaPagamentoDto>();
+		Optional<Empresa> empresa = Optional.empty();
+		YearMonth competencia = null;
+		if(!result.hasErrors()) {
+			empresa = this.empresaService.buscarPorId(folhaPagamentoDto.getEmpresaId());
+			try {
+				competencia = YearMonth.parse(folhaPagamentoDto.getCompetencia());
+			} catch (DateTimeParseException e) {
+				result.addError(new ObjectError("competencia", "Competência inválida, use o formato AAAA-MM."));
+			}
+			if(!empresa.isPresent()) {
+				result.addError(new ObjectError("empresa", "Empresa não encontrada."));
+			}
+		}
+
+		Optional<FolhaPagamento> folha = Optional.empty();
+		if(!result.hasErrors()) {
+			folha = this.folhaPagamentoService.iniciar(empresa.get(), competencia);
+			if(!folha.isPresent()) {
+				result.addError(new ObjectError("folha", "Folha de pagamento já em cálculo para a competência."));
+			}
+		}
+
+		if(result.hasErrors()) {
+			log.error("Erro validando folha de pagamento: {}", result.getAllErrors());
+			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		response.setData(this.converterFolhaPagamentoDto(folha.get()));
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retorna o andamento de uma folha de pagamento.
+	 *
+	 * @param id
+	 * @return ResponseEntity<Response<FolhaPagamentoDto>>
+	 */
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<Response<FolhaPagamentoDto>> buscarPorId(@PathVariable("id") Long id) {
+		log.info("Buscando folha de pagamento por ID: {}", id);
+		Response<FolhaPagamentoDto> response = new Response<FolhaPagamentoDto>();
+		Optional<FolhaPagamento> folha = this.folhaPagamentoService.buscarPorId(id);
+
+		if(!folha.isPresent()) {
+			response.getErrors().add("Folha de pagamento não encontrada para o id " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
+		if(!this.controleAcesso.podeAcessarEmpresa(folha.get().getEmpresaId())) {
+			return this.acessoNegado(folha.get().getEmpresaId());
+		}
+
+		response.setData(this.converterFolhaPagamentoDto(folha.get()));
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Cancela o cálculo de uma folha de pagamento em andamento.
+	 *
+	 * @param id
+	 * @return ResponseEntity<Response<String>>
+	 */
+	@PostMapping(value = "/{id}/cancelar")
+	public ResponseEntity<Response<String>> cancelar(@PathVariable("id") Long id) {
+		log.info("Cancelando folha de pagamento: {}", id);
+		Response<String> response = new Response<String>();
+		Optional<FolhaPagamento> folha = this.folhaPagamentoService.buscarPorId(id);
+		if(folha.isPresent() && !this.controleAcesso.podeAcessarEmpresa(folha.get().getEmpresaId())) {
+			return this.acessoNegado(folha.get().getEmpresaId());
+		}
+
+		if(!folha.isPresent() || !this.folhaPagamentoService.cancelar(id)) {
+			response.getErrors().add("Folha de pagamento não está em cálculo: " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		return ResponseEntity.ok(new Response<String>());
+	}
+
+	private <T> ResponseEntity<Response<T>> acessoNegado(Long empresaId) {
+		log.info("Acesso negado à empresa {} para {}", empresaId, this.controleAcesso.usuario().orElse(null));
+		Response<T> response = new Response<T>();
+		response.getErrors().add(ControleAcesso.ACESSO_NEGADO_EMPRESA);
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+	}
+
+	/**
+	 * Converte uma folha de pagamento para seu DTO.
+	 *
+	 * @param folha
+	 * @return FolhaPagamentoDto
+	 */
+	private FolhaPagamentoDto converterFolhaPagamentoDto(FolhaPagamento folha) {
+		FolhaPagamentoDto folhaPagamentoDto = new FolhaPagamentoDto();
+		folhaPagamentoDto.setId(folha.getId());
+		folhaPagamentoDto.setEmpresaId(folha.getEmpresaId());
+		folhaPagamentoDto.setCompetencia(YearMonth.from(folha.getCompetencia()).toString());
+		folhaPagamentoDto.setStatus(folha.getStatus().toString());
+		folhaPagamentoDto.setQtdFuncionarios(folha.getQtdFuncionarios());
+		folhaPagamentoDto.setQtdProcessados(folha.getQtdProcessados());
+		folhaPagamentoDto.setQtdSemValorHora(folha.getQtdSemValorHora());
+		folhaPagamentoDto.setValorTotal(folha.getValorTotal().toPlainString());
+		folhaPagamentoDto.setDuracaoMs(folha.getDuracaoMs());
+		folhaPagamentoDto.setFuncionariosPorSegundo(folha.getDuracaoMs() == 0 ? 0 : folha.getQtdProcessados() * 1000.0 / folha.getDuracaoMs());
+		folhaPagamentoDto.setMensagemErro(folha.getMensagemErro());
+		return folhaPagamentoDto;
+	}
+
+}
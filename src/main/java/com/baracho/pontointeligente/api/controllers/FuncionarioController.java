@@ -2,8 +2,13 @@ package com.baracho.pontointeligente.api.controllers;
 
 
 import java.math.BigDecimal;
-import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.validation.Valid;
 
@@ -11,21 +16,38 @@ import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.baracho.pontointeligente.api.dtos.BancoHorasDto;
 import com.baracho.pontointeligente.api.dtos.FuncionarioDto;
+import com.baracho.pontointeligente.api.dtos.JornadaDto;
 import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.TotalDiario;
 import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
+import com.baracho.pontointeligente.api.services.BancoHorasService;
 import com.baracho.pontointeligente.api.services.FuncionarioService;
-import com.baracho.pontointeligente.api.utils.PasswordUtils;
+import com.baracho.pontointeligente.api.services.JornadaService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+import com.baracho.pontointeligente.api.utils.CalculadoraJornada;
+import com.baracho.pontointeligente.api.utils.DuracaoUtils;
+
+import io.opentelemetry.context.Context;
 
 @RestController
 @RequestMapping("/api/funcionarios")
@@ -37,22 +59,45 @@ public class FuncionarioController {
 	@Autowired
 	private FuncionarioService funcionarioService;
 	
+	@Autowired
+	private JornadaService jornadaService;
+	
+	@Autowired
+	private BancoHorasService bancoHorasService;
+	
+	@Autowired
+	private SenhaService senhaService;
+	
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private Executor executorRequisicoes;
+	
+	@Autowired
+	private ControleAcesso controleAcesso;
+	
+	@Value("${jornada.qtd_maxima_dias:366}")
+	private int qtdMaximaDias;
+	
 	public FuncionarioController() {}
 	
 	
 	/**
-	 * Atualiza os dados de um funcionario.
+	 * Atualiza os dados de um funcionario. Com uma senha nova, o hash é gerado
+	 * no pool de senhas e a gravação segue no executor das requisições, sem
+	 * ocupar as threads de hash.
 	 * @param id  
 	 * @param funcionarioDto 
 	 * @param result
-	 * @return ResponseEntity<Response<FuncionarioDto>>
-	 * @throws NoSuchAlgorithmException
+	 * @return CompletableFuture<ResponseEntity<Response<FuncionarioDto>>>
 	 */
 	@PutMapping(value = "/{id}")  
-	public ResponseEntity<Response<FuncionarioDto>> atualizar(@PathVariable("id") Long id, @Valid @RequestBody FuncionarioDto funcionarioDto,  
-					BindingResult result) throws NoSuchAlgorithmException {
+	public CompletableFuture<ResponseEntity<Response<FuncionarioDto>>> atualizar(@PathVariable("id") Long id, @Valid @RequestBody FuncionarioDto funcionarioDto,  
+					BindingResult result) {
 		
-		log.info("atualizando funcionario: {}", funcionarioDto.toString());
+		log.info("atualizando funcionario: {}", funcionarioDto);
+		if(!this.controleAcesso.podeAcessarFuncionario(id)) {
+			return CompletableFuture.completedFuture(this.acessoNegado(id));
+		}
 		Response<FuncionarioDto> response = new Response<FuncionarioDto>();
 		Optional<Funcionario> funcionario = this.funcionarioService.buscarPorId(id);
 		
@@ -65,16 +110,119 @@ public class FuncionarioController {
 		if(result.hasErrors()) {
 			log.error("Erro validando funcionario: {}", result.getAllErrors());
 			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+		}
+		
+		CompletableFuture<String> senha = funcionarioDto.getSenha().isPresent()
+				? this.senhaService.gerarHash(funcionarioDto.getSenha().get())
+				: CompletableFuture.completedFuture(null);
+		return senha.thenApplyAsync(hash -> {
+			if(hash != null) {
+				funcionario.get().setSenha(hash);
+			}
+			this.funcionarioService.persistir(funcionario.get());
+			response.setData(this.converterFuncionarioEmFuncionarioDto(funcionario.get()));
+			return ResponseEntity.ok(response);
+		}, Context.taskWrapping(this.executorRequisicoes));
+	}
+	
+	/**
+	 * Retorna a jornada diária de um funcionario no período.
+	 * @param id
+	 * @param inicio
+	 * @param fim
+	 * @return ResponseEntity<Response<List<JornadaDto>>>
+	 */
+	@GetMapping(value = "/{id}/jornada")
+	public ResponseEntity<Response<List<JornadaDto>>> calcularJornada(@PathVariable("id") Long id,
+			@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+			@RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+		
+		log.info("Calculando jornada do funcionario {} de {} a {}", id, inicio, fim);
+		if(!this.controleAcesso.podeAcessarFuncionario(id)) {
+			return this.acessoNegado(id);
+		}
+		Response<List<JornadaDto>> response = new Response<List<JornadaDto>>();
+		Optional<Funcionario> funcionario = this.funcionarioService.buscarPorId(id);
+		
+		if(!funcionario.isPresent()) {
+			response.getErrors().add("Funcionario não encontrado para o id " + id);
+		}else if(fim.isBefore(inicio)) {
+			response.getErrors().add("Data final anterior à data inicial");
+		}else if(ChronoUnit.DAYS.between(inicio, fim) >= this.qtdMaximaDias) {
+			response.getErrors().add("Período maior que o limite de " + this.qtdMaximaDias + " dias");
+		}
+		
+		if(!response.getErrors().isEmpty()) {
 			return ResponseEntity.badRequest().body(response);
 		}
 		
-		this.funcionarioService.persistir(funcionario.get());
-		response.setData(this.converterFuncionarioEmFuncionarioDto(funcionario.get()));
+		CalculadoraJornada jornada = this.jornadaService.calcular(funcionario.get(), inicio, fim);
+		long ultimoDia = fim.toEpochDay();
+		List<JornadaDto> dias = new ArrayList<JornadaDto>(jornada.getQtdDias());
+		for(int i = 0; i < jornada.getQtdDias() && jornada.getDia(i) <= ultimoDia; i++) {
+			dias.add(this.converterJornadaDto(jornada, i));
+		}
 		
+		response.setData(dias);
+		return ResponseEntity.ok(response);
+	}
+	
+	/**
+	 * Retorna o saldo do banco de horas de um funcionario.
+	 * @param id
+	 * @return ResponseEntity<Response<BancoHorasDto>>
+	 */
+	@GetMapping(value = "/{id}/banco-horas")
+	public ResponseEntity<Response<BancoHorasDto>> buscarBancoHoras(@PathVariable("id") Long id) {
+		log.info("Buscando banco de horas do funcionario {}", id);
+		if(!this.controleAcesso.podeAcessarFuncionario(id)) {
+			return this.acessoNegado(id);
+		}
+		Response<BancoHorasDto> response = new Response<BancoHorasDto>();
+		
+		if(!this.funcionarioService.buscarPorId(id).isPresent()) {
+			response.getErrors().add("Funcionario não encontrado para o id " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
 		
+		long saldo = this.bancoHorasService.buscarSaldo(id);
+		BancoHorasDto bancoHorasDto = new BancoHorasDto();
+		bancoHorasDto.setFuncionarioId(id);
+		bancoHorasDto.setSaldo(DuracaoUtils.formatarHoras(saldo));
+		bancoHorasDto.setSaldoMinutos(saldo / 60000);
+		response.setData(bancoHorasDto);
 		return ResponseEntity.ok(response);
+	}
+	
+	/**
+	 * Retorna os totais diários gravados de um funcionario no período.
+	 * @param id
+	 * @param inicio
+	 * @param fim
+	 * @return ResponseEntity<Response<List<JornadaDto>>>
+	 */
+	@GetMapping(value = "/{id}/totais")
+	public ResponseEntity<Response<List<JornadaDto>>> buscarTotais(@PathVariable("id") Long id,
+			@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+			@RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
 		
+		log.info("Buscando totais diários do funcionario {} de {} a {}", id, inicio, fim);
+		if(!this.controleAcesso.podeAcessarFuncionario(id)) {
+			return this.acessoNegado(id);
+		}
+		Response<List<JornadaDto>> response = new Response<List<JornadaDto>>();
 		
+		if(fim.isBefore(inicio)) {
+			response.getErrors().add("Data final anterior à data inicial");
+			return ResponseEntity.badRequest().body(response);
+		}
+		
+		List<TotalDiario> totais = this.bancoHorasService.buscarTotais(id, inicio, fim);
+		List<JornadaDto> dias = new ArrayList<JornadaDto>(totais.size());
+		totais.forEach(total -> dias.add(this.converterTotalDiarioDto(total)));
+		response.setData(dias);
+		return ResponseEntity.ok(response);
 	}
 	
 	/**
@@ -82,9 +230,8 @@ public class FuncionarioController {
 	 * @param funcionario
 	 * @param funcionarioDto
 	 * @param result
-	 * @throws NoSuchAlgorithmException
 	 */	
-	private void atualizarDadosFuncionario(Funcionario funcionario, FuncionarioDto funcionarioDto, BindingResult result) throws NoSuchAlgorithmException {
+	private void atualizarDadosFuncionario(Funcionario funcionario, FuncionarioDto funcionarioDto, BindingResult result) {
 		
 		funcionario.setNome(funcionarioDto.getNome());
 		
@@ -104,10 +251,18 @@ public class FuncionarioController {
 		
 		funcionario.setValorHora(null);
 		funcionarioDto.getValorHora().ifPresent(valorHora -> funcionario.setValorHora(new BigDecimal(valorHora)));
-		
-		if(funcionarioDto.getSenha().isPresent()) {
-			funcionario.setSenha(PasswordUtils.gerarBcrypt(funcionarioDto.getSenha().get()));
-		}
+	}
+	
+	/**
+	 * Resposta 403 para um funcionario que o usuario autenticado não pode acessar.
+	 * @param id
+	 * @return ResponseEntity<Response<T>>
+	 */
+	private <T> ResponseEntity<Response<T>> acessoNegado(Long id) {
+		log.info("Acesso negado ao funcionario {} para {}", id, this.controleAcesso.usuario().orElse(null));
+		Response<T> response = new Response<T>();
+		response.getErrors().add(ControleAcesso.ACESSO_NEGADO);
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
 	}
 	
 	/**
@@ -116,7 +271,7 @@ public class FuncionarioController {
 	 * @return FuncionarioDto
 	 */
 	
-	private FuncionarioDto converterFuncionarioEmFuncionarioDto(Funcionario funcionario) {
+	FuncionarioDto converterFuncionarioEmFuncionarioDto(Funcionario funcionario) {
 		FuncionarioDto funcionarioDto = new FuncionarioDto();
 		funcionarioDto.setId(funcionario.getId());
 		funcionarioDto.setEmail(funcionario.getEmail());
@@ -128,4 +283,41 @@ public class FuncionarioController {
 		return funcionarioDto;
 	}
 
+	/**
+	 * Retorna um Dto com a jornada de um dia.
+	 * @param jornada
+	 * @param i
+	 * @return JornadaDto
+	 */
+	private JornadaDto converterJornadaDto(CalculadoraJornada jornada, int i) {
+		JornadaDto jornadaDto = new JornadaDto();
+		jornadaDto.setData(LocalDate.ofEpochDay(jornada.getDia(i)).toString());
+		jornadaDto.setHorasTrabalhadas(DuracaoUtils.formatarHoras(jornada.getTrabalhado(i)));
+		jornadaDto.setHorasAlmoco(DuracaoUtils.formatarHoras(jornada.getAlmoco(i)));
+		jornadaDto.setHorasPausa(DuracaoUtils.formatarHoras(jornada.getPausa(i)));
+		jornadaDto.setHorasExtras(DuracaoUtils.formatarHoras(jornada.getExtras(i)));
+		jornadaDto.setSaldo(DuracaoUtils.formatarHoras(jornada.getSaldo(i)));
+		jornadaDto.setAlmocoSuprimido(DuracaoUtils.formatarHoras(jornada.getAlmocoSuprimido(i)));
+		jornadaDto.setInconsistencias(jornada.getInconsistencias(i));
+		return jornadaDto;
+	}
+	
+	/**
+	 * Retorna um Dto com os totais gravados de um dia.
+	 * @param total
+	 * @return JornadaDto
+	 */
+	private JornadaDto converterTotalDiarioDto(TotalDiario total) {
+		JornadaDto jornadaDto = new JornadaDto();
+		jornadaDto.setData(total.getData().toString());
+		jornadaDto.setHorasTrabalhadas(DuracaoUtils.formatarHoras(total.getTrabalhado()));
+		jornadaDto.setHorasAlmoco(DuracaoUtils.formatarHoras(total.getAlmoco()));
+		jornadaDto.setHorasPausa(DuracaoUtils.formatarHoras(total.getPausa()));
+		jornadaDto.setHorasExtras(DuracaoUtils.formatarHoras(total.getExtras()));
+		jornadaDto.setSaldo(DuracaoUtils.formatarHoras(total.getSaldo()));
+		jornadaDto.setAlmocoSuprimido(DuracaoUtils.formatarHoras(total.getAlmocoSuprimido()));
+		jornadaDto.setInconsistencias(total.getInconsistencias());
+		return jornadaDto;
+	}
+
 }
@@ -0,0 +1,171 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import javax.validation.Valid;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.baracho.pontointeligente.api.dtos.ImportacaoAfdDto;
+import com.baracho.pontointeligente.api.entities.ImportacaoAfd;
+import com.baracho.pontointeligente.api.enums.StatusImportacaoEnum;
+import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
+import com.baracho.pontointeligente.api.services.ImportacaoAfdService;
+
+@RestController
+@RequestMapping("/api/importacoes/afd")
+@CrossOrigin(origins = "*")
+public class ImportacaoAfdController {
+
+	private static final Logger log = LoggerFactory.getLogger(ImportacaoAfdController.class);
+
+	@Autowired
+	private ImportacaoAfdService importacaoAfdService;
+
+	@Autowired
+	private ControleAcesso controleAcesso;
+
+	public ImportacaoAfdController() {}
+
+	/**
+	 * Inicia a importação de um arquivo AFD do diretório de importação para a
+	 * empresa do usuario autenticado.
+	 *
+	 * @param importacaoAfdDto
+	 * @param result
+	 * @return ResponseEntity<Response<ImportacaoAfdDto>>
+	 * @throws IOException
+	 */
+	@PostMapping
+	public ResponseEntity<Response<ImportacaoAfdDto>> importar(@Valid @RequestBody ImportacaoAfdDto importacaoAfdDto,
+			BindingResult result) throws IOException {
+
+		log.info("Importando arquivo AFD: {}", importacaoAfdDto.getArquivo());
+		Response<ImportacaoAfdDto> response = new Response<ImportacaoAfdDto>();
+		Optional<Path> arquivo = Optional.empty();
+		if(!result.hasErrors()) {
+			arquivo = this.importacaoAfdService.localizarArquivo(importacaoAfdDto.getArquivo());
+			if(!arquivo.isPresent()) {
+				result.addError(new ObjectError("arquivo", "Arquivo não encontrado no diretório de importação"));
+			}
+		}
+
+		if(result.hasErrors()) {
+			log.error("Erro validando importação AFD: {}", result.getAllErrors());
+			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		ImportacaoAfd importacao = this.importacaoAfdService.iniciar(arquivo.get(),
+				this.controleAcesso.usuario().get().getEmpresaId());
+		response.setData(this.converterImportacaoAfdDto(importacao));
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retorna o progresso de uma importação.
+	 *
+	 * @param id
+	 * @return ResponseEntity<Response<ImportacaoAfdDto>>
+	 */
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<Response<ImportacaoAfdDto>> buscarPorId(@PathVariable("id") Long id) {
+		log.info("Buscando importação AFD por ID: {}", id);
+		Response<ImportacaoAfdDto> response = new Response<ImportacaoAfdDto>();
+		Optional<ImportacaoAfd> importacao = this.importacaoAfdService.buscarPorId(id);
+
+		if(!importacao.isPresent()) {
+			response.getErrors().add("Importação não encontrada para o id " + id);
+			return ResponseEntity.badRequest().body(response);
+		}
+		if(!this.controleAcesso.podeAcessarEmpresa(importacao.get().getEmpresaId())) {
+			return this.acessoNegado(importacao.get().getEmpresaId());
+		}
+
+		response.setData(this.converterImportacaoAfdDto(importacao.get()));
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Retoma uma importação interrompida ou com falha a partir da última posição gravada.
+	 *
+	 * @param id
+	 * @return ResponseEntity<Response<ImportacaoAfdDto>>
+	 */
+	@PostMapping(value = "/{id}/retomar")
+	public ResponseEntity<Response<ImportacaoAfdDto>> retomar(@PathVariable("id") Long id) {
+		log.info("Retomando importação AFD: {}", id);
+		Response<ImportacaoAfdDto> response = new Response<ImportacaoAfdDto>();
+		Optional<ImportacaoAfd> importacao = this.importacaoAfdService.buscarPorId(id);
+
+		if(importacao.isPresent() && !this.controleAcesso.podeAcessarEmpresa(importacao.get().getEmpresaId())) {
+			return this.acessoNegado(importacao.get().getEmpresaId());
+		}
+
+		if(!importacao.isPresent()) {
+			response.getErrors().add("Importação não encontrada para o id " + id);
+		}else if(importacao.get().getStatus() == StatusImportacaoEnum.CONCLUIDA || this.importacaoAfdService.emExecucao(id)) {
+			response.getErrors().add("Importação já concluída ou em execução");
+		}else if(!this.importacaoAfdService.localizarArquivo(importacao.get().getArquivo()).isPresent()) {
+			response.getErrors().add("Arquivo não encontrado no diretório de importação");
+		}
+
+		if(!response.getErrors().isEmpty()) {
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		Optional<ImportacaoAfd> retomada = this.importacaoAfdService.retomar(importacao.get());
+		if(!retomada.isPresent()) {
+			response.getErrors().add("Importação já concluída ou em execução");
+			return ResponseEntity.badRequest().body(response);
+		}
+
+		response.setData(this.converterImportacaoAfdDto(retomada.get()));
+		return ResponseEntity.ok(response);
+	}
+
+	private <T> ResponseEntity<Response<T>> acessoNegado(Long empresaId) {
+		log.info("Acesso negado à empresa {} para {}", empresaId, this.controleAcesso.usuario().orElse(null));
+		Response<T> response = new Response<T>();
+		response.getErrors().add(ControleAcesso.ACESSO_NEGADO_EMPRESA);
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+	}
+
+	/**
+	 * Converte uma importação para seu DTO.
+	 *
+	 * @param importacao
+	 * @return ImportacaoAfdDto
+	 */
+	private ImportacaoAfdDto converterImportacaoAfdDto(ImportacaoAfd importacao) {
+		ImportacaoAfdDto importacaoAfdDto = new ImportacaoAfdDto();
+		importacaoAfdDto.setId(importacao.getId());
+		importacaoAfdDto.setArquivo(importacao.getArquivo());
+		importacaoAfdDto.setTamanho(importacao.getTamanho());
+		importacaoAfdDto.setPosicao(importacao.getPosicao());
+		importacaoAfdDto.setPercentual(importacao.getTamanho() == 0 ? 100 : importacao.getPosicao() * 100.0 / importacao.getTamanho());
+		importacaoAfdDto.setLinhasLidas(importacao.getLinhasLidas());
+		importacaoAfdDto.setLinhasIgnoradas(importacao.getLinhasIgnoradas());
+		importacaoAfdDto.setLancamentosImportados(importacao.getLancamentosImportados());
+		importacaoAfdDto.setStatus(importacao.getStatus().toString());
+		importacaoAfdDto.setMensagemErro(importacao.getMensagemErro());
+		return importacaoAfdDto;
+	}
+
+}
@@ -1,8 +1,15 @@
 package com.baracho.pontointeligente.api.controllers;
 
+import java.sql.SQLException;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.validation.Valid;
 
@@ -11,11 +18,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,17 +34,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.baracho.pontointeligente.api.dtos.LancamentoDto;
+import com.baracho.pontointeligente.api.dtos.LancamentoLoteDto;
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
+import com.baracho.pontointeligente.api.dtos.PaginaDto;
+import com.baracho.pontointeligente.api.entities.ChaveIdempotencia;
 import com.baracho.pontointeligente.api.entities.Funcionario;
 import com.baracho.pontointeligente.api.entities.Lancamento;
 import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.jfr.EventoLancamentoRecebido;
+import com.baracho.pontointeligente.api.jfr.EventoLancamentoValidado;
+import com.baracho.pontointeligente.api.metricas.TagEmpresa;
 import com.baracho.pontointeligente.api.response.Response;
+import com.baracho.pontointeligente.api.seguranca.ControleAcesso;
 import com.baracho.pontointeligente.api.services.FuncionarioService;
+import com.baracho.pontointeligente.api.services.IdempotenciaService;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
 import com.baracho.pontointeligente.api.services.LancamentoService;
+import com.baracho.pontointeligente.api.utils.CursorPaginacao;
+import com.baracho.pontointeligente.api.utils.DataHoraCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 @RestController
@@ -42,7 +69,10 @@ import com.baracho.pontointeligente.api.services.LancamentoService;
 public class LancamentoController {
 	
 	private static final Logger log = LoggerFactory.getLogger(LancamentoController.class);
-	private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	private static final String CHAVE_IDEMPOTENCIA = "Idempotency-Key";
+	private static final int TAMANHO_MAXIMO_CHAVE = 100;
+	private static final String FUNCIONARIO_INEXISTENTE = "Funcionario não encontrado. ID inexistente";
+	private static final TypeReference<Response<LancamentoDto>> TIPO_RESPOSTA = new TypeReference<Response<LancamentoDto>>() {};
 	
 	@Autowired
 	private LancamentoService lancamentoService;
@@ -50,34 +80,94 @@ public class LancamentoController {
 	@Autowired
 	private FuncionarioService funcionarioService;
 	
+	@Autowired
+	private IdempotenciaService idempotenciaService;
+	
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+	
+	@Autowired
+	private ControleAcesso controleAcesso;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private DataHoraCodec dataHoraCodec;
+	
+	@Autowired
+	private Validator validator;
+	
 	@Value("${paginacao.qtd_por_pagina}")
 	private int qtdPorPagina;
 	
+	@Value("${lancamento.lote.qtd_maxima}")
+	private int qtdMaximaLote;
+	
 	public LancamentoController() {}
 	
 	/**
-	 * Retorna a listagem de lancamentos de um funcionario  
+	 * Retorna a listagem de lancamentos de um funcionario, paginada por cursor.
+	 * 
+	 * A primeira página é ordenada por ord (data, desempatada pelo id) na direção dir; as
+	 * seguintes são pedidas com o cursor retornado em proximaPagina, que já
+	 * carrega a ordenação, repetindo o período. O período de/ate é opcional e
+	 * inclui os dois dias. O total só é contado quando contar=true.
 	 * 
 	 * @param funcionarioId
-	 * @param pag
+	 * @param de
+	 * @param ate
+	 * @param cursor
 	 * @param ord
 	 * @param dir
-	 * @return ResponseEntity<Response<LancamentoDto>>
+	 * @param contar
+	 * @return ResponseEntity<Response<PaginaDto<LancamentoDto>>>
 	 */
 	@GetMapping(value = "/funcionario/{funcionarioId}")  
-	public ResponseEntity<Response<Page<LancamentoDto>>> listarPorFuncionarioId(
+	public ResponseEntity<Response<PaginaDto<LancamentoDto>>> listarPorFuncionarioId(
 			@PathVariable("funcionarioId") Long funcionarioId,
-			@RequestParam(value = "pag", defaultValue = "0") int pag,
-			@RequestParam(value = "ord", defaultValue = "id") String ord,
-			@RequestParam(value = "dir", defaultValue = "DESC") String dir){
+			@RequestParam(value = "de", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+			@RequestParam(value = "ate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "ord", defaultValue = "data") String ord,
+			@RequestParam(value = "dir", defaultValue = "DESC") String dir,
+			@RequestParam(value = "contar", defaultValue = "false") boolean contar){
+		
+		log.info("buscando lancamentos por ID do funcionario: {}, cursor: {}", funcionarioId, cursor);
+		if(!this.controleAcesso.podeAcessarFuncionario(funcionarioId)) {
+			return this.acessoNegado(funcionarioId);
+		}
+		Response<PaginaDto<LancamentoDto>> response = new Response<PaginaDto<LancamentoDto>>();
 		
-		log.info("buscando lancamentos por ID do funcionario: {}, pagina: {}", funcionarioId, pag);
-		Response<Page<LancamentoDto>> response = new Response<Page<LancamentoDto>>();
+		if(de != null && ate != null && ate.isBefore(de)) {
+			response.getErrors().add("Data final anterior à data inicial");
+			return ResponseEntity.badRequest().body(response);
+		}
 		
-		PageRequest pageRequest = PageRequest.of(0, 10);
-		Page<Lancamento> lancamentos = this.lancamentoService.buscarPorFuncionarioId(funcionarioId, pageRequest);
-		Page<LancamentoDto> lancamentosDto = lancamentos.map(lancamento -> this.converterLancamentoParaLancamentoDto(lancamento));
-		response.setData(lancamentosDto);
+		CursorPaginacao posicao;
+		try {
+			posicao = cursor != null ? CursorPaginacao.decodificar(cursor) : CursorPaginacao.inicio(ord, dir);
+		} catch (IllegalArgumentException e) {
+			log.info("Paginação inválida: {}", e.getMessage());
+			response.getErrors().add(e.getMessage());
+			return ResponseEntity.badRequest().body(response);
+		}
+		
+		ZoneId fuso = ZoneId.systemDefault();
+		Date inicio = de != null ? Date.from(de.atStartOfDay(fuso).toInstant()) : null;
+		Date fim = ate != null ? Date.from(ate.plusDays(1).atStartOfDay(fuso).toInstant()) : null;
+		Slice<LancamentoResumo> lancamentos = this.lancamentoService.buscarPorFuncionarioId(funcionarioId, inicio, fim, posicao, this.qtdPorPagina);
+		PaginaDto<LancamentoDto> pagina = new PaginaDto<LancamentoDto>();
+		pagina.setQtdPorPagina(this.qtdPorPagina);
+		pagina.setItens(lancamentos.map(lancamento -> this.converterResumoParaLancamentoDto(lancamento)).getContent());
+		if(lancamentos.hasNext()) {
+			LancamentoResumo ultimo = lancamentos.getContent().get(lancamentos.getNumberOfElements() - 1);
+			pagina.setProximaPagina(posicao.apos(ultimo.getData(), ultimo.getId()).codificar());
+		}
+		if(contar) {
+			pagina.setTotalItens(this.lancamentoService.contarPorFuncionarioId(funcionarioId, inicio, fim));
+		}
+		response.setData(pagina);
 		
 		return ResponseEntity.ok(response);
 	}
@@ -91,7 +181,7 @@ public class LancamentoController {
 	public ResponseEntity<Response<LancamentoDto>> listarPorId(@PathVariable("id") Long id){
 		log.info("Buscando lançamento por Id: {}", id);
 		Response<LancamentoDto> response = new Response<LancamentoDto>();
-		Optional<Lancamento> lancamento = this.lancamentoService.buscarPorId(id);
+		Optional<LancamentoResumo> lancamento = this.lancamentoService.buscarResumoPorId(id);
 		
 		if(!lancamento.isPresent()) {
 			log.info("Lançamento não encontrado para o Id: {}", id);
@@ -100,60 +190,181 @@ public class LancamentoController {
 			
 		}
 		
-		response.setData(this.converterLancamentoParaLancamentoDto(lancamento.get()));
+		if(!this.controleAcesso.podeAcessarFuncionario(lancamento.get().getFuncionarioId())) {
+			return this.acessoNegado(lancamento.get().getFuncionarioId());
+		}
+		
+		response.setData(this.converterResumoParaLancamentoDto(lancamento.get()));
 		return ResponseEntity.ok(response);
 	}
 	/**
-	 * Adiciona um novo lançamento
+	 * Adiciona um novo lançamento.
+	 * 
+	 * Com o header Idempotency-Key, uma nova tentativa com a mesma chave retorna a
+	 * resposta original sem gravar o lançamento novamente.
+	 * 
 	 * @param lancamentoDto
 	 * @param result
+	 * @param chaveIdempotencia
 	 * @return ResponseEntity<Response<LancamentoDto>>
 	 * @throws ParseException
 	 */
 	@PostMapping
-	public ResponseEntity<Response<LancamentoDto>> adicionar(@Valid @RequestBody LancamentoDto lancamentoDto, BindingResult result) throws ParseException {
+	public ResponseEntity<Response<LancamentoDto>> adicionar(@Valid @RequestBody LancamentoDto lancamentoDto, BindingResult result,
+			@RequestHeader(value = CHAVE_IDEMPOTENCIA, required = false) String chaveIdempotencia) throws ParseException {
 		
-		log.info("Adicionando lançamento: {}", lancamentoDto.toString());
-		Response<LancamentoDto> response = new Response<LancamentoDto>();
-		validarFuncionario(lancamentoDto, result);
-		Lancamento lancamento = this.converterDtoParaLancamento(lancamentoDto, result);
-		if(result.hasErrors()) {
-			log.error("Erro validando lançamentos: {}", result.getAllErrors());
-			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
-			return ResponseEntity.badRequest().body(response);
+		log.debug("Adicionando lançamento: {}", lancamentoDto);
+		if(!this.controleAcesso.podeAcessarFuncionario(lancamentoDto.getFuncionarioId())) {
+			return this.acessoNegado(lancamentoDto.getFuncionarioId());
 		}
-		
-		lancamento = this.lancamentoService.persistir(lancamento);
-		response.setData(this.converterLancamentoParaLancamentoDto(lancamento));
-		return ResponseEntity.ok(response);
+		TagEmpresa.registrarFuncionario(lancamentoDto.getFuncionarioId());
+		this.registrarRecebimento(lancamentoDto);
+		return this.executarIdempotente(chaveIdempotencia, "POST /api/lancamentos", lancamentoDto, () -> {
+			Response<LancamentoDto> response = new Response<LancamentoDto>();
+			EventoLancamentoValidado validacao = new EventoLancamentoValidado();
+			validacao.begin();
+			validarFuncionario(lancamentoDto, result);
+			if(lancamentoDto.getId().isPresent()) {
+				result.addError(new ObjectError("lancamento", "Lançamentos novos não podem informar id"));
+			}
+			Lancamento lancamento = this.converterDtoParaLancamento(lancamentoDto, result);
+			this.registrarValidacao(validacao, lancamentoDto, result);
+			if(result.hasErrors()) {
+				log.error("Erro validando lançamentos: {}", result.getAllErrors());
+				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+				return ResponseEntity.badRequest().body(response);
+			}
+			
+			try {
+				lancamento = this.lancamentoService.persistir(lancamento);
+			} catch (DataIntegrityViolationException e) {
+				if(this.violouChaveFuncionario(e)) {
+					log.info("Funcionario inexistente ao adicionar lançamento: {}", lancamentoDto.getFuncionarioId());
+					response.getErrors().add(FUNCIONARIO_INEXISTENTE);
+					return ResponseEntity.badRequest().body(response);
+				}
+				log.warn("Conflito ao adicionar lançamento do funcionario {}", lancamentoDto.getFuncionarioId(), e);
+				response.getErrors().add("Lançamento em conflito com um registro já gravado");
+				return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+			}
+			response.setData(this.converterLancamentoParaLancamentoDto(lancamento));
+			return ResponseEntity.ok(response);
+		});
 		
 	}
 	
 	/**
-	 * Atualiza os dados de um lancamento.
+	 * Atualiza os dados de um lancamento. O lançamento deve pertencer ao
+	 * funcionario informado.
 	 * @param id
 	 * @param lancamentoDto
 	 * @param result
+	 * @param chaveIdempotencia
 	 * @return ResponseEntity<Response<Lancamento>>
 	 * @throws ParseException
 	 */
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<Response<LancamentoDto>> atualizar(@PathVariable("id") Long id, @Valid @RequestBody LancamentoDto lancamentoDto, BindingResult result) throws ParseException {
+	public ResponseEntity<Response<LancamentoDto>> atualizar(@PathVariable("id") Long id, @Valid @RequestBody LancamentoDto lancamentoDto, BindingResult result,
+			@RequestHeader(value = CHAVE_IDEMPOTENCIA, required = false) String chaveIdempotencia) throws ParseException {
 		
-		log.info("Atualizando lançamento: {}", lancamentoDto.toString());
-		Response<LancamentoDto> response = new Response<LancamentoDto>();
-		validarFuncionario(lancamentoDto, result);
-		lancamentoDto.setId(Optional.of(id));
-		Lancamento lancamento = this.converterDtoParaLancamento(lancamentoDto, result);
+		log.debug("Atualizando lançamento: {}", lancamentoDto);
+		if(!this.controleAcesso.podeAcessarFuncionario(lancamentoDto.getFuncionarioId())) {
+			return this.acessoNegado(lancamentoDto.getFuncionarioId());
+		}
+		TagEmpresa.registrarFuncionario(lancamentoDto.getFuncionarioId());
+		this.registrarRecebimento(lancamentoDto);
+		return this.executarIdempotente(chaveIdempotencia, "PUT /api/lancamentos/" + id, lancamentoDto, () -> {
+			Response<LancamentoDto> response = new Response<LancamentoDto>();
+			EventoLancamentoValidado validacao = new EventoLancamentoValidado();
+			validacao.begin();
+			validarFuncionario(lancamentoDto, result);
+			lancamentoDto.setId(Optional.of(id));
+			Lancamento lancamento = this.converterDtoParaLancamento(lancamentoDto, result);
+			this.registrarValidacao(validacao, lancamentoDto, result);
+			
+			if(result.hasErrors()) {
+				log.error("Erro validando lançamento: {}", result.getAllErrors());
+				result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+				return ResponseEntity.badRequest().body(response);
+			}
+			
+			Optional<Lancamento> atualizado = this.lancamentoService.atualizar(lancamento);
+			if(!atualizado.isPresent()) {
+				log.info("Lançamento {} não encontrado para o funcionario {}", id, lancamentoDto.getFuncionarioId());
+				response.getErrors().add("Lancamento não encontrado");
+				return ResponseEntity.badRequest().body(response);
+			}
+			response.setData(this.converterLancamentoParaLancamentoDto(atualizado.get()));
+			return ResponseEntity.ok(response);
+		});
+	}
+	
+	/**
+	 * Adiciona um lote de lançamentos, retornando o resultado de cada item.
+	 * 
+	 * Os funcionarios referenciados são resolvidos em uma única consulta e os
+	 * itens válidos são inseridos via batching JDBC; itens inválidos são
+	 * reportados com seus erros sem impedir a gravação dos demais.
+	 * 
+	 * @param lancamentosDto
+	 * @return ResponseEntity<Response<List<LancamentoLoteDto>>>
+	 */
+	@PostMapping(value = "/lote")
+	public ResponseEntity<Response<List<LancamentoLoteDto>>> adicionarLote(@RequestBody List<LancamentoDto> lancamentosDto) {
+		
+		log.info("Adicionando lote de {} lançamentos", lancamentosDto.size());
+		Response<List<LancamentoLoteDto>> response = new Response<List<LancamentoLoteDto>>();
 		
-		if(result.hasErrors()) {
-			log.error("Erro validando lançamento: {}", result.getAllErrors());
-			result.getAllErrors().forEach(error -> response.getErrors().add(error.getDefaultMessage()));
+		if(lancamentosDto.isEmpty() || lancamentosDto.size() > this.qtdMaximaLote) {
+			log.error("Tamanho de lote inválido: {}", lancamentosDto.size());
+			response.getErrors().add("O lote deve conter entre 1 e " + this.qtdMaximaLote + " lançamentos");
 			return ResponseEntity.badRequest().body(response);
 		}
 		
-		lancamento = this.lancamentoService.persistir(lancamento);
-		response.setData(this.converterLancamentoParaLancamentoDto(lancamento));
+		Set<Long> funcionarioIds = new HashSet<Long>();
+		lancamentosDto.forEach(dto -> {
+			if(dto.getFuncionarioId() != null) {
+				funcionarioIds.add(dto.getFuncionarioId());
+			}
+		});
+		Set<Long> funcionariosExistentes = this.funcionarioService.buscarIdsExistentes(funcionarioIds);
+		
+		List<LancamentoLoteDto> resultados = new ArrayList<LancamentoLoteDto>(lancamentosDto.size());
+		List<LancamentoLoteDto> aceitos = new ArrayList<LancamentoLoteDto>(lancamentosDto.size());
+		List<Lancamento> lancamentos = new ArrayList<Lancamento>(lancamentosDto.size());
+		
+		for(int i = 0; i < lancamentosDto.size(); i++) {
+			LancamentoDto lancamentoDto = lancamentosDto.get(i);
+			LancamentoLoteDto resultado = new LancamentoLoteDto(i);
+			resultados.add(resultado);
+			
+			BindingResult result = new BeanPropertyBindingResult(lancamentoDto, "lancamentoDto");
+			this.validator.validate(lancamentoDto, result);
+			this.validarFuncionarioLote(lancamentoDto, funcionariosExistentes, result);
+			Lancamento lancamento = null;
+			if(!result.hasErrors()) {
+				lancamento = this.converterDtoParaLancamentoLote(lancamentoDto, result);
+			}
+			
+			if(result.hasErrors()) {
+				result.getAllErrors().forEach(error -> resultado.getErrors().add(error.getDefaultMessage()));
+				continue;
+			}
+			
+			aceitos.add(resultado);
+			lancamentos.add(lancamento);
+		}
+		
+		if(!lancamentos.isEmpty()) {
+			lancamentos = this.lancamentoService.persistirLote(lancamentos);
+		}
+		
+		for(int i = 0; i < lancamentos.size(); i++) {
+			aceitos.get(i).setLancamento(this.converterLancamentoParaLancamentoDto(lancamentos.get(i)));
+		}
+		
+		log.info("Lote processado: {} aceitos, {} rejeitados", aceitos.size(), resultados.size() - aceitos.size());
+		response.setData(resultados);
 		return ResponseEntity.ok(response);
 	}
 	
@@ -161,46 +372,148 @@ public class LancamentoController {
 	public ResponseEntity<Response<String>> remover(@PathVariable("id") Long id){
 		log.info("Removendo lançamento: {}", id); 
 		Response<String> response = new Response<String>();
-		Optional<Lancamento> lancamento = this.lancamentoService.buscarPorId(id);
 		
-		if(!lancamento.isPresent()){
+		Optional<LancamentoResumo> lancamento = this.lancamentoService.buscarResumoPorId(id);
+		if(lancamento.isPresent() && !this.controleAcesso.podeAcessarFuncionario(lancamento.get().getFuncionarioId())) {
+			return this.acessoNegado(lancamento.get().getFuncionarioId());
+		}
+		
+		if(!lancamento.isPresent() || !this.lancamentoService.remover(lancamento.get())){
 			log.info("Erro ao remover devudo ao lançamento Id: {} ser inválido", id);
 			response.getErrors().add("Erro ao remover lancamento. Registro não encontrado para o id " + id);
 			return ResponseEntity.badRequest().body(response);
 		}
 		
-		this.lancamentoService.remover(id);
+		return ResponseEntity.ok(new Response<String>());
+	}
+	
+	
+	/**
+	 * Resposta 403 para um funcionario que o usuario autenticado não pode acessar.
+	 * @param funcionarioId
+	 * @return ResponseEntity<Response<T>>
+	 */
+	private <T> ResponseEntity<Response<T>> acessoNegado(Long funcionarioId) {
+		log.info("Acesso negado ao funcionario {} para {}", funcionarioId, this.controleAcesso.usuario().orElse(null));
+		Response<T> response = new Response<T>();
+		response.getErrors().add(ControleAcesso.ACESSO_NEGADO);
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+	}
+	
+	/**
+	 * Executa uma operação de escrita respeitando a chave de idempotência informada.
+	 * 
+	 * A chave é associada à operação e ao usuario autenticado, então a mesma
+	 * chave em endpoints diferentes ou de outro usuario não colide. A chave
+	 * guarda a impressão do corpo: repeti-la com outro corpo retorna 422. A
+	 * reserva é feita na base de dados antes da escrita; somente respostas de
+	 * sucesso são registradas, e nas demais a reserva é removida.
+	 * 
+	 * @param chaveIdempotencia
+	 * @param operacao
+	 * @param corpo
+	 * @param escrita
+	 * @return ResponseEntity<Response<LancamentoDto>>
+	 * @throws ParseException
+	 */
+	private ResponseEntity<Response<LancamentoDto>> executarIdempotente(String chaveIdempotencia, String operacao,
+			LancamentoDto corpo, EscritaLancamento escrita) throws ParseException {
+		if(chaveIdempotencia == null) {
+			return escrita.executar();
+		}
+		
+		Response<LancamentoDto> response = new Response<LancamentoDto>();
+		if(chaveIdempotencia.trim().isEmpty() || chaveIdempotencia.length() > TAMANHO_MAXIMO_CHAVE) {
+			response.getErrors().add(CHAVE_IDEMPOTENCIA + " deve conter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+			return ResponseEntity.badRequest().body(response);
+		}
+		
+		String usuario = this.controleAcesso.usuario().map(u -> String.valueOf(u.getFuncionarioId())).orElse("-");
+		String chave = operacao + ":" + usuario + ":" + chaveIdempotencia;
+		String impressao;
+		try {
+			impressao = this.idempotenciaService.gerarImpressao(this.objectMapper.writeValueAsBytes(corpo));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Erro serializando requisição do lançamento", e);
+		}
 		
+		Optional<ChaveIdempotencia> registrada = this.idempotenciaService.buscar(chave);
+		if(!registrada.isPresent()) {
+			if(this.idempotenciaService.reservar(chave, impressao)) {
+				return this.executarReservada(chave, impressao, escrita);
+			}
+			// outra requisição reservou a chave entre a busca e a reserva
+			registrada = this.idempotenciaService.buscar(chave);
+		}
 		
-		return ResponseEntity.ok(new Response<String>());
+		if(registrada.isPresent() && !impressao.equals(registrada.get().getImpressao())) {
+			log.info("Chave de idempotência {} reutilizada com outra requisição", chave);
+			response.getErrors().add(CHAVE_IDEMPOTENCIA + " já usada com outra requisição");
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+		}
+		
+		if(!registrada.isPresent() || registrada.get().isEmProcessamento()) {
+			log.info("Chave de idempotência {} já está em processamento", chave);
+			response.getErrors().add("Requisição com a mesma " + CHAVE_IDEMPOTENCIA + " em processamento");
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+		}
+		
+		log.info("Retornando resposta registrada para a chave de idempotência {}", chave);
+		try {
+			return ResponseEntity.status(registrada.get().getStatus())
+					.body(this.objectMapper.readValue(registrada.get().getResposta(), TIPO_RESPOSTA));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Resposta registrada inválida para a chave de idempotência " + chave, e);
+		}
 	}
 	
+	/**
+	 * Executa a escrita de uma chave já reservada, registrando a resposta de
+	 * sucesso ou liberando a reserva.
+	 * 
+	 * @param chave
+	 * @param impressao
+	 * @param escrita
+	 * @return ResponseEntity<Response<LancamentoDto>>
+	 * @throws ParseException
+	 */
+	private ResponseEntity<Response<LancamentoDto>> executarReservada(String chave, String impressao,
+			EscritaLancamento escrita) throws ParseException {
+		boolean registrada = false;
+		try {
+			ResponseEntity<Response<LancamentoDto>> resposta = escrita.executar();
+			if(resposta.getStatusCode().is2xxSuccessful()) {
+				this.idempotenciaService.registrar(chave, impressao, resposta.getStatusCodeValue(),
+						this.objectMapper.writeValueAsString(resposta.getBody()));
+				registrada = true;
+			}
+			return resposta;
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Erro serializando resposta do lançamento", e);
+		} finally {
+			if(!registrada) {
+				this.idempotenciaService.liberar(chave);
+			}
+		}
+	}
 	
 	/**
-	 * Converte uma lancamentoDto para uma entidade Lancamento
+	 * Converte uma lancamentoDto para uma entidade Lancamento, sem consultas à
+	 * base de dados. O funcionario fica apenas como referência pelo id.
 	 * @param lancamentoDto
 	 * @param result
 	 * @return Lancamento
 	 * @throws ParseException
 	 */
-	private Lancamento converterDtoParaLancamento(LancamentoDto lancamentoDto, BindingResult result) throws ParseException {
+	Lancamento converterDtoParaLancamento(LancamentoDto lancamentoDto, BindingResult result) throws ParseException {
 		Lancamento lancamento = new Lancamento();
-		
-		if(lancamentoDto.getId().isPresent()) {
-			Optional<Lancamento> lanc = this.lancamentoService.buscarPorId(lancamentoDto.getId().get());
-			if(lanc.isPresent()) {
-				lancamento = lanc.get();
-			}else {
-				result.addError(new ObjectError("lancamento", "Lancamento não encontrado"));
-			}
-		}else {
-			lancamento.setFuncionario(new Funcionario());
-			lancamento.getFuncionario().setId(lancamentoDto.getFuncionarioId());
-		}
+		lancamento.setId(lancamentoDto.getId().orElse(null));
+		lancamento.setFuncionario(new Funcionario());
+		lancamento.getFuncionario().setId(lancamentoDto.getFuncionarioId());
 		
 		lancamento.setDescricao(lancamentoDto.getDescricao());
 		lancamento.setLocalizacao(lancamentoDto.getLocalizacao());
-		lancamento.setData(this.dateFormat.parse(lancamentoDto.getData()));
+		lancamento.setData(this.dataHoraCodec.lerData(lancamentoDto.getData()));
 		
 		if(EnumUtils.isValidEnum(TipoEnum.class, lancamentoDto.getTipo())) {
 			lancamento.setTipo(TipoEnum.valueOf(lancamentoDto.getTipo()));
@@ -212,21 +525,100 @@ public class LancamentoController {
 	}
 	
 	/**
-	 * Valida um funcionario, verificando se ele é existente e valido no sistema.
+	 * Converte um item de lote para uma entidade Lancamento, sem consultas à base de dados.
 	 * @param lancamentoDto
 	 * @param result
+	 * @return Lancamento
 	 */
-	private void validarFuncionario(LancamentoDto lancamentoDto, BindingResult result) {
+	private Lancamento converterDtoParaLancamentoLote(LancamentoDto lancamentoDto, BindingResult result) {
+		if(lancamentoDto.getId().isPresent()) {
+			result.addError(new ObjectError("lancamento", "Lançamentos em lote não podem informar id"));
+			return null;
+		}
+		
+		try {
+			return this.converterDtoParaLancamento(lancamentoDto, result);
+		} catch (ParseException e) {
+			result.addError(new ObjectError("data", "Data inválida"));
+			return null;
+		}
+	}
+	
+	/**
+	 * Valida o funcionario de um item de lote contra os IDs já resolvidos e o
+	 * acesso do usuario autenticado a ele.
+	 * @param lancamentoDto
+	 * @param funcionariosExistentes
+	 * @param result
+	 */
+	private void validarFuncionarioLote(LancamentoDto lancamentoDto, Set<Long> funcionariosExistentes, BindingResult result) {
 		if(lancamentoDto.getFuncionarioId() == null) {
 			result.addError(new ObjectError("funcionario", "funcionario não informado"));
-			return;
+		}else if(!this.controleAcesso.podeAcessarFuncionario(lancamentoDto.getFuncionarioId())) {
+			result.addError(new ObjectError("funcionario", ControleAcesso.ACESSO_NEGADO));
+		}else if(!funcionariosExistentes.contains(lancamentoDto.getFuncionarioId())) {
+			result.addError(new ObjectError("funcionario", FUNCIONARIO_INEXISTENTE));
 		}
-		
-		log.info("Validando funcionário id {}", lancamentoDto.getFuncionarioId()); 
-		Optional<Funcionario> funcionario = this.funcionarioService.buscarPorId(lancamentoDto.getFuncionarioId()); 
-		if (!funcionario.isPresent()) {
-			result.addError(new ObjectError("funcionario", "Funcionario não encontrado. ID inexistente"));
-			
+	}
+	
+	/**
+	 * Indica se a violação de integridade foi a da chave estrangeira do
+	 * funcionario, a única que um lançamento novo referencia: funcionario
+	 * removido depois da validação. Reconhece o SQLState de chave estrangeira
+	 * do H2 (23506) e do padrão SQL (23503) e o código de erro 1452 do MySQL.
+	 * @param e
+	 * @return boolean
+	 */
+	private boolean violouChaveFuncionario(DataIntegrityViolationException e) {
+		for(Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if(causa instanceof SQLException) {
+				SQLException sqlException = (SQLException) causa;
+				return "23506".equals(sqlException.getSQLState()) || "23503".equals(sqlException.getSQLState())
+						|| sqlException.getErrorCode() == 1452;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Emite o evento JFR de lançamento recebido, se habilitado na gravação.
+	 * @param lancamentoDto
+	 */
+	private void registrarRecebimento(LancamentoDto lancamentoDto) {
+		EventoLancamentoRecebido evento = new EventoLancamentoRecebido();
+		if(evento.shouldCommit()) {
+			evento.identificar(lancamentoDto.getFuncionarioId(), this.indiceIdentidadesService);
+			evento.setTipo(lancamentoDto.getTipo());
+			evento.commit();
+		}
+	}
+	
+	/**
+	 * Encerra o evento JFR da validação do lançamento e o emite, se
+	 * habilitado na gravação.
+	 * @param evento
+	 * @param lancamentoDto
+	 * @param result
+	 */
+	private void registrarValidacao(EventoLancamentoValidado evento, LancamentoDto lancamentoDto, BindingResult result) {
+		evento.end();
+		if(evento.shouldCommit()) {
+			evento.identificar(lancamentoDto.getFuncionarioId(), this.indiceIdentidadesService);
+			evento.setValido(!result.hasErrors());
+			evento.commit();
+		}
+	}
+	
+	/**
+	 * Valida se o funcionario foi informado. A existência não é consultada
+	 * antes da escrita: na inclusão é garantida pela chave estrangeira e na
+	 * atualização pelo próprio UPDATE, que só altera lançamentos do funcionario.
+	 * @param lancamentoDto
+	 * @param result
+	 */
+	private void validarFuncionario(LancamentoDto lancamentoDto, BindingResult result) {
+		if(lancamentoDto.getFuncionarioId() == null) {
+			result.addError(new ObjectError("funcionario", "funcionario não informado"));
 		}
 	}
 	/**
@@ -234,10 +626,10 @@ public class LancamentoController {
 	 * @param lancamento
 	 * @return LancamentoDto
 	 */
-	private LancamentoDto converterLancamentoParaLancamentoDto(Lancamento lancamento) {
+	LancamentoDto converterLancamentoParaLancamentoDto(Lancamento lancamento) {
 		LancamentoDto lancamentoDto = new LancamentoDto();
 		lancamentoDto.setId(Optional.of(lancamento.getId()));
-		lancamentoDto.setData(this.dateFormat.format(lancamento.getData()));
+		lancamentoDto.setData(this.dataHoraCodec.formatar(lancamento.getData()));
 		lancamentoDto.setTipo(lancamento.getTipo().toString());
 		lancamentoDto.setDescricao(lancamento.getDescricao()); 
 		lancamentoDto.setLocalizacao(lancamento.getLocalizacao());
@@ -246,7 +638,26 @@ public class LancamentoController {
 		
 		return lancamentoDto;
 	}
-			
 	
+	/**
+	 * Converte a projeção de leitura de um lançamento para seu DTO.
+	 * @param lancamento
+	 * @return LancamentoDto
+	 */
+	LancamentoDto converterResumoParaLancamentoDto(LancamentoResumo lancamento) {
+		LancamentoDto lancamentoDto = new LancamentoDto();
+		lancamentoDto.setId(Optional.of(lancamento.getId()));
+		lancamentoDto.setData(this.dataHoraCodec.formatar(lancamento.getData()));
+		lancamentoDto.setTipo(lancamento.getTipo().toString());
+		lancamentoDto.setDescricao(lancamento.getDescricao());
+		lancamentoDto.setLocalizacao(lancamento.getLocalizacao());
+		lancamentoDto.setFuncionarioId(lancamento.getFuncionarioId());
+		return lancamentoDto;
+	}
+	
+	@FunctionalInterface
+	private interface EscritaLancamento {
+		ResponseEntity<Response<LancamentoDto>> executar() throws ParseException;
+	}
 
 }
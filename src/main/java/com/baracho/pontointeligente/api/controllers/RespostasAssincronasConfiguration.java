@@ -0,0 +1,55 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executor próprio para as respostas em streaming (StreamingResponseBody).
+ *
+ * Um AFD ou um ZIP de espelhos ocupa a thread até o fim do download, então
+ * eles não usam o applicationTaskExecutor, onde rodam as continuações depois
+ * do hash das senhas (login, cadastros). O executor não é registrado como
+ * bean para não substituir o applicationTaskExecutor da autoconfiguração.
+ * Com as streaming.paralelismo threads ocupadas e a fila de
+ * streaming.capacidade_fila downloads cheia, o download é recusado com 503.
+ */
+@Configuration
+public class RespostasAssincronasConfiguration implements WebMvcConfigurer {
+
+	private final ThreadPoolTaskExecutor executorStreaming;
+
+	public RespostasAssincronasConfiguration(@Value("${streaming.paralelismo:8}") int paralelismo,
+			@Value("${streaming.capacidade_fila:32}") int capacidadeFila) {
+		this.executorStreaming = new ThreadPoolTaskExecutor();
+		this.executorStreaming.setCorePoolSize(paralelismo);
+		this.executorStreaming.setMaxPoolSize(paralelismo);
+		this.executorStreaming.setQueueCapacity(capacidadeFila);
+		this.executorStreaming.setThreadNamePrefix("streaming-");
+		this.executorStreaming.initialize();
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(this.executorStreaming);
+	}
+
+	/**
+	 * Executor das respostas em streaming.
+	 *
+	 * @return ThreadPoolTaskExecutor
+	 */
+	public ThreadPoolTaskExecutor getExecutorStreaming() {
+		return this.executorStreaming;
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		this.executorStreaming.shutdown();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.baracho.pontointeligente.api.response.Response;
+
+/**
+ * Responde 503 com Retry-After quando um pool de threads limitado (como o de
+ * senhas) recusa a tarefa por estar cheio ou não a conclui a tempo.
+ */
+@RestControllerAdvice
+public class SobrecargaControllerAdvice {
+
+	private static final Logger log = LoggerFactory.getLogger(SobrecargaControllerAdvice.class);
+
+	private static final String SEGUNDOS_NOVA_TENTATIVA = "1";
+
+	@ExceptionHandler({ RejectedExecutionException.class, TimeoutException.class })
+	public ResponseEntity<Response<Object>> sobrecarga(Exception e) {
+		log.warn("Requisição recusada por sobrecarga: {}", e.toString());
+		Response<Object> response = new Response<Object>();
+		response.getErrors().add("Serviço sobrecarregado, tente novamente em instantes.");
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, SEGUNDOS_NOVA_TENTATIVA)
+				.body(response);
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotEmpty;
+
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
+public class AutenticacaoDto {
+	
+	private String email;
+	private String senha;
+	
+	public AutenticacaoDto() {}
+
+	@NotEmpty(message = "Email não pode ser vazio.")
+	@Email(message = "Email inválido.")
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	@NotEmpty(message = "Senha não pode ser vazia.")
+	public String getSenha() {
+		return senha;
+	}
+
+	public void setSenha(String senha) {
+		this.senha = senha;
+	}
+
+	@Override
+	public String toString() {
+		return "AutenticacaoDto [email=" + RedacaoUtils.mascararEmail(email) + ", senha=" + RedacaoUtils.ocultarSenha(senha) + "]";
+	}
+
+}
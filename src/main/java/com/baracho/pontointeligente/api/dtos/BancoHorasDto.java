@@ -0,0 +1,40 @@
+package com.baracho.pontointeligente.api.dtos;
+
+public class BancoHorasDto {
+	
+	private Long funcionarioId;
+	private String saldo;
+	private long saldoMinutos;
+	
+	public BancoHorasDto() {}
+
+	public Long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	public void setFuncionarioId(Long funcionarioId) {
+		this.funcionarioId = funcionarioId;
+	}
+
+	public String getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(String saldo) {
+		this.saldo = saldo;
+	}
+
+	public long getSaldoMinutos() {
+		return saldoMinutos;
+	}
+
+	public void setSaldoMinutos(long saldoMinutos) {
+		this.saldoMinutos = saldoMinutos;
+	}
+
+	@Override
+	public String toString() {
+		return "BancoHorasDto [funcionarioId=" + funcionarioId + ", saldo=" + saldo + ", saldoMinutos=" + saldoMinutos + "]";
+	}
+
+}
@@ -9,6 +9,8 @@ import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.br.CNPJ;
 import org.hibernate.validator.constraints.br.CPF;
 
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
 public class CadastroPFDto {
 	
 	private Long id;
@@ -107,7 +109,8 @@ public class CadastroPFDto {
 
 	@Override
 	public String toString() {
-		return "CadastroPFDto [id=" + id + ", nome=" + nome + ", email=" + email + ", senha=" + senha + ", cpf=" + cpf
+		return "CadastroPFDto [id=" + id + ", nome=" + nome + ", email=" + RedacaoUtils.mascararEmail(email)
+				+ ", senha=" + RedacaoUtils.ocultarSenha(senha) + ", cpf=" + RedacaoUtils.mascararCpf(cpf)
 				+ ", valorHora=" + valorHora + ", qtHorasTrabalhoDia=" + qtHorasTrabalhoDia + ", qtdHorasAlmoco="
 				+ qtdHorasAlmoco + ", cnpj=" + cnpj + "]";
 	}
@@ -7,6 +7,8 @@ import org.hibernate.validator.constraints.Length;
 import org.hibernate.validator.constraints.br.CNPJ;
 import org.hibernate.validator.constraints.br.CPF;
 
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
 public class CadastroPJDto {
 	
 	private Long id;
@@ -89,7 +91,8 @@ public class CadastroPJDto {
 
 	@Override
 	public String toString() {
-		return "CadastroPJDto [id=" + id + ", nome=" + nome + ", email=" + email + ", senha=" + senha + ", cpf=" + cpf
+		return "CadastroPJDto [id=" + id + ", nome=" + nome + ", email=" + RedacaoUtils.mascararEmail(email)
+				+ ", senha=" + RedacaoUtils.ocultarSenha(senha) + ", cpf=" + RedacaoUtils.mascararCpf(cpf)
 				+ ", razaoSocial=" + razaoSocial + ", cnpj=" + cnpj + "]";
 	}
 	
@@ -0,0 +1,70 @@
+package com.baracho.pontointeligente.api.dtos;
+
+public class EstatisticasCacheDto {
+
+	private String regiao;
+	private long acertos;
+	private long falhas;
+	private long insercoes;
+	private long remocoes;
+	private float percentualAcertos;
+
+	public EstatisticasCacheDto() {}
+
+	public String getRegiao() {
+		return regiao;
+	}
+
+	public void setRegiao(String regiao) {
+		this.regiao = regiao;
+	}
+
+	public long getAcertos() {
+		return acertos;
+	}
+
+	public void setAcertos(long acertos) {
+		this.acertos = acertos;
+	}
+
+	public long getFalhas() {
+		return falhas;
+	}
+
+	public void setFalhas(long falhas) {
+		this.falhas = falhas;
+	}
+
+	public long getInsercoes() {
+		return insercoes;
+	}
+
+	public void setInsercoes(long insercoes) {
+		this.insercoes = insercoes;
+	}
+
+	/**
+	 * @return entradas descartadas por tamanho ou expiração
+	 */
+	public long getRemocoes() {
+		return remocoes;
+	}
+
+	public void setRemocoes(long remocoes) {
+		this.remocoes = remocoes;
+	}
+
+	public float getPercentualAcertos() {
+		return percentualAcertos;
+	}
+
+	public void setPercentualAcertos(float percentualAcertos) {
+		this.percentualAcertos = percentualAcertos;
+	}
+
+	@Override
+	public String toString() {
+		return "EstatisticasCacheDto [regiao=" + regiao + ", acertos=" + acertos + ", falhas=" + falhas + ", insercoes=" + insercoes + ", remocoes=" + remocoes + ", percentualAcertos=" + percentualAcertos + "]";
+	}
+
+}
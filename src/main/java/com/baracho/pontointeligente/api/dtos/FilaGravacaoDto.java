@@ -0,0 +1,112 @@
+package com.baracho.pontointeligente.api.dtos;
+
+public class FilaGravacaoDto {
+
+	private boolean habilitada;
+	private int capacidade;
+	private int pendentes;
+	private long commits;
+	private long lancamentosGravados;
+	private long gravacoesSincronas;
+	private long falhas;
+	private int ultimoLote;
+	private double mediaLote;
+	private double mediaTempoCommitMs;
+	private double maiorTempoCommitMs;
+
+	public FilaGravacaoDto() {}
+
+	public boolean isHabilitada() {
+		return habilitada;
+	}
+
+	public void setHabilitada(boolean habilitada) {
+		this.habilitada = habilitada;
+	}
+
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	public void setCapacidade(int capacidade) {
+		this.capacidade = capacidade;
+	}
+
+	public int getPendentes() {
+		return pendentes;
+	}
+
+	public void setPendentes(int pendentes) {
+		this.pendentes = pendentes;
+	}
+
+	public long getCommits() {
+		return commits;
+	}
+
+	public void setCommits(long commits) {
+		this.commits = commits;
+	}
+
+	public long getLancamentosGravados() {
+		return lancamentosGravados;
+	}
+
+	public void setLancamentosGravados(long lancamentosGravados) {
+		this.lancamentosGravados = lancamentosGravados;
+	}
+
+	public long getGravacoesSincronas() {
+		return gravacoesSincronas;
+	}
+
+	public void setGravacoesSincronas(long gravacoesSincronas) {
+		this.gravacoesSincronas = gravacoesSincronas;
+	}
+
+	public long getFalhas() {
+		return falhas;
+	}
+
+	public void setFalhas(long falhas) {
+		this.falhas = falhas;
+	}
+
+	public int getUltimoLote() {
+		return ultimoLote;
+	}
+
+	public void setUltimoLote(int ultimoLote) {
+		this.ultimoLote = ultimoLote;
+	}
+
+	public double getMediaLote() {
+		return mediaLote;
+	}
+
+	public void setMediaLote(double mediaLote) {
+		this.mediaLote = mediaLote;
+	}
+
+	public double getMediaTempoCommitMs() {
+		return mediaTempoCommitMs;
+	}
+
+	public void setMediaTempoCommitMs(double mediaTempoCommitMs) {
+		this.mediaTempoCommitMs = mediaTempoCommitMs;
+	}
+
+	public double getMaiorTempoCommitMs() {
+		return maiorTempoCommitMs;
+	}
+
+	public void setMaiorTempoCommitMs(double maiorTempoCommitMs) {
+		this.maiorTempoCommitMs = maiorTempoCommitMs;
+	}
+
+	@Override
+	public String toString() {
+		return "FilaGravacaoDto [habilitada=" + habilitada + ", capacidade=" + capacidade + ", pendentes=" + pendentes + ", commits=" + commits + ", lancamentosGravados=" + lancamentosGravados + ", gravacoesSincronas=" + gravacoesSincronas + ", falhas=" + falhas + ", ultimoLote=" + ultimoLote + ", mediaLote=" + mediaLote + ", mediaTempoCommitMs=" + mediaTempoCommitMs + ", maiorTempoCommitMs=" + maiorTempoCommitMs + "]";
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+public class FolhaPagamentoDto {
+	
+	private Long id;
+	private Long empresaId;
+	private String competencia;
+	private String status;
+	private long qtdFuncionarios;
+	private long qtdProcessados;
+	private long qtdSemValorHora;
+	private String valorTotal;
+	private long duracaoMs;
+	private double funcionariosPorSegundo;
+	private String mensagemErro;
+	
+	public FolhaPagamentoDto() {}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@NotNull(message = "Empresa não pode ser vazia.")
+	public Long getEmpresaId() {
+		return empresaId;
+	}
+
+	public void setEmpresaId(Long empresaId) {
+		this.empresaId = empresaId;
+	}
+
+	@NotEmpty(message = "Competência não pode ser vazia.")
+	@Pattern(regexp = "\\d{4}-\\d{2}", message = "Competência deve estar no formato AAAA-MM.")
+	public String getCompetencia() {
+		return competencia;
+	}
+
+	public void setCompetencia(String competencia) {
+		this.competencia = competencia;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public long getQtdFuncionarios() {
+		return qtdFuncionarios;
+	}
+
+	public void setQtdFuncionarios(long qtdFuncionarios) {
+		this.qtdFuncionarios = qtdFuncionarios;
+	}
+
+	public long getQtdProcessados() {
+		return qtdProcessados;
+	}
+
+	public void setQtdProcessados(long qtdProcessados) {
+		this.qtdProcessados = qtdProcessados;
+	}
+
+	public long getQtdSemValorHora() {
+		return qtdSemValorHora;
+	}
+
+	public void setQtdSemValorHora(long qtdSemValorHora) {
+		this.qtdSemValorHora = qtdSemValorHora;
+	}
+
+	public String getValorTotal() {
+		return valorTotal;
+	}
+
+	public void setValorTotal(String valorTotal) {
+		this.valorTotal = valorTotal;
+	}
+
+	public long getDuracaoMs() {
+		return duracaoMs;
+	}
+
+	public void setDuracaoMs(long duracaoMs) {
+		this.duracaoMs = duracaoMs;
+	}
+
+	public double getFuncionariosPorSegundo() {
+		return funcionariosPorSegundo;
+	}
+
+	public void setFuncionariosPorSegundo(double funcionariosPorSegundo) {
+		this.funcionariosPorSegundo = funcionariosPorSegundo;
+	}
+
+	public String getMensagemErro() {
+		return mensagemErro;
+	}
+
+	public void setMensagemErro(String mensagemErro) {
+		this.mensagemErro = mensagemErro;
+	}
+
+	@Override
+	public String toString() {
+		return "FolhaPagamentoDto [id=" + id + ", empresaId=" + empresaId + ", competencia=" + competencia
+				+ ", status=" + status + ", qtdFuncionarios=" + qtdFuncionarios + ", qtdProcessados=" + qtdProcessados
+				+ ", qtdSemValorHora=" + qtdSemValorHora + ", valorTotal=" + valorTotal + ", duracaoMs=" + duracaoMs
+				+ ", funcionariosPorSegundo=" + funcionariosPorSegundo + ", mensagemErro=" + mensagemErro + "]";
+	}
+
+}
@@ -7,6 +7,8 @@ import javax.validation.constraints.NotEmpty;
 
 import org.hibernate.validator.constraints.Length;
 
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
 public class FuncionarioDto {
 	private Long id;
 	private String nome;
@@ -81,7 +83,8 @@ public class FuncionarioDto {
 
 	@Override
 	public String toString() {
-		return "FuncionarioDto [id=" + id + ", nome=" + nome + ", email=" + email + ", senha=" + senha + ", valorHora="
+		return "FuncionarioDto [id=" + id + ", nome=" + nome + ", email=" + RedacaoUtils.mascararEmail(email) + ", senha="
+				+ RedacaoUtils.ocultarSenha(senha) + ", valorHora="
 				+ valorHora + ", qtHorasTrabalhoDia=" + qtHorasTrabalhoDia + ", qtHorasAlmoco=" + qtHorasAlmoco + "]";
 	}
 	
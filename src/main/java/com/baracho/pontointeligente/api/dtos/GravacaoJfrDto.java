@@ -0,0 +1,77 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import java.util.Date;
+
+public class GravacaoJfrDto {
+
+	private long id;
+	private String estado;
+	private Date inicio;
+	private long duracaoSegundos;
+	private long tamanhoMaximoBytes;
+	private long tamanhoBytes;
+
+	public GravacaoJfrDto() {}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return NEW, DELAYED, RUNNING, STOPPED ou CLOSED
+	 */
+	public String getEstado() {
+		return estado;
+	}
+
+	public void setEstado(String estado) {
+		this.estado = estado;
+	}
+
+	public Date getInicio() {
+		return inicio;
+	}
+
+	public void setInicio(Date inicio) {
+		this.inicio = inicio;
+	}
+
+	public long getDuracaoSegundos() {
+		return duracaoSegundos;
+	}
+
+	public void setDuracaoSegundos(long duracaoSegundos) {
+		this.duracaoSegundos = duracaoSegundos;
+	}
+
+	public long getTamanhoMaximoBytes() {
+		return tamanhoMaximoBytes;
+	}
+
+	public void setTamanhoMaximoBytes(long tamanhoMaximoBytes) {
+		this.tamanhoMaximoBytes = tamanhoMaximoBytes;
+	}
+
+	/**
+	 * @return bytes gravados até agora, ou o tamanho do arquivo depois de parada
+	 */
+	public long getTamanhoBytes() {
+		return tamanhoBytes;
+	}
+
+	public void setTamanhoBytes(long tamanhoBytes) {
+		this.tamanhoBytes = tamanhoBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "GravacaoJfrDto [id=" + id + ", estado=" + estado + ", inicio=" + inicio + ", duracaoSegundos="
+				+ duracaoSegundos + ", tamanhoMaximoBytes=" + tamanhoMaximoBytes + ", tamanhoBytes=" + tamanhoBytes
+				+ "]";
+	}
+
+}
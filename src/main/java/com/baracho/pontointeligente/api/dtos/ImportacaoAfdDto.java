@@ -0,0 +1,106 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import javax.validation.constraints.NotEmpty;
+
+public class ImportacaoAfdDto {
+
+	private Long id;
+	private String arquivo;
+	private long tamanho;
+	private long posicao;
+	private double percentual;
+	private long linhasLidas;
+	private long linhasIgnoradas;
+	private long lancamentosImportados;
+	private String status;
+	private String mensagemErro;
+
+	public ImportacaoAfdDto() {}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@NotEmpty(message = "Arquivo não pode ser vazio.")
+	public String getArquivo() {
+		return arquivo;
+	}
+
+	public void setArquivo(String arquivo) {
+		this.arquivo = arquivo;
+	}
+
+	public long getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(long tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public long getPosicao() {
+		return posicao;
+	}
+
+	public void setPosicao(long posicao) {
+		this.posicao = posicao;
+	}
+
+	public double getPercentual() {
+		return percentual;
+	}
+
+	public void setPercentual(double percentual) {
+		this.percentual = percentual;
+	}
+
+	public long getLinhasLidas() {
+		return linhasLidas;
+	}
+
+	public void setLinhasLidas(long linhasLidas) {
+		this.linhasLidas = linhasLidas;
+	}
+
+	public long getLinhasIgnoradas() {
+		return linhasIgnoradas;
+	}
+
+	public void setLinhasIgnoradas(long linhasIgnoradas) {
+		this.linhasIgnoradas = linhasIgnoradas;
+	}
+
+	public long getLancamentosImportados() {
+		return lancamentosImportados;
+	}
+
+	public void setLancamentosImportados(long lancamentosImportados) {
+		this.lancamentosImportados = lancamentosImportados;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMensagemErro() {
+		return mensagemErro;
+	}
+
+	public void setMensagemErro(String mensagemErro) {
+		this.mensagemErro = mensagemErro;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportacaoAfdDto [id=" + id + ", arquivo=" + arquivo + ", tamanho=" + tamanho + ", posicao=" + posicao + ", percentual=" + percentual + ", linhasLidas=" + linhasLidas + ", linhasIgnoradas=" + linhasIgnoradas + ", lancamentosImportados=" + lancamentosImportados + ", status=" + status + ", mensagemErro=" + mensagemErro + "]";
+	}
+
+}
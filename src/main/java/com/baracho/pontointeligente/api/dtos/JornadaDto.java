@@ -0,0 +1,87 @@
+package com.baracho.pontointeligente.api.dtos;
+
+public class JornadaDto {
+	
+	private String data;
+	private String horasTrabalhadas;
+	private String horasAlmoco;
+	private String horasPausa;
+	private String horasExtras;
+	private String saldo;
+	private String almocoSuprimido;
+	private int inconsistencias;
+	
+	public JornadaDto() {}
+
+	public String getData() {
+		return data;
+	}
+
+	public void setData(String data) {
+		this.data = data;
+	}
+
+	public String getHorasTrabalhadas() {
+		return horasTrabalhadas;
+	}
+
+	public void setHorasTrabalhadas(String horasTrabalhadas) {
+		this.horasTrabalhadas = horasTrabalhadas;
+	}
+
+	public String getHorasAlmoco() {
+		return horasAlmoco;
+	}
+
+	public void setHorasAlmoco(String horasAlmoco) {
+		this.horasAlmoco = horasAlmoco;
+	}
+
+	public String getHorasPausa() {
+		return horasPausa;
+	}
+
+	public void setHorasPausa(String horasPausa) {
+		this.horasPausa = horasPausa;
+	}
+
+	public String getHorasExtras() {
+		return horasExtras;
+	}
+
+	public void setHorasExtras(String horasExtras) {
+		this.horasExtras = horasExtras;
+	}
+
+	public String getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(String saldo) {
+		this.saldo = saldo;
+	}
+
+	public String getAlmocoSuprimido() {
+		return almocoSuprimido;
+	}
+
+	public void setAlmocoSuprimido(String almocoSuprimido) {
+		this.almocoSuprimido = almocoSuprimido;
+	}
+
+	public int getInconsistencias() {
+		return inconsistencias;
+	}
+
+	public void setInconsistencias(int inconsistencias) {
+		this.inconsistencias = inconsistencias;
+	}
+
+	@Override
+	public String toString() {
+		return "JornadaDto [data=" + data + ", horasTrabalhadas=" + horasTrabalhadas + ", horasAlmoco=" + horasAlmoco
+				+ ", horasPausa=" + horasPausa + ", horasExtras=" + horasExtras + ", saldo=" + saldo
+				+ ", almocoSuprimido=" + almocoSuprimido + ", inconsistencias=" + inconsistencias + "]";
+	}
+
+}
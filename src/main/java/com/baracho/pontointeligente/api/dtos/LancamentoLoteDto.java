@@ -0,0 +1,51 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LancamentoLoteDto {
+
+	private int indice;
+	private LancamentoDto lancamento;
+	private List<String> errors;
+
+	public LancamentoLoteDto() {}
+
+	public LancamentoLoteDto(int indice) {
+		this.indice = indice;
+	}
+
+	public int getIndice() {
+		return indice;
+	}
+
+	public void setIndice(int indice) {
+		this.indice = indice;
+	}
+
+	public LancamentoDto getLancamento() {
+		return lancamento;
+	}
+
+	public void setLancamento(LancamentoDto lancamento) {
+		this.lancamento = lancamento;
+	}
+
+	public List<String> getErrors() {
+		if(this.errors == null) {
+			this.errors = new ArrayList<String>();
+		}
+
+		return errors;
+	}
+
+	public void setErrors(List<String> errors) {
+		this.errors = errors;
+	}
+
+	@Override
+	public String toString() {
+		return "LancamentoLoteDto [indice=" + indice + ", lancamento=" + lancamento + ", errors=" + errors + "]";
+	}
+
+}
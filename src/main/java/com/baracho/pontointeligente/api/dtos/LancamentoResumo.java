@@ -0,0 +1,60 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import java.util.Date;
+
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+
+/**
+ * Projeção de leitura de um lançamento com apenas as colunas do LancamentoDto.
+ * É criada pelo construtor na própria consulta, sem carregar a entidade nem
+ * o funcionario e a empresa associados.
+ */
+public class LancamentoResumo {
+
+	private final Long id;
+	private final Date data;
+	private final TipoEnum tipo;
+	private final String descricao;
+	private final String localizacao;
+	private final Long funcionarioId;
+
+	public LancamentoResumo(Long id, Date data, TipoEnum tipo, String descricao, String localizacao, Long funcionarioId) {
+		this.id = id;
+		this.data = data;
+		this.tipo = tipo;
+		this.descricao = descricao;
+		this.localizacao = localizacao;
+		this.funcionarioId = funcionarioId;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Date getData() {
+		return data;
+	}
+
+	public TipoEnum getTipo() {
+		return tipo;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+	public String getLocalizacao() {
+		return localizacao;
+	}
+
+	public Long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	@Override
+	public String toString() {
+		return "LancamentoResumo [id=" + id + ", data=" + data + ", tipo=" + tipo + ", descricao=" + descricao
+				+ ", localizacao=" + localizacao + ", funcionarioId=" + funcionarioId + "]";
+	}
+
+}
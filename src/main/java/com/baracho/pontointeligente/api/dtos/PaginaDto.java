@@ -0,0 +1,58 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import java.util.List;
+
+public class PaginaDto<T> {
+
+	private List<T> itens;
+	private String proximaPagina;
+	private int qtdPorPagina;
+	private Long totalItens;
+
+	public PaginaDto() {}
+
+	public List<T> getItens() {
+		return itens;
+	}
+
+	public void setItens(List<T> itens) {
+		this.itens = itens;
+	}
+
+	/**
+	 * @return cursor da próxima página, ou null na última página
+	 */
+	public String getProximaPagina() {
+		return proximaPagina;
+	}
+
+	public void setProximaPagina(String proximaPagina) {
+		this.proximaPagina = proximaPagina;
+	}
+
+	public int getQtdPorPagina() {
+		return qtdPorPagina;
+	}
+
+	public void setQtdPorPagina(int qtdPorPagina) {
+		this.qtdPorPagina = qtdPorPagina;
+	}
+
+	/**
+	 * @return total de itens, informado somente quando a contagem é solicitada
+	 */
+	public Long getTotalItens() {
+		return totalItens;
+	}
+
+	public void setTotalItens(Long totalItens) {
+		this.totalItens = totalItens;
+	}
+
+	@Override
+	public String toString() {
+		return "PaginaDto [itens=" + itens + ", proximaPagina=" + proximaPagina + ", qtdPorPagina=" + qtdPorPagina
+				+ ", totalItens=" + totalItens + "]";
+	}
+
+}
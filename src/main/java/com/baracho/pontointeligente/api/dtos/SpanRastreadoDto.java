@@ -0,0 +1,87 @@
+package com.baracho.pontointeligente.api.dtos;
+
+public class SpanRastreadoDto {
+
+	private String nome;
+	private String fase;
+	private int profundidade;
+	private double inicioMs;
+	private double duracaoMs;
+	private double duracaoPropriaMs;
+	private boolean erro;
+
+	public SpanRastreadoDto() {}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+	public String getFase() {
+		return fase;
+	}
+
+	public void setFase(String fase) {
+		this.fase = fase;
+	}
+
+	/**
+	 * @return nível do span na árvore do trace, 0 para a requisição
+	 */
+	public int getProfundidade() {
+		return profundidade;
+	}
+
+	public void setProfundidade(int profundidade) {
+		this.profundidade = profundidade;
+	}
+
+	/**
+	 * @return início em relação ao início da requisição
+	 */
+	public double getInicioMs() {
+		return inicioMs;
+	}
+
+	public void setInicioMs(double inicioMs) {
+		this.inicioMs = inicioMs;
+	}
+
+	public double getDuracaoMs() {
+		return duracaoMs;
+	}
+
+	public void setDuracaoMs(double duracaoMs) {
+		this.duracaoMs = duracaoMs;
+	}
+
+	/**
+	 * @return duração descontados os spans filhos
+	 */
+	public double getDuracaoPropriaMs() {
+		return duracaoPropriaMs;
+	}
+
+	public void setDuracaoPropriaMs(double duracaoPropriaMs) {
+		this.duracaoPropriaMs = duracaoPropriaMs;
+	}
+
+	public boolean isErro() {
+		return erro;
+	}
+
+	public void setErro(boolean erro) {
+		this.erro = erro;
+	}
+
+	@Override
+	public String toString() {
+		return "SpanRastreadoDto [nome=" + nome + ", fase=" + fase + ", profundidade=" + profundidade
+				+ ", inicioMs=" + inicioMs + ", duracaoMs=" + duracaoMs + ", duracaoPropriaMs=" + duracaoPropriaMs
+				+ ", erro=" + erro + "]";
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
+public class TokenDto {
+	
+	private String token;
+	
+	public TokenDto() {}
+	
+	public TokenDto(String token) {
+		this.token = token;
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public void setToken(String token) {
+		this.token = token;
+	}
+
+	@Override
+	public String toString() {
+		return "TokenDto [token=" + RedacaoUtils.ocultarSenha(token) + "]";
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.baracho.pontointeligente.api.dtos;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public class TraceLentoDto {
+
+	private String traceId;
+	private String requisicao;
+	private int status;
+	private Date inicio;
+	private double duracaoMs;
+	private Map<String, Double> fases;
+	private List<SpanRastreadoDto> spans;
+
+	public TraceLentoDto() {}
+
+	public String getTraceId() {
+		return traceId;
+	}
+
+	public void setTraceId(String traceId) {
+		this.traceId = traceId;
+	}
+
+	/**
+	 * @return método e rota da requisição, como "POST /api/lancamentos"
+	 */
+	public String getRequisicao() {
+		return requisicao;
+	}
+
+	public void setRequisicao(String requisicao) {
+		this.requisicao = requisicao;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public Date getInicio() {
+		return inicio;
+	}
+
+	public void setInicio(Date inicio) {
+		this.inicio = inicio;
+	}
+
+	public double getDuracaoMs() {
+		return duracaoMs;
+	}
+
+	public void setDuracaoMs(double duracaoMs) {
+		this.duracaoMs = duracaoMs;
+	}
+
+	/**
+	 * @return tempo próprio somado por fase (http, controller, servico, repositorio, serializacao)
+	 */
+	public Map<String, Double> getFases() {
+		return fases;
+	}
+
+	public void setFases(Map<String, Double> fases) {
+		this.fases = fases;
+	}
+
+	public List<SpanRastreadoDto> getSpans() {
+		return spans;
+	}
+
+	public void setSpans(List<SpanRastreadoDto> spans) {
+		this.spans = spans;
+	}
+
+	@Override
+	public String toString() {
+		return "TraceLentoDto [traceId=" + traceId + ", requisicao=" + requisicao + ", status=" + status
+				+ ", inicio=" + inicio + ", duracaoMs=" + duracaoMs + ", fases=" + fases + "]";
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Saldo acumulado do banco de horas de um funcionario, em milissegundos.
+ * É a soma do saldo de todos os seus totais diários e só é alterado por
+ * incrementos atômicos.
+ */
+@Entity
+@Table(name = "banco_horas")
+public class BancoHoras implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long funcionarioId;
+	private long saldo;
+	private Date dataAtualizacao;
+	
+	public BancoHoras() {}
+
+	@Id
+	@Column(name = "funcionario_id")
+	public Long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	public void setFuncionarioId(Long funcionarioId) {
+		this.funcionarioId = funcionarioId;
+	}
+
+	@Column(name = "saldo_ms", nullable = false)
+	public long getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(long saldo) {
+		this.saldo = saldo;
+	}
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "data_atualizacao", nullable = false)
+	public Date getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(Date dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+
+	@Override
+	public String toString() {
+		return "BancoHoras [funcionarioId=" + funcionarioId + ", saldo=" + saldo + ", dataAtualizacao="
+				+ dataAtualizacao + "]";
+	}
+
+}
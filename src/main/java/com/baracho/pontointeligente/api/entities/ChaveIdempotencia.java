@@ -0,0 +1,129 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Chave de idempotência de uma requisição de escrita. A linha é inserida com
+ * status EM_PROCESSAMENTO antes da escrita (a chave primária garante uma só
+ * reserva entre os nós) e atualizada com a resposta ao final.
+ */
+@Entity
+@Table(name = "chave_idempotencia")
+public class ChaveIdempotencia implements Persistable<String>, Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	/** Status da chave reservada cuja requisição ainda não terminou. */
+	public static final int EM_PROCESSAMENTO = 0;
+	
+	private String chave;
+	private String impressao;
+	private int status;
+	private String resposta;
+	private Date dataCriacao;
+	
+	public ChaveIdempotencia() {}
+	
+	public ChaveIdempotencia(String chave, String impressao) {
+		this.chave = chave;
+		this.impressao = impressao;
+		this.status = EM_PROCESSAMENTO;
+		this.resposta = "";
+	}
+
+	@Id
+	@Column(name = "chave", length = 200)
+	public String getChave() {
+		return chave;
+	}
+
+	public void setChave(String chave) {
+		this.chave = chave;
+	}
+
+	/**
+	 * SHA-256 do corpo da requisição que reservou a chave.
+	 */
+	@Column(name = "impressao", length = 64)
+	public String getImpressao() {
+		return impressao;
+	}
+
+	public void setImpressao(String impressao) {
+		this.impressao = impressao;
+	}
+
+	@Column(name = "status", nullable = false)
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	@Lob
+	@Column(name = "resposta", nullable = false)
+	public String getResposta() {
+		return resposta;
+	}
+
+	public void setResposta(String resposta) {
+		this.resposta = resposta;
+	}
+
+	@Column(name = "data_criacao", nullable = false)
+	public Date getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(Date dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+	
+	@Transient
+	public boolean isEmProcessamento() {
+		return status == EM_PROCESSAMENTO;
+	}
+	
+	@Override
+	@Transient
+	public String getId() {
+		return chave;
+	}
+	
+	/**
+	 * Chaves são inseridas (a resposta é gravada por UPDATE), evitando o
+	 * select do merge antes do insert.
+	 */
+	@Override
+	@Transient
+	public boolean isNew() {
+		return true;
+	}
+	
+	@PrePersist
+	public void prePersist() {
+		if(dataCriacao == null) {
+			dataCriacao = new Date();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ChaveIdempotencia [chave=" + chave + ", impressao=" + impressao + ", status=" + status + ", dataCriacao="
+				+ dataCriacao + "]";
+	}
+
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -13,16 +14,25 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
-@Table(name = "empresa")
+@Table(name = "empresa", uniqueConstraints = @UniqueConstraint(name = Empresa.CHAVE_CNPJ, columnNames = "cnpj"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empresa")
 public class Empresa implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	
+	/** Chave única do CNPJ. */
+	public static final String CHAVE_CNPJ = "uk_empresa_cnpj";
+	
 	private Long id;
 	private String razaoSocial;
 	private String cnpj;
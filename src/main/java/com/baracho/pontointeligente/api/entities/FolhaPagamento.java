@@ -0,0 +1,179 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import com.baracho.pontointeligente.api.enums.StatusFolhaPagamentoEnum;
+
+@Entity
+@Table(name = "folha_pagamento")
+public class FolhaPagamento implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long id;
+	private Long empresaId;
+	private LocalDate competencia;
+	private StatusFolhaPagamentoEnum status;
+	private long qtdFuncionarios;
+	private long qtdProcessados;
+	private long qtdSemValorHora;
+	private BigDecimal valorTotal = BigDecimal.ZERO;
+	private long duracaoMs;
+	private String mensagemErro;
+	private Date dataCriacao;
+	private Date dataAtualizacao;
+	
+	public FolhaPagamento() {}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Column(name = "empresa_id", nullable = false)
+	public Long getEmpresaId() {
+		return empresaId;
+	}
+
+	public void setEmpresaId(Long empresaId) {
+		this.empresaId = empresaId;
+	}
+
+	/**
+	 * @return primeiro dia do mês de competência
+	 */
+	@Column(name = "competencia", nullable = false)
+	public LocalDate getCompetencia() {
+		return competencia;
+	}
+
+	public void setCompetencia(LocalDate competencia) {
+		this.competencia = competencia;
+	}
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	public StatusFolhaPagamentoEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusFolhaPagamentoEnum status) {
+		this.status = status;
+	}
+
+	@Column(name = "qtd_funcionarios", nullable = false)
+	public long getQtdFuncionarios() {
+		return qtdFuncionarios;
+	}
+
+	public void setQtdFuncionarios(long qtdFuncionarios) {
+		this.qtdFuncionarios = qtdFuncionarios;
+	}
+
+	@Column(name = "qtd_processados", nullable = false)
+	public long getQtdProcessados() {
+		return qtdProcessados;
+	}
+
+	public void setQtdProcessados(long qtdProcessados) {
+		this.qtdProcessados = qtdProcessados;
+	}
+
+	@Column(name = "qtd_sem_valor_hora", nullable = false)
+	public long getQtdSemValorHora() {
+		return qtdSemValorHora;
+	}
+
+	public void setQtdSemValorHora(long qtdSemValorHora) {
+		this.qtdSemValorHora = qtdSemValorHora;
+	}
+
+	@Column(name = "valor_total", nullable = false)
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+
+	public void setValorTotal(BigDecimal valorTotal) {
+		this.valorTotal = valorTotal;
+	}
+
+	@Column(name = "duracao_ms", nullable = false)
+	public long getDuracaoMs() {
+		return duracaoMs;
+	}
+
+	public void setDuracaoMs(long duracaoMs) {
+		this.duracaoMs = duracaoMs;
+	}
+
+	@Column(name = "mensagem_erro", nullable = true)
+	public String getMensagemErro() {
+		return mensagemErro;
+	}
+
+	public void setMensagemErro(String mensagemErro) {
+		this.mensagemErro = mensagemErro;
+	}
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "data_criacao", nullable = false)
+	public Date getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(Date dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "data_atualizacao", nullable = false)
+	public Date getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(Date dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+	
+	@PreUpdate
+	public void preUpdate() {
+		dataAtualizacao = new Date();
+	}
+	
+	@PrePersist
+	public void prePersist() {
+		final Date atual = new Date();
+		dataCriacao = atual;
+		dataAtualizacao = atual;
+	}
+
+	@Override
+	public String toString() {
+		return "FolhaPagamento [id=" + id + ", empresaId=" + empresaId + ", competencia=" + competencia + ", status="
+				+ status + ", qtdFuncionarios=" + qtdFuncionarios + ", qtdProcessados=" + qtdProcessados
+				+ ", qtdSemValorHora=" + qtdSemValorHora + ", valorTotal=" + valorTotal + ", duracaoMs=" + duracaoMs
+				+ ", mensagemErro=" + mensagemErro + "]";
+	}
+
+}
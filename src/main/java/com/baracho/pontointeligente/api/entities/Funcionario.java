@@ -6,6 +6,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -16,8 +17,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 import javax.persistence.Transient;
 
@@ -26,11 +30,28 @@ import com.baracho.pontointeligente.api.enums.PerfilEnum;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.baracho.pontointeligente.api.utils.RedacaoUtils;
+
 @Entity
-@Table(name = "funcionario")
+@Table(name = "funcionario", uniqueConstraints = {
+		@UniqueConstraint(name = Funcionario.CHAVE_CPF, columnNames = "cpf"),
+		@UniqueConstraint(name = Funcionario.CHAVE_EMAIL, columnNames = "email") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "funcionario")
+@NamedEntityGraph(name = Funcionario.GRAFO_EMPRESA, attributeNodes = @NamedAttributeNode("empresa"))
 public class Funcionario implements Serializable {
 
 	private static final long serialVersionUID = 1L;
+	
+	/** Grafo que carrega o funcionario com a empresa. */
+	public static final String GRAFO_EMPRESA = "Funcionario.empresa";
+	
+	/** Chaves únicas de CPF e email. */
+	public static final String CHAVE_CPF = "uk_funcionario_cpf";
+	public static final String CHAVE_EMAIL = "uk_funcionario_email";
 
 	private Long id;
 	private String nome;
@@ -189,7 +210,7 @@ public class Funcionario implements Serializable {
 	}
 
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	public Empresa getEmpresa() {
 		return empresa;
 	}
@@ -226,10 +247,11 @@ public class Funcionario implements Serializable {
 	
 	@Override
 	public String toString() {
-		return "Funcionario [id=" + id + ", nome=" + nome + ", email=" + email + ", senha=" + senha + ", cpf=" + cpf
+		return "Funcionario [id=" + id + ", nome=" + nome + ", email=" + RedacaoUtils.mascararEmail(email)
+				+ ", cpf=" + RedacaoUtils.mascararCpf(cpf)
 				+ ", valorHora=" + valorHora + ", qtdHorasTrabalhoDia=" + qtdHorasTrabalhoDia + ", qtdHorasAlmoco="
 				+ qtdHorasAlmoco + ", perfil=" + perfil + ", dataCriacao="
-				+ dataCriacao + ", dataAtualizacao=" + dataAtualizacao + ", empresa=" + empresa + "]";
+				+ dataCriacao + ", dataAtualizacao=" + dataAtualizacao + ", empresaId=" + (empresa != null ? empresa.getId() : null) + "]";
 	}
 	
 	
@@ -0,0 +1,175 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+
+import com.baracho.pontointeligente.api.enums.StatusImportacaoEnum;
+
+@Entity
+@Table(name = "importacao_afd")
+public class ImportacaoAfd implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long id;
+	private Long empresaId;
+	private String arquivo;
+	private long tamanho;
+	private long posicao;
+	private long linhasLidas;
+	private long linhasIgnoradas;
+	private long lancamentosImportados;
+	private StatusImportacaoEnum status;
+	private String mensagemErro;
+	private Date dataCriacao;
+	private Date dataAtualizacao;
+	
+	public ImportacaoAfd() {}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	/**
+	 * Empresa que iniciou a importação. Só as marcações dos funcionarios dela são importadas.
+	 */
+	@Column(name = "empresa_id", nullable = false)
+	public Long getEmpresaId() {
+		return empresaId;
+	}
+
+	public void setEmpresaId(Long empresaId) {
+		this.empresaId = empresaId;
+	}
+
+	@Column(name = "arquivo", nullable = false)
+	public String getArquivo() {
+		return arquivo;
+	}
+
+	public void setArquivo(String arquivo) {
+		this.arquivo = arquivo;
+	}
+
+	@Column(name = "tamanho", nullable = false)
+	public long getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(long tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	/**
+	 * Deslocamento, em bytes, da primeira linha ainda não importada.
+	 */
+	@Column(name = "posicao", nullable = false)
+	public long getPosicao() {
+		return posicao;
+	}
+
+	public void setPosicao(long posicao) {
+		this.posicao = posicao;
+	}
+
+	@Column(name = "linhas_lidas", nullable = false)
+	public long getLinhasLidas() {
+		return linhasLidas;
+	}
+
+	public void setLinhasLidas(long linhasLidas) {
+		this.linhasLidas = linhasLidas;
+	}
+
+	@Column(name = "linhas_ignoradas", nullable = false)
+	public long getLinhasIgnoradas() {
+		return linhasIgnoradas;
+	}
+
+	public void setLinhasIgnoradas(long linhasIgnoradas) {
+		this.linhasIgnoradas = linhasIgnoradas;
+	}
+
+	@Column(name = "lancamentos_importados", nullable = false)
+	public long getLancamentosImportados() {
+		return lancamentosImportados;
+	}
+
+	public void setLancamentosImportados(long lancamentosImportados) {
+		this.lancamentosImportados = lancamentosImportados;
+	}
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	public StatusImportacaoEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusImportacaoEnum status) {
+		this.status = status;
+	}
+
+	@Column(name = "mensagem_erro", nullable = true)
+	public String getMensagemErro() {
+		return mensagemErro;
+	}
+
+	public void setMensagemErro(String mensagemErro) {
+		this.mensagemErro = mensagemErro;
+	}
+
+	@Column(name = "data_criacao", nullable = false)
+	public Date getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(Date dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+
+	@Column(name = "data_atualizacao", nullable = false)
+	public Date getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(Date dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+	
+	@PreUpdate
+	public void preUpdate() {
+		dataAtualizacao = new Date();
+	}
+	
+	@PrePersist
+	public void prePersist() {
+		final Date atual = new Date();
+		dataCriacao = atual;
+		dataAtualizacao = atual;
+	}
+
+	@Override
+	public String toString() {
+		return "ImportacaoAfd [id=" + id + ", empresaId=" + empresaId + ", arquivo=" + arquivo + ", tamanho=" + tamanho + ", posicao=" + posicao
+				+ ", linhasLidas=" + linhasLidas + ", linhasIgnoradas=" + linhasIgnoradas + ", lancamentosImportados="
+				+ lancamentosImportados + ", status=" + status + ", mensagemErro=" + mensagemErro + "]";
+	}
+
+}
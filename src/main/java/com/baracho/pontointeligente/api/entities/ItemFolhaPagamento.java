@@ -0,0 +1,128 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * Valores calculados para um funcionario em uma folha de pagamento. As horas
+ * são guardadas em milissegundos.
+ */
+@Entity
+@Table(name = "item_folha_pagamento", indexes = @Index(name = "idx_item_folha_pagamento_folha", columnList = "folha_pagamento_id"))
+public class ItemFolhaPagamento implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long id;
+	private Long folhaPagamentoId;
+	private Long funcionarioId;
+	private long horasNormais;
+	private long horasExtras;
+	private BigDecimal valorHora;
+	private BigDecimal valorNormal;
+	private BigDecimal valorExtras;
+	private BigDecimal valorTotal;
+	
+	public ItemFolhaPagamento() {}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_folha_pagamento_seq")
+	@SequenceGenerator(name = "item_folha_pagamento_seq", sequenceName = "item_folha_pagamento_seq", allocationSize = 50)
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Column(name = "folha_pagamento_id", nullable = false)
+	public Long getFolhaPagamentoId() {
+		return folhaPagamentoId;
+	}
+
+	public void setFolhaPagamentoId(Long folhaPagamentoId) {
+		this.folhaPagamentoId = folhaPagamentoId;
+	}
+
+	@Column(name = "funcionario_id", nullable = false)
+	public Long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	public void setFuncionarioId(Long funcionarioId) {
+		this.funcionarioId = funcionarioId;
+	}
+
+	@Column(name = "horas_normais_ms", nullable = false)
+	public long getHorasNormais() {
+		return horasNormais;
+	}
+
+	public void setHorasNormais(long horasNormais) {
+		this.horasNormais = horasNormais;
+	}
+
+	@Column(name = "horas_extras_ms", nullable = false)
+	public long getHorasExtras() {
+		return horasExtras;
+	}
+
+	public void setHorasExtras(long horasExtras) {
+		this.horasExtras = horasExtras;
+	}
+
+	@Column(name = "valor_hora", nullable = false)
+	public BigDecimal getValorHora() {
+		return valorHora;
+	}
+
+	public void setValorHora(BigDecimal valorHora) {
+		this.valorHora = valorHora;
+	}
+
+	@Column(name = "valor_normal", nullable = false)
+	public BigDecimal getValorNormal() {
+		return valorNormal;
+	}
+
+	public void setValorNormal(BigDecimal valorNormal) {
+		this.valorNormal = valorNormal;
+	}
+
+	@Column(name = "valor_extras", nullable = false)
+	public BigDecimal getValorExtras() {
+		return valorExtras;
+	}
+
+	public void setValorExtras(BigDecimal valorExtras) {
+		this.valorExtras = valorExtras;
+	}
+
+	@Column(name = "valor_total", nullable = false)
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+
+	public void setValorTotal(BigDecimal valorTotal) {
+		this.valorTotal = valorTotal;
+	}
+
+	@Override
+	public String toString() {
+		return "ItemFolhaPagamento [id=" + id + ", folhaPagamentoId=" + folhaPagamentoId + ", funcionarioId="
+				+ funcionarioId + ", horasNormais=" + horasNormais + ", horasExtras=" + horasExtras + ", valorHora="
+				+ valorHora + ", valorNormal=" + valorNormal + ", valorExtras=" + valorExtras + ", valorTotal="
+				+ valorTotal + "]";
+	}
+
+}
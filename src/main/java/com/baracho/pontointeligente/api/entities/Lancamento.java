@@ -8,9 +8,12 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
 
 import com.baracho.pontointeligente.api.enums.TipoEnum;
 
@@ -18,16 +21,24 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 
 @Entity
-@Table(name = "lancamento")
+@NamedEntityGraph(name = Lancamento.GRAFO_FUNCIONARIO, attributeNodes = @NamedAttributeNode("funcionario"))
+@Table(name = "lancamento",
+		indexes = @Index(name = "idx_lancamento_funcionario_data", columnList = "funcionario_id, data, id"),
+		uniqueConstraints = @UniqueConstraint(name = "uk_lancamento_nsr", columnNames = {"nsr", "funcionario_id", "data"}))
 public class Lancamento implements Serializable {
 
 
 	private static final long serialVersionUID = 1L;
 	
+	/** Grafo que carrega o lançamento com o funcionario. */
+	public static final String GRAFO_FUNCIONARIO = "Lancamento.funcionario";
+	
 	private Long id;
 	private Date data;
 	private String descricao;
@@ -35,12 +46,14 @@ public class Lancamento implements Serializable {
 	private Date dataCriacao;
 	private Date dataAtualizacao;
 	private TipoEnum tipo;
+	private Long nsr;
 	private Funcionario funcionario;
 	
 	public Lancamento() {}
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+	@SequenceGenerator(name = "lancamento_seq", sequenceName = "lancamento_seq", allocationSize = 50)
 	public Long getId() {
 		return id;
 	}
@@ -105,7 +118,20 @@ public class Lancamento implements Serializable {
 		this.tipo = tipo;
 	}
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	/**
+	 * NSR da marcação no AFD de onde o lançamento foi importado, nulo para os
+	 * lançamentos registrados pela api.
+	 */
+	@Column(name = "nsr", nullable = true)
+	public Long getNsr() {
+		return nsr;
+	}
+
+	public void setNsr(Long nsr) {
+		this.nsr = nsr;
+	}
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	public Funcionario getFuncionario() {
 		return funcionario;
 	}
@@ -131,7 +157,7 @@ public class Lancamento implements Serializable {
 	public String toString() {
 		return "Lancamento [id=" + id + ", data=" + data + ", descricao=" + descricao + ", localizacao=" + localizacao
 				+ ", dataCriacao=" + dataCriacao + ", dataAtualizacao=" + dataAtualizacao + ", tipo=" + tipo
-				+ ", funcionario=" + funcionario + "]";
+				+ ", funcionarioId=" + (funcionario != null ? funcionario.getId() : null) + "]";
 	}
 	
 	
@@ -0,0 +1,160 @@
+package com.baracho.pontointeligente.api.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Totais da jornada de um funcionario em um dia, mantidos a cada alteração
+ * dos lançamentos do dia. As durações são guardadas em milissegundos.
+ */
+@Entity
+@Table(name = "total_diario",
+		uniqueConstraints = @UniqueConstraint(name = "uk_total_diario_funcionario_data", columnNames = { "funcionario_id", "data" }),
+		indexes = @Index(name = "idx_total_diario_funcionario_data", columnList = "funcionario_id, data"))
+public class TotalDiario implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	
+	private Long id;
+	private Long funcionarioId;
+	private LocalDate data;
+	private long trabalhado;
+	private long almoco;
+	private long pausa;
+	private long extras;
+	private long saldo;
+	private long almocoSuprimido;
+	private int inconsistencias;
+	private Date dataAtualizacao;
+	
+	public TotalDiario() {}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	@Column(name = "funcionario_id", nullable = false)
+	public Long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	public void setFuncionarioId(Long funcionarioId) {
+		this.funcionarioId = funcionarioId;
+	}
+
+	@Column(name = "data", nullable = false)
+	public LocalDate getData() {
+		return data;
+	}
+
+	public void setData(LocalDate data) {
+		this.data = data;
+	}
+
+	@Column(name = "trabalhado_ms", nullable = false)
+	public long getTrabalhado() {
+		return trabalhado;
+	}
+
+	public void setTrabalhado(long trabalhado) {
+		this.trabalhado = trabalhado;
+	}
+
+	@Column(name = "almoco_ms", nullable = false)
+	public long getAlmoco() {
+		return almoco;
+	}
+
+	public void setAlmoco(long almoco) {
+		this.almoco = almoco;
+	}
+
+	@Column(name = "pausa_ms", nullable = false)
+	public long getPausa() {
+		return pausa;
+	}
+
+	public void setPausa(long pausa) {
+		this.pausa = pausa;
+	}
+
+	@Column(name = "extras_ms", nullable = false)
+	public long getExtras() {
+		return extras;
+	}
+
+	public void setExtras(long extras) {
+		this.extras = extras;
+	}
+
+	@Column(name = "saldo_ms", nullable = false)
+	public long getSaldo() {
+		return saldo;
+	}
+
+	public void setSaldo(long saldo) {
+		this.saldo = saldo;
+	}
+
+	@Column(name = "almoco_suprimido_ms", nullable = false)
+	public long getAlmocoSuprimido() {
+		return almocoSuprimido;
+	}
+
+	public void setAlmocoSuprimido(long almocoSuprimido) {
+		this.almocoSuprimido = almocoSuprimido;
+	}
+
+	@Column(name = "inconsistencias", nullable = false)
+	public int getInconsistencias() {
+		return inconsistencias;
+	}
+
+	public void setInconsistencias(int inconsistencias) {
+		this.inconsistencias = inconsistencias;
+	}
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "data_atualizacao", nullable = false)
+	public Date getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(Date dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+	
+	@PreUpdate
+	@PrePersist
+	public void preAtualizacao() {
+		dataAtualizacao = new Date();
+	}
+
+	@Override
+	public String toString() {
+		return "TotalDiario [id=" + id + ", funcionarioId=" + funcionarioId + ", data=" + data + ", trabalhado="
+				+ trabalhado + ", almoco=" + almoco + ", pausa=" + pausa + ", extras=" + extras + ", saldo=" + saldo
+				+ ", almocoSuprimido=" + almocoSuprimido + ", inconsistencias=" + inconsistencias + "]";
+	}
+
+}
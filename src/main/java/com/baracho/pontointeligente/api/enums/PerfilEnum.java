@@ -2,6 +2,8 @@ package com.baracho.pontointeligente.api.enums;
 
 public enum PerfilEnum {
 	ROLE_ADMIN,
-	ROLE_USUARIO;
+	ROLE_USUARIO,
+	/** Operação da api (/admin e actuator), sem acesso aos dados das empresas. */
+	ROLE_SISTEMA;
 
 }
@@ -0,0 +1,10 @@
+package com.baracho.pontointeligente.api.enums;
+
+public enum StatusFolhaPagamentoEnum {
+	
+	EM_ANDAMENTO,
+	CONCLUIDA,
+	CANCELADA,
+	FALHA
+
+}
@@ -0,0 +1,10 @@
+package com.baracho.pontointeligente.api.enums;
+
+public enum StatusImportacaoEnum {
+	
+	EM_ANDAMENTO,
+	CONCLUIDA,
+	INTERROMPIDA,
+	FALHA
+
+}
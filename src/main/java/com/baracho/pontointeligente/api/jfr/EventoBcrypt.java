@@ -0,0 +1,29 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.baracho.pontointeligente.Bcrypt")
+@Label("Hash BCrypt")
+@Category({ "Ponto Inteligente", "Senhas" })
+@Description("Geração ou verificação de um hash de senha com o BCrypt")
+public class EventoBcrypt extends EventoPonto {
+
+	@Label("Operação")
+	private String operacao;
+
+	@Label("Custo")
+	@Description("Logaritmo de base 2 do número de rodadas")
+	private int custo;
+
+	public void setOperacao(String operacao) {
+		this.operacao = operacao;
+	}
+
+	public void setCusto(int custo) {
+		this.custo = custo;
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.baracho.pontointeligente.Cache")
+@Label("Consulta ao Cache")
+@Category({ "Ponto Inteligente", "Cache" })
+@Description("Consulta a um cache da aplicação; nas falhas, inclui a busca na base de dados")
+public class EventoCache extends EventoPonto {
+
+	@Label("Cache")
+	private String cache;
+
+	@Label("Acerto")
+	private boolean acerto;
+
+	public void setCache(String cache) {
+		this.cache = cache;
+	}
+
+	public void setAcerto(boolean acerto) {
+		this.acerto = acerto;
+	}
+
+}
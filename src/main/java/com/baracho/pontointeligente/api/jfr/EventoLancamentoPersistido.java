@@ -0,0 +1,29 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.baracho.pontointeligente.LancamentoPersistido")
+@Label("Lançamento Persistido")
+@Category({ "Ponto Inteligente", "Lançamentos" })
+@Description("Gravação da marcação de ponto e do recálculo do banco de horas")
+public class EventoLancamentoPersistido extends EventoPonto {
+
+	@Label("Lançamento")
+	private long lancamentoId = -1;
+
+	@Label("Write-behind")
+	@Description("Gravado pela fila de gravação, em um commit agrupado")
+	private boolean writeBehind;
+
+	public void setLancamentoId(long lancamentoId) {
+		this.lancamentoId = lancamentoId;
+	}
+
+	public void setWriteBehind(boolean writeBehind) {
+		this.writeBehind = writeBehind;
+	}
+
+}
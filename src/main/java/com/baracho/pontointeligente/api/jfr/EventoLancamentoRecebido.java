@@ -0,0 +1,21 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.baracho.pontointeligente.LancamentoRecebido")
+@Label("Lançamento Recebido")
+@Category({ "Ponto Inteligente", "Lançamentos" })
+@Description("Marcação de ponto recebida pela API, antes da validação")
+public class EventoLancamentoRecebido extends EventoPonto {
+
+	@Label("Tipo")
+	private String tipo;
+
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.baracho.pontointeligente.LancamentoValidado")
+@Label("Lançamento Validado")
+@Category({ "Ponto Inteligente", "Lançamentos" })
+@Description("Validação e conversão da marcação de ponto recebida")
+public class EventoLancamentoValidado extends EventoPonto {
+
+	@Label("Válido")
+	private boolean valido;
+
+	public void setValido(boolean valido) {
+		this.valido = valido;
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos do Java Flight Recorder emitidos pela API, com o
+ * funcionario e a empresa envolvidos (-1 quando não se aplicam).
+ *
+ * Os eventos devem ser preenchidos só quando shouldCommit() retornar true,
+ * para que fora de uma gravação o custo seja apenas o de criar o objeto.
+ */
+@StackTrace(false)
+public abstract class EventoPonto extends Event {
+
+	/* protegidos: o JFR ignora os campos privados das superclasses */
+	@Label("Funcionario")
+	protected long funcionarioId = -1;
+
+	@Label("Empresa")
+	protected long empresaId = -1;
+
+	/**
+	 * Informa o funcionario e a empresa dele, resolvida pelo índice de
+	 * identidades sem consultar a base de dados.
+	 *
+	 * @param funcionarioId id do funcionario, ou null se não informado
+	 * @param indiceIdentidadesService
+	 */
+	public void identificar(Long funcionarioId, IndiceIdentidadesService indiceIdentidadesService) {
+		if(funcionarioId != null && funcionarioId >= 0) {
+			this.funcionarioId = funcionarioId;
+			this.empresaId = indiceIdentidadesService.buscarEmpresaIdDoFuncionario(funcionarioId);
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.baracho.pontointeligente.api.metricas;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede o tempo de cada método público dos serviços no timer servico.execucao,
+ * com a classe, o método e a exceção lançada como tags. Os timers das
+ * execuções sem exceção ficam guardados por método, para não montar as tags a
+ * cada chamada.
+ */
+@Aspect
+@Component
+public class MetricasServicosAspect {
+
+	public static final String METRICA = "servico.execucao";
+
+	private static final String SEM_EXCECAO = "none";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<Method, Timer>();
+
+	@Around("execution(public * com.baracho.pontointeligente.api.services.impl.*ServiceImpl.*(..))")
+	public Object medir(ProceedingJoinPoint ponto) throws Throwable {
+		Method metodo = ((MethodSignature) ponto.getSignature()).getMethod();
+		Timer.Sample amostra = Timer.start(this.meterRegistry);
+		try {
+			Object retorno = ponto.proceed();
+			amostra.stop(this.timers.computeIfAbsent(metodo, m -> this.timer(m, SEM_EXCECAO)));
+			return retorno;
+		} catch (Throwable e) {
+			amostra.stop(this.timer(metodo, e.getClass().getSimpleName()));
+			throw e;
+		}
+	}
+
+	private Timer timer(Method metodo, String excecao) {
+		return Timer.builder(METRICA)
+				.tag("classe", metodo.getDeclaringClass().getSimpleName())
+				.tag("metodo", metodo.getName())
+				.tag("exception", excecao)
+				.register(this.meterRegistry);
+	}
+
+}
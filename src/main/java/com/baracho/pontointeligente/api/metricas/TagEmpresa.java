@@ -0,0 +1,155 @@
+package com.baracho.pontointeligente.api.metricas;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Valor da tag empresa das métricas, com cardinalidade limitada.
+ *
+ * Só as empresas com mais requisições recentes recebem o próprio id como
+ * valor; as demais ficam em OUTRAS. As maiores são estimadas pelo algoritmo
+ * Space-Saving, com contadores para qtdDestaques * 10 empresas, reduzidos à
+ * metade a cada INTERVALO_DECAIMENTO requisições para acompanhar a carga
+ * atual. Como uma empresa pode sair e voltar ao ranking, no máximo
+ * maxValores ids distintos são emitidos; depois disso as novas entram em
+ * OUTRAS, o que limita as séries a maxValores + 2 valores por métrica.
+ */
+@Component
+public class TagEmpresa {
+
+	public static final String NOME = "empresa";
+	public static final String OUTRAS = "outras";
+	public static final String NENHUMA = "nenhuma";
+
+	/** Atributo da requisição com o id do funcionario informado no corpo. */
+	public static final String ATRIBUTO_FUNCIONARIO = TagEmpresa.class.getName() + ".funcionario";
+
+	private static final int INTERVALO_DECAIMENTO = 10000;
+	private static final int INTERVALO_RANKING = 100;
+
+	private final int qtdDestaques;
+	private final int maxValores;
+	private final int capacidade;
+
+	private final Map<Long, long[]> contadores = new HashMap<Long, long[]>();
+	private final Set<String> emitidos = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	private volatile Set<Long> destaques = Collections.emptySet();
+	private long requisicoes;
+
+	@Autowired
+	public TagEmpresa(@Value("${metricas.empresa.qtd_destaques}") int qtdDestaques,
+			@Value("${metricas.empresa.max_valores}") int maxValores) {
+		this.qtdDestaques = qtdDestaques;
+		this.maxValores = maxValores;
+		this.capacidade = qtdDestaques * 10;
+	}
+
+	/**
+	 * Conta uma requisição da empresa e retorna o valor da tag.
+	 *
+	 * @param empresaId id da empresa, ou negativo se a requisição não for de uma empresa
+	 * @return o id da empresa, OUTRAS ou NENHUMA
+	 */
+	public String valor(long empresaId) {
+		if(empresaId < 0) {
+			return NENHUMA;
+		}
+		this.contar(empresaId);
+		if(!this.destaques.contains(empresaId)) {
+			return OUTRAS;
+		}
+		String valor = Long.toString(empresaId);
+		if(this.emitidos.contains(valor)) {
+			return valor;
+		}
+		synchronized(this.emitidos) {
+			if(this.emitidos.size() >= this.maxValores) {
+				return OUTRAS;
+			}
+			this.emitidos.add(valor);
+			return valor;
+		}
+	}
+
+	/**
+	 * Informa o funcionario de uma requisição que não o tem no caminho, como
+	 * a inclusão de lançamentos.
+	 *
+	 * @param funcionarioId
+	 */
+	public static void registrarFuncionario(Long funcionarioId) {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		if(atributos != null && funcionarioId != null) {
+			atributos.setAttribute(ATRIBUTO_FUNCIONARIO, funcionarioId, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
+	/**
+	 * @return o funcionario informado por registrarFuncionario na requisição
+	 * atual, ou null se não houver
+	 */
+	public static Long funcionarioRegistrado() {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		if(atributos == null) {
+			return null;
+		}
+		Object funcionarioId = atributos.getAttribute(ATRIBUTO_FUNCIONARIO, RequestAttributes.SCOPE_REQUEST);
+		return funcionarioId instanceof Long ? (Long) funcionarioId : null;
+	}
+
+	private synchronized void contar(long empresaId) {
+		long[] contador = this.contadores.get(empresaId);
+		if(contador != null) {
+			contador[0]++;
+		} else if(this.contadores.size() < this.capacidade) {
+			this.contadores.put(empresaId, new long[] { 1 });
+		} else {
+			// Space-Saving: a nova empresa herda o contador da menor, mais um
+			Map.Entry<Long, long[]> menor = null;
+			for(Map.Entry<Long, long[]> entrada : this.contadores.entrySet()) {
+				if(menor == null || entrada.getValue()[0] < menor.getValue()[0]) {
+					menor = entrada;
+				}
+			}
+			long[] herdado = this.contadores.remove(menor.getKey());
+			herdado[0]++;
+			this.contadores.put(empresaId, herdado);
+		}
+
+		this.requisicoes++;
+		if(this.requisicoes % INTERVALO_DECAIMENTO == 0) {
+			Iterator<long[]> valores = this.contadores.values().iterator();
+			while(valores.hasNext()) {
+				long[] valor = valores.next();
+				valor[0] /= 2;
+				if(valor[0] == 0) {
+					valores.remove();
+				}
+			}
+		}
+		if(this.requisicoes % INTERVALO_RANKING == 0 || this.requisicoes < INTERVALO_RANKING) {
+			this.destaques = this.ranking();
+		}
+	}
+
+	private Set<Long> ranking() {
+		Set<Long> ranking = new HashSet<Long>();
+		this.contadores.entrySet().stream()
+				.sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+				.limit(this.qtdDestaques)
+				.forEach(entrada -> ranking.add(entrada.getKey()));
+		return ranking;
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.baracho.pontointeligente.api.metricas;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.baracho.pontointeligente.api.controllers.EmpresaController;
+import com.baracho.pontointeligente.api.controllers.FuncionarioController;
+import com.baracho.pontointeligente.api.controllers.LancamentoController;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Acrescenta às métricas http.server.requests o controller e o método que
+ * atenderam a requisição e a empresa, resolvida pelo índice de identidades
+ * a partir das variáveis do caminho. O id de empresa do caminho só vira tag
+ * em respostas de sucesso, quando o controller já conferiu a empresa; ids
+ * recusados ou inexistentes ficam em NENHUMA.
+ */
+@Component
+public class TagsRequisicaoContributor implements WebMvcTagsContributor {
+
+	@Autowired
+	private TagEmpresa tagEmpresa;
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+
+	@Override
+	public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Throwable exception) {
+		if(!(handler instanceof HandlerMethod)) {
+			return Tags.empty();
+		}
+		HandlerMethod metodo = (HandlerMethod) handler;
+		return Tags.of(Tag.of("controller", metodo.getBeanType().getSimpleName()),
+				Tag.of("metodo", metodo.getMethod().getName()),
+				Tag.of(TagEmpresa.NOME, this.tagEmpresa.valor(this.empresaId(request, response, metodo.getBeanType()))));
+	}
+
+	@Override
+	public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+		return Tags.empty();
+	}
+
+	/**
+	 * @return id da empresa da requisição, ou NAO_ENCONTRADO
+	 */
+	@SuppressWarnings("unchecked")
+	private long empresaId(HttpServletRequest request, HttpServletResponse response, Class<?> controller) {
+		Object funcionario = request.getAttribute(TagEmpresa.ATRIBUTO_FUNCIONARIO);
+		if(funcionario instanceof Long) {
+			return this.indiceIdentidadesService.buscarEmpresaIdDoFuncionario((Long) funcionario);
+		}
+
+		Map<String, String> variaveis = (Map<String, String>) request.getAttribute(
+				HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		if(variaveis == null) {
+			return IndiceIdentidadesService.NAO_ENCONTRADO;
+		}
+		if(controller == EmpresaController.class) {
+			if(variaveis.containsKey("cnpj")) {
+				return this.indiceIdentidadesService.buscarEmpresaId(numero(variaveis.get("cnpj")));
+			}
+			if(response == null || response.getStatus() >= HttpStatus.BAD_REQUEST.value()) {
+				return IndiceIdentidadesService.NAO_ENCONTRADO;
+			}
+			return numero(variaveis.get("id"));
+		}
+		if(controller == FuncionarioController.class) {
+			return this.indiceIdentidadesService.buscarEmpresaIdDoFuncionario(numero(variaveis.get("id")));
+		}
+		if(controller == LancamentoController.class) {
+			return this.indiceIdentidadesService.buscarEmpresaIdDoFuncionario(numero(variaveis.get("funcionarioId")));
+		}
+		return IndiceIdentidadesService.NAO_ENCONTRADO;
+	}
+
+	private static long numero(String texto) {
+		if(texto == null) {
+			return IndiceIdentidadesService.NAO_ENCONTRADO;
+		}
+		try {
+			return Long.parseLong(texto);
+		} catch (NumberFormatException e) {
+			return IndiceIdentidadesService.NAO_ENCONTRADO;
+		}
+	}
+
+}
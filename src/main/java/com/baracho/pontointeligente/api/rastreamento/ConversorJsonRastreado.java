@@ -0,0 +1,59 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Conversor JSON que registra a leitura do corpo da requisição e a escrita
+ * da resposta como spans da fase serializacao.
+ */
+public class ConversorJsonRastreado extends MappingJackson2HttpMessageConverter {
+
+	private final Tracer tracer;
+
+	public ConversorJsonRastreado(ObjectMapper objectMapper, Tracer tracer) {
+		super(objectMapper);
+		this.tracer = tracer;
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		Span span = this.iniciar("json.ler");
+		try (Scope escopo = span.makeCurrent()) {
+			return super.read(type, contextClass, inputMessage);
+		} finally {
+			span.end();
+		}
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		Span span = this.iniciar("json.escrever");
+		try (Scope escopo = span.makeCurrent()) {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			span.end();
+		}
+	}
+
+	private Span iniciar(String nome) {
+		return this.tracer.spanBuilder(nome)
+				.setAttribute(RastreamentoConfiguration.FASE, RastreamentoConfiguration.FASE_SERIALIZACAO)
+				.startSpan();
+	}
+
+}
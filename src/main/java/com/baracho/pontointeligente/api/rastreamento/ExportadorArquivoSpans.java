@@ -0,0 +1,106 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Grava os spans em arquivo, um lote por linha no formato OTLP JSON
+ * (ExportTraceServiceRequest), que o receptor otlpjsonfile do OpenTelemetry
+ * Collector lê sem conversão. Ao
+ * passar de tamanhoMaximo bytes o arquivo é renomeado com o sufixo ".1",
+ * substituindo o anterior, e a gravação recomeça em um arquivo novo.
+ */
+public class ExportadorArquivoSpans implements SpanExporter {
+
+	private static final Logger log = LoggerFactory.getLogger(ExportadorArquivoSpans.class);
+
+	private final Path arquivo;
+	private final long tamanhoMaximo;
+
+	private OutputStream saida;
+	private long tamanho;
+
+	public ExportadorArquivoSpans(Path arquivo, long tamanhoMaximo) {
+		this.arquivo = arquivo;
+		this.tamanhoMaximo = tamanhoMaximo;
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+		try {
+			if(this.saida == null) {
+				this.abrir();
+			}
+			// writeJsonTo fecha o stream recebido
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			TraceRequestMarshaler.create(spans).writeJsonTo(json);
+			json.write('\n');
+			json.writeTo(this.saida);
+			this.saida.flush();
+			this.tamanho += json.size();
+			if(this.tamanho > this.tamanhoMaximo) {
+				this.rotacionar();
+			}
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			log.error("Erro ao gravar spans em {}: {}", this.arquivo, e.getMessage());
+			this.fechar();
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		this.fechar();
+		return CompletableResultCode.ofSuccess();
+	}
+
+	private void abrir() throws IOException {
+		Path diretorio = this.arquivo.toAbsolutePath().getParent();
+		if(diretorio != null) {
+			Files.createDirectories(diretorio);
+		}
+		this.saida = new BufferedOutputStream(Files.newOutputStream(this.arquivo,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+		this.tamanho = Files.size(this.arquivo);
+	}
+
+	private void rotacionar() throws IOException {
+		this.fechar();
+		Files.move(this.arquivo, this.arquivo.resolveSibling(this.arquivo.getFileName() + ".1"),
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void fechar() {
+		if(this.saida == null) {
+			return;
+		}
+		try {
+			this.saida.close();
+		} catch (IOException e) {
+			log.warn("Erro ao fechar {}: {}", this.arquivo, e.getMessage());
+		}
+		this.saida = null;
+	}
+
+}
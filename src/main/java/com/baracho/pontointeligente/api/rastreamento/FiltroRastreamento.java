@@ -0,0 +1,140 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+
+/**
+ * Abre o span raiz de cada requisição, continuando o trace do header
+ * traceparent quando informado, e coloca o id do trace no MDC dos logs.
+ * As requisições do actuator não são rastreadas. Nas requisições assíncronas
+ * o span só termina quando a resposta é concluída.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroRastreamento extends OncePerRequestFilter {
+
+	public static final String MDC_TRACE_ID = "traceId";
+
+	private static final TextMapGetter<HttpServletRequest> HEADERS = new TextMapGetter<HttpServletRequest>() {
+
+		@Override
+		public Iterable<String> keys(HttpServletRequest request) {
+			return Collections.list(request.getHeaderNames());
+		}
+
+		@Override
+		public String get(HttpServletRequest request, String chave) {
+			return request == null ? null : request.getHeader(chave);
+		}
+	};
+
+	@Autowired
+	private Tracer tracer;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Context pai = W3CTraceContextPropagator.getInstance().extract(Context.root(), request, HEADERS);
+		Span span = this.tracer.spanBuilder(request.getMethod())
+				.setParent(pai)
+				.setSpanKind(SpanKind.SERVER)
+				.setAttribute(RastreamentoConfiguration.FASE, RastreamentoConfiguration.FASE_HTTP)
+				.setAttribute("http.method", request.getMethod())
+				.setAttribute("http.target", request.getRequestURI())
+				.startSpan();
+		MDC.put(MDC_TRACE_ID, span.getSpanContext().getTraceId());
+		try (Scope escopo = span.makeCurrent()) {
+			filterChain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			span.setStatus(StatusCode.ERROR);
+			span.recordException(e);
+			throw e;
+		} finally {
+			if(request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new FimAssincrono(span, request, response));
+			} else {
+				finalizar(span, request, response);
+			}
+			MDC.remove(MDC_TRACE_ID);
+		}
+	}
+
+	private static void finalizar(Span span, HttpServletRequest request, HttpServletResponse response) {
+		Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if(rota != null) {
+			span.setAttribute("http.route", rota.toString());
+			span.updateName(request.getMethod() + " " + rota);
+		}
+		span.setAttribute("http.status_code", response.getStatus());
+		if(response.getStatus() >= 500) {
+			span.setStatus(StatusCode.ERROR);
+		}
+		span.end();
+	}
+
+	private static class FimAssincrono implements AsyncListener {
+
+		private final Span span;
+		private final HttpServletRequest request;
+		private final HttpServletResponse response;
+
+		FimAssincrono(Span span, HttpServletRequest request, HttpServletResponse response) {
+			this.span = span;
+			this.request = request;
+			this.response = response;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent evento) {
+			finalizar(this.span, this.request, this.response);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent evento) {
+			this.span.setStatus(StatusCode.ERROR, "timeout");
+		}
+
+		@Override
+		public void onError(AsyncEvent evento) {
+			this.span.setStatus(StatusCode.ERROR);
+			if(evento.getThrowable() != null) {
+				this.span.recordException(evento.getThrowable());
+			}
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent evento) {
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+/**
+ * Cria um span para cada chamada aos controllers, aos métodos públicos dos
+ * serviços e aos repositórios, nomeado "Classe.metodo". Executa antes das
+ * transações, para que o commit entre no tempo do serviço.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RastreamentoAspect {
+
+	private static final String PACOTE = "com.baracho.pontointeligente.api";
+
+	@Autowired
+	private Tracer tracer;
+
+	private final ConcurrentMap<Method, String> nomes = new ConcurrentHashMap<Method, String>();
+	private final ConcurrentMap<Class<?>, String> repositorios = new ConcurrentHashMap<Class<?>, String>();
+
+	@Around("within(@org.springframework.web.bind.annotation.RestController *) && execution(public * *(..))")
+	public Object rastrearController(ProceedingJoinPoint ponto) throws Throwable {
+		return this.rastrear(ponto, this.nome(ponto), RastreamentoConfiguration.FASE_CONTROLLER);
+	}
+
+	@Around("execution(public * com.baracho.pontointeligente.api.services.impl.*ServiceImpl.*(..))")
+	public Object rastrearServico(ProceedingJoinPoint ponto) throws Throwable {
+		return this.rastrear(ponto, this.nome(ponto), RastreamentoConfiguration.FASE_SERVICO);
+	}
+
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object rastrearRepositorio(ProceedingJoinPoint ponto) throws Throwable {
+		// os métodos herdados (save, findById...) são declarados em CrudRepository,
+		// o nome vem da interface do repositório implementada pelo proxy
+		String repositorio = this.repositorios.computeIfAbsent(ponto.getThis().getClass(),
+				classe -> this.interfaceRepositorio(ponto.getThis()));
+		return this.rastrear(ponto, repositorio + "." + ponto.getSignature().getName(),
+				RastreamentoConfiguration.FASE_REPOSITORIO);
+	}
+
+	private Object rastrear(ProceedingJoinPoint ponto, String nome, String fase) throws Throwable {
+		Span span = this.tracer.spanBuilder(nome).setAttribute(RastreamentoConfiguration.FASE, fase).startSpan();
+		try (Scope escopo = span.makeCurrent()) {
+			return ponto.proceed();
+		} catch (Throwable e) {
+			span.setStatus(StatusCode.ERROR);
+			span.recordException(e);
+			throw e;
+		} finally {
+			span.end();
+		}
+	}
+
+	private String nome(ProceedingJoinPoint ponto) {
+		Method metodo = ((MethodSignature) ponto.getSignature()).getMethod();
+		return this.nomes.computeIfAbsent(metodo,
+				m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+	}
+
+	private String interfaceRepositorio(Object proxy) {
+		for(Class<?> interfaceProxy : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+			if(interfaceProxy.getName().startsWith(PACOTE)) {
+				return interfaceProxy.getSimpleName();
+			}
+		}
+		return proxy.getClass().getSimpleName();
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+/**
+ * Rastreamento das requisições com o SDK do OpenTelemetry.
+ *
+ * Cada requisição gera um trace com spans para o controller, os serviços, os
+ * repositórios e a (de)serialização JSON, com a fase no atributo "fase". Os
+ * spans amostrados vão para o arquivo em rastreamento.arquivo.caminho, no
+ * formato OTLP JSON, e para TracesLentos, que guarda as requisições mais
+ * lentas para /admin/traces/slow.
+ */
+@Configuration
+public class RastreamentoConfiguration {
+
+	public static final AttributeKey<String> FASE = AttributeKey.stringKey("fase");
+
+	public static final String FASE_HTTP = "http";
+	public static final String FASE_CONTROLLER = "controller";
+	public static final String FASE_SERVICO = "servico";
+	public static final String FASE_REPOSITORIO = "repositorio";
+	public static final String FASE_SERIALIZACAO = "serializacao";
+
+	private static final String NOME_SERVICO = "ControlePonto";
+	private static final String ESCOPO = "com.baracho.pontointeligente.api";
+
+	@Value("${rastreamento.amostragem}")
+	private double amostragem;
+
+	@Value("${rastreamento.arquivo.caminho}")
+	private String arquivo;
+
+	@Value("${rastreamento.arquivo.max_mb}")
+	private long arquivoMaxMb;
+
+	/**
+	 * Amostra a fração rastreamento.amostragem dos traces iniciados aqui e
+	 * segue a decisão do chamador quando a requisição traz o header
+	 * traceparent.
+	 */
+	@Bean(destroyMethod = "close")
+	public SdkTracerProvider sdkTracerProvider(TracesLentos tracesLentos) {
+		SdkTracerProviderBuilder builder = SdkTracerProvider.builder()
+				.setResource(Resource.getDefault().merge(
+						Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), NOME_SERVICO))))
+				.setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(this.amostragem)))
+				.addSpanProcessor(tracesLentos);
+		if(!this.arquivo.isEmpty()) {
+			builder.addSpanProcessor(BatchSpanProcessor.builder(
+					new ExportadorArquivoSpans(Paths.get(this.arquivo), this.arquivoMaxMb * 1024 * 1024)).build());
+		}
+		return builder.build();
+	}
+
+	@Bean
+	public Tracer tracer(SdkTracerProvider sdkTracerProvider) {
+		return sdkTracerProvider.get(ESCOPO);
+	}
+
+	/**
+	 * Substitui o conversor JSON do Spring MVC por um que mede a leitura e a
+	 * escrita dos corpos, com o ObjectMapper configurado pelo Spring Boot.
+	 */
+	@Bean
+	public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+			Tracer tracer) {
+		return new ConversorJsonRastreado(objectMapper, tracer);
+	}
+
+}
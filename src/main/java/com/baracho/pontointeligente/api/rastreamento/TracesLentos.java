@@ -0,0 +1,246 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.baracho.pontointeligente.api.dtos.SpanRastreadoDto;
+import com.baracho.pontointeligente.api.dtos.TraceLentoDto;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Guarda as requisições mais lentas da janela recente, com todos os seus
+ * spans, para a consulta em /admin/traces/slow.
+ *
+ * Os spans filhos ficam pendentes por trace até o fim do span raiz. Se for
+ * uma requisição HTTP, ela entra entre as qtdTraces mais lentas quando é
+ * mais lenta que a menor delas; as que terminaram há mais de janelaMinutos
+ * são descartadas. Só os spans amostrados chegam aqui.
+ */
+@Component
+public class TracesLentos implements SpanProcessor {
+
+	private static final int MAX_PENDENTES = 10000;
+	private static final long VALIDADE_PENDENTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+	private static final AttributeKey<Long> STATUS_HTTP = AttributeKey.longKey("http.status_code");
+
+	private final int qtdTraces;
+	private final long janelaNanos;
+
+	private final ConcurrentMap<String, Pendente> pendentes = new ConcurrentHashMap<String, Pendente>();
+	private final PriorityQueue<TraceLento> lentos = new PriorityQueue<TraceLento>(
+			Comparator.comparingLong(TraceLento::duracao));
+
+	@Autowired
+	public TracesLentos(@Value("${rastreamento.lentos.qtd_traces}") int qtdTraces,
+			@Value("${rastreamento.lentos.janela_minutos}") long janelaMinutos) {
+		this.qtdTraces = qtdTraces;
+		this.janelaNanos = TimeUnit.MINUTES.toNanos(janelaMinutos);
+	}
+
+	@Override
+	public void onStart(Context parentContext, ReadWriteSpan span) {
+	}
+
+	@Override
+	public boolean isStartRequired() {
+		return false;
+	}
+
+	@Override
+	public void onEnd(ReadableSpan span) {
+		SpanData dados = span.toSpanData();
+		SpanContext pai = dados.getParentSpanContext();
+		if(pai.isValid() && !pai.isRemote()) {
+			this.adicionarPendente(dados);
+			return;
+		}
+
+		Pendente filhos = this.pendentes.remove(dados.getTraceId());
+		if(dados.getKind() != SpanKind.SERVER) {
+			return;
+		}
+		List<SpanData> spans = new ArrayList<SpanData>();
+		spans.add(dados);
+		if(filhos != null) {
+			synchronized(filhos) {
+				spans.addAll(filhos.spans);
+			}
+		}
+		this.registrar(new TraceLento(dados, spans));
+	}
+
+	@Override
+	public boolean isEndRequired() {
+		return true;
+	}
+
+	/**
+	 * Retorna as requisições mais lentas da janela, da mais lenta para a mais
+	 * rápida, com o tempo próprio de cada span somado por fase.
+	 *
+	 * @return List<TraceLentoDto>
+	 */
+	public List<TraceLentoDto> obterLentos() {
+		List<TraceLento> traces;
+		synchronized(this.lentos) {
+			this.removerExpirados(System.currentTimeMillis());
+			traces = new ArrayList<TraceLento>(this.lentos);
+		}
+		traces.sort(Comparator.comparingLong(TraceLento::duracao).reversed());
+
+		List<TraceLentoDto> dtos = new ArrayList<TraceLentoDto>();
+		for(TraceLento trace : traces) {
+			dtos.add(converterTrace(trace));
+		}
+		return dtos;
+	}
+
+	private void adicionarPendente(SpanData dados) {
+		Pendente pendente = this.pendentes.get(dados.getTraceId());
+		if(pendente == null) {
+			if(this.pendentes.size() >= MAX_PENDENTES) {
+				// traces cujo span raiz não terminou neste processo
+				long limite = dados.getEndEpochNanos() - VALIDADE_PENDENTE_NANOS;
+				this.pendentes.values().removeIf(p -> p.criacao < limite);
+				if(this.pendentes.size() >= MAX_PENDENTES) {
+					return;
+				}
+			}
+			pendente = this.pendentes.computeIfAbsent(dados.getTraceId(), id -> new Pendente(dados.getEndEpochNanos()));
+		}
+		synchronized(pendente) {
+			pendente.spans.add(dados);
+		}
+	}
+
+	private void registrar(TraceLento trace) {
+		synchronized(this.lentos) {
+			this.removerExpirados(TimeUnit.NANOSECONDS.toMillis(trace.raiz.getEndEpochNanos()));
+			if(this.lentos.size() >= this.qtdTraces) {
+				if(this.lentos.peek().duracao() >= trace.duracao()) {
+					return;
+				}
+				this.lentos.poll();
+			}
+			this.lentos.add(trace);
+		}
+	}
+
+	private void removerExpirados(long agoraMillis) {
+		long limite = TimeUnit.MILLISECONDS.toNanos(agoraMillis) - this.janelaNanos;
+		this.lentos.removeIf(trace -> trace.raiz.getEndEpochNanos() < limite);
+	}
+
+	private static TraceLentoDto converterTrace(TraceLento trace) {
+		SpanData raiz = trace.raiz;
+		Map<String, Long> duracaoFilhos = new HashMap<String, Long>();
+		Map<String, SpanData> porId = new HashMap<String, SpanData>();
+		for(SpanData span : trace.spans) {
+			porId.put(span.getSpanId(), span);
+			if(span != raiz) {
+				duracaoFilhos.merge(span.getParentSpanId(), duracao(span), Long::sum);
+			}
+		}
+
+		List<SpanData> spans = new ArrayList<SpanData>(trace.spans);
+		spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+		Map<String, Double> fases = new LinkedHashMap<String, Double>();
+		List<SpanRastreadoDto> spansDto = new ArrayList<SpanRastreadoDto>();
+		for(SpanData span : spans) {
+			// filhos em paralelo podem somar mais que o pai
+			long propria = Math.max(0, duracao(span) - duracaoFilhos.getOrDefault(span.getSpanId(), 0L));
+			String fase = span.getAttributes().get(RastreamentoConfiguration.FASE);
+
+			SpanRastreadoDto dto = new SpanRastreadoDto();
+			dto.setNome(span.getName());
+			dto.setFase(fase);
+			dto.setProfundidade(profundidade(span, raiz, porId));
+			dto.setInicioMs(millis(span.getStartEpochNanos() - raiz.getStartEpochNanos()));
+			dto.setDuracaoMs(millis(duracao(span)));
+			dto.setDuracaoPropriaMs(millis(propria));
+			dto.setErro(span.getStatus().getStatusCode() == StatusCode.ERROR);
+			spansDto.add(dto);
+			if(fase != null) {
+				fases.merge(fase, dto.getDuracaoPropriaMs(), Double::sum);
+			}
+		}
+
+		TraceLentoDto dto = new TraceLentoDto();
+		dto.setTraceId(raiz.getTraceId());
+		dto.setRequisicao(raiz.getName());
+		Long status = raiz.getAttributes().get(STATUS_HTTP);
+		dto.setStatus(status != null ? status.intValue() : 0);
+		dto.setInicio(new Date(TimeUnit.NANOSECONDS.toMillis(raiz.getStartEpochNanos())));
+		dto.setDuracaoMs(millis(trace.duracao()));
+		dto.setFases(fases);
+		dto.setSpans(spansDto);
+		return dto;
+	}
+
+	private static int profundidade(SpanData span, SpanData raiz, Map<String, SpanData> porId) {
+		int profundidade = 0;
+		SpanData atual = span;
+		while(atual != raiz && atual != null) {
+			atual = porId.get(atual.getParentSpanId());
+			profundidade++;
+		}
+		return profundidade;
+	}
+
+	private static long duracao(SpanData span) {
+		return span.getEndEpochNanos() - span.getStartEpochNanos();
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static class Pendente {
+
+		private final long criacao;
+		private final List<SpanData> spans = new ArrayList<SpanData>();
+
+		private Pendente(long criacao) {
+			this.criacao = criacao;
+		}
+	}
+
+	private static class TraceLento {
+
+		private final SpanData raiz;
+		private final List<SpanData> spans;
+
+		private TraceLento(SpanData raiz, List<SpanData> spans) {
+			this.raiz = raiz;
+			this.spans = Collections.unmodifiableList(spans);
+		}
+
+		private long duracao() {
+			return TracesLentos.duracao(this.raiz);
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Date;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.BancoHoras;
+
+@Transactional(readOnly = true)
+public interface BancoHorasRepository extends JpaRepository<BancoHoras, Long> {
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE BancoHoras b SET b.saldo = b.saldo + :delta, b.dataAtualizacao = :data WHERE b.funcionarioId = :funcionarioId")
+	int somarSaldo(@Param("funcionarioId") Long funcionarioId, @Param("delta") long delta, @Param("data") Date data);
+	
+	/**
+	 * Busca o banco de horas bloqueando a linha até o fim da transação, o que
+	 * serializa os recálculos do funcionario.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM BancoHoras b WHERE b.funcionarioId = :funcionarioId")
+	Optional<BancoHoras> findParaAtualizacao(@Param("funcionarioId") Long funcionarioId);
+	
+	/**
+	 * Insere o banco de horas zerado sem consultá-lo antes, para que uma
+	 * inserção concorrente falhe na chave primária em vez de sobrescrever o saldo.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "INSERT INTO banco_horas (funcionario_id, saldo_ms, data_atualizacao) VALUES (:funcionarioId, 0, :data)",
+			nativeQuery = true)
+	int inserirZerado(@Param("funcionarioId") Long funcionarioId, @Param("data") Date data);
+
+}
@@ -0,0 +1,43 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.ChaveIdempotencia;
+
+@Transactional(readOnly = true)
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM ChaveIdempotencia c WHERE c.dataCriacao < :limite")
+	int removerCriadasAntesDe(@Param("limite") Date limite);
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE ChaveIdempotencia c SET c.status = :status, c.resposta = :resposta WHERE c.chave = :chave")
+	int registrarResposta(@Param("chave") String chave, @Param("status") int status, @Param("resposta") String resposta);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.status = " + ChaveIdempotencia.EM_PROCESSAMENTO)
+	int removerReserva(@Param("chave") String chave);
+	
+	/**
+	 * Remove a chave se for uma reserva criada antes de limiteReserva ou uma
+	 * resposta criada antes de limiteValidade.
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND ((c.status = " + ChaveIdempotencia.EM_PROCESSAMENTO
+			+ " AND c.dataCriacao < :limiteReserva) OR (c.status <> " + ChaveIdempotencia.EM_PROCESSAMENTO
+			+ " AND c.dataCriacao < :limiteValidade))")
+	int removerVencida(@Param("chave") String chave, @Param("limiteReserva") Date limiteReserva,
+			@Param("limiteValidade") Date limiteValidade);
+
+}
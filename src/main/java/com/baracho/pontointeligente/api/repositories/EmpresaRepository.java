@@ -1,12 +1,49 @@
 package com.baracho.pontointeligente.api.repositories;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baracho.pontointeligente.api.entities.Empresa;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
 
+	/*
+	 * As buscas por chave usam o cache de consultas do Hibernate, que também
+	 * guarda os resultados vazios. O cache é invalidado a cada escrita na tabela.
+	 */
+	
 	@Transactional(readOnly = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Empresa findByCnpj(String cnpj);
+	
+	@Transactional(readOnly = true)
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	@Query("SELECT e FROM Empresa e WHERE e.id = :id")
+	Optional<Empresa> findPorId(@Param("id") Long id);
+	
+	/**
+	 * Id da empresa com o CNPJ, sempre consultado na base, sem o cache de consultas.
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT e.id FROM Empresa e WHERE e.cnpj = :cnpj")
+	Optional<Long> findIdPorCnpj(@Param("cnpj") String cnpj);
+	
+	/**
+	 * Percorre o id e o CNPJ de todas as empresas com um cursor.
+	 * Deve ser consumido dentro de uma transação e fechado ao final.
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT e.id, e.cnpj FROM Empresa e")
+	Stream<Object[]> streamIdsECnpjs();
 }
@@ -0,0 +1,24 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.FolhaPagamento;
+import com.baracho.pontointeligente.api.enums.StatusFolhaPagamentoEnum;
+
+@Transactional(readOnly = true)
+public interface FolhaPagamentoRepository extends JpaRepository<FolhaPagamento, Long> {
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE FolhaPagamento f SET f.status = :novo, f.mensagemErro = :mensagemErro, f.dataAtualizacao = :agora "
+			+ "WHERE f.status = :atual")
+	int alterarStatus(@Param("atual") StatusFolhaPagamentoEnum atual, @Param("novo") StatusFolhaPagamentoEnum novo,
+			@Param("mensagemErro") String mensagemErro, @Param("agora") Date agora);
+
+}
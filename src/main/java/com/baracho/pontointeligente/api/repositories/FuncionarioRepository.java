@@ -1,6 +1,17 @@
 package com.baracho.pontointeligente.api.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baracho.pontointeligente.api.entities.Funcionario;
@@ -8,10 +19,56 @@ import com.baracho.pontointeligente.api.entities.Funcionario;
 @Transactional(readOnly = true)
 public interface FuncionarioRepository extends JpaRepository<Funcionario, Long>{
 
+	/*
+	 * As buscas por chave usam o cache de consultas do Hibernate, que também
+	 * guarda os resultados vazios. O cache é invalidado a cada escrita na tabela.
+	 */
+	
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Funcionario findByCpf(String cpf);
 	
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Funcionario findByEmail(String email);
 	
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+	@Query("SELECT f FROM Funcionario f WHERE f.id = :id")
+	Optional<Funcionario> findPorId(@Param("id") Long id);
+	
 	Funcionario findByCpfOrEmail(String cpf, String email);
 	
+	@EntityGraph(Funcionario.GRAFO_EMPRESA)
+	@Query("SELECT f FROM Funcionario f WHERE f.id = :id")
+	Optional<Funcionario> findComEmpresaPorId(@Param("id") Long id);
+	
+	/**
+	 * Percorre o id, o CPF e o id da empresa de todos os funcionarios com um cursor.
+	 * Deve ser consumido dentro de uma transação e fechado ao final.
+	 */
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT f.id, f.cpf, f.empresa.id FROM Funcionario f")
+	Stream<Object[]> streamIdsCpfsEEmpresas();
+	
+	/*
+	 * Consultas do índice de identidades quando ele não tem a entrada: vão
+	 * sempre à base, sem o cache de consultas, para enxergar os cadastros
+	 * feitos por outras instâncias.
+	 */
+	
+	@Query("SELECT f.id FROM Funcionario f WHERE f.cpf = :cpf")
+	Optional<Long> findIdPorCpf(@Param("cpf") String cpf);
+	
+	@Query("SELECT f.empresa.id FROM Funcionario f WHERE f.id = :id")
+	Optional<Long> findEmpresaIdPorId(@Param("id") Long id);
+	
+	@Query("SELECT f.id FROM Funcionario f WHERE f.id IN :ids")
+	List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+	
+	@Query("SELECT f.id, f.valorHora FROM Funcionario f WHERE f.empresa.id = :empresaId ORDER BY f.id")
+	List<Object[]> findIdsEValorHoraPorEmpresa(@Param("empresaId") Long empresaId);
+	
+	@Query("SELECT f.id, f.nome, f.cpf FROM Funcionario f WHERE f.empresa.id = :empresaId ORDER BY f.nome, f.id")
+	List<Object[]> findIdsNomesECpfsPorEmpresa(@Param("empresaId") Long empresaId);
+	
 }
@@ -0,0 +1,33 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.ImportacaoAfd;
+import com.baracho.pontointeligente.api.enums.StatusImportacaoEnum;
+
+public interface ImportacaoAfdRepository extends JpaRepository<ImportacaoAfd, Long> {
+
+	/**
+	 * Passa a importação para EM_ANDAMENTO em um único UPDATE condicional, se
+	 * ela estiver em um dos status retomáveis ou em andamento sem atualização
+	 * desde o limite informado.
+	 * 
+	 * @return 1 se a importação foi retomada, 0 se outra requisição já a retomou
+	 */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE ImportacaoAfd imp SET imp.status = :emAndamento, imp.mensagemErro = NULL, imp.dataAtualizacao = :agora "
+			+ "WHERE imp.id = :id AND (imp.status IN :retomaveis "
+			+ "OR (imp.status = :emAndamento AND imp.dataAtualizacao < :limite))")
+	int retomar(@Param("id") Long id, @Param("retomaveis") Collection<StatusImportacaoEnum> retomaveis,
+			@Param("emAndamento") StatusImportacaoEnum emAndamento, @Param("limite") Date limite,
+			@Param("agora") Date agora);
+
+}
@@ -0,0 +1,15 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.ItemFolhaPagamento;
+
+@Transactional(readOnly = true)
+public interface ItemFolhaPagamentoRepository extends JpaRepository<ItemFolhaPagamento, Long> {
+	
+	List<ItemFolhaPagamento> findByFolhaPagamentoIdOrderByFuncionarioIdAsc(Long folhaPagamentoId);
+
+}
@@ -1,27 +1,146 @@
 package com.baracho.pontointeligente.api.repositories;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
 import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
 
 @Transactional(readOnly = true)
 @NamedQueries({
 	@NamedQuery(name = "LancamentoRepository.findByFuncionarioId",
 			query = "SELECT lanc FROM Lancamento lanc WHERE lanc.funcionario.id = :funcionarioId")})
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
+	
+	String SELECT_RESUMO = "SELECT new com.baracho.pontointeligente.api.dtos.LancamentoResumo(lanc.id, lanc.data, lanc.tipo, "
+			+ "lanc.descricao, lanc.localizacao, lanc.funcionario.id) FROM Lancamento lanc ";
 
 	List<Lancamento> findByFuncionarioId(@Param("funcionarioId") Long funcionarioId);
 	
 	Page<Lancamento> findByFuncionarioId(@Param("funcionarioId") Long funcionarioId, Pageable pageable);
 	
+	/*
+	 * Consultas por período com paginação por posição (keyset): cada página
+	 * continua a partir da data e do id do último lançamento da anterior, na
+	 * ordenação do Pageable. O filtro por funcionario e o intervalo de datas
+	 * [de, ate) são resolvidos pelo índice (funcionario_id, data, id), sem
+	 * OFFSET nem consulta de contagem. As páginas são projeções montadas na
+	 * consulta, sem carregar entidades.
+	 */
+	
+	@Query("SELECT COUNT(lanc) FROM Lancamento lanc WHERE lanc.funcionario.id = :funcionarioId "
+			+ "AND lanc.data >= :de AND lanc.data < :ate")
+	long countNoPeriodo(@Param("funcionarioId") Long funcionarioId, @Param("de") Date de, @Param("ate") Date ate);
+	
+	@Query(SELECT_RESUMO + "WHERE lanc.funcionario.id = :funcionarioId "
+			+ "AND lanc.data >= :de AND lanc.data < :ate")
+	Slice<LancamentoResumo> findPrimeiraPagina(@Param("funcionarioId") Long funcionarioId, @Param("de") Date de,
+			@Param("ate") Date ate, Pageable pageable);
+	
+	@Query(SELECT_RESUMO + "WHERE lanc.funcionario.id = :funcionarioId "
+			+ "AND lanc.data >= :de AND lanc.data < :ate "
+			+ "AND (lanc.data > :data OR (lanc.data = :data AND lanc.id > :id))")
+	Slice<LancamentoResumo> findPaginaAposData(@Param("funcionarioId") Long funcionarioId, @Param("de") Date de,
+			@Param("ate") Date ate, @Param("data") Date data, @Param("id") Long id, Pageable pageable);
+	
+	@Query(SELECT_RESUMO + "WHERE lanc.funcionario.id = :funcionarioId "
+			+ "AND lanc.data >= :de AND lanc.data < :ate "
+			+ "AND (lanc.data < :data OR (lanc.data = :data AND lanc.id < :id))")
+	Slice<LancamentoResumo> findPaginaAntesDaData(@Param("funcionarioId") Long funcionarioId, @Param("de") Date de,
+			@Param("ate") Date ate, @Param("data") Date data, @Param("id") Long id, Pageable pageable);
+	
+	@EntityGraph(Lancamento.GRAFO_FUNCIONARIO)
+	@Query("SELECT lanc FROM Lancamento lanc WHERE lanc.id = :id")
+	Optional<Lancamento> findComFuncionarioPorId(@Param("id") Long id);
+	
+	@Query(SELECT_RESUMO + "WHERE lanc.id = :id")
+	Optional<LancamentoResumo> findResumoPorId(@Param("id") Long id);
+	
+	/**
+	 * Atualiza um lançamento do funcionario em um único UPDATE, sem carregá-lo.
+	 * 
+	 * @return quantidade de linhas alteradas, 0 se o lançamento não existir ou
+	 * for de outro funcionario
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Lancamento lanc SET lanc.data = :data, lanc.tipo = :tipo, lanc.descricao = :descricao, "
+			+ "lanc.localizacao = :localizacao, lanc.dataAtualizacao = :dataAtualizacao "
+			+ "WHERE lanc.id = :id AND lanc.funcionario.id = :funcionarioId")
+	int atualizar(@Param("id") Long id, @Param("funcionarioId") Long funcionarioId, @Param("data") Date data,
+			@Param("tipo") TipoEnum tipo, @Param("descricao") String descricao, @Param("localizacao") String localizacao,
+			@Param("dataAtualizacao") Date dataAtualizacao);
+	
+	/**
+	 * Remove um lançamento em um único DELETE, sem carregá-lo, desde que ainda
+	 * pertença ao funcionario e esteja na data lidos antes da remoção.
+	 * 
+	 * @return quantidade de linhas removidas, 0 se o lançamento não existir ou
+	 * tiver sido alterado
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM Lancamento lanc WHERE lanc.id = :id AND lanc.funcionario.id = :funcionarioId AND lanc.data = :data")
+	int excluir(@Param("id") Long id, @Param("funcionarioId") Long funcionarioId, @Param("data") Date data);
+	
+	/**
+	 * Retorna a data gravada na base de um lançamento, sem descarregar antes
+	 * as alterações pendentes da entidade no contexto de persistência.
+	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query("SELECT lanc.data FROM Lancamento lanc WHERE lanc.id = :id")
+	Optional<Date> findDataGravadaPorId(@Param("id") Long id);
+	
+	/**
+	 * Retorna NSR, funcionario e data dos lançamentos já importados com os NSRs
+	 * informados, pela chave única uk_lancamento_nsr.
+	 */
+	@Query("SELECT lanc.nsr, lanc.funcionario.id, lanc.data FROM Lancamento lanc WHERE lanc.nsr IN :nsrs")
+	List<Object[]> findImportadosPorNsr(@Param("nsrs") Collection<Long> nsrs);
+	
+	/**
+	 * Retorna uma linha com a data do primeiro e do último lançamento do
+	 * funcionario, ambas nulas se ele não tiver lançamentos.
+	 */
+	@Query("SELECT MIN(lanc.data), MAX(lanc.data) FROM Lancamento lanc WHERE lanc.funcionario.id = :funcionarioId")
+	List<Object[]> findPeriodoPorFuncionario(@Param("funcionarioId") Long funcionarioId);
+	
+	@Query("SELECT func.id FROM Funcionario func WHERE EXISTS "
+			+ "(SELECT lanc.id FROM Lancamento lanc WHERE lanc.funcionario = func) ORDER BY func.id")
+	List<Long> findFuncionarioIdsComLancamentos();
+	
+	/**
+	 * Percorre as marcações dos funcionarios de uma empresa com um cursor, na
+	 * ordem do AFD. Cada linha traz a data do lançamento e o CPF do funcionario.
+	 * Deve ser consumido dentro de uma transação e fechado ao final.
+	 */
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")})
+	@Query("SELECT lanc.data, func.cpf FROM Lancamento lanc JOIN lanc.funcionario func "
+			+ "WHERE func.empresa.id = :empresaId AND lanc.data >= :inicio AND lanc.data < :fim "
+			+ "ORDER BY lanc.data, lanc.id")
+	Stream<Object[]> streamMarcacoesPorEmpresa(@Param("empresaId") Long empresaId, @Param("inicio") Date inicio,
+			@Param("fim") Date fim);
+	
 }
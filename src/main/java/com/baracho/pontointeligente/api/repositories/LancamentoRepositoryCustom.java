@@ -0,0 +1,21 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.Date;
+
+import com.baracho.pontointeligente.api.utils.Marcacoes;
+
+public interface LancamentoRepositoryCustom {
+
+	/**
+	 * Lê data e tipo das marcações de um funcionario no período [inicio, fim),
+	 * ordenadas por data e id, direto do ResultSet para arrays primitivos, sem
+	 * montar uma lista de linhas.
+	 * 
+	 * @param funcionarioId
+	 * @param inicio
+	 * @param fim
+	 * @param marcacoes destino, ao qual as marcações são adicionadas
+	 */
+	void lerMarcacoesPorFuncionario(Long funcionarioId, Date inicio, Date fim, Marcacoes marcacoes);
+
+}
@@ -0,0 +1,40 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.utils.Marcacoes;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+	private static final String SQL_MARCACOES = "SELECT data, tipo FROM lancamento WHERE funcionario_id = ? "
+			+ "AND data >= ? AND data < ? ORDER BY data, id";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void lerMarcacoesPorFuncionario(Long funcionarioId, Date inicio, Date fim, Marcacoes marcacoes) {
+		if(TransactionSynchronizationManager.isActualTransactionActive()) {
+			// a consulta JDBC não descarrega os lançamentos pendentes da transação
+			this.entityManager.flush();
+		}
+		this.jdbcTemplate.query(SQL_MARCACOES,
+				(RowCallbackHandler) resultSet -> marcacoes.adicionar(resultSet.getTimestamp(1).getTime(),
+						(byte) TipoEnum.valueOf(resultSet.getString(2)).ordinal()),
+				funcionarioId, new Timestamp(inicio.getTime()), new Timestamp(fim.getTime()));
+	}
+
+}
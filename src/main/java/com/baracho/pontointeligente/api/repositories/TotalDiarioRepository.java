@@ -0,0 +1,41 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.entities.TotalDiario;
+
+@Transactional(readOnly = true)
+public interface TotalDiarioRepository extends JpaRepository<TotalDiario, Long> {
+	
+	List<TotalDiario> findByFuncionarioIdAndDataBetweenOrderByDataAsc(Long funcionarioId, LocalDate inicio, LocalDate fim);
+	
+	/**
+	 * Busca os totais do período bloqueando as linhas até o fim da transação,
+	 * para que recálculos concorrentes do mesmo dia não apliquem o mesmo delta duas vezes.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT t FROM TotalDiario t WHERE t.funcionarioId = :funcionarioId AND t.data >= :inicio AND t.data <= :fim")
+	List<TotalDiario> findParaAtualizacao(@Param("funcionarioId") Long funcionarioId, @Param("inicio") LocalDate inicio,
+			@Param("fim") LocalDate fim);
+
+	/**
+	 * Soma o tempo trabalhado e as horas extras de cada funcionario no período.
+	 * Cada linha traz funcionarioId, trabalhado e extras, em ordem de funcionarioId.
+	 */
+	@Query("SELECT t.funcionarioId, SUM(t.trabalhado), SUM(t.extras) FROM TotalDiario t "
+			+ "WHERE t.funcionarioId IN :funcionarioIds AND t.data >= :inicio AND t.data <= :fim "
+			+ "GROUP BY t.funcionarioId ORDER BY t.funcionarioId")
+	List<Object[]> somarPorFuncionarios(@Param("funcionarioIds") Collection<Long> funcionarioIds,
+			@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+}
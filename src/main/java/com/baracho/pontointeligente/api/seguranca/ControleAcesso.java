@@ -0,0 +1,75 @@
+package com.baracho.pontointeligente.api.seguranca;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+
+/**
+ * Decide se o usuario autenticado pode acessar os dados de um funcionario ou
+ * de uma empresa, só com as claims do token e o índice de identidades em
+ * memória (com a base como fallback): o próprio funcionario sempre pode, e um ROLE_ADMIN pode acessar a
+ * sua empresa e os funcionarios dela.
+ */
+@Component
+public class ControleAcesso {
+
+	public static final String ACESSO_NEGADO = "Acesso negado ao funcionario";
+	public static final String ACESSO_NEGADO_EMPRESA = "Acesso negado à empresa";
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+
+	/**
+	 * Retorna o usuario autenticado pelo token da requisição atual.
+	 *
+	 * @return Optional<UsuarioAutenticado>
+	 */
+	public Optional<UsuarioAutenticado> usuario() {
+		Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+		if(autenticacao == null || !(autenticacao.getPrincipal() instanceof UsuarioAutenticado)) {
+			return Optional.empty();
+		}
+		return Optional.of((UsuarioAutenticado) autenticacao.getPrincipal());
+	}
+
+	/**
+	 * Verifica se o usuario autenticado pode acessar o funcionario. Sem
+	 * funcionario informado não há o que proteger, e a validação do DTO
+	 * trata o caso. A empresa do funcionario vem do índice, que
+	 * consulta a base quando não tem a entrada.
+	 *
+	 * @param funcionarioId
+	 * @return boolean
+	 */
+	public boolean podeAcessarFuncionario(Long funcionarioId) {
+		if(funcionarioId == null) {
+			return true;
+		}
+		return this.usuario().map(usuario -> usuario.getFuncionarioId() == funcionarioId
+				|| (usuario.getPerfil() == PerfilEnum.ROLE_ADMIN
+						&& this.indiceIdentidadesService.buscarEmpresaIdDoFuncionario(funcionarioId) == usuario.getEmpresaId()))
+				.orElse(false);
+	}
+
+	/**
+	 * Verifica se o usuario autenticado é ROLE_ADMIN da empresa.
+	 *
+	 * @param empresaId
+	 * @return boolean
+	 */
+	public boolean podeAcessarEmpresa(Long empresaId) {
+		if(empresaId == null) {
+			return false;
+		}
+		return this.usuario().map(usuario -> usuario.getPerfil() == PerfilEnum.ROLE_ADMIN
+				&& usuario.getEmpresaId() == empresaId)
+				.orElse(false);
+	}
+
+}
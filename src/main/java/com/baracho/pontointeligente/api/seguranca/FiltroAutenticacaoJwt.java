@@ -0,0 +1,48 @@
+package com.baracho.pontointeligente.api.seguranca;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.baracho.pontointeligente.api.services.TokenService;
+
+/**
+ * Autentica a requisição pelo header "Authorization: Bearer <token>". Um
+ * token inválido ou expirado deixa a requisição anônima, e as regras da
+ * SegurancaConfiguration decidem se ela pode seguir.
+ */
+public class FiltroAutenticacaoJwt extends OncePerRequestFilter {
+
+	private static final String PREFIXO = "Bearer ";
+
+	private final TokenService tokenService;
+
+	public FiltroAutenticacaoJwt(TokenService tokenService) {
+		this.tokenService = tokenService;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(header != null && header.startsWith(PREFIXO) && SecurityContextHolder.getContext().getAuthentication() == null) {
+			this.tokenService.validar(header.substring(PREFIXO.length())).ifPresent(usuario -> {
+				UsernamePasswordAuthenticationToken autenticacao = new UsernamePasswordAuthenticationToken(usuario, null,
+						Collections.singletonList(new SimpleGrantedAuthority(usuario.getPerfil().name())));
+				SecurityContextHolder.getContext().setAuthentication(autenticacao);
+			});
+		}
+		filterChain.doFilter(request, response);
+	}
+
+}
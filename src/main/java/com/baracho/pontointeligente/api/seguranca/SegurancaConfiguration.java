@@ -0,0 +1,46 @@
+package com.baracho.pontointeligente.api.seguranca;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+/**
+ * Autenticação sem estado por token JWT (obtido em POST /auth).
+ *
+ * O login, o cadastro de empresas e o health do actuator são públicos; /admin
+ * e o resto do actuator exigem ROLE_SISTEMA, de quem opera a api; as operações
+ * da empresa (empresas, folhas de pagamento, importações e o cadastro de
+ * funcionarios) exigem ROLE_ADMIN; o resto exige um token válido. Os
+ * controllers conferem com ControleAcesso se o funcionario ou a empresa
+ * acessados são os do token.
+ */
+@Configuration
+@EnableWebSecurity
+public class SegurancaConfiguration {
+
+	@Bean
+	public SecurityFilterChain filtrosSeguranca(HttpSecurity http, TokenService tokenService) throws Exception {
+		http.csrf().disable()
+				.cors().and()
+				.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
+				.exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)).and()
+				.authorizeHttpRequests(autorizacao -> autorizacao
+						.antMatchers("/auth", "/api/cadastrar-pj", "/actuator/health", "/error").permitAll()
+						.antMatchers("/admin/**", "/actuator/**").hasAuthority(PerfilEnum.ROLE_SISTEMA.name())
+						.antMatchers("/api/empresas/**", "/api/folhas-pagamento/**", "/api/importacoes/**", "/api/cadastrar-pf")
+								.hasAuthority(PerfilEnum.ROLE_ADMIN.name())
+						.anyRequest().authenticated())
+				.addFilterBefore(new FiltroAutenticacaoJwt(tokenService), UsernamePasswordAuthenticationFilter.class);
+		return http.build();
+	}
+
+}
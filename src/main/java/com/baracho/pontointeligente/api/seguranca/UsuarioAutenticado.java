@@ -0,0 +1,38 @@
+package com.baracho.pontointeligente.api.seguranca;
+
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+
+/**
+ * Funcionario autenticado pelo token JWT, montado só com as claims do token,
+ * sem consultar a base de dados.
+ */
+public class UsuarioAutenticado {
+
+	private final long funcionarioId;
+	private final long empresaId;
+	private final PerfilEnum perfil;
+
+	public UsuarioAutenticado(long funcionarioId, long empresaId, PerfilEnum perfil) {
+		this.funcionarioId = funcionarioId;
+		this.empresaId = empresaId;
+		this.perfil = perfil;
+	}
+
+	public long getFuncionarioId() {
+		return funcionarioId;
+	}
+
+	public long getEmpresaId() {
+		return empresaId;
+	}
+
+	public PerfilEnum getPerfil() {
+		return perfil;
+	}
+
+	@Override
+	public String toString() {
+		return "UsuarioAutenticado [funcionarioId=" + funcionarioId + ", empresaId=" + empresaId + ", perfil=" + perfil + "]";
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.entities.TotalDiario;
+
+public interface BancoHorasService {
+	
+	/**
+	 * Recalcula os totais dos dias das datas informadas, e dos dias anteriores
+	 * a elas, aplicando a diferença de saldo ao banco de horas do funcionario.
+	 * 
+	 * @param funcionarioId
+	 * @param datas datas dos lançamentos gravados ou removidos
+	 */
+	void recalcular(Long funcionarioId, Collection<Date> datas);
+	
+	/**
+	 * Recalcula os dias tocados por uma lista de lançamentos gravados.
+	 * 
+	 * @param lancamentos
+	 */
+	void recalcular(List<Lancamento> lancamentos);
+	
+	/**
+	 * Recalcula todos os dias do funcionario, do mês do primeiro lançamento ao
+	 * último lançamento, com um commit por mês. Preenche os totais de um
+	 * histórico gravado antes dos totais diários existirem e pode ser repetido
+	 * sem alterar o resultado.
+	 * 
+	 * @param funcionarioId
+	 */
+	void recalcularHistorico(Long funcionarioId);
+	
+	/**
+	 * Recalcula o histórico de todos os funcionarios com lançamentos.
+	 * 
+	 * @return quantidade de funcionarios recalculados
+	 */
+	int recalcularHistorico();
+	
+	/**
+	 * Retorna o saldo do banco de horas do funcionario, em milissegundos.
+	 * 
+	 * @param funcionarioId
+	 * @return long
+	 */
+	long buscarSaldo(Long funcionarioId);
+	
+	/**
+	 * Retorna os totais diários do funcionario no período, em ordem de data.
+	 * 
+	 * @param funcionarioId
+	 * @param inicio
+	 * @param fim último dia, inclusive
+	 * @return List<TotalDiario>
+	 */
+	List<TotalDiario> buscarTotais(Long funcionarioId, LocalDate inicio, LocalDate fim);
+
+}
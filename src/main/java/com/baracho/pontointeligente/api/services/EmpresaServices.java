@@ -14,6 +14,14 @@ public interface EmpresaServices {
 	 */
 	Optional<Empresa> buscarPorCnpj(String cnpj);
 	
+	/**
+	 * Retorna uma empresa por ID.
+	 * 
+	 * @param id
+	 * @return Optional<Empresa>
+	 */
+	Optional<Empresa> buscarPorId(Long id);
+	
 	/**
 	 * Cadastra uma nova empresa na base de dados.
 	 * 
@@ -0,0 +1,23 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+
+public interface EspelhoPontoService {
+	
+	/**
+	 * Gera o espelho de ponto de cada funcionario da empresa na competência e
+	 * escreve um ZIP com um CSV por funcionario, à medida que ficam prontos.
+	 * 
+	 * @param empresa
+	 * @param competencia
+	 * @param saida
+	 * @return quantidade de espelhos gerados
+	 * @throws IOException
+	 */
+	int gerarZip(Empresa empresa, YearMonth competencia, OutputStream saida) throws IOException;
+
+}
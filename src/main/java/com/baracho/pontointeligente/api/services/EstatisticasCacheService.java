@@ -0,0 +1,17 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.util.List;
+
+import com.baracho.pontointeligente.api.dtos.EstatisticasCacheDto;
+
+public interface EstatisticasCacheService {
+	
+	/**
+	 * Retorna acertos, falhas, inserções e remoções de cada região do cache
+	 * de segundo nível.
+	 * 
+	 * @return List<EstatisticasCacheDto>
+	 */
+	List<EstatisticasCacheDto> obterEstatisticas();
+
+}
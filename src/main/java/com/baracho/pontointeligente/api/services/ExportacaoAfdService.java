@@ -0,0 +1,24 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+
+public interface ExportacaoAfdService {
+	
+	/**
+	 * Escreve o AFD das marcações dos funcionarios de uma empresa no período,
+	 * lendo os lançamentos por cursor direto para a saída.
+	 * 
+	 * @param empresa
+	 * @param inicio primeiro dia do período
+	 * @param fim último dia do período, inclusive
+	 * @param saida
+	 * @return quantidade de marcações exportadas
+	 * @throws IOException
+	 */
+	long exportar(Empresa empresa, LocalDate inicio, LocalDate fim, OutputStream saida) throws IOException;
+
+}
@@ -0,0 +1,55 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.FolhaPagamento;
+
+public interface FolhaPagamentoService {
+	
+	/**
+	 * Cria a folha de pagamento da empresa na competência e inicia o cálculo
+	 * em segundo plano, se não houver outro cálculo da mesma competência em
+	 * andamento.
+	 * 
+	 * @param empresa
+	 * @param competencia
+	 * @return Optional<FolhaPagamento> vazio quando a competência já está em cálculo
+	 */
+	Optional<FolhaPagamento> iniciar(Empresa empresa, YearMonth competencia);
+	
+	/**
+	 * Retorna uma folha por ID, com o progresso atual quando ainda em cálculo.
+	 * 
+	 * @param id
+	 * @return Optional<FolhaPagamento>
+	 */
+	Optional<FolhaPagamento> buscarPorId(Long id);
+	
+	/**
+	 * Indica se já existe um cálculo em andamento para a empresa na competência.
+	 * 
+	 * @param empresaId
+	 * @param competencia
+	 * @return boolean
+	 */
+	boolean emExecucao(Long empresaId, YearMonth competencia);
+	
+	/**
+	 * Solicita o cancelamento de um cálculo em andamento. Os blocos já gravados são mantidos.
+	 * 
+	 * @param id
+	 * @return boolean false quando a folha não está em cálculo
+	 */
+	boolean cancelar(Long id);
+	
+	/**
+	 * Marca como FALHA as folhas gravadas como EM_ANDAMENTO, cujo cálculo foi
+	 * perdido no encerramento da aplicação. Executado na inicialização.
+	 * 
+	 * @return quantidade de folhas marcadas
+	 */
+	int marcarInterrompidas();
+
+}
@@ -1,6 +1,8 @@
 package com.baracho.pontointeligente.api.services;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 import com.baracho.pontointeligente.api.entities.Funcionario;
 
@@ -30,11 +32,29 @@ public interface FuncionarioService {
 	Optional<Funcionario> buscarEmail(String email);
 	
 	/**
-	 * Busca e retorna um funcionario dado um ID.
+	 * Busca e retorna um funcionario dado um ID. Carrega apenas o funcionario;
+	 * a empresa fica como referência não inicializada.
 	 * 
 	 * @param id
 	 * @return Optional<Funcionario>
 	 */
 	Optional<Funcionario> buscarPorId(Long id);
+	
+	/**
+	 * Busca e retorna um funcionario dado um ID, com a empresa carregada na
+	 * mesma consulta.
+	 * 
+	 * @param id
+	 * @return Optional<Funcionario>
+	 */
+	Optional<Funcionario> buscarPorIdComEmpresa(Long id);
+	
+	/**
+	 * Retorna, em uma única consulta, quais dos IDs informados existem na base de dados.
+	 * 
+	 * @param ids
+	 * @return Set<Long>
+	 */
+	Set<Long> buscarIdsExistentes(Collection<Long> ids);
 
 }
@@ -0,0 +1,35 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.baracho.pontointeligente.api.dtos.GravacaoJfrDto;
+
+public interface GravacaoJfrService {
+	
+	/**
+	 * Inicia uma gravação do Java Flight Recorder, limitada em duração e em
+	 * tamanho, que para sozinha ao fim da duração.
+	 * 
+	 * @param duracaoSegundos limitada a jfr.duracao_maxima_segundos
+	 * @return Optional<GravacaoJfrDto> vazio se já houver uma gravação em andamento
+	 */
+	Optional<GravacaoJfrDto> iniciar(long duracaoSegundos);
+	
+	/**
+	 * Retorna o estado da última gravação iniciada.
+	 * 
+	 * @return Optional<GravacaoJfrDto>
+	 */
+	Optional<GravacaoJfrDto> obterEstado();
+	
+	/**
+	 * Para a gravação em andamento, se houver, e retorna uma cópia do arquivo
+	 * .jfr da última gravação. A cópia não é afetada por novas gravações e
+	 * deve ser removida pelo chamador.
+	 * 
+	 * @return Optional<Path> vazio se nenhuma gravação foi iniciada
+	 */
+	Optional<Path> parar();
+
+}
@@ -0,0 +1,54 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.util.Optional;
+
+import com.baracho.pontointeligente.api.entities.ChaveIdempotencia;
+
+public interface IdempotenciaService {
+
+	/**
+	 * Retorna a chave de idempotência ainda válida, com a resposta registrada
+	 * ou em processamento.
+	 *
+	 * @param chave
+	 * @return Optional<ChaveIdempotencia>
+	 */
+	Optional<ChaveIdempotencia> buscar(String chave);
+
+	/**
+	 * Reserva uma chave inserindo-a na base de dados em processamento. Só uma
+	 * requisição consegue reservar a chave, mesmo entre instâncias da api.
+	 *
+	 * @param chave
+	 * @param impressao
+	 * @return boolean false se a chave já existe
+	 */
+	boolean reservar(String chave, String impressao);
+
+	/**
+	 * Registra a resposta de uma chave reservada, em memória e na base de dados.
+	 *
+	 * @param chave
+	 * @param impressao
+	 * @param status
+	 * @param resposta
+	 */
+	void registrar(String chave, String impressao, int status, String resposta);
+
+	/**
+	 * Remove a reserva de uma chave sem resposta registrada, para que a
+	 * requisição possa ser repetida.
+	 *
+	 * @param chave
+	 */
+	void liberar(String chave);
+
+	/**
+	 * Calcula a impressão (SHA-256 em hexadecimal) do corpo de uma requisição.
+	 *
+	 * @param corpo
+	 * @return String
+	 */
+	String gerarImpressao(byte[] corpo);
+
+}
@@ -0,0 +1,56 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.baracho.pontointeligente.api.entities.ImportacaoAfd;
+
+public interface ImportacaoAfdService {
+	
+	/**
+	 * Localiza um arquivo AFD dentro do diretório de importação.
+	 * 
+	 * @param arquivo nome do arquivo, relativo ao diretório de importação
+	 * @return Optional<Path>
+	 */
+	Optional<Path> localizarArquivo(String arquivo);
+	
+	/**
+	 * Cria uma importação para o arquivo e a inicia em segundo plano. As
+	 * marcações de funcionarios de outras empresas são ignoradas.
+	 * 
+	 * @param arquivo
+	 * @param empresaId
+	 * @return ImportacaoAfd
+	 * @throws IOException
+	 */
+	ImportacaoAfd iniciar(Path arquivo, Long empresaId) throws IOException;
+	
+	/**
+	 * Retoma uma importação interrompida, com falha ou parada em andamento a
+	 * partir da última posição gravada. A mudança de status é atômica, então
+	 * só uma de várias requisições simultâneas retoma a importação.
+	 * 
+	 * @param importacao
+	 * @return Optional<ImportacaoAfd> vazio se a importação não pode ser retomada
+	 */
+	Optional<ImportacaoAfd> retomar(ImportacaoAfd importacao);
+	
+	/**
+	 * Retorna uma importação por ID.
+	 * 
+	 * @param id
+	 * @return Optional<ImportacaoAfd>
+	 */
+	Optional<ImportacaoAfd> buscarPorId(Long id);
+	
+	/**
+	 * Indica se a importação está sendo executada neste momento.
+	 * 
+	 * @param id
+	 * @return boolean
+	 */
+	boolean emExecucao(Long id);
+
+}
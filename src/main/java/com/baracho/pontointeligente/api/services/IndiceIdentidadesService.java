@@ -0,0 +1,48 @@
+package com.baracho.pontointeligente.api.services;
+
+public interface IndiceIdentidadesService {
+	
+	/** Retorno das buscas por id quando a identidade não está cadastrada. */
+	long NAO_ENCONTRADO = -1L;
+	
+	/**
+	 * Retorna o id do funcionario com o CPF em formato numérico.
+	 * 
+	 * @param cpf
+	 * @return id do funcionario, ou NAO_ENCONTRADO
+	 */
+	long buscarFuncionarioId(long cpf);
+	
+	/**
+	 * Retorna o id da empresa com o CNPJ em formato numérico.
+	 * 
+	 * @param cnpj
+	 * @return id da empresa, ou NAO_ENCONTRADO
+	 */
+	long buscarEmpresaId(long cnpj);
+	
+	/**
+	 * Retorna o id da empresa do funcionario.
+	 * 
+	 * @param funcionarioId
+	 * @return id da empresa, ou NAO_ENCONTRADO
+	 */
+	long buscarEmpresaIdDoFuncionario(long funcionarioId);
+	
+	/**
+	 * Verifica se já existe funcionario com o CPF.
+	 * 
+	 * @param cpf
+	 * @return boolean
+	 */
+	boolean cpfCadastrado(String cpf);
+	
+	/**
+	 * Verifica se já existe empresa com o CNPJ.
+	 * 
+	 * @param cnpj
+	 * @return boolean
+	 */
+	boolean cnpjCadastrado(String cnpj);
+
+}
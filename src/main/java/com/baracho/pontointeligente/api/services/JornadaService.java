@@ -0,0 +1,21 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.time.LocalDate;
+
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.utils.CalculadoraJornada;
+
+public interface JornadaService {
+	
+	/**
+	 * Calcula a jornada diária de um funcionario no período. Turnos iniciados
+	 * no último dia são considerados até o fim do dia seguinte.
+	 * 
+	 * @param funcionario
+	 * @param inicio primeiro dia do período
+	 * @param fim último dia do período, inclusive
+	 * @return CalculadoraJornada com um resultado por dia com marcações
+	 */
+	CalculadoraJornada calcular(Funcionario funcionario, LocalDate inicio, LocalDate fim);
+
+}
@@ -1,11 +1,16 @@
 package com.baracho.pontointeligente.api.services;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
 import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.utils.CursorPaginacao;
 
 public interface LancamentoService {
 	
@@ -18,13 +23,54 @@ public interface LancamentoService {
 	Page<Lancamento> buscarPorFuncionarioId(Long funcionarioId, PageRequest pageRequest);
 	
 	/**
-	 * Retorna um lançamento por ID.
+	 * Retorna a página de lançamentos de um funcionario no período [de, ate)
+	 * que segue a posição informada, sem consulta de contagem. O custo não
+	 * depende da profundidade da página.
+	 * 
+	 * @param funcionarioId 
+	 * @param de início do período, ou null para não limitar
+	 * @param ate fim exclusivo do período, ou null para não limitar
+	 * @param cursor 
+	 * @param qtdPorPagina 
+	 * @return Slice<LancamentoResumo>
+	 */
+	Slice<LancamentoResumo> buscarPorFuncionarioId(Long funcionarioId, Date de, Date ate, CursorPaginacao cursor, int qtdPorPagina);
+	
+	/**
+	 * Retorna a quantidade de lançamentos de um funcionario no período [de, ate).
+	 * 
+	 * @param funcionarioId 
+	 * @param de início do período, ou null para não limitar
+	 * @param ate fim exclusivo do período, ou null para não limitar
+	 * @return long
+	 */
+	long contarPorFuncionarioId(Long funcionarioId, Date de, Date ate);
+	
+	/**
+	 * Retorna um lançamento por ID. Carrega apenas o lançamento; o funcionario
+	 * fica como referência não inicializada, da qual só o id pode ser lido.
 	 * 
 	 * @param id 
 	 * @return Optional<Lancamento>
 	 */
 	Optional<Lancamento> buscarPorId(Long id);
 	
+	/**
+	 * Retorna um lançamento por ID com o funcionario carregado na mesma consulta.
+	 * 
+	 * @param id 
+	 * @return Optional<Lancamento>
+	 */
+	Optional<Lancamento> buscarPorIdComFuncionario(Long id);
+	
+	/**
+	 * Retorna a projeção de leitura de um lançamento por ID.
+	 * 
+	 * @param id 
+	 * @return Optional<LancamentoResumo>
+	 */
+	Optional<LancamentoResumo> buscarResumoPorId(Long id);
+	
 	
 	/**
 	 * Persite um lançamento na base de dados.
@@ -34,9 +80,35 @@ public interface LancamentoService {
 	 */
 	Lancamento persistir(Lancamento lancamento);
 	
+	/**
+	 * Atualiza data, tipo, descrição e localização de um lançamento existente
+	 * sem carregá-lo. O funcionario do lançamento deve ser o informado.
+	 * 
+	 * @param lancamento com id e funcionario preenchidos
+	 * @return Optional<Lancamento> vazio se o lançamento não existir ou for de outro funcionario
+	 */
+	Optional<Lancamento> atualizar(Lancamento lancamento);
+	
+	/**
+	 * Persiste um lote de lançamentos novos utilizando batching JDBC.
+	 * 
+	 * @param lancamentos 
+	 * @return List<Lancamento>
+	 */
+	List<Lancamento> persistirLote(List<Lancamento> lancamentos);
+	
 	/**
 	 * Remove um lançamento da base de dados.
 	 * @param id  
+	 * @return false se o lançamento não existir
+	 */
+	boolean remover(Long id);
+	
+	/**
+	 * Remove um lançamento já consultado, sem consultá-lo novamente. A remoção
+	 * só acontece se o lançamento ainda pertencer ao mesmo funcionario e data.
+	 * @param lancamento
+	 * @return false se o lançamento não existir mais ou tiver sido alterado
 	 */
-	void remover(Long id);
+	boolean remover(LancamentoResumo lancamento);
 }
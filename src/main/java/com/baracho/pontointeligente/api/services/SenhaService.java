@@ -0,0 +1,41 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.baracho.pontointeligente.api.entities.Funcionario;
+
+public interface SenhaService {
+
+	/**
+	 * Gera o hash BCrypt de uma senha no pool de threads de senhas.
+	 *
+	 * O retorno é concluído com RejectedExecutionException quando a fila do
+	 * pool está cheia e com TimeoutException quando o hash não fica pronto
+	 * dentro de senha.timeout_ms.
+	 *
+	 * @param senha
+	 * @return CompletableFuture<String> com o hash, ou null se a senha for nula
+	 */
+	CompletableFuture<String> gerarHash(String senha);
+
+	/**
+	 * Verifica a senha de um funcionario no pool de threads de senhas. Se a
+	 * senha confere e o hash gravado foi gerado com um custo diferente do
+	 * configurado, um novo hash é gerado e o funcionario é persistido.
+	 *
+	 * @param funcionario
+	 * @param senha
+	 * @return CompletableFuture<Boolean> true se a senha confere
+	 */
+	CompletableFuture<Boolean> verificar(Funcionario funcionario, String senha);
+
+	/**
+	 * Confere a senha contra um hash fixo no pool de threads de senhas, para
+	 * que um email não cadastrado leve o mesmo tempo que uma senha incorreta.
+	 *
+	 * @param senha
+	 * @return CompletableFuture<Boolean> sempre concluído com false
+	 */
+	CompletableFuture<Boolean> verificarSemCadastro(String senha);
+
+}
@@ -0,0 +1,27 @@
+package com.baracho.pontointeligente.api.services;
+
+import java.util.Optional;
+
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+
+public interface TokenService {
+
+	/**
+	 * Gera um token JWT assinado com as claims funcionarioId, empresaId e
+	 * perfil do usuario, válido por jwt.expiracao_segundos.
+	 *
+	 * @param usuario
+	 * @return token
+	 */
+	String gerarToken(UsuarioAutenticado usuario);
+
+	/**
+	 * Valida a assinatura e a expiração de um token. Tokens já verificados
+	 * ficam em cache até expirarem e não têm a assinatura conferida de novo.
+	 *
+	 * @param token
+	 * @return Optional<UsuarioAutenticado> vazio se o token for inválido ou expirado
+	 */
+	Optional<UsuarioAutenticado> validar(String token);
+
+}
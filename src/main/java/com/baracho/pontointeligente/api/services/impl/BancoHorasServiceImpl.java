@@ -0,0 +1,259 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.entities.BancoHoras;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.entities.TotalDiario;
+import com.baracho.pontointeligente.api.repositories.BancoHorasRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+import com.baracho.pontointeligente.api.services.BancoHorasService;
+import com.baracho.pontointeligente.api.services.JornadaService;
+import com.baracho.pontointeligente.api.utils.CalculadoraJornada;
+
+/**
+ * Mantém os totais diários e o banco de horas de forma incremental.
+ *
+ * Cada alteração de lançamentos recalcula só os dias tocados: o dia do
+ * lançamento e o anterior, já que um turno noturno iniciado na véspera é
+ * contado no dia em que começou. A diferença entre o saldo novo e o gravado
+ * de cada dia é somada ao banco de horas com um UPDATE atômico.
+ *
+ * Um recálculo que só altera totais já gravados fica em quatro instruções:
+ * os totais do período travados, as marcações, a atualização do dia que
+ * mudou e o UPDATE do saldo. Os recálculos de um mesmo dia são serializados
+ * pela trava da linha do total diário; só quando o dia ainda não tem total a
+ * linha do banco de horas, criada antes em uma transação própria, é travada
+ * e o dia é relido, para que dois recálculos simultâneos nunca insiram o
+ * mesmo total diário.
+ */
+@Service
+public class BancoHorasServiceImpl implements BancoHorasService {
+
+	private static final Logger log = LoggerFactory.getLogger(BancoHorasServiceImpl.class);
+
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+
+	@Autowired
+	private BancoHorasRepository bancoHorasRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private JornadaService jornadaService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate novaTransacao;
+
+	@PostConstruct
+	public void iniciar() {
+		this.novaTransacao = new TransactionTemplate(this.transactionManager);
+		this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@Override
+	@Transactional
+	public void recalcular(Long funcionarioId, Collection<Date> datas) {
+		Optional<Funcionario> funcionario = this.funcionarioRepository.findById(funcionarioId);
+		if(datas.isEmpty() || !funcionario.isPresent()) {
+			return;
+		}
+
+		ZoneId fuso = ZoneId.systemDefault();
+		Set<LocalDate> dias = new HashSet<LocalDate>();
+		LocalDate inicio = LocalDate.MAX;
+		LocalDate fim = LocalDate.MIN;
+		for(Date data : datas) {
+			LocalDate dia = data.toInstant().atZone(fuso).toLocalDate();
+			dias.add(dia);
+			dias.add(dia.minusDays(1));
+			inicio = dia.minusDays(1).isBefore(inicio) ? dia.minusDays(1) : inicio;
+			fim = dia.isAfter(fim) ? dia : fim;
+		}
+		log.info("Recalculando {} dias do funcionario {} entre {} e {}", dias.size(), funcionarioId, inicio, fim);
+		this.recalcularDias(funcionario.get(), dias, inicio, fim);
+	}
+
+	@Override
+	public void recalcularHistorico(Long funcionarioId) {
+		Object[] periodo = this.lancamentoRepository.findPeriodoPorFuncionario(funcionarioId).get(0);
+		if(periodo[0] == null) {
+			return;
+		}
+
+		ZoneId fuso = ZoneId.systemDefault();
+		LocalDate primeiro = ((Date) periodo[0]).toInstant().atZone(fuso).toLocalDate().withDayOfMonth(1);
+		LocalDate ultimo = ((Date) periodo[1]).toInstant().atZone(fuso).toLocalDate();
+		log.info("Recalculando o histórico do funcionario {} de {} a {}", funcionarioId, primeiro, ultimo);
+		for(LocalDate inicio = primeiro; !inicio.isAfter(ultimo); inicio = inicio.plusMonths(1)) {
+			LocalDate fim = inicio.plusMonths(1).minusDays(1);
+			Set<LocalDate> dias = new HashSet<LocalDate>();
+			for(LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+				dias.add(dia);
+			}
+			LocalDate primeiroDoMes = inicio;
+			this.novaTransacao.executeWithoutResult(status -> this.funcionarioRepository.findById(funcionarioId)
+					.ifPresent(funcionario -> this.recalcularDias(funcionario, dias, primeiroDoMes, fim)));
+		}
+	}
+
+	@Override
+	public int recalcularHistorico() {
+		List<Long> funcionarioIds = this.lancamentoRepository.findFuncionarioIdsComLancamentos();
+		log.info("Recalculando o histórico do banco de horas de {} funcionarios", funcionarioIds.size());
+		funcionarioIds.forEach(this::recalcularHistorico);
+		return funcionarioIds.size();
+	}
+
+	@Override
+	@Transactional
+	public void recalcular(List<Lancamento> lancamentos) {
+		// em ordem de funcionario, para que transações concorrentes travem os bancos de horas na mesma ordem
+		Map<Long, List<Date>> datasPorFuncionario = new TreeMap<Long, List<Date>>();
+		for(Lancamento lancamento : lancamentos) {
+			datasPorFuncionario.computeIfAbsent(lancamento.getFuncionario().getId(), id -> new ArrayList<Date>())
+					.add(lancamento.getData());
+		}
+		datasPorFuncionario.forEach(this::recalcular);
+	}
+
+	@Override
+	public long buscarSaldo(Long funcionarioId) {
+		return this.bancoHorasRepository.findById(funcionarioId).map(BancoHoras::getSaldo).orElse(0L);
+	}
+
+	@Override
+	public List<TotalDiario> buscarTotais(Long funcionarioId, LocalDate inicio, LocalDate fim) {
+		log.info("Buscando totais diários do funcionario {} de {} a {}", funcionarioId, inicio, fim);
+		return this.totalDiarioRepository.findByFuncionarioIdAndDataBetweenOrderByDataAsc(funcionarioId, inicio, fim);
+	}
+
+	/**
+	 * Recalcula os dias informados, entre inicio e fim, com a linha do banco de
+	 * horas do funcionario travada até o fim da transação.
+	 */
+	private void recalcularDias(Funcionario funcionario, Set<LocalDate> dias, LocalDate inicio, LocalDate fim) {
+		Long funcionarioId = funcionario.getId();
+		Map<LocalDate, TotalDiario> gravados = new HashMap<LocalDate, TotalDiario>();
+		for(TotalDiario total : this.totalDiarioRepository.findParaAtualizacao(funcionarioId, inicio, fim)) {
+			gravados.put(total.getData(), total);
+		}
+
+		CalculadoraJornada jornada = this.jornadaService.calcular(funcionario, inicio, fim);
+		boolean travado = false;
+		List<TotalDiario> alterados = new ArrayList<TotalDiario>();
+		long delta = 0;
+		for(int i = 0; i < jornada.getQtdDias(); i++) {
+			LocalDate dia = LocalDate.ofEpochDay(jornada.getDia(i));
+			if(!dias.remove(dia)) {
+				continue;
+			}
+			TotalDiario total = gravados.get(dia);
+			if(total == null) {
+				// dia sem total: a inserção é serializada pelo banco de horas, e o dia é relido depois da trava
+				if(!travado) {
+					this.travarBancoHoras(funcionarioId);
+					travado = true;
+				}
+				total = this.totalDiarioRepository.findParaAtualizacao(funcionarioId, dia, dia).stream().findFirst()
+						.orElseGet(TotalDiario::new);
+				total.setFuncionarioId(funcionarioId);
+				total.setData(dia);
+			}
+			if(total.getId() != null && !this.alterado(total, jornada, i)) {
+				continue;
+			}
+			delta += jornada.getSaldo(i) - total.getSaldo();
+			this.preencher(total, jornada, i);
+			alterados.add(total);
+		}
+		this.totalDiarioRepository.saveAll(alterados);
+
+		for(LocalDate dia : dias) {
+			TotalDiario total = gravados.get(dia);
+			if(total != null) {
+				delta -= total.getSaldo();
+				this.totalDiarioRepository.delete(total);
+			}
+		}
+
+		this.somarSaldo(funcionarioId, delta);
+	}
+
+	/**
+	 * Trava a linha do banco de horas do funcionario, criando-a zerada em uma
+	 * transação própria se ainda não existir. Se outra transação criar a linha
+	 * ao mesmo tempo, a chave primária rejeita a segunda inserção e a trava é
+	 * feita sobre a linha já gravada.
+	 */
+	private void travarBancoHoras(Long funcionarioId) {
+		if(this.bancoHorasRepository.findParaAtualizacao(funcionarioId).isPresent()) {
+			return;
+		}
+		try {
+			this.novaTransacao.executeWithoutResult(status -> this.bancoHorasRepository.inserirZerado(funcionarioId, new Date()));
+		} catch (DataIntegrityViolationException e) {
+			log.debug("Banco de horas do funcionario {} criado por outra transação", funcionarioId);
+		}
+		this.bancoHorasRepository.findParaAtualizacao(funcionarioId);
+	}
+
+	private void somarSaldo(Long funcionarioId, long delta) {
+		if(delta != 0 && this.bancoHorasRepository.somarSaldo(funcionarioId, delta, new Date()) == 0) {
+			// totais gravados antes do banco de horas existir
+			this.travarBancoHoras(funcionarioId);
+			this.bancoHorasRepository.somarSaldo(funcionarioId, delta, new Date());
+		}
+	}
+
+	private boolean alterado(TotalDiario total, CalculadoraJornada jornada, int i) {
+		return total.getTrabalhado() != jornada.getTrabalhado(i) || total.getAlmoco() != jornada.getAlmoco(i)
+				|| total.getPausa() != jornada.getPausa(i) || total.getExtras() != jornada.getExtras(i)
+				|| total.getSaldo() != jornada.getSaldo(i) || total.getAlmocoSuprimido() != jornada.getAlmocoSuprimido(i)
+				|| total.getInconsistencias() != jornada.getInconsistencias(i);
+	}
+
+	private void preencher(TotalDiario total, CalculadoraJornada jornada, int i) {
+		total.setTrabalhado(jornada.getTrabalhado(i));
+		total.setAlmoco(jornada.getAlmoco(i));
+		total.setPausa(jornada.getPausa(i));
+		total.setExtras(jornada.getExtras(i));
+		total.setSaldo(jornada.getSaldo(i));
+		total.setAlmocoSuprimido(jornada.getAlmocoSuprimido(i));
+		total.setInconsistencias(jornada.getInconsistencias(i));
+	}
+
+}
@@ -25,9 +25,15 @@ public class EmpresaServiceImpl implements EmpresaServices{
 		return Optional.ofNullable(empresaRepository.findByCnpj(cnpj));
 	}
 
+	@Override
+	public Optional<Empresa> buscarPorId(Long id) {
+		log.info("Buscando uma empresa pelo ID {}", id);
+		return this.empresaRepository.findPorId(id);
+	}
+
 	@Override
 	public Empresa persistir(Empresa empresa) {
-		log.info("Persintindo empresa: {}", empresa);
+		log.debug("Persistindo empresa: {}", empresa);
 		return this.empresaRepository.save(empresa);
 	}
 
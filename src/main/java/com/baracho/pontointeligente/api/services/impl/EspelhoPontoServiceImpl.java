@@ -0,0 +1,258 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.TotalDiario;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+import com.baracho.pontointeligente.api.services.EspelhoPontoService;
+import com.baracho.pontointeligente.api.utils.DuracaoUtils;
+import com.baracho.pontointeligente.api.utils.FusoHorario;
+import com.baracho.pontointeligente.api.utils.Marcacoes;
+
+/**
+ * Gera os espelhos de ponto de uma empresa em paralelo e os escreve em um ZIP.
+ *
+ * Os espelhos são gerados por um pool de threads fixo, com no máximo
+ * espelho.max_em_andamento espelhos em geração ou prontos aguardando escrita
+ * por requisição. A thread da resposta escreve cada espelho assim que ele fica
+ * pronto, na ordem dos funcionarios, e só então submete o próximo. Assim a
+ * memória usada não depende do número de funcionarios e os primeiros bytes
+ * saem logo após o primeiro espelho.
+ */
+@Service
+public class EspelhoPontoServiceImpl implements EspelhoPontoService {
+
+	private static final Logger log = LoggerFactory.getLogger(EspelhoPontoServiceImpl.class);
+	private static final String SEPARADOR = ";";
+	private static final TipoEnum[] TIPOS = TipoEnum.values();
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+
+	@Value("${espelho.max_em_andamento:16}")
+	private int maxEmAndamento;
+
+	private final ExecutorService executor;
+
+	public EspelhoPontoServiceImpl(@Value("${espelho.paralelismo:4}") int paralelismo) {
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+			Thread thread = new Thread(tarefa, "espelho-ponto-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		this.executor.shutdownNow();
+	}
+
+	@Override
+	public int gerarZip(Empresa empresa, YearMonth competencia, OutputStream saida) throws IOException {
+		List<Object[]> funcionarios = this.funcionarioRepository.findIdsNomesECpfsPorEmpresa(empresa.getId());
+		log.info("Gerando {} espelhos de ponto da empresa {} na competência {}", funcionarios.size(), empresa.getId(), competencia);
+
+		ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(saida, 64 * 1024));
+		Deque<Future<Espelho>> emAndamento = new ArrayDeque<Future<Espelho>>(this.maxEmAndamento);
+		int proximo = 0;
+		int gerados = 0;
+		try {
+			while(proximo < funcionarios.size() || !emAndamento.isEmpty()) {
+				while(proximo < funcionarios.size() && emAndamento.size() < this.maxEmAndamento) {
+					Object[] funcionario = funcionarios.get(proximo++);
+					emAndamento.add(this.executor.submit(() -> this.gerarEspelhoOuErro(funcionario, competencia)));
+				}
+
+				Espelho espelho = this.aguardar(emAndamento.poll());
+				zip.putNextEntry(new ZipEntry(espelho.nome));
+				zip.write(espelho.conteudo);
+				zip.closeEntry();
+				zip.flush();
+				gerados++;
+			}
+			zip.finish();
+			zip.flush();
+		} catch (IOException | RuntimeException e) {
+			log.warn("Geração de espelhos da empresa {} interrompida após {} espelhos", empresa.getId(), gerados);
+			emAndamento.forEach(futuro -> futuro.cancel(true));
+			throw e;
+		}
+
+		log.info("Gerados {} espelhos de ponto da empresa {}", gerados, empresa.getId());
+		return gerados;
+	}
+
+	private Espelho aguardar(Future<Espelho> futuro) throws IOException {
+		try {
+			return futuro.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrompido aguardando espelho de ponto", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Erro gerando espelho de ponto", e.getCause());
+		}
+	}
+
+	/**
+	 * Uma falha no espelho de um funcionario não interrompe o ZIP: no lugar do
+	 * CSV é gravada uma entrada erro_<id>.txt com a mensagem.
+	 */
+	private Espelho gerarEspelhoOuErro(Object[] funcionario, YearMonth competencia) {
+		try {
+			return this.gerarEspelho(funcionario, competencia);
+		} catch (RuntimeException e) {
+			log.error("Erro gerando espelho de ponto do funcionario {}: {}", funcionario[0], e.getMessage());
+			String mensagem = "Erro gerando espelho de ponto do funcionario " + funcionario[0] + ": " + e + "\r\n";
+			return new Espelho("erro_" + funcionario[0] + ".txt", mensagem.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Gera o CSV do espelho de um funcionario: uma linha por dia do mês com as
+	 * marcações e os totais diários gravados, e uma linha final de totais.
+	 */
+	private Espelho gerarEspelho(Object[] funcionario, YearMonth competencia) {
+		Long funcionarioId = (Long) funcionario[0];
+		String nome = (String) funcionario[1];
+		String cpf = (String) funcionario[2];
+		LocalDate inicio = competencia.atDay(1);
+		LocalDate fim = competencia.atEndOfMonth();
+		ZoneId fuso = ZoneId.systemDefault();
+
+		Map<LocalDate, TotalDiario> totais = new HashMap<LocalDate, TotalDiario>();
+		for(TotalDiario total : this.totalDiarioRepository.findByFuncionarioIdAndDataBetweenOrderByDataAsc(funcionarioId, inicio, fim)) {
+			totais.put(total.getData(), total);
+		}
+		Marcacoes marcacoes = new Marcacoes();
+		this.lancamentoRepository.lerMarcacoesPorFuncionario(funcionarioId, Date.from(inicio.atStartOfDay(fuso).toInstant()),
+				Date.from(fim.plusDays(1).atStartOfDay(fuso).toInstant()), marcacoes);
+		long[] datas = marcacoes.getDatas();
+		byte[] tipos = marcacoes.getTipos();
+
+		StringBuilder csv = new StringBuilder(4096);
+		csv.append("Funcionario").append(SEPARADOR).append(this.escapar(nome)).append(SEPARADOR)
+				.append("CPF").append(SEPARADOR).append(cpf).append(SEPARADOR)
+				.append("Competencia").append(SEPARADOR).append(competencia).append("\r\n");
+		csv.append("Data;Marcacoes;Trabalhado;Almoco;Pausa;Extras;Saldo;Inconsistencias\r\n");
+
+		FusoHorario fusoHorario = new FusoHorario(fuso);
+		long trabalhado = 0;
+		long extras = 0;
+		long saldo = 0;
+		int m = 0;
+		for(LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+			csv.append(dia).append(SEPARADOR);
+			long epochDia = dia.toEpochDay();
+			boolean primeira = true;
+			while(m < marcacoes.getQuantidade()) {
+				long data = datas[m];
+				if(fusoHorario.dia(data) != epochDia) {
+					break;
+				}
+				long segundosDoDia = fusoHorario.segundosLocais(data) - epochDia * 86400L;
+				csv.append(primeira ? "" : " ").append(String.format("%02d:%02d", segundosDoDia / 3600, segundosDoDia / 60 % 60))
+						.append(' ').append(this.sigla(TIPOS[tipos[m]]));
+				primeira = false;
+				m++;
+			}
+
+			TotalDiario total = totais.get(dia);
+			if(total == null) {
+				csv.append(";;;;;;\r\n");
+				continue;
+			}
+			csv.append(SEPARADOR).append(DuracaoUtils.formatarHoras(total.getTrabalhado()))
+					.append(SEPARADOR).append(DuracaoUtils.formatarHoras(total.getAlmoco()))
+					.append(SEPARADOR).append(DuracaoUtils.formatarHoras(total.getPausa()))
+					.append(SEPARADOR).append(DuracaoUtils.formatarHoras(total.getExtras()))
+					.append(SEPARADOR).append(DuracaoUtils.formatarHoras(total.getSaldo()))
+					.append(SEPARADOR).append(total.getInconsistencias()).append("\r\n");
+			trabalhado += total.getTrabalhado();
+			extras += total.getExtras();
+			saldo += total.getSaldo();
+		}
+		csv.append("Total;").append(SEPARADOR).append(DuracaoUtils.formatarHoras(trabalhado)).append(";;;")
+				.append(DuracaoUtils.formatarHoras(extras)).append(SEPARADOR).append(DuracaoUtils.formatarHoras(saldo))
+				.append(";\r\n");
+
+		return new Espelho("espelho_" + competencia + "_" + cpf + ".csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String sigla(TipoEnum tipo) {
+		switch (tipo) {
+		case INICIO_TRABALHO:
+			return "E";
+		case TERMINO_TRABALHO:
+			return "S";
+		case INICIO_ALMOCO:
+			return "SA";
+		case TERMINO_ALMOCO:
+			return "RA";
+		case INICIO_PAUSA:
+			return "SP";
+		default:
+			return "RP";
+		}
+	}
+
+	private String escapar(String valor) {
+		if(valor == null) {
+			return "";
+		}
+		if(valor.contains(SEPARADOR) || valor.contains("\"") || valor.contains("\n")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+
+	private static final class Espelho {
+
+		private final String nome;
+		private final byte[] conteudo;
+
+		private Espelho(String nome, byte[] conteudo) {
+			this.nome = nome;
+			this.conteudo = conteudo;
+		}
+
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.dtos.EstatisticasCacheDto;
+import com.baracho.pontointeligente.api.services.EstatisticasCacheService;
+
+/**
+ * Lê as estatísticas que o provedor JCache publica via JMX para cada cache
+ * com monitoring.statistics habilitado em application.conf.
+ */
+@Service
+public class EstatisticasCacheServiceImpl implements EstatisticasCacheService {
+	
+	private static final Logger log = LoggerFactory.getLogger(EstatisticasCacheServiceImpl.class);
+	
+	private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+	@Override
+	public List<EstatisticasCacheDto> obterEstatisticas() {
+		List<EstatisticasCacheDto> estatisticas = new ArrayList<>();
+		try {
+			for (ObjectName nome : this.mBeanServer.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+				EstatisticasCacheDto dto = new EstatisticasCacheDto();
+				dto.setRegiao(nome.getKeyProperty("Cache"));
+				dto.setAcertos((Long) this.mBeanServer.getAttribute(nome, "CacheHits"));
+				dto.setFalhas((Long) this.mBeanServer.getAttribute(nome, "CacheMisses"));
+				dto.setInsercoes((Long) this.mBeanServer.getAttribute(nome, "CachePuts"));
+				dto.setRemocoes((Long) this.mBeanServer.getAttribute(nome, "CacheEvictions"));
+				dto.setPercentualAcertos((Float) this.mBeanServer.getAttribute(nome, "CacheHitPercentage"));
+				estatisticas.add(dto);
+			}
+		} catch (JMException e) {
+			log.error("Erro ao ler as estatísticas do cache: {}", e.getMessage());
+		}
+		estatisticas.sort(Comparator.comparing(EstatisticasCacheDto::getRegiao));
+		return estatisticas;
+	}
+
+}
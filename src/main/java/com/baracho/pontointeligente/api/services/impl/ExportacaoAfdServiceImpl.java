@@ -0,0 +1,77 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.baracho.pontointeligente.api.afd.AfdEscritor;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.ExportacaoAfdService;
+
+/**
+ * Exporta o AFD de uma empresa percorrendo os lançamentos com um cursor
+ * somente leitura. Cada linha é escrita assim que lida, então a memória usada
+ * não depende do tamanho do período.
+ */
+@Service
+public class ExportacaoAfdServiceImpl implements ExportacaoAfdService {
+
+	private static final Logger log = LoggerFactory.getLogger(ExportacaoAfdServiceImpl.class);
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportar(Empresa empresa, LocalDate inicio, LocalDate fim, OutputStream saida) throws IOException {
+		log.info("Exportando AFD da empresa {} de {} a {}", empresa.getId(), inicio, fim);
+		ZoneId fuso = ZoneId.systemDefault();
+		Date dataInicial = Date.from(inicio.atStartOfDay(fuso).toInstant());
+		Date dataFinal = Date.from(fim.plusDays(1).atStartOfDay(fuso).toInstant());
+
+		BufferedOutputStream buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+		AfdEscritor escritor = new AfdEscritor(buffer, fuso);
+		escritor.escreverCabecalho(empresa.getCnpj(), empresa.getRazaoSocial(), inicio, fim);
+
+		try(Stream<Object[]> marcacoes = this.lancamentoRepository.streamMarcacoesPorEmpresa(empresa.getId(), dataInicial, dataFinal)) {
+			Iterator<Object[]> cursor = marcacoes.iterator();
+			while(cursor.hasNext()) {
+				Object[] marcacao = cursor.next();
+				escritor.escreverMarcacao(((Date) marcacao[0]).getTime(), cpfNumerico((String) marcacao[1]));
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		escritor.escreverTrailer();
+		buffer.flush();
+		log.info("AFD da empresa {} exportado com {} marcações", empresa.getId(), escritor.getMarcacoes());
+		return escritor.getMarcacoes();
+	}
+
+	private static long cpfNumerico(String cpf) {
+		long valor = 0;
+		for(int i = 0; i < cpf.length(); i++) {
+			char c = cpf.charAt(i);
+			if(c >= '0' && c <= '9') {
+				valor = valor * 10 + (c - '0');
+			}
+		}
+		return valor;
+	}
+
+}
@@ -0,0 +1,321 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.dtos.FilaGravacaoDto;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.BancoHorasService;
+
+/**
+ * Fila de gravação write-behind dos lançamentos.
+ *
+ * Quando habilitada, os lançamentos novos são enfileirados em uma fila limitada
+ * e gravados por uma thread dedicada em commits agrupados (por quantidade ou a
+ * cada intervalo). Quem enfileira só recebe o retorno depois que o commit do
+ * seu grupo foi concluído. Com a fila cheia o chamador grava de forma síncrona.
+ *
+ * Cada item é reservado por quem vai gravá-lo: a thread da fila, ao montar o
+ * grupo, ou o próprio chamador, quando o item não sai da fila em
+ * lancamento.write_behind.timeout_ms (thread parada ou fila já encerrada).
+ * Nesse caso o chamador grava de forma síncrona e a thread descarta o item.
+ */
+@Component
+public class FilaGravacaoLancamentos {
+
+	private static final Logger log = LoggerFactory.getLogger(FilaGravacaoLancamentos.class);
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private BancoHorasService bancoHorasService;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${lancamento.write_behind.habilitado:false}")
+	private boolean habilitada;
+
+	@Value("${lancamento.write_behind.capacidade:10000}")
+	private int capacidade;
+
+	@Value("${lancamento.write_behind.qtd_por_commit:200}")
+	private int qtdPorCommit;
+
+	@Value("${lancamento.write_behind.intervalo_ms:10}")
+	private long intervaloMs;
+
+	@Value("${lancamento.write_behind.timeout_ms:2000}")
+	private long timeoutMs;
+
+	private BlockingQueue<ItemGravacao> fila;
+	private Thread gravador;
+	private volatile boolean ativa;
+
+	private final AtomicLong commits = new AtomicLong();
+	private final AtomicLong lancamentosGravados = new AtomicLong();
+	private final AtomicLong gravacoesSincronas = new AtomicLong();
+	private final AtomicLong falhas = new AtomicLong();
+	private final AtomicLong tempoTotalCommitNanos = new AtomicLong();
+	private volatile int ultimoLote;
+	private volatile long maiorTempoCommitNanos;
+
+	public FilaGravacaoLancamentos() {}
+
+	@PostConstruct
+	public void iniciar() {
+		if(!this.habilitada) {
+			return;
+		}
+
+		log.info("Iniciando fila de gravação de lançamentos. Capacidade: {}, por commit: {}, intervalo: {} ms",
+				this.capacidade, this.qtdPorCommit, this.intervaloMs);
+		this.fila = new ArrayBlockingQueue<ItemGravacao>(this.capacidade);
+		this.ativa = true;
+		this.gravador = new Thread(this::gravarContinuamente, "fila-gravacao-lancamentos");
+		this.gravador.start();
+	}
+
+	@PreDestroy
+	public void encerrar() throws InterruptedException {
+		if(this.gravador == null) {
+			return;
+		}
+
+		log.info("Encerrando fila de gravação de lançamentos. Pendentes: {}", this.fila.size());
+		this.ativa = false;
+		this.gravador.join();
+
+		List<ItemGravacao> restantes = new ArrayList<ItemGravacao>();
+		this.fila.drainTo(restantes);
+		this.reservar(restantes);
+		if(!restantes.isEmpty()) {
+			this.commitar(restantes);
+		}
+	}
+
+	public boolean isHabilitada() {
+		return this.habilitada;
+	}
+
+	/**
+	 * Enfileira um lançamento novo e aguarda o commit do grupo em que ele foi gravado.
+	 *
+	 * @param lancamento
+	 * @return Optional<Lancamento> vazio quando o chamador deve gravar de forma
+	 *         síncrona: fila cheia, desativada ou sem retirar o item no prazo
+	 */
+	public Optional<Lancamento> gravar(Lancamento lancamento) {
+		if(!this.ativa) {
+			return Optional.empty();
+		}
+
+		ItemGravacao item = new ItemGravacao(lancamento);
+		if(!this.fila.offer(item)) {
+			this.gravacoesSincronas.incrementAndGet();
+			log.warn("Fila de gravação cheia, gravando lançamento de forma síncrona");
+			return Optional.empty();
+		}
+		if(!this.ativa && item.reservado.compareAndSet(false, true)) {
+			// a fila foi encerrada (e esvaziada) entre a verificação e o offer
+			this.gravacoesSincronas.incrementAndGet();
+			return Optional.empty();
+		}
+
+		Optional<Lancamento> gravado = this.aguardar(item, this.timeoutMs);
+		if(gravado.isPresent()) {
+			return gravado;
+		}
+		if(item.reservado.compareAndSet(false, true)) {
+			this.gravacoesSincronas.incrementAndGet();
+			log.warn("Lançamento não saiu da fila de gravação em {} ms, gravando de forma síncrona", this.timeoutMs);
+			return Optional.empty();
+		}
+		// já está no commit de um grupo, que sempre completa o resultado
+		return this.aguardar(item, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Aguarda o commit do item por até timeoutMs.
+	 *
+	 * @param item
+	 * @param timeoutMs
+	 * @return Optional<Lancamento> vazio se o prazo terminar antes do commit
+	 */
+	private Optional<Lancamento> aguardar(ItemGravacao item, long timeoutMs) {
+		try {
+			return Optional.of(item.resultado.get(timeoutMs, TimeUnit.MILLISECONDS));
+		} catch (TimeoutException e) {
+			return Optional.empty();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando a gravação do lançamento", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Erro gravando lançamento", e.getCause());
+		}
+	}
+
+	/**
+	 * Retorna as estatísticas atuais da fila.
+	 *
+	 * @return FilaGravacaoDto
+	 */
+	public FilaGravacaoDto obterEstatisticas() {
+		FilaGravacaoDto dto = new FilaGravacaoDto();
+		long qtdCommits = this.commits.get();
+		dto.setHabilitada(this.habilitada);
+		dto.setCapacidade(this.capacidade);
+		dto.setPendentes(this.fila == null ? 0 : this.fila.size());
+		dto.setCommits(qtdCommits);
+		dto.setLancamentosGravados(this.lancamentosGravados.get());
+		dto.setGravacoesSincronas(this.gravacoesSincronas.get());
+		dto.setFalhas(this.falhas.get());
+		dto.setUltimoLote(this.ultimoLote);
+		dto.setMediaLote(qtdCommits == 0 ? 0 : (double) this.lancamentosGravados.get() / qtdCommits);
+		dto.setMediaTempoCommitMs(qtdCommits == 0 ? 0 : this.tempoTotalCommitNanos.get() / qtdCommits / 1e6);
+		dto.setMaiorTempoCommitMs(this.maiorTempoCommitNanos / 1e6);
+		return dto;
+	}
+
+	private void gravarContinuamente() {
+		List<ItemGravacao> lote = new ArrayList<ItemGravacao>(this.qtdPorCommit);
+		while(this.ativa || !this.fila.isEmpty()) {
+			try {
+				ItemGravacao primeiro = this.fila.poll(this.intervaloMs, TimeUnit.MILLISECONDS);
+				if(primeiro == null) {
+					continue;
+				}
+
+				lote.add(primeiro);
+				long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.intervaloMs);
+				this.fila.drainTo(lote, this.qtdPorCommit - lote.size());
+				while(lote.size() < this.qtdPorCommit) {
+					ItemGravacao item = this.fila.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if(item == null) {
+						break;
+					}
+					lote.add(item);
+					this.fila.drainTo(lote, this.qtdPorCommit - lote.size());
+				}
+
+				this.reservar(lote);
+				if(!lote.isEmpty()) {
+					this.commitar(lote);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (RuntimeException | Error e) {
+				log.error("Erro inesperado na fila de gravação de lançamentos", e);
+				lote.forEach(item -> item.resultado.completeExceptionally(e));
+				if(e instanceof Error) {
+					// os itens ainda na fila vencem o prazo e são gravados pelos chamadores
+					this.ativa = false;
+					throw (Error) e;
+				}
+			} finally {
+				lote.clear();
+			}
+		}
+	}
+
+	/**
+	 * Reserva os itens do grupo para a thread da fila, descartando os que os
+	 * chamadores já reservaram para gravar de forma síncrona.
+	 *
+	 * @param lote
+	 */
+	private void reservar(List<ItemGravacao> lote) {
+		lote.removeIf(item -> !item.reservado.compareAndSet(false, true));
+	}
+
+	/**
+	 * Grava um grupo de lançamentos em um único commit. Se o commit falhar, os
+	 * lançamentos são gravados um a um para que só os inválidos recebam o erro.
+	 *
+	 * @param lote
+	 */
+	private void commitar(List<ItemGravacao> lote) {
+		List<Lancamento> lancamentos = new ArrayList<Lancamento>(lote.size());
+		lote.forEach(item -> lancamentos.add(item.lancamento));
+
+		long inicio = System.nanoTime();
+		try {
+			this.transactionTemplate.executeWithoutResult(status -> {
+				this.lancamentoRepository.saveAll(lancamentos);
+				this.bancoHorasService.recalcular(lancamentos);
+			});
+		} catch (RuntimeException e) {
+			log.warn("Falha no commit agrupado de {} lançamentos, gravando individualmente", lote.size(), e);
+			this.commitarIndividualmente(lote);
+			return;
+		}
+
+		this.registrarCommit(lote.size(), System.nanoTime() - inicio);
+		lote.forEach(item -> item.resultado.complete(item.lancamento));
+	}
+
+	private void commitarIndividualmente(List<ItemGravacao> lote) {
+		for(ItemGravacao item : lote) {
+			item.lancamento.setId(null);
+			long inicio = System.nanoTime();
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> {
+					this.lancamentoRepository.save(item.lancamento);
+					this.bancoHorasService.recalcular(Collections.singletonList(item.lancamento));
+				});
+				this.registrarCommit(1, System.nanoTime() - inicio);
+				item.resultado.complete(item.lancamento);
+			} catch (RuntimeException e) {
+				this.falhas.incrementAndGet();
+				item.resultado.completeExceptionally(e);
+			}
+		}
+	}
+
+	private void registrarCommit(int qtdLancamentos, long tempoNanos) {
+		this.commits.incrementAndGet();
+		this.lancamentosGravados.addAndGet(qtdLancamentos);
+		this.tempoTotalCommitNanos.addAndGet(tempoNanos);
+		this.ultimoLote = qtdLancamentos;
+		if(tempoNanos > this.maiorTempoCommitNanos) {
+			this.maiorTempoCommitNanos = tempoNanos;
+		}
+	}
+
+	private static final class ItemGravacao {
+		private final Lancamento lancamento;
+		private final CompletableFuture<Lancamento> resultado = new CompletableFuture<Lancamento>();
+		private final AtomicBoolean reservado = new AtomicBoolean();
+
+		private ItemGravacao(Lancamento lancamento) {
+			this.lancamento = lancamento;
+		}
+	}
+
+}
@@ -0,0 +1,335 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.FolhaPagamento;
+import com.baracho.pontointeligente.api.entities.ItemFolhaPagamento;
+import com.baracho.pontointeligente.api.enums.StatusFolhaPagamentoEnum;
+import com.baracho.pontointeligente.api.repositories.FolhaPagamentoRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.ItemFolhaPagamentoRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+import com.baracho.pontointeligente.api.services.FolhaPagamentoService;
+
+/**
+ * Calcula a folha de pagamento de uma empresa em um pool fork-join dedicado.
+ *
+ * Os funcionarios são carregados uma vez em arrays primitivos (id e valor
+ * hora em centavos) e divididos recursivamente até blocos de tamanho fixo.
+ * Cada bloco soma as horas do mês nos totais diários com uma consulta,
+ * calcula os valores em centavos com aritmética de long e grava os itens em
+ * uma transação com batching JDBC. BigDecimal só aparece na leitura do valor
+ * hora e na gravação dos itens.
+ *
+ * Só um cálculo por empresa e competência roda de cada vez: a reserva da
+ * competência é feita antes de a folha ser criada. Os cálculos existem só em
+ * memória, então as folhas que ficaram EM_ANDAMENTO quando a aplicação foi
+ * encerrada são marcadas como FALHA na inicialização.
+ */
+@Service
+public class FolhaPagamentoServiceImpl implements FolhaPagamentoService {
+
+	private static final Logger log = LoggerFactory.getLogger(FolhaPagamentoServiceImpl.class);
+	private static final long MS_POR_HORA = 3600000L;
+	private static final String CALCULO_INTERROMPIDO = "Cálculo interrompido pelo encerramento da aplicação.";
+
+	@Autowired
+	private FolhaPagamentoRepository folhaPagamentoRepository;
+
+	@Autowired
+	private ItemFolhaPagamentoRepository itemFolhaPagamentoRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${folha.funcionarios_por_bloco:500}")
+	private int funcionariosPorBloco;
+
+	@Value("${folha.adicional_extras_percentual:50}")
+	private int adicionalExtrasPercentual;
+
+	private final ForkJoinPool pool;
+	private final ExecutorService coordenador = Executors.newSingleThreadExecutor(tarefa -> new Thread(tarefa, "folha-pagamento"));
+	private final Map<Long, Execucao> execucoes = new ConcurrentHashMap<Long, Execucao>();
+	private final Set<String> competenciasEmExecucao = ConcurrentHashMap.newKeySet();
+
+	public FolhaPagamentoServiceImpl(@Value("${folha.paralelismo:4}") int paralelismo) {
+		this.pool = new ForkJoinPool(paralelismo);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		this.execucoes.values().forEach(execucao -> execucao.cancelada = true);
+		this.coordenador.shutdownNow();
+		this.pool.shutdownNow();
+	}
+
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	public int marcarInterrompidas() {
+		int interrompidas = this.folhaPagamentoRepository.alterarStatus(StatusFolhaPagamentoEnum.EM_ANDAMENTO,
+				StatusFolhaPagamentoEnum.FALHA, CALCULO_INTERROMPIDO, new Date());
+		if(interrompidas > 0) {
+			log.warn("{} folhas de pagamento interrompidas marcadas como {}", interrompidas, StatusFolhaPagamentoEnum.FALHA);
+		}
+		return interrompidas;
+	}
+
+	@Override
+	public Optional<FolhaPagamento> iniciar(Empresa empresa, YearMonth competencia) {
+		String chave = chave(empresa.getId(), competencia);
+		if(!this.competenciasEmExecucao.add(chave)) {
+			log.info("Folha de pagamento da empresa {} na competência {} já em cálculo", empresa.getId(), competencia);
+			return Optional.empty();
+		}
+		log.info("Iniciando folha de pagamento da empresa {} na competência {}", empresa.getId(), competencia);
+		try {
+			FolhaPagamento folha = new FolhaPagamento();
+			folha.setEmpresaId(empresa.getId());
+			folha.setCompetencia(competencia.atDay(1));
+			folha.setStatus(StatusFolhaPagamentoEnum.EM_ANDAMENTO);
+			folha = this.folhaPagamentoRepository.save(folha);
+
+			Execucao execucao = new Execucao(folha, competencia);
+			this.execucoes.put(folha.getId(), execucao);
+			this.coordenador.execute(() -> this.calcular(execucao));
+			return Optional.of(folha);
+		} catch (RuntimeException e) {
+			this.competenciasEmExecucao.remove(chave);
+			throw e;
+		}
+	}
+
+	@Override
+	public Optional<FolhaPagamento> buscarPorId(Long id) {
+		log.info("Buscando folha de pagamento por ID {}", id);
+		Optional<FolhaPagamento> folha = this.folhaPagamentoRepository.findById(id);
+		Execucao execucao = this.execucoes.get(id);
+		if(folha.isPresent() && execucao != null) {
+			execucao.atualizarProgresso(folha.get());
+		}
+		return folha;
+	}
+
+	@Override
+	public boolean emExecucao(Long empresaId, YearMonth competencia) {
+		return this.competenciasEmExecucao.contains(chave(empresaId, competencia));
+	}
+
+	@Override
+	public boolean cancelar(Long id) {
+		Execucao execucao = this.execucoes.get(id);
+		if(execucao == null) {
+			return false;
+		}
+		log.info("Cancelando folha de pagamento {}", id);
+		execucao.cancelada = true;
+		return true;
+	}
+
+	private void calcular(Execucao execucao) {
+		FolhaPagamento folha = execucao.folha;
+		try {
+			this.carregarFuncionarios(execucao);
+			folha.setQtdFuncionarios(execucao.funcionarioIds.length);
+			folha.setQtdSemValorHora(execucao.qtdSemValorHora);
+			this.folhaPagamentoRepository.save(folha);
+
+			this.pool.invoke(new CalculoBloco(execucao, 0, execucao.funcionarioIds.length));
+			this.finalizar(execucao, execucao.cancelada ? StatusFolhaPagamentoEnum.CANCELADA : StatusFolhaPagamentoEnum.CONCLUIDA, null);
+		} catch (RuntimeException e) {
+			log.error("Erro calculando folha de pagamento {}", folha.getId(), e);
+			this.finalizar(execucao, StatusFolhaPagamentoEnum.FALHA, e.getMessage());
+		} finally {
+			this.execucoes.remove(folha.getId());
+			this.competenciasEmExecucao.remove(chave(folha.getEmpresaId(), YearMonth.from(execucao.inicio)));
+		}
+	}
+
+	private static String chave(Long empresaId, YearMonth competencia) {
+		return empresaId + ":" + competencia;
+	}
+
+	private void finalizar(Execucao execucao, StatusFolhaPagamentoEnum status, String mensagemErro) {
+		FolhaPagamento folha = execucao.folha;
+		execucao.atualizarProgresso(folha);
+		folha.setStatus(status);
+		folha.setMensagemErro(mensagemErro);
+		this.folhaPagamentoRepository.save(folha);
+		log.info("Folha de pagamento {} finalizada com status {}: {} funcionarios em {} ms", folha.getId(), status,
+				folha.getQtdProcessados(), folha.getDuracaoMs());
+	}
+
+	/**
+	 * Carrega os funcionarios da empresa com valor hora, convertido em centavos.
+	 */
+	private void carregarFuncionarios(Execucao execucao) {
+		List<Object[]> funcionarios = this.funcionarioRepository.findIdsEValorHoraPorEmpresa(execucao.folha.getEmpresaId());
+		long[] ids = new long[funcionarios.size()];
+		long[] centavosPorHora = new long[funcionarios.size()];
+		int quantidade = 0;
+		for(Object[] funcionario : funcionarios) {
+			BigDecimal valorHora = (BigDecimal) funcionario[1];
+			if(valorHora == null || valorHora.signum() <= 0) {
+				execucao.qtdSemValorHora++;
+				continue;
+			}
+			ids[quantidade] = (Long) funcionario[0];
+			centavosPorHora[quantidade] = valorHora.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+			quantidade++;
+		}
+		execucao.funcionarioIds = quantidade == ids.length ? ids : Arrays.copyOf(ids, quantidade);
+		execucao.centavosPorHora = quantidade == ids.length ? centavosPorHora : Arrays.copyOf(centavosPorHora, quantidade);
+	}
+
+	/**
+	 * Calcula e grava um bloco de funcionarios, de inicio (inclusive) a fim (exclusive).
+	 */
+	private void calcularBloco(Execucao execucao, int inicio, int fim) {
+		List<Long> ids = new ArrayList<Long>(fim - inicio);
+		for(int i = inicio; i < fim; i++) {
+			ids.add(execucao.funcionarioIds[i]);
+		}
+		List<Object[]> somas = this.totalDiarioRepository.somarPorFuncionarios(ids, execucao.inicio, execucao.fim);
+
+		List<ItemFolhaPagamento> itens = new ArrayList<ItemFolhaPagamento>(fim - inicio);
+		long totalBloco = 0;
+		int s = 0;
+		for(int i = inicio; i < fim; i++) {
+			long funcionarioId = execucao.funcionarioIds[i];
+			long trabalhado = 0;
+			long extras = 0;
+			if(s < somas.size() && (Long) somas.get(s)[0] == funcionarioId) {
+				trabalhado = ((Number) somas.get(s)[1]).longValue();
+				extras = ((Number) somas.get(s)[2]).longValue();
+				s++;
+			}
+			long normais = trabalhado - extras;
+			long centavosPorHora = execucao.centavosPorHora[i];
+			long valorNormal = valorCentavos(normais, centavosPorHora, 100);
+			long valorExtras = valorCentavos(extras, centavosPorHora, 100 + this.adicionalExtrasPercentual);
+			totalBloco += valorNormal + valorExtras;
+
+			ItemFolhaPagamento item = new ItemFolhaPagamento();
+			item.setFolhaPagamentoId(execucao.folha.getId());
+			item.setFuncionarioId(funcionarioId);
+			item.setHorasNormais(normais);
+			item.setHorasExtras(extras);
+			item.setValorHora(BigDecimal.valueOf(centavosPorHora, 2));
+			item.setValorNormal(BigDecimal.valueOf(valorNormal, 2));
+			item.setValorExtras(BigDecimal.valueOf(valorExtras, 2));
+			item.setValorTotal(BigDecimal.valueOf(valorNormal + valorExtras, 2));
+			itens.add(item);
+		}
+
+		this.transactionTemplate.executeWithoutResult(status -> this.itemFolhaPagamentoRepository.saveAll(itens));
+		execucao.totalCentavos.add(totalBloco);
+		execucao.processados.add(fim - inicio);
+	}
+
+	/**
+	 * Valor em centavos de uma duração paga a um percentual do valor hora,
+	 * arredondado para o centavo mais próximo.
+	 *
+	 * @param duracaoMs
+	 * @param centavosPorHora
+	 * @param percentual 100 para a hora normal
+	 * @return long
+	 */
+	static long valorCentavos(long duracaoMs, long centavosPorHora, int percentual) {
+		long divisor = MS_POR_HORA * 100;
+		return (Math.multiplyExact(Math.multiplyExact(duracaoMs, centavosPorHora), percentual) + divisor / 2) / divisor;
+	}
+
+	private final class CalculoBloco extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Execucao execucao;
+		private final int inicio;
+		private final int fim;
+
+		private CalculoBloco(Execucao execucao, int inicio, int fim) {
+			this.execucao = execucao;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected void compute() {
+			if(this.execucao.cancelada) {
+				return;
+			}
+			if(this.fim - this.inicio <= funcionariosPorBloco) {
+				calcularBloco(this.execucao, this.inicio, this.fim);
+				return;
+			}
+			int meio = (this.inicio + this.fim) >>> 1;
+			invokeAll(new CalculoBloco(this.execucao, this.inicio, meio), new CalculoBloco(this.execucao, meio, this.fim));
+		}
+
+	}
+
+	private static final class Execucao {
+
+		private final FolhaPagamento folha;
+		private final LocalDate inicio;
+		private final LocalDate fim;
+		private final long inicioNanos = System.nanoTime();
+		private final LongAdder processados = new LongAdder();
+		private final LongAdder totalCentavos = new LongAdder();
+		private long[] funcionarioIds = new long[0];
+		private long[] centavosPorHora = new long[0];
+		private long qtdSemValorHora;
+		private volatile boolean cancelada;
+
+		private Execucao(FolhaPagamento folha, YearMonth competencia) {
+			this.folha = folha;
+			this.inicio = competencia.atDay(1);
+			this.fim = competencia.atEndOfMonth();
+		}
+
+		private void atualizarProgresso(FolhaPagamento destino) {
+			destino.setQtdProcessados(this.processados.sum());
+			destino.setValorTotal(BigDecimal.valueOf(this.totalCentavos.sum(), 2));
+			destino.setDuracaoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.inicioNanos));
+		}
+
+	}
+
+}
@@ -1,6 +1,9 @@
 package com.baracho.pontointeligente.api.services.impl;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +24,7 @@ public class FuncionarioServiceImpl implements FuncionarioService{
 
 	@Override
 	public Funcionario persistir(Funcionario funcionario) {
-		log.info("Persistindo funcionario: {}", funcionario);
+		log.debug("Persistindo funcionario: {}", funcionario);
 		return this.funcionarioRepository.save(funcionario);
 	}
 
@@ -39,8 +42,23 @@ public class FuncionarioServiceImpl implements FuncionarioService{
 
 	@Override
 	public Optional<Funcionario> buscarPorId(Long id) {
-		// TODO Auto-generated method stub
-		return this.funcionarioRepository.findById(id);
+		log.info("Buscando funcionario pelo ID: {}", id);
+		return this.funcionarioRepository.findPorId(id);
+	}
+
+	@Override
+	public Optional<Funcionario> buscarPorIdComEmpresa(Long id) {
+		log.info("Buscando funcionario com empresa pelo ID: {}", id);
+		return this.funcionarioRepository.findComEmpresaPorId(id);
+	}
+
+	@Override
+	public Set<Long> buscarIdsExistentes(Collection<Long> ids) {
+		log.info("Verificando existência de {} funcionarios", ids.size());
+		if(ids.isEmpty()) {
+			return new HashSet<Long>();
+		}
+		return new HashSet<Long>(this.funcionarioRepository.findIdsExistentes(ids));
 	}
 
 }
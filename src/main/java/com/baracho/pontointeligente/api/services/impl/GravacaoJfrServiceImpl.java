@@ -0,0 +1,148 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.dtos.GravacaoJfrDto;
+import com.baracho.pontointeligente.api.services.GravacaoJfrService;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Gravações do Java Flight Recorder sob demanda, uma por vez, com a
+ * configuração jfr.configuracao da JVM (default ou profile) e os eventos da
+ * API. A gravação vai para disco com no máximo jfr.tamanho_maximo_mb e é
+ * despejada em um arquivo temporário ao parar; cada parada entrega uma cópia
+ * própria, que o chamador remove, para que uma nova gravação possa descartar
+ * o arquivo enquanto a cópia ainda é enviada.
+ */
+@Service
+public class GravacaoJfrServiceImpl implements GravacaoJfrService {
+	
+	private static final Logger log = LoggerFactory.getLogger(GravacaoJfrServiceImpl.class);
+	
+	private final Configuration configuracao;
+	private final long duracaoMaximaSegundos;
+	private final long tamanhoMaximoBytes;
+	
+	private Recording gravacao;
+	private Path arquivo;
+	
+	public GravacaoJfrServiceImpl(@Value("${jfr.configuracao}") String configuracao,
+			@Value("${jfr.duracao_maxima_segundos}") long duracaoMaximaSegundos,
+			@Value("${jfr.tamanho_maximo_mb}") long tamanhoMaximoMb) throws IOException, ParseException {
+		this.configuracao = Configuration.getConfiguration(configuracao);
+		this.duracaoMaximaSegundos = duracaoMaximaSegundos;
+		this.tamanhoMaximoBytes = tamanhoMaximoMb * 1024 * 1024;
+	}
+
+	@Override
+	public synchronized Optional<GravacaoJfrDto> iniciar(long duracaoSegundos) {
+		if(this.gravacao != null && this.emAndamento(this.gravacao.getState())) {
+			log.info("Gravação JFR {} já em andamento", this.gravacao.getId());
+			return Optional.empty();
+		}
+		this.descartar();
+		
+		long duracao = Math.max(1, Math.min(duracaoSegundos, this.duracaoMaximaSegundos));
+		try {
+			this.arquivo = Files.createTempFile("ponto-", ".jfr");
+			this.gravacao = new Recording(this.configuracao);
+			this.gravacao.setName("ponto-inteligente");
+			this.gravacao.setToDisk(true);
+			this.gravacao.setMaxSize(this.tamanhoMaximoBytes);
+			this.gravacao.setDuration(Duration.ofSeconds(duracao));
+			this.gravacao.setDestination(this.arquivo);
+		} catch (IOException e) {
+			this.descartar();
+			throw new UncheckedIOException("Erro criando o arquivo da gravação JFR", e);
+		}
+		this.gravacao.start();
+		log.info("Gravação JFR {} iniciada por {} s em {}", this.gravacao.getId(), duracao, this.arquivo);
+		return this.obterEstado();
+	}
+
+	@Override
+	public synchronized Optional<GravacaoJfrDto> obterEstado() {
+		if(this.gravacao == null) {
+			return Optional.empty();
+		}
+		GravacaoJfrDto dto = new GravacaoJfrDto();
+		dto.setId(this.gravacao.getId());
+		dto.setEstado(this.gravacao.getState().name());
+		if(this.gravacao.getStartTime() != null) {
+			dto.setInicio(Date.from(this.gravacao.getStartTime()));
+		}
+		dto.setDuracaoSegundos(this.gravacao.getDuration().getSeconds());
+		dto.setTamanhoMaximoBytes(this.gravacao.getMaxSize());
+		dto.setTamanhoBytes(this.emAndamento(this.gravacao.getState()) ? this.gravacao.getSize() : this.tamanhoArquivo());
+		return Optional.of(dto);
+	}
+
+	@Override
+	public synchronized Optional<Path> parar() {
+		if(this.gravacao == null) {
+			return Optional.empty();
+		}
+		if(this.gravacao.getState() == RecordingState.RUNNING) {
+			this.gravacao.stop();
+			log.info("Gravação JFR {} parada, {} bytes em {}", this.gravacao.getId(), this.tamanhoArquivo(), this.arquivo);
+		}
+		if(this.gravacao.getState() == RecordingState.STOPPED) {
+			// o arquivo já foi despejado, libera o repositório da gravação
+			this.gravacao.close();
+		}
+		try {
+			Path copia = Files.createTempFile("ponto-download-", ".jfr");
+			Files.copy(this.arquivo, copia, StandardCopyOption.REPLACE_EXISTING);
+			return Optional.of(copia);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erro copiando a gravação JFR", e);
+		}
+	}
+
+	@PreDestroy
+	public synchronized void descartar() {
+		if(this.gravacao != null) {
+			this.gravacao.close();
+			this.gravacao = null;
+		}
+		if(this.arquivo != null) {
+			try {
+				Files.deleteIfExists(this.arquivo);
+			} catch (IOException e) {
+				log.warn("Erro removendo a gravação JFR {}: {}", this.arquivo, e.getMessage());
+			}
+			this.arquivo = null;
+		}
+	}
+
+	private boolean emAndamento(RecordingState estado) {
+		return estado == RecordingState.NEW || estado == RecordingState.DELAYED || estado == RecordingState.RUNNING;
+	}
+
+	private long tamanhoArquivo() {
+		try {
+			return Files.size(this.arquivo);
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+}
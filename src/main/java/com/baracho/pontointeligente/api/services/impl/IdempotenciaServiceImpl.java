@@ -0,0 +1,189 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.entities.ChaveIdempotencia;
+import com.baracho.pontointeligente.api.jfr.EventoCache;
+import com.baracho.pontointeligente.api.metricas.TagEmpresa;
+import com.baracho.pontointeligente.api.repositories.ChaveIdempotenciaRepository;
+import com.baracho.pontointeligente.api.services.IdempotenciaService;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+
+/**
+ * Armazena as respostas por chave de idempotência em um cache LRU limitado e
+ * com expiração, usando a tabela chave_idempotencia como fallback para chaves
+ * que já saíram do cache ou que foram registradas antes de um restart.
+ *
+ * A reserva é a inserção da chave na tabela, então a chave primária impede
+ * que duas requisições (em qualquer instância) executem a mesma escrita. Uma
+ * reserva sem resposta há mais de idempotencia.reserva_ms (instância que
+ * caiu no meio da escrita) pode ser tomada por uma nova requisição, assim
+ * como uma resposta expirada que a limpeza periódica ainda não removeu.
+ */
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+	private static final Logger log = LoggerFactory.getLogger(IdempotenciaServiceImpl.class);
+
+	@Autowired
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+
+	@Value("${idempotencia.reserva_ms:60000}")
+	private long reservaMs;
+
+	private final long validadeMs;
+	private final Map<String, ChaveIdempotencia> cache;
+
+	public IdempotenciaServiceImpl(@Value("${idempotencia.capacidade:10000}") int capacidade,
+			@Value("${idempotencia.validade_minutos:1440}") long validadeMinutos) {
+		this.validadeMs = TimeUnit.MINUTES.toMillis(validadeMinutos);
+		this.cache = new LinkedHashMap<String, ChaveIdempotencia>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ChaveIdempotencia> eldest) {
+				return size() > capacidade;
+			}
+		};
+	}
+
+	@Override
+	public Optional<ChaveIdempotencia> buscar(String chave) {
+		EventoCache evento = new EventoCache();
+		evento.begin();
+		ChaveIdempotencia registro;
+		synchronized (this.cache) {
+			registro = this.cache.get(chave);
+		}
+
+		boolean acerto = registro != null;
+		if(!acerto) {
+			log.info("Chave de idempotência {} fora do cache, buscando na base de dados", chave);
+			registro = this.chaveIdempotenciaRepository.findById(chave).orElse(null);
+			if(registro != null && !registro.isEmProcessamento()) {
+				this.armazenarEmCache(registro);
+			}
+		}
+		this.registrarEvento(evento, acerto);
+		if(registro == null) {
+			return Optional.empty();
+		}
+
+		if(this.expirada(registro)) {
+			synchronized (this.cache) {
+				this.cache.remove(chave);
+			}
+			return Optional.empty();
+		}
+
+		return Optional.of(registro);
+	}
+
+	@Override
+	public boolean reservar(String chave, String impressao) {
+		if(this.inserirReserva(chave, impressao)) {
+			return true;
+		}
+		// reserva abandonada, ou resposta expirada que a limpeza periódica ainda não removeu
+		long agora = System.currentTimeMillis();
+		if(this.chaveIdempotenciaRepository.removerVencida(chave, new Date(agora - this.reservaMs),
+				new Date(agora - this.validadeMs)) == 0) {
+			return false;
+		}
+		log.warn("Reserva abandonada ou resposta expirada da chave de idempotência {} removida", chave);
+		synchronized (this.cache) {
+			this.cache.remove(chave);
+		}
+		return this.inserirReserva(chave, impressao);
+	}
+
+	@Override
+	public void registrar(String chave, String impressao, int status, String resposta) {
+		log.info("Registrando resposta para a chave de idempotência {}", chave);
+		if(this.chaveIdempotenciaRepository.registrarResposta(chave, status, resposta) == 0) {
+			log.warn("Reserva da chave de idempotência {} não encontrada ao registrar a resposta", chave);
+			return;
+		}
+		ChaveIdempotencia registro = new ChaveIdempotencia(chave, impressao);
+		registro.setStatus(status);
+		registro.setResposta(resposta);
+		registro.setDataCriacao(new Date());
+		this.armazenarEmCache(registro);
+	}
+
+	@Override
+	public void liberar(String chave) {
+		this.chaveIdempotenciaRepository.removerReserva(chave);
+	}
+
+	@Override
+	public String gerarImpressao(byte[] corpo) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(corpo);
+			StringBuilder hexa = new StringBuilder(hash.length * 2);
+			for(byte b : hash) {
+				hexa.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hexa.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+
+	private boolean inserirReserva(String chave, String impressao) {
+		try {
+			this.chaveIdempotenciaRepository.save(new ChaveIdempotencia(chave, impressao));
+			return true;
+		} catch (DataIntegrityViolationException e) {
+			log.info("Chave de idempotência {} já reservada", chave);
+			return false;
+		}
+	}
+
+	/**
+	 * Remove periodicamente da base de dados as chaves expiradas.
+	 */
+	@Scheduled(fixedDelayString = "${idempotencia.limpeza_ms:3600000}")
+	public void removerExpiradas() {
+		int removidas = this.chaveIdempotenciaRepository.removerCriadasAntesDe(new Date(System.currentTimeMillis() - this.validadeMs));
+		log.info("Removidas {} chaves de idempotência expiradas", removidas);
+	}
+
+	private void armazenarEmCache(ChaveIdempotencia registro) {
+		synchronized (this.cache) {
+			this.cache.put(registro.getChave(), registro);
+		}
+	}
+
+	private void registrarEvento(EventoCache evento, boolean acerto) {
+		evento.end();
+		if(evento.shouldCommit()) {
+			evento.identificar(TagEmpresa.funcionarioRegistrado(), this.indiceIdentidadesService);
+			evento.setCache("idempotencia");
+			evento.setAcerto(acerto);
+			evento.commit();
+		}
+	}
+
+	private boolean expirada(ChaveIdempotencia registro) {
+		return registro.getDataCriacao().getTime() + this.validadeMs < System.currentTimeMillis();
+	}
+
+}
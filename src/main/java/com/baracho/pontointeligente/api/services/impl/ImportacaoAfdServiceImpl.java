@@ -0,0 +1,273 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.afd.AfdLeitor;
+import com.baracho.pontointeligente.api.afd.MarcacaoAfd;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.ImportacaoAfd;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.StatusImportacaoEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.ImportacaoAfdRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.ImportacaoAfdService;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.LancamentoService;
+import com.baracho.pontointeligente.api.utils.MapaLongLong;
+
+/**
+ * Importa arquivos AFD em segundo plano.
+ *
+ * Cada commit grava um lote de lançamentos junto com a posição do arquivo até
+ * onde o lote foi lido, então uma importação interrompida pode ser retomada
+ * do ponto em que parou. Cada lançamento guarda o NSR da marcação, com chave
+ * única por NSR, funcionario e data: as marcações já gravadas, por uma
+ * execução anterior ou por outra importação do mesmo arquivo, são ignoradas.
+ *
+ * Só são importadas as marcações dos funcionarios da empresa que iniciou a
+ * importação; as demais contam como linhas ignoradas.
+ *
+ * O AFD não informa o tipo da marcação: as marcações de um funcionario em um
+ * mesmo dia são alternadas entre INICIO_TRABALHO e TERMINO_TRABALHO, na ordem
+ * do arquivo, a partir da quantidade de lançamentos já gravados no dia antes
+ * da primeira marcação lida.
+ */
+@Service
+public class ImportacaoAfdServiceImpl implements ImportacaoAfdService {
+
+	private static final Logger log = LoggerFactory.getLogger(ImportacaoAfdServiceImpl.class);
+
+	@Autowired
+	private ImportacaoAfdRepository importacaoAfdRepository;
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidades;
+
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${importacao.afd.diretorio}")
+	private String diretorio;
+
+	@Value("${importacao.afd.linhas_por_commit:1000}")
+	private int linhasPorCommit;
+
+	@Value("${importacao.afd.inativa_ms:300000}")
+	private long inativaMs;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> new Thread(tarefa, "importacao-afd"));
+	private final Set<Long> emExecucao = ConcurrentHashMap.newKeySet();
+
+	@PreDestroy
+	public void encerrar() {
+		this.executor.shutdownNow();
+	}
+
+	@Override
+	public Optional<Path> localizarArquivo(String arquivo) {
+		Path base = Paths.get(this.diretorio).toAbsolutePath().normalize();
+		Path caminho = base.resolve(arquivo).normalize();
+		if(!caminho.startsWith(base) || !Files.isRegularFile(caminho) || !Files.isReadable(caminho)) {
+			return Optional.empty();
+		}
+		return Optional.of(caminho);
+	}
+
+	@Override
+	public ImportacaoAfd iniciar(Path arquivo, Long empresaId) throws IOException {
+		log.info("Iniciando importação do arquivo AFD {} para a empresa {}", arquivo, empresaId);
+		ImportacaoAfd importacao = new ImportacaoAfd();
+		importacao.setEmpresaId(empresaId);
+		importacao.setArquivo(Paths.get(this.diretorio).toAbsolutePath().normalize().relativize(arquivo).toString());
+		importacao.setTamanho(Files.size(arquivo));
+		importacao.setStatus(StatusImportacaoEnum.EM_ANDAMENTO);
+		importacao = this.importacaoAfdRepository.save(importacao);
+		this.submeter(importacao);
+		return importacao;
+	}
+
+	@Override
+	public Optional<ImportacaoAfd> retomar(ImportacaoAfd importacao) {
+		log.info("Retomando importação {} a partir da posição {}", importacao.getId(), importacao.getPosicao());
+		Date agora = new Date();
+		int retomadas = this.importacaoAfdRepository.retomar(importacao.getId(),
+				Arrays.asList(StatusImportacaoEnum.INTERROMPIDA, StatusImportacaoEnum.FALHA),
+				StatusImportacaoEnum.EM_ANDAMENTO, new Date(agora.getTime() - this.inativaMs), agora);
+		if(retomadas == 0) {
+			return Optional.empty();
+		}
+
+		Optional<ImportacaoAfd> retomada = this.importacaoAfdRepository.findById(importacao.getId());
+		retomada.ifPresent(this::submeter);
+		return retomada;
+	}
+
+	@Override
+	public Optional<ImportacaoAfd> buscarPorId(Long id) {
+		log.info("Buscando importação AFD por ID {}", id);
+		return this.importacaoAfdRepository.findById(id);
+	}
+
+	@Override
+	public boolean emExecucao(Long id) {
+		return this.emExecucao.contains(id);
+	}
+
+	private void submeter(ImportacaoAfd importacao) {
+		this.emExecucao.add(importacao.getId());
+		this.executor.execute(() -> {
+			try {
+				this.importar(importacao);
+			} finally {
+				this.emExecucao.remove(importacao.getId());
+			}
+		});
+	}
+
+	private void importar(ImportacaoAfd importacao) {
+		Path arquivo = Paths.get(this.diretorio).toAbsolutePath().normalize().resolve(importacao.getArquivo());
+		long linhasLidas = importacao.getLinhasLidas();
+		long linhasIgnoradas = importacao.getLinhasIgnoradas();
+		long semFuncionario = 0;
+		long empresaId = importacao.getEmpresaId();
+		long duplicados = 0;
+
+		try(FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			MapaLongLong marcacoesDoDia = new MapaLongLong(1024);
+			AfdLeitor leitor = new AfdLeitor(canal, importacao.getPosicao());
+			MarcacaoAfd marcacao = new MarcacaoAfd();
+			List<Lancamento> lote = new ArrayList<Lancamento>(this.linhasPorCommit);
+
+			while(leitor.proxima(marcacao)) {
+				long funcionarioId = this.indiceIdentidades.buscarFuncionarioId(marcacao.getCpf());
+				if(funcionarioId == IndiceIdentidadesService.NAO_ENCONTRADO
+						|| this.indiceIdentidades.buscarEmpresaIdDoFuncionario(funcionarioId) != empresaId) {
+					semFuncionario++;
+					continue;
+				}
+
+				lote.add(this.criarLancamento(marcacao, funcionarioId, marcacoesDoDia));
+				if(lote.size() >= this.linhasPorCommit) {
+					duplicados += this.commitar(importacao, lote, leitor, linhasLidas, linhasIgnoradas + semFuncionario + duplicados);
+					if(Thread.currentThread().isInterrupted()) {
+						this.finalizar(importacao, StatusImportacaoEnum.INTERROMPIDA, null);
+						return;
+					}
+				}
+			}
+
+			this.commitar(importacao, lote, leitor, linhasLidas, linhasIgnoradas + semFuncionario + duplicados);
+			this.finalizar(importacao, StatusImportacaoEnum.CONCLUIDA, null);
+		} catch (IOException | RuntimeException e) {
+			log.error("Erro na importação AFD {}", importacao.getId(), e);
+			this.finalizar(importacao, StatusImportacaoEnum.FALHA, e.getMessage());
+		}
+	}
+
+	/**
+	 * Grava o lote e a posição do arquivo na mesma transação.
+	 * 
+	 * @return quantidade de marcações do lote ignoradas por já estarem gravadas
+	 */
+	private int commitar(ImportacaoAfd importacao, List<Lancamento> lote, AfdLeitor leitor, long linhasLidas,
+			long linhasIgnoradas) {
+		int recebidos = lote.size();
+		int[] duplicados = new int[1];
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.removerJaImportados(lote);
+			duplicados[0] = recebidos - lote.size();
+			if(!lote.isEmpty()) {
+				this.lancamentoService.persistirLote(lote);
+			}
+			importacao.setPosicao(leitor.getPosicao());
+			importacao.setLinhasLidas(linhasLidas + leitor.getLinhasLidas());
+			importacao.setLinhasIgnoradas(linhasIgnoradas + leitor.getLinhasIgnoradas() + duplicados[0]);
+			importacao.setLancamentosImportados(importacao.getLancamentosImportados() + lote.size());
+			this.importacaoAfdRepository.save(importacao);
+		});
+		log.info("Importação AFD {}: {} de {} bytes, {} lançamentos importados", importacao.getId(),
+				importacao.getPosicao(), importacao.getTamanho(), importacao.getLancamentosImportados());
+		lote.clear();
+		return duplicados[0];
+	}
+
+	/**
+	 * Remove do lote as marcações já gravadas com o mesmo NSR, funcionario e data.
+	 */
+	private void removerJaImportados(List<Lancamento> lote) {
+		if(lote.isEmpty()) {
+			return;
+		}
+
+		Set<Long> nsrs = new HashSet<Long>(lote.size() * 2);
+		lote.forEach(lancamento -> nsrs.add(lancamento.getNsr()));
+		Set<String> importados = new HashSet<String>();
+		for(Object[] linha : this.lancamentoRepository.findImportadosPorNsr(nsrs)) {
+			importados.add(this.chave((Long) linha[0], (Long) linha[1], ((Date) linha[2]).getTime()));
+		}
+		if(!importados.isEmpty()) {
+			lote.removeIf(lancamento -> importados.contains(this.chave(lancamento.getNsr(),
+					lancamento.getFuncionario().getId(), lancamento.getData().getTime())));
+		}
+	}
+
+	private String chave(long nsr, long funcionarioId, long data) {
+		return nsr + ":" + funcionarioId + ":" + data;
+	}
+
+	private void finalizar(ImportacaoAfd importacao, StatusImportacaoEnum status, String mensagemErro) {
+		log.info("Importação AFD {} finalizada com status {}", importacao.getId(), status);
+		importacao.setStatus(status);
+		importacao.setMensagemErro(mensagemErro);
+		this.importacaoAfdRepository.save(importacao);
+	}
+
+	private Lancamento criarLancamento(MarcacaoAfd marcacao, long funcionarioId, MapaLongLong marcacoesDoDia) {
+		long anterior = marcacoesDoDia.buscar(funcionarioId);
+		long qtdNoDia = anterior != MapaLongLong.AUSENTE && (anterior >> 16) == marcacao.getDia() ? anterior & 0xFFFF
+				: this.lancamentoRepository.countNoPeriodo(funcionarioId, new Date(marcacao.getInicioDoDia()),
+						new Date(marcacao.getDataHora()));
+		marcacoesDoDia.colocar(funcionarioId, marcacao.getDia() << 16 | (qtdNoDia + 1));
+
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(new Date(marcacao.getDataHora()));
+		lancamento.setTipo(qtdNoDia % 2 == 0 ? TipoEnum.INICIO_TRABALHO : TipoEnum.TERMINO_TRABALHO);
+		lancamento.setDescricao("Importado do AFD, NSR " + marcacao.getNsr());
+		lancamento.setNsr(marcacao.getNsr());
+		lancamento.setFuncionario(new Funcionario());
+		lancamento.getFuncionario().setId(funcionarioId);
+		return lancamento;
+	}
+
+}
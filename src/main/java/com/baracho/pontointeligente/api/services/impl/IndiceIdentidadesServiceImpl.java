@@ -0,0 +1,256 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.utils.MapaLongLong;
+
+/**
+ * Índice em memória de CPF para id de funcionario e de CNPJ para id de empresa,
+ * com os documentos em formato numérico, e de id de funcionario para id da
+ * sua empresa.
+ *
+ * É carregado na inicialização e mantido pelos eventos pós-commit do Hibernate,
+ * então escritas desfeitas por rollback não chegam ao índice. Os cadastros
+ * feitos por outras instâncias da api não geram eventos aqui: uma busca sem
+ * entrada no índice consulta a base e guarda o que encontrar. A unicidade de
+ * CPF e CNPJ é garantida pelas chaves únicas da base. CPF e CNPJ não
+ * mudam depois do cadastro; uma alteração registra o novo documento sem
+ * remover o anterior. Exclusões em lote por JPQL não passam pelos eventos.
+ */
+@Service
+public class IndiceIdentidadesServiceImpl implements IndiceIdentidadesService, PostCommitInsertEventListener,
+		PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private static final Logger log = LoggerFactory.getLogger(IndiceIdentidadesServiceImpl.class);
+	
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+	
+	@Autowired
+	private EmpresaRepository empresaRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	private MapaLongLong funcionariosPorCpf;
+	private MapaLongLong empresasPorCnpj;
+	private MapaLongLong empresasPorFuncionario;
+	
+	@PostConstruct
+	public void carregar() {
+		int qtdFuncionarios = (int) this.funcionarioRepository.count();
+		this.funcionariosPorCpf = new MapaLongLong(qtdFuncionarios);
+		this.empresasPorFuncionario = new MapaLongLong(qtdFuncionarios);
+		this.empresasPorCnpj = new MapaLongLong((int) this.empresaRepository.count());
+		
+		EventListenerRegistry registro = this.entityManagerFactory.unwrap(SessionFactoryImpl.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+		registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+		registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+		
+		this.transactionTemplate.executeWithoutResult(status -> {
+			try(Stream<Object[]> funcionarios = this.funcionarioRepository.streamIdsCpfsEEmpresas()) {
+				Iterator<Object[]> cursor = funcionarios.iterator();
+				while(cursor.hasNext()) {
+					Object[] funcionario = cursor.next();
+					colocar(this.funcionariosPorCpf, (String) funcionario[1], (Long) funcionario[0]);
+					colocarEmpresa(this.empresasPorFuncionario, (Long) funcionario[0], (Long) funcionario[2]);
+				}
+			}
+			carregar(this.empresaRepository.streamIdsECnpjs(), this.empresasPorCnpj);
+		});
+		log.info("Índice de identidades carregado: {} CPFs e {} CNPJs em {} KB", this.funcionariosPorCpf.tamanho(),
+				this.empresasPorCnpj.tamanho(), (this.funcionariosPorCpf.bytesAlocados() + this.empresasPorCnpj.bytesAlocados()
+						+ this.empresasPorFuncionario.bytesAlocados()) / 1024);
+	}
+
+	@Override
+	public long buscarFuncionarioId(long cpf) {
+		long funcionarioId = this.funcionariosPorCpf.buscar(cpf);
+		if(funcionarioId != MapaLongLong.AUSENTE || cpf < 0) {
+			return funcionarioId;
+		}
+		return this.buscarNaBase(this.funcionariosPorCpf, cpf,
+				this.funcionarioRepository.findIdPorCpf(String.format("%011d", cpf)));
+	}
+
+	@Override
+	public long buscarEmpresaId(long cnpj) {
+		long empresaId = this.empresasPorCnpj.buscar(cnpj);
+		if(empresaId != MapaLongLong.AUSENTE || cnpj < 0) {
+			return empresaId;
+		}
+		return this.buscarNaBase(this.empresasPorCnpj, cnpj,
+				this.empresaRepository.findIdPorCnpj(String.format("%014d", cnpj)));
+	}
+
+	@Override
+	public long buscarEmpresaIdDoFuncionario(long funcionarioId) {
+		long empresaId = this.empresasPorFuncionario.buscar(funcionarioId);
+		if(empresaId != MapaLongLong.AUSENTE || funcionarioId < 0) {
+			return empresaId;
+		}
+		return this.buscarNaBase(this.empresasPorFuncionario, funcionarioId,
+				this.funcionarioRepository.findEmpresaIdPorId(funcionarioId));
+	}
+
+	@Override
+	public boolean cpfCadastrado(String cpf) {
+		long numerico = numerico(cpf);
+		if(numerico == NAO_ENCONTRADO) {
+			return this.funcionarioRepository.findIdPorCpf(cpf).isPresent();
+		}
+		return this.funcionariosPorCpf.buscar(numerico) != MapaLongLong.AUSENTE
+				|| this.buscarNaBase(this.funcionariosPorCpf, numerico, this.funcionarioRepository.findIdPorCpf(cpf)) != NAO_ENCONTRADO;
+	}
+
+	@Override
+	public boolean cnpjCadastrado(String cnpj) {
+		long numerico = numerico(cnpj);
+		if(numerico == NAO_ENCONTRADO) {
+			return this.empresaRepository.findIdPorCnpj(cnpj).isPresent();
+		}
+		return this.empresasPorCnpj.buscar(numerico) != MapaLongLong.AUSENTE
+				|| this.buscarNaBase(this.empresasPorCnpj, numerico, this.empresaRepository.findIdPorCnpj(cnpj)) != NAO_ENCONTRADO;
+	}
+	
+	/**
+	 * Guarda no índice o id encontrado na base para uma chave sem entrada.
+	 * 
+	 * @return o id, ou NAO_ENCONTRADO
+	 */
+	private long buscarNaBase(MapaLongLong mapa, long chave, Optional<Long> id) {
+		if(!id.isPresent()) {
+			return NAO_ENCONTRADO;
+		}
+		mapa.colocar(chave, id.get());
+		return id.get();
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		this.registrar(event.getEntity());
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		this.registrar(event.getEntity());
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		if(event.getEntity() instanceof Funcionario) {
+			Funcionario funcionario = (Funcionario) event.getEntity();
+			this.funcionariosPorCpf.remover(numerico(funcionario.getCpf()), funcionario.getId());
+			if(funcionario.getId() != null && funcionario.getEmpresa() != null && funcionario.getEmpresa().getId() != null) {
+				this.empresasPorFuncionario.remover(funcionario.getId(), funcionario.getEmpresa().getId());
+			}
+		} else if(event.getEntity() instanceof Empresa) {
+			Empresa empresa = (Empresa) event.getEntity();
+			this.empresasPorCnpj.remover(numerico(empresa.getCnpj()), empresa.getId());
+		}
+	}
+
+	@Override
+	public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+	@Override
+	public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+	@Override
+	public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+	@Override
+	public boolean requiresPostCommitHanding(EntityPersister persister) {
+		Class<?> classe = persister.getMappedClass();
+		return classe == Funcionario.class || classe == Empresa.class;
+	}
+	
+	private void registrar(Object entidade) {
+		if(entidade instanceof Funcionario) {
+			Funcionario funcionario = (Funcionario) entidade;
+			colocar(this.funcionariosPorCpf, funcionario.getCpf(), funcionario.getId());
+			if(funcionario.getEmpresa() != null) {
+				colocarEmpresa(this.empresasPorFuncionario, funcionario.getId(), funcionario.getEmpresa().getId());
+			}
+		} else if(entidade instanceof Empresa) {
+			Empresa empresa = (Empresa) entidade;
+			colocar(this.empresasPorCnpj, empresa.getCnpj(), empresa.getId());
+		}
+	}
+	
+	private static void carregar(Stream<Object[]> identidades, MapaLongLong mapa) {
+		try(Stream<Object[]> linhas = identidades) {
+			Iterator<Object[]> cursor = linhas.iterator();
+			while(cursor.hasNext()) {
+				Object[] identidade = cursor.next();
+				colocar(mapa, (String) identidade[1], (Long) identidade[0]);
+			}
+		}
+	}
+	
+	private static void colocarEmpresa(MapaLongLong mapa, Long funcionarioId, Long empresaId) {
+		if(funcionarioId != null && empresaId != null) {
+			mapa.colocar(funcionarioId, empresaId);
+		}
+	}
+	
+	private static void colocar(MapaLongLong mapa, String documento, Long id) {
+		long numerico = numerico(documento);
+		if(numerico != NAO_ENCONTRADO && id != null) {
+			mapa.colocar(numerico, id);
+		}
+	}
+	
+	/**
+	 * @return o documento em formato numérico, ou NAO_ENCONTRADO se não for
+	 * composto apenas por dígitos
+	 */
+	private static long numerico(String documento) {
+		if(documento == null || documento.isEmpty() || documento.length() > 18) {
+			return NAO_ENCONTRADO;
+		}
+		long valor = 0;
+		for(int i = 0; i < documento.length(); i++) {
+			char c = documento.charAt(i);
+			if(c < '0' || c > '9') {
+				return NAO_ENCONTRADO;
+			}
+			valor = valor * 10 + (c - '0');
+		}
+		return valor;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.JornadaService;
+import com.baracho.pontointeligente.api.utils.CalculadoraJornada;
+import com.baracho.pontointeligente.api.utils.Marcacoes;
+
+@Service
+public class JornadaServiceImpl implements JornadaService {
+
+	private static final Logger log = LoggerFactory.getLogger(JornadaServiceImpl.class);
+	private static final long MS_POR_HORA = 3600000L;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Value("${jornada.horas_trabalho_dia_padrao:8}")
+	private float horasTrabalhoDiaPadrao;
+
+	@Value("${jornada.horas_almoco_padrao:1}")
+	private float horasAlmocoPadrao;
+
+	@Override
+	public CalculadoraJornada calcular(Funcionario funcionario, LocalDate inicio, LocalDate fim) {
+		log.info("Calculando jornada do funcionario {} de {} a {}", funcionario.getId(), inicio, fim);
+		ZoneId fuso = ZoneId.systemDefault();
+		Date dataInicial = Date.from(inicio.atStartOfDay(fuso).toInstant());
+		Date dataFinal = Date.from(fim.plusDays(2).atStartOfDay(fuso).toInstant());
+		Marcacoes marcacoes = new Marcacoes();
+		this.lancamentoRepository.lerMarcacoesPorFuncionario(funcionario.getId(), dataInicial, dataFinal, marcacoes);
+
+		float horasTrabalhoDia = funcionario.getQtdHorasTrabalhoDiaOpt().orElse(this.horasTrabalhoDiaPadrao);
+		float horasAlmoco = funcionario.getQtdHorasAlmocoOptional().orElse(this.horasAlmocoPadrao);
+		CalculadoraJornada calculadora = new CalculadoraJornada(fuso, (long) (horasTrabalhoDia * MS_POR_HORA),
+				(long) (horasAlmoco * MS_POR_HORA));
+		calculadora.calcular(marcacoes.getDatas(), marcacoes.getTipos(), marcacoes.getQuantidade());
+		return calculadora;
+	}
+
+}
@@ -1,17 +1,35 @@
 package com.baracho.pontointeligente.api.services.impl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
 import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.jfr.EventoLancamentoPersistido;
 import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.BancoHorasService;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
 import com.baracho.pontointeligente.api.services.LancamentoService;
+import com.baracho.pontointeligente.api.utils.CursorPaginacao;
 
 
 @Service
@@ -19,9 +37,30 @@ public class LancamentoServiceImpl implements LancamentoService{
 	
 	private static final Logger log = LoggerFactory.getLogger(LancamentoServiceImpl.class);
 	
+	/* Limites usados quando o período não é informado, dentro da faixa do DATETIME do MySQL. */
+	private static final Date DATA_MINIMA = Date.from(Instant.parse("1000-01-01T00:00:00Z"));
+	private static final Date DATA_MAXIMA = Date.from(Instant.parse("9999-12-31T00:00:00Z"));
+	
 	@Autowired
 	private LancamentoRepository lancamentoRepository;
 	
+	@Autowired
+	private FilaGravacaoLancamentos filaGravacao;
+	
+	@Autowired
+	private BancoHorasService bancoHorasService;
+	
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanhoLote;
 	
 
 	@Override
@@ -30,23 +69,131 @@ public class LancamentoServiceImpl implements LancamentoService{
 		return this.lancamentoRepository.findByFuncionarioId(funcionarioId, pageRequest);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<LancamentoResumo> buscarPorFuncionarioId(Long funcionarioId, Date de, Date ate, CursorPaginacao cursor, int qtdPorPagina) {
+		log.info("Buscando lançamentos para funcionario ID {} de {} até {} a partir de {}", funcionarioId, de, ate, cursor.getId());
+		Date inicio = de != null ? de : DATA_MINIMA;
+		Date fim = ate != null ? ate : DATA_MAXIMA;
+		PageRequest pagina = PageRequest.of(0, qtdPorPagina, cursor.getSort());
+		if(cursor.isInicio()) {
+			return this.lancamentoRepository.findPrimeiraPagina(funcionarioId, inicio, fim, pagina);
+		}
+
+		return cursor.getDirecao().isAscending() ? this.lancamentoRepository.findPaginaAposData(funcionarioId, inicio, fim, cursor.getData(), cursor.getId(), pagina)
+				: this.lancamentoRepository.findPaginaAntesDaData(funcionarioId, inicio, fim, cursor.getData(), cursor.getId(), pagina);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long contarPorFuncionarioId(Long funcionarioId, Date de, Date ate) {
+		return this.lancamentoRepository.countNoPeriodo(funcionarioId, de != null ? de : DATA_MINIMA, ate != null ? ate : DATA_MAXIMA);
+	}
+
 	@Override
 	public Optional<Lancamento> buscarPorId(Long id) {
 		log.info("Buscando lancamento por Id {}", id);
 		return this.lancamentoRepository.findById(id);
 	}
 
+	@Override
+	public Optional<Lancamento> buscarPorIdComFuncionario(Long id) {
+		log.info("Buscando lancamento com funcionario por Id {}", id);
+		return this.lancamentoRepository.findComFuncionarioPorId(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<LancamentoResumo> buscarResumoPorId(Long id) {
+		log.info("Buscando lancamento por Id {}", id);
+		return this.lancamentoRepository.findResumoPorId(id);
+	}
+
 	@Override
 	public Lancamento persistir(Lancamento lancamento) {
-		log.info("Persistindo o lançamento: {}", lancamento);
-		return this.lancamentoRepository.save(lancamento);
+		log.debug("Persistindo o lançamento: {}", lancamento);
+		EventoLancamentoPersistido evento = new EventoLancamentoPersistido();
+		evento.begin();
+		Lancamento gravado = this.gravar(lancamento, evento);
+		evento.end();
+		if(evento.shouldCommit()) {
+			evento.identificar(gravado.getFuncionario() != null ? gravado.getFuncionario().getId() : null,
+					this.indiceIdentidadesService);
+			evento.setLancamentoId(gravado.getId() != null ? gravado.getId() : -1);
+			evento.commit();
+		}
+		return gravado;
+	}
+
+	private Lancamento gravar(Lancamento lancamento, EventoLancamentoPersistido evento) {
+		if(lancamento.getId() == null && this.filaGravacao.isHabilitada()) {
+			Optional<Lancamento> gravado = this.filaGravacao.gravar(lancamento);
+			if(gravado.isPresent()) {
+				evento.setWriteBehind(true);
+				return gravado.get();
+			}
+		}
+		return this.transactionTemplate.execute(status -> {
+			List<Date> datas = new ArrayList<Date>(2);
+			if(lancamento.getId() != null) {
+				this.lancamentoRepository.findDataGravadaPorId(lancamento.getId()).ifPresent(datas::add);
+			}
+			Lancamento gravado = this.lancamentoRepository.save(lancamento);
+			datas.add(gravado.getData());
+			if(gravado.getFuncionario() != null) {
+				this.bancoHorasService.recalcular(gravado.getFuncionario().getId(), datas);
+			}
+			return gravado;
+		});
 	}
 
 	@Override
-	public void remover(Long id) {
+	public Optional<Lancamento> atualizar(Lancamento lancamento) {
+		log.debug("Atualizando o lançamento: {}", lancamento);
+		Long funcionarioId = lancamento.getFuncionario().getId();
+		return this.transactionTemplate.execute(status -> {
+			Optional<Date> anterior = this.lancamentoRepository.findDataGravadaPorId(lancamento.getId());
+			if(!anterior.isPresent() || this.lancamentoRepository.atualizar(lancamento.getId(), funcionarioId,
+					lancamento.getData(), lancamento.getTipo(), lancamento.getDescricao(), lancamento.getLocalizacao(),
+					new Date()) == 0) {
+				return Optional.<Lancamento>empty();
+			}
+			this.bancoHorasService.recalcular(funcionarioId, Arrays.asList(anterior.get(), lancamento.getData()));
+			return Optional.of(lancamento);
+		});
+	}
+
+	@Override
+	@Transactional
+	public List<Lancamento> persistirLote(List<Lancamento> lancamentos) {
+		log.info("Persistindo lote de {} lançamentos", lancamentos.size());
+		for(int inicio = 0; inicio < lancamentos.size(); inicio += this.tamanhoLote) {
+			int fim = Math.min(inicio + this.tamanhoLote, lancamentos.size());
+			this.lancamentoRepository.saveAll(lancamentos.subList(inicio, fim));
+			this.entityManager.flush();
+			this.entityManager.clear();
+		}
+		this.bancoHorasService.recalcular(lancamentos);
+		return lancamentos;
+	}
+
+	@Override
+	public boolean remover(Long id) {
 		log.info("Removendo o lancamento ID: {}", id);
-		this.lancamentoRepository.deleteById(id);
-		
+		return this.transactionTemplate.execute(status -> this.lancamentoRepository.findResumoPorId(id)
+				.map(this::remover).orElse(false));
+	}
+
+	@Override
+	public boolean remover(LancamentoResumo lancamento) {
+		log.info("Removendo o lancamento ID: {}", lancamento.getId());
+		return this.transactionTemplate.execute(status -> {
+			if(this.lancamentoRepository.excluir(lancamento.getId(), lancamento.getFuncionarioId(), lancamento.getData()) == 0) {
+				return false;
+			}
+			this.bancoHorasService.recalcular(lancamento.getFuncionarioId(), Collections.singletonList(lancamento.getData()));
+			return true;
+		});
 	}
 
 }
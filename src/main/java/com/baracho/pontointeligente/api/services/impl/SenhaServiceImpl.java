@@ -0,0 +1,236 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.jfr.EventoBcrypt;
+import com.baracho.pontointeligente.api.services.FuncionarioService;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.SenhaService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.opentelemetry.context.Context;
+
+/**
+ * Gera e verifica hashes BCrypt fora das threads das requisições.
+ *
+ * Os hashes são calculados por um pool fixo de senha.paralelismo threads com
+ * uma fila de até senha.capacidade_fila tarefas. Com a fila cheia a tarefa é
+ * recusada na hora, e uma tarefa que não termina em senha.timeout_ms é
+ * concluída com timeout; se ainda estiver na fila ela não chega a executar.
+ * Um único BCryptPasswordEncoder com o custo senha.bcrypt.custo é usado em
+ * todas as operações. Gravações no banco nunca rodam nas threads do pool.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService {
+
+	private static final Logger log = LoggerFactory.getLogger(SenhaServiceImpl.class);
+
+	private static final String GERAR = "gerar";
+	private static final String VERIFICAR = "verificar";
+
+	@Autowired
+	private FuncionarioService funcionarioService;
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private Executor executorRequisicoes;
+
+	@Value("${senha.timeout_ms:5000}")
+	private long timeoutMs;
+
+	private final int custo;
+	private final BCryptPasswordEncoder encoder;
+	private final String hashFixo;
+	private final ThreadPoolExecutor executor;
+
+	private Timer tempoGerar;
+	private Timer tempoVerificar;
+	private Timer tempoFila;
+	private Counter filaCheia;
+	private Counter tempoEsgotado;
+	private Counter rehashes;
+
+	public SenhaServiceImpl(@Value("${senha.bcrypt.custo:10}") int custo,
+			@Value("${senha.paralelismo:2}") int paralelismo,
+			@Value("${senha.capacidade_fila:64}") int capacidadeFila) {
+		this.custo = custo;
+		this.encoder = new BCryptPasswordEncoder(custo);
+		this.hashFixo = this.encoder.encode(UUID.randomUUID().toString());
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(paralelismo, paralelismo, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(capacidadeFila), tarefa -> {
+					Thread thread = new Thread(tarefa, "senha-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PostConstruct
+	public void registrarMetricas() {
+		new ExecutorServiceMetrics(this.executor, "senha", Tags.empty()).bindTo(this.meterRegistry);
+		this.tempoGerar = Timer.builder("senha.hash").tag("operacao", GERAR).register(this.meterRegistry);
+		this.tempoVerificar = Timer.builder("senha.hash").tag("operacao", VERIFICAR).register(this.meterRegistry);
+		this.tempoFila = Timer.builder("senha.fila").register(this.meterRegistry);
+		this.filaCheia = Counter.builder("senha.rejeicoes").tag("motivo", "fila_cheia").register(this.meterRegistry);
+		this.tempoEsgotado = Counter.builder("senha.rejeicoes").tag("motivo", "timeout").register(this.meterRegistry);
+		this.rehashes = Counter.builder("senha.rehash").register(this.meterRegistry);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		this.executor.shutdownNow();
+	}
+
+	@Override
+	public CompletableFuture<String> gerarHash(String senha) {
+		if(senha == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return this.executar(() -> this.gerar(senha, -1L));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> verificar(Funcionario funcionario, String senha) {
+		String hash = funcionario.getSenha();
+		if(senha == null || hash == null) {
+			return CompletableFuture.completedFuture(false);
+		}
+		long funcionarioId = funcionario.getId() != null ? funcionario.getId() : -1L;
+		// o pool só calcula os hashes; o funcionario é persistido no executor das requisições
+		return this.executar(() -> {
+			if(!this.conferir(senha, hash, funcionarioId)) {
+				return Optional.<String>empty();
+			}
+			return Optional.of(custoDoHash(hash) != this.custo ? this.gerar(senha, funcionarioId) : hash);
+		}).thenApplyAsync(novoHash -> {
+			if(novoHash.isPresent() && !novoHash.get().equals(hash)) {
+				log.info("Atualizando o custo do hash da senha do funcionario {} para {}", funcionarioId, this.custo);
+				funcionario.setSenha(novoHash.get());
+				this.funcionarioService.persistir(funcionario);
+				this.rehashes.increment();
+			}
+			return novoHash.isPresent();
+		}, Context.taskWrapping(this.executorRequisicoes));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> verificarSemCadastro(String senha) {
+		if(senha == null) {
+			return CompletableFuture.completedFuture(false);
+		}
+		// mesmo custo dos hashes gravados, e o mesmo caminho pelo pool e pelo executor das requisições
+		return this.executar(() -> {
+			this.conferir(senha, this.hashFixo, -1L);
+			return false;
+		}).thenApplyAsync(valida -> valida, Context.taskWrapping(this.executorRequisicoes));
+	}
+
+	/**
+	 * Submete a tarefa ao pool, levando o contexto de rastreamento da thread
+	 * que chamou.
+	 */
+	private <T> CompletableFuture<T> executar(Supplier<T> tarefa) {
+		CompletableFuture<T> futuro = new CompletableFuture<T>();
+		long submissao = System.nanoTime();
+		try {
+			this.executor.execute(Context.current().wrap(() -> {
+				this.tempoFila.record(System.nanoTime() - submissao, TimeUnit.NANOSECONDS);
+				if(futuro.isDone()) {
+					return;
+				}
+				try {
+					futuro.complete(tarefa.get());
+				} catch (RuntimeException e) {
+					futuro.completeExceptionally(e);
+				}
+			}));
+		} catch (RejectedExecutionException e) {
+			log.warn("Fila de senhas cheia ({} tarefas), recusando", this.executor.getQueue().size());
+			this.filaCheia.increment();
+			futuro.completeExceptionally(e);
+			return futuro;
+		}
+		return futuro.orTimeout(this.timeoutMs, TimeUnit.MILLISECONDS).whenComplete((resultado, erro) -> {
+			if(erro instanceof TimeoutException) {
+				log.warn("Hash de senha não concluído em {} ms", this.timeoutMs);
+				this.tempoEsgotado.increment();
+			}
+		});
+	}
+
+	private String gerar(String senha, long funcionarioId) {
+		EventoBcrypt evento = new EventoBcrypt();
+		evento.begin();
+		String hash = this.tempoGerar.record(() -> this.encoder.encode(senha));
+		evento.end();
+		this.registrar(evento, GERAR, funcionarioId);
+		return hash;
+	}
+
+	private boolean conferir(String senha, String hash, long funcionarioId) {
+		EventoBcrypt evento = new EventoBcrypt();
+		evento.begin();
+		boolean valida = this.tempoVerificar.record(() -> this.encoder.matches(senha, hash));
+		evento.end();
+		this.registrar(evento, VERIFICAR, funcionarioId);
+		return valida;
+	}
+
+	private void registrar(EventoBcrypt evento, String operacao, long funcionarioId) {
+		if(evento.shouldCommit()) {
+			evento.identificar(funcionarioId, this.indiceIdentidadesService);
+			evento.setOperacao(operacao);
+			evento.setCusto(this.custo);
+			evento.commit();
+		}
+	}
+
+	/**
+	 * Custo gravado em um hash BCrypt ($2a$10$...), ou -1 se o hash não
+	 * estiver nesse formato.
+	 */
+	private static int custoDoHash(String hash) {
+		if(hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(hash.substring(4, 6));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.baracho.pontointeligente.api.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.jfr.EventoCache;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.IndiceIdentidadesService;
+import com.baracho.pontointeligente.api.services.TokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tokens JWT assinados com HMAC-SHA256 (jwt.segredo, no mínimo 32 bytes).
+ *
+ * A assinatura de um token só é conferida no primeiro uso: o usuario lido
+ * das claims fica em um cache de até jwt.cache.capacidade tokens, cada um
+ * removido quando o token expira. Assim as requisições seguintes com o mesmo
+ * token custam uma busca no cache.
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+	private static final Logger log = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+	private static final String CLAIM_FUNCIONARIO = "funcionarioId";
+	private static final String CLAIM_EMPRESA = "empresaId";
+	private static final String CLAIM_PERFIL = "perfil";
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidadesService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${jwt.segredo}")
+	private String segredo;
+
+	@Value("${jwt.expiracao_segundos:28800}")
+	private long expiracaoSegundos;
+
+	@Value("${jwt.cache.capacidade:10000}")
+	private int capacidadeCache;
+
+	private SecretKey chave;
+	private JwtParser parser;
+	private Cache<String, TokenVerificado> verificados;
+
+	@PostConstruct
+	public void iniciar() {
+		this.chave = Keys.hmacShaKeyFor(this.segredo.getBytes(StandardCharsets.UTF_8));
+		this.parser = Jwts.parserBuilder().setSigningKey(this.chave).build();
+		this.verificados = Caffeine.newBuilder()
+				.maximumSize(this.capacidadeCache)
+				.expireAfter(new ExpiracaoToken())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(this.meterRegistry, this.verificados, "jwt");
+	}
+
+	@Override
+	public String gerarToken(UsuarioAutenticado usuario) {
+		Date agora = new Date();
+		return Jwts.builder()
+				.setSubject(String.valueOf(usuario.getFuncionarioId()))
+				.claim(CLAIM_FUNCIONARIO, usuario.getFuncionarioId())
+				.claim(CLAIM_EMPRESA, usuario.getEmpresaId())
+				.claim(CLAIM_PERFIL, usuario.getPerfil().name())
+				.setIssuedAt(agora)
+				.setExpiration(new Date(agora.getTime() + TimeUnit.SECONDS.toMillis(this.expiracaoSegundos)))
+				.signWith(this.chave, SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	@Override
+	public Optional<UsuarioAutenticado> validar(String token) {
+		EventoCache evento = new EventoCache();
+		evento.begin();
+		TokenVerificado verificado = this.verificados.getIfPresent(token);
+		boolean acerto = verificado != null;
+		if(verificado == null) {
+			verificado = this.verificar(token);
+			if(verificado != null) {
+				this.verificados.put(token, verificado);
+			}
+		}
+		evento.end();
+		if(evento.shouldCommit()) {
+			evento.identificar(verificado != null ? verificado.usuario.getFuncionarioId() : null, this.indiceIdentidadesService);
+			evento.setCache("jwt");
+			evento.setAcerto(acerto);
+			evento.commit();
+		}
+		return verificado != null ? Optional.of(verificado.usuario) : Optional.empty();
+	}
+
+	private TokenVerificado verificar(String token) {
+		try {
+			Claims claims = this.parser.parseClaimsJws(token).getBody();
+			Long funcionarioId = claims.get(CLAIM_FUNCIONARIO, Long.class);
+			Long empresaId = claims.get(CLAIM_EMPRESA, Long.class);
+			String perfil = claims.get(CLAIM_PERFIL, String.class);
+			if(funcionarioId == null || empresaId == null || perfil == null || claims.getExpiration() == null) {
+				log.info("Token JWT sem as claims do usuario ou sem expiração");
+				return null;
+			}
+			UsuarioAutenticado usuario = new UsuarioAutenticado(funcionarioId, empresaId, PerfilEnum.valueOf(perfil));
+			return new TokenVerificado(usuario, claims.getExpiration().getTime());
+		} catch (JwtException | IllegalArgumentException e) {
+			log.info("Token JWT inválido: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private static final class TokenVerificado {
+
+		private final UsuarioAutenticado usuario;
+		private final long expiracao;
+
+		private TokenVerificado(UsuarioAutenticado usuario, long expiracao) {
+			this.usuario = usuario;
+			this.expiracao = expiracao;
+		}
+
+	}
+
+	/**
+	 * Mantém cada token no cache só até a expiração dele.
+	 */
+	private static final class ExpiracaoToken implements Expiry<String, TokenVerificado> {
+
+		@Override
+		public long expireAfterCreate(String token, TokenVerificado verificado, long tempoAtual) {
+			long restante = verificado.expiracao - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(String token, TokenVerificado verificado, long tempoAtual, long duracaoAtual) {
+			return duracaoAtual;
+		}
+
+		@Override
+		public long expireAfterRead(String token, TokenVerificado verificado, long tempoAtual, long duracaoAtual) {
+			return duracaoAtual;
+		}
+
+	}
+
+}
@@ -0,0 +1,214 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+
+/**
+ * Calcula a jornada diária de um funcionario a partir das suas marcações,
+ * ordenadas por data, em uma única passada sobre arrays primitivos.
+ *
+ * As marcações formam uma máquina de estados: INICIO_TRABALHO abre o turno,
+ * almoço e pausa suspendem o tempo trabalhado até o respectivo término, e
+ * TERMINO_TRABALHO fecha o turno. O turno é contado no dia local em que
+ * começou, mesmo que termine depois da meia-noite. Marcações fora de ordem e
+ * turnos sem término são ignorados e contados como inconsistências do dia.
+ *
+ * Não é thread-safe: use uma instância por cálculo.
+ */
+public final class CalculadoraJornada {
+
+	private static final int FORA = 0;
+	private static final int TRABALHO = 1;
+	private static final int ALMOCO = 2;
+	private static final int PAUSA = 3;
+
+	private static final byte INICIO_TRABALHO = (byte) TipoEnum.INICIO_TRABALHO.ordinal();
+	private static final byte TERMINO_TRABALHO = (byte) TipoEnum.TERMINO_TRABALHO.ordinal();
+	private static final byte INICIO_ALMOCO = (byte) TipoEnum.INICIO_ALMOCO.ordinal();
+	private static final byte TERMINO_ALMOCO = (byte) TipoEnum.TERMINO_ALMOCO.ordinal();
+	private static final byte INICIO_PAUSA = (byte) TipoEnum.INICIO_PAUSA.ordinal();
+	private static final byte TERMINO_PAUSA = (byte) TipoEnum.TERMINO_PAUSA.ordinal();
+
+	private final FusoHorario fuso;
+	private final long jornadaMs;
+	private final long almocoMs;
+
+	private int qtdDias;
+	private long[] dias = new long[32];
+	private long[] trabalhado = new long[32];
+	private long[] almoco = new long[32];
+	private long[] pausa = new long[32];
+	private int[] inconsistencias = new int[32];
+
+	/**
+	 * @param fuso fuso usado para separar os dias
+	 * @param jornadaMs jornada diária contratada, em milissegundos
+	 * @param almocoMs intervalo de almoço contratado, em milissegundos
+	 */
+	public CalculadoraJornada(ZoneId fuso, long jornadaMs, long almocoMs) {
+		this.fuso = new FusoHorario(fuso);
+		this.jornadaMs = jornadaMs;
+		this.almocoMs = almocoMs;
+	}
+
+	/**
+	 * Calcula a jornada das marcações, substituindo o resultado anterior.
+	 *
+	 * @param datas data de cada marcação em milissegundos desde a epoch, em ordem crescente
+	 * @param tipos ordinal do TipoEnum de cada marcação
+	 * @param quantidade quantidade de marcações a considerar
+	 */
+	public void calcular(long[] datas, byte[] tipos, int quantidade) {
+		this.qtdDias = 0;
+		int estado = FORA;
+		long ultimaMarcacao = 0;
+		long diaAtual = Long.MIN_VALUE;
+		int indice = -1;
+
+		for(int i = 0; i < quantidade; i++) {
+			long data = datas[i];
+			byte tipo = tipos[i];
+
+			if(tipo == INICIO_TRABALHO) {
+				if(estado != FORA) {
+					this.inconsistencias[indice]++;
+				}
+				long dia = this.fuso.dia(data);
+				if(dia != diaAtual) {
+					diaAtual = dia;
+					indice = this.novoDia(dia);
+				}
+				estado = TRABALHO;
+			}else if(estado == FORA) {
+				if(indice >= 0) {
+					this.inconsistencias[indice]++;
+				}
+				continue;
+			}else if(tipo == TERMINO_TRABALHO) {
+				this.acumular(indice, estado, data - ultimaMarcacao);
+				estado = FORA;
+			}else if(tipo == INICIO_ALMOCO && estado == TRABALHO) {
+				this.trabalhado[indice] += data - ultimaMarcacao;
+				estado = ALMOCO;
+			}else if(tipo == TERMINO_ALMOCO && estado == ALMOCO) {
+				this.almoco[indice] += data - ultimaMarcacao;
+				estado = TRABALHO;
+			}else if(tipo == INICIO_PAUSA && estado == TRABALHO) {
+				this.trabalhado[indice] += data - ultimaMarcacao;
+				estado = PAUSA;
+			}else if(tipo == TERMINO_PAUSA && estado == PAUSA) {
+				this.pausa[indice] += data - ultimaMarcacao;
+				estado = TRABALHO;
+			}else {
+				this.inconsistencias[indice]++;
+				continue;
+			}
+			ultimaMarcacao = data;
+		}
+
+		if(estado != FORA) {
+			this.inconsistencias[indice]++;
+		}
+	}
+
+	public int getQtdDias() {
+		return qtdDias;
+	}
+
+	/**
+	 * @param i
+	 * @return dia local em dias desde 1970-01-01
+	 */
+	public long getDia(int i) {
+		return this.dias[i];
+	}
+
+	/**
+	 * @param i
+	 * @return tempo trabalhado no dia, em milissegundos
+	 */
+	public long getTrabalhado(int i) {
+		return this.trabalhado[i];
+	}
+
+	/**
+	 * @param i
+	 * @return tempo de almoço no dia, em milissegundos
+	 */
+	public long getAlmoco(int i) {
+		return this.almoco[i];
+	}
+
+	/**
+	 * @param i
+	 * @return tempo de pausas no dia, em milissegundos
+	 */
+	public long getPausa(int i) {
+		return this.pausa[i];
+	}
+
+	/**
+	 * @param i
+	 * @return tempo trabalhado além da jornada, em milissegundos
+	 */
+	public long getExtras(int i) {
+		return Math.max(0, this.trabalhado[i] - this.jornadaMs);
+	}
+
+	/**
+	 * @param i
+	 * @return tempo trabalhado menos a jornada, em milissegundos
+	 */
+	public long getSaldo(int i) {
+		return this.trabalhado[i] - this.jornadaMs;
+	}
+
+	/**
+	 * @param i
+	 * @return parte do intervalo de almoço contratado que não foi gozada, em milissegundos
+	 */
+	public long getAlmocoSuprimido(int i) {
+		return this.trabalhado[i] > 0 ? Math.max(0, this.almocoMs - this.almoco[i]) : 0;
+	}
+
+	/**
+	 * @param i
+	 * @return quantidade de marcações ignoradas no dia
+	 */
+	public int getInconsistencias(int i) {
+		return this.inconsistencias[i];
+	}
+
+	private void acumular(int indice, int estado, long duracao) {
+		if(estado == TRABALHO) {
+			this.trabalhado[indice] += duracao;
+		}else if(estado == ALMOCO) {
+			this.almoco[indice] += duracao;
+			this.inconsistencias[indice]++;
+		}else {
+			this.pausa[indice] += duracao;
+			this.inconsistencias[indice]++;
+		}
+	}
+
+	private int novoDia(long dia) {
+		if(this.qtdDias == this.dias.length) {
+			int capacidade = this.qtdDias * 2;
+			this.dias = Arrays.copyOf(this.dias, capacidade);
+			this.trabalhado = Arrays.copyOf(this.trabalhado, capacidade);
+			this.almoco = Arrays.copyOf(this.almoco, capacidade);
+			this.pausa = Arrays.copyOf(this.pausa, capacidade);
+			this.inconsistencias = Arrays.copyOf(this.inconsistencias, capacidade);
+		}
+		int indice = this.qtdDias++;
+		this.dias[indice] = dia;
+		this.trabalhado[indice] = 0;
+		this.almoco[indice] = 0;
+		this.pausa[indice] = 0;
+		this.inconsistencias[indice] = 0;
+		return indice;
+	}
+
+}
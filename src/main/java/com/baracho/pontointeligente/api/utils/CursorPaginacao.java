@@ -0,0 +1,136 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Posição de uma listagem paginada por chave (keyset) de lançamentos.
+ *
+ * A listagem é ordenada por (data, id), nas colunas do índice
+ * (funcionario_id, data, id) de lançamentos, que resolve também o filtro por
+ * período. Ordenar só por id com um período obrigaria o banco a ordenar todo o
+ * período a cada página, por isso id não está entre as ORDENS. O cursor guarda
+ * a ordenação e a chave do último item entregue e é enviado ao cliente como um
+ * token opaco em base64url.
+ */
+public final class CursorPaginacao {
+
+	public static final List<String> ORDENS = Arrays.asList("data");
+
+	private static final byte VERSAO = 1;
+	private static final int TAMANHO = 3 + 2 * Long.BYTES;
+
+	private final String ordem;
+	private final Sort.Direction direcao;
+	private final Date data;
+	private final Long id;
+
+	private CursorPaginacao(String ordem, Sort.Direction direcao, Date data, Long id) {
+		this.ordem = ordem;
+		this.direcao = direcao;
+		this.data = data;
+		this.id = id;
+	}
+
+	/**
+	 * Posição da primeira página.
+	 *
+	 * @param ordem coluna de ordenação, uma das ORDENS
+	 * @param direcao ASC ou DESC
+	 * @return CursorPaginacao
+	 * @throws IllegalArgumentException se a ordem ou a direção não forem aceitas
+	 */
+	public static CursorPaginacao inicio(String ordem, String direcao) {
+		if(!ORDENS.contains(ordem)) {
+			throw new IllegalArgumentException("Ordenação inválida, use uma de " + ORDENS);
+		}
+		if(!"ASC".equalsIgnoreCase(direcao) && !"DESC".equalsIgnoreCase(direcao)) {
+			throw new IllegalArgumentException("Direção inválida, use ASC ou DESC");
+		}
+		return new CursorPaginacao(ordem, Sort.Direction.fromString(direcao), null, null);
+	}
+
+	/**
+	 * Posição após o último item de uma página, na mesma ordenação.
+	 *
+	 * @param data
+	 * @param id
+	 * @return CursorPaginacao
+	 */
+	public CursorPaginacao apos(Date data, Long id) {
+		return new CursorPaginacao(this.ordem, this.direcao, data, id);
+	}
+
+	/**
+	 * @return token opaco que representa esta posição
+	 */
+	public String codificar() {
+		ByteBuffer buffer = ByteBuffer.allocate(TAMANHO);
+		buffer.put(VERSAO);
+		buffer.put((byte) ORDENS.indexOf(this.ordem));
+		buffer.put((byte) this.direcao.ordinal());
+		buffer.putLong(this.data == null ? 0 : this.data.getTime());
+		buffer.putLong(this.id == null ? 0 : this.id);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * Reconstrói a posição a partir de um token gerado por codificar().
+	 *
+	 * @param token
+	 * @return CursorPaginacao
+	 * @throws IllegalArgumentException se o token for inválido
+	 */
+	public static CursorPaginacao decodificar(String token) {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+			if(buffer.remaining() != TAMANHO || buffer.get() != VERSAO) {
+				throw new IllegalArgumentException("Cursor inválido");
+			}
+			String ordem = ORDENS.get(buffer.get());
+			Sort.Direction direcao = Sort.Direction.values()[buffer.get()];
+			long data = buffer.getLong();
+			long id = buffer.getLong();
+			return new CursorPaginacao(ordem, direcao, new Date(data), id);
+		} catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+			throw new IllegalArgumentException("Cursor inválido", e);
+		}
+	}
+
+	/**
+	 * @return true se a posição é a da primeira página
+	 */
+	public boolean isInicio() {
+		return this.id == null;
+	}
+
+	/**
+	 * @return ordenação da consulta, sempre desempatada pelo id
+	 */
+	public Sort getSort() {
+		return Sort.by(this.direcao, this.ordem).and(Sort.by(this.direcao, "id"));
+	}
+
+	public String getOrdem() {
+		return ordem;
+	}
+
+	public Sort.Direction getDirecao() {
+		return direcao;
+	}
+
+	public Date getData() {
+		return data;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+}
@@ -0,0 +1,209 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+
+/**
+ * Lê e escreve datas no formato yyyy-MM-dd HH:mm:ss, no horário local de um
+ * fuso, direto de e para caracteres, sem objetos intermediários.
+ *
+ * É thread-safe. O offset do fuso entre duas transições (horário de verão) fica
+ * em uma janela imutável, trocada quando uma data cai fora dela. Horários
+ * locais a menos de um dia de uma transição são resolvidos pelo java.time:
+ * os que não existem avançam pela duração do salto e os repetidos usam o
+ * offset anterior à transição.
+ */
+public final class DataHoraCodec {
+
+	public static final String FORMATO = "yyyy-MM-dd HH:mm:ss";
+	public static final int TAMANHO = FORMATO.length();
+
+	private static final long SEGUNDOS_DIA = 86400L;
+	private static final long MARGEM_TRANSICAO = SEGUNDOS_DIA;
+
+	private final ZoneId fuso;
+	private final ZoneRules regras;
+	private volatile Janela janela;
+
+	public DataHoraCodec(ZoneId fuso) {
+		this.fuso = fuso;
+		this.regras = fuso.getRules();
+		this.janela = this.calcularJanela(System.currentTimeMillis() / 1000);
+	}
+
+	/**
+	 * Converte o texto em data.
+	 *
+	 * @param texto
+	 * @return Date
+	 * @throws ParseException se o texto não estiver no FORMATO ou não for uma data válida
+	 */
+	public Date lerData(CharSequence texto) throws ParseException {
+		return new Date(this.ler(texto));
+	}
+
+	/**
+	 * Converte o texto em milissegundos desde a epoch.
+	 *
+	 * @param texto
+	 * @return long
+	 * @throws ParseException se o texto não estiver no FORMATO ou não for uma data válida
+	 */
+	public long ler(CharSequence texto) throws ParseException {
+		if(texto == null || texto.length() != TAMANHO || texto.charAt(4) != '-' || texto.charAt(7) != '-'
+				|| texto.charAt(10) != ' ' || texto.charAt(13) != ':' || texto.charAt(16) != ':') {
+			throw new ParseException("Data fora do formato " + FORMATO + ": " + texto, 0);
+		}
+		int ano = numero(texto, 0, 4);
+		int mes = numero(texto, 5, 2);
+		int dia = numero(texto, 8, 2);
+		int hora = numero(texto, 11, 2);
+		int minuto = numero(texto, 14, 2);
+		int segundo = numero(texto, 17, 2);
+		if(ano < 0 || mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(ano, mes) || hora < 0 || hora > 23
+				|| minuto < 0 || minuto > 59 || segundo < 0 || segundo > 59) {
+			throw new ParseException("Data inválida: " + texto, 0);
+		}
+
+		long local = diaEpoch(ano, mes, dia) * SEGUNDOS_DIA + hora * 3600 + minuto * 60 + segundo;
+		Janela janela = this.janela;
+		long instante = local - janela.offsetSegundos;
+		if(instante < janela.inicio + MARGEM_TRANSICAO || instante >= janela.fim - MARGEM_TRANSICAO) {
+			instante = ZonedDateTime.ofLocal(LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC), this.fuso, null)
+					.toEpochSecond();
+			this.janela = this.calcularJanela(instante);
+		}
+		return instante * 1000;
+	}
+
+	/**
+	 * @param data
+	 * @return a data no FORMATO
+	 */
+	public String formatar(Date data) {
+		char[] texto = new char[TAMANHO];
+		this.escrever(data.getTime(), texto, 0);
+		return new String(texto);
+	}
+
+	/**
+	 * Escreve a data no FORMATO em destino, a partir de posicao. Os
+	 * milissegundos são descartados.
+	 *
+	 * @param dataHora milissegundos desde a epoch
+	 * @param destino com ao menos TAMANHO posições livres
+	 * @param posicao
+	 * @throws IllegalArgumentException se o ano não tiver quatro dígitos
+	 */
+	public void escrever(long dataHora, char[] destino, int posicao) {
+		long instante = Math.floorDiv(dataHora, 1000L);
+		Janela janela = this.janela;
+		if(instante < janela.inicio || instante >= janela.fim) {
+			janela = this.calcularJanela(instante);
+			this.janela = janela;
+		}
+
+		long local = instante + janela.offsetSegundos;
+		long dias = Math.floorDiv(local, SEGUNDOS_DIA);
+		int segundosDoDia = (int) (local - dias * SEGUNDOS_DIA);
+
+		// conversão de dias desde a epoch para ano, mês e dia do calendário civil
+		long z = dias + 719468;
+		long era = Math.floorDiv(z, 146097);
+		int doe = (int) (z - era * 146097);
+		int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		int mp = (5 * doy + 2) / 153;
+		int dia = doy - (153 * mp + 2) / 5 + 1;
+		int mes = mp < 10 ? mp + 3 : mp - 9;
+		long ano = yoe + era * 400 + (mes <= 2 ? 1 : 0);
+		if(ano < 0 || ano > 9999) {
+			throw new IllegalArgumentException("Ano fora do intervalo 0000-9999: " + ano);
+		}
+
+		escreverNumero(destino, posicao, (int) ano, 4);
+		destino[posicao + 4] = '-';
+		escreverNumero(destino, posicao + 5, mes, 2);
+		destino[posicao + 7] = '-';
+		escreverNumero(destino, posicao + 8, dia, 2);
+		destino[posicao + 10] = ' ';
+		escreverNumero(destino, posicao + 11, segundosDoDia / 3600, 2);
+		destino[posicao + 13] = ':';
+		escreverNumero(destino, posicao + 14, segundosDoDia / 60 % 60, 2);
+		destino[posicao + 16] = ':';
+		escreverNumero(destino, posicao + 17, segundosDoDia % 60, 2);
+	}
+
+	private Janela calcularJanela(long instante) {
+		Instant momento = Instant.ofEpochSecond(instante);
+		ZoneOffsetTransition anterior = this.regras.previousTransition(momento.plusSeconds(1));
+		ZoneOffsetTransition proxima = this.regras.nextTransition(momento);
+		return new Janela(anterior == null ? Long.MIN_VALUE / 2 : anterior.toEpochSecond(),
+				proxima == null ? Long.MAX_VALUE / 2 : proxima.toEpochSecond(),
+				this.regras.getOffset(momento).getTotalSeconds());
+	}
+
+	/**
+	 * @return os dígitos em texto[inicio, inicio + qtd), ou -1 se algum não for dígito
+	 */
+	private static int numero(CharSequence texto, int inicio, int qtd) {
+		int valor = 0;
+		for(int i = inicio; i < inicio + qtd; i++) {
+			char c = texto.charAt(i);
+			if(c < '0' || c > '9') {
+				return -1;
+			}
+			valor = valor * 10 + (c - '0');
+		}
+		return valor;
+	}
+
+	private static void escreverNumero(char[] destino, int posicao, int valor, int qtd) {
+		for(int i = posicao + qtd - 1; i >= posicao; i--) {
+			destino[i] = (char) ('0' + valor % 10);
+			valor /= 10;
+		}
+	}
+
+	/**
+	 * Dias desde 1970-01-01 de uma data do calendário civil.
+	 */
+	private static long diaEpoch(int ano, int mes, int dia) {
+		int y = mes <= 2 ? ano - 1 : ano;
+		long era = Math.floorDiv(y, 400);
+		int yoe = (int) (y - era * 400);
+		int doy = (153 * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+		int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+
+	private static int diasNoMes(int ano, int mes) {
+		if(mes == 2) {
+			return ano % 4 == 0 && (ano % 100 != 0 || ano % 400 == 0) ? 29 : 28;
+		}
+		return mes == 4 || mes == 6 || mes == 9 || mes == 11 ? 30 : 31;
+	}
+
+	/**
+	 * Intervalo [inicio, fim), em segundos desde a epoch, com o mesmo offset.
+	 */
+	private static final class Janela {
+		private final long inicio;
+		private final long fim;
+		private final int offsetSegundos;
+
+		private Janela(long inicio, long fim, int offsetSegundos) {
+			this.inicio = inicio;
+			this.fim = fim;
+			this.offsetSegundos = offsetSegundos;
+		}
+	}
+
+}
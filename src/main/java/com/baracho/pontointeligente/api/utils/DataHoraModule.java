@@ -0,0 +1,75 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.text.ParseException;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+/**
+ * Módulo Jackson que lê e escreve java.util.Date no formato do DataHoraCodec,
+ * usando o buffer de caracteres do parser e do gerador sem criar Strings.
+ */
+public class DataHoraModule extends SimpleModule {
+
+	private static final long serialVersionUID = 1L;
+
+	public DataHoraModule(DataHoraCodec codec) {
+		super("DataHoraModule");
+		this.addSerializer(Date.class, new Serializador(codec));
+		this.addDeserializer(Date.class, new Desserializador(codec));
+	}
+
+	private static final class Serializador extends StdScalarSerializer<Date> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient DataHoraCodec codec;
+
+		private Serializador(DataHoraCodec codec) {
+			super(Date.class);
+			this.codec = codec;
+		}
+
+		@Override
+		public void serialize(Date valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+			char[] texto = new char[DataHoraCodec.TAMANHO];
+			this.codec.escrever(valor.getTime(), texto, 0);
+			gerador.writeString(texto, 0, texto.length);
+		}
+	}
+
+	private static final class Desserializador extends StdScalarDeserializer<Date> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient DataHoraCodec codec;
+
+		private Desserializador(DataHoraCodec codec) {
+			super(Date.class);
+			this.codec = codec;
+		}
+
+		@Override
+		public Date deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+			if(!parser.hasToken(JsonToken.VALUE_STRING)) {
+				return this._parseDate(parser, contexto);
+			}
+			try {
+				return new Date(this.codec.ler(CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(),
+						parser.getTextLength())));
+			} catch (ParseException e) {
+				return (Date) contexto.handleWeirdStringValue(Date.class, parser.getText(), e.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.baracho.pontointeligente.api.utils;
+
+public class DuracaoUtils {
+	
+	public DuracaoUtils() {}
+	
+	/**
+	 * Formata uma duração em milissegundos como HH:mm, com sinal quando negativa.
+	 * 
+	 * @param duracao
+	 * @return String
+	 */
+	public static String formatarHoras(long duracao) {
+		long minutos = Math.abs(duracao) / 60000;
+		return String.format("%s%02d:%02d", duracao < 0 ? "-" : "", minutos / 60, minutos % 60);
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Converte instantes em dia e offset locais de um fuso, guardando o offset
+ * vigente até a próxima transição (horário de verão). Assim a conversão de
+ * uma sequência de datas próximas não cria objetos.
+ *
+ * Não é thread-safe: use uma instância por tarefa.
+ */
+public final class FusoHorario {
+
+	private final ZoneRules regras;
+	private long validoDesde = Long.MAX_VALUE;
+	private long validoAte = Long.MIN_VALUE;
+	private int offsetSegundos;
+
+	public FusoHorario(ZoneId fuso) {
+		this.regras = fuso.getRules();
+	}
+
+	/**
+	 * Retorna o offset do fuso no instante, em segundos.
+	 *
+	 * @param dataHora milissegundos desde a epoch
+	 * @return int
+	 */
+	public int offsetSegundos(long dataHora) {
+		if(dataHora < this.validoDesde || dataHora >= this.validoAte) {
+			Instant instante = Instant.ofEpochMilli(dataHora);
+			this.offsetSegundos = this.regras.getOffset(instante).getTotalSeconds();
+			ZoneOffsetTransition anterior = this.regras.previousTransition(instante.plusMillis(1));
+			ZoneOffsetTransition proxima = this.regras.nextTransition(instante);
+			this.validoDesde = anterior == null ? Long.MIN_VALUE : anterior.getInstant().toEpochMilli();
+			this.validoAte = proxima == null ? Long.MAX_VALUE : proxima.getInstant().toEpochMilli();
+		}
+		return this.offsetSegundos;
+	}
+
+	/**
+	 * Retorna os segundos desde a epoch no horário local do fuso.
+	 *
+	 * @param dataHora milissegundos desde a epoch
+	 * @return long
+	 */
+	public long segundosLocais(long dataHora) {
+		return Math.floorDiv(dataHora, 1000L) + this.offsetSegundos(dataHora);
+	}
+
+	/**
+	 * Retorna o dia local do instante, em dias desde 1970-01-01.
+	 *
+	 * @param dataHora milissegundos desde a epoch
+	 * @return long
+	 */
+	public long dia(long dataHora) {
+		return Math.floorDiv(this.segundosLocais(dataHora), 86400L);
+	}
+
+}
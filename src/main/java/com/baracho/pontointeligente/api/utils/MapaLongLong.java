@@ -0,0 +1,233 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa de chaves long não negativas para valores long, sem boxing.
+ *
+ * Usa endereçamento aberto com sondagem linear sobre um único long[] que
+ * intercala chave e valor, ocupando cerca de 20 bytes por entrada com a carga
+ * máxima de 80%. As remoções deslocam as entradas seguintes para trás, sem
+ * deixar marcadores de removido.
+ *
+ * Leituras concorrentes não bloqueiam: tentam primeiro uma leitura otimista e
+ * só adquirem a trava de leitura se uma escrita acontecer no meio.
+ */
+public final class MapaLongLong {
+
+	/** Valor retornado por buscar quando a chave não existe. */
+	public static final long AUSENTE = -1L;
+
+	private static final long VAZIO = -1L;
+	private static final float CARGA_MAXIMA = 0.8f;
+	private static final int CAPACIDADE_MINIMA = 16;
+
+	private final StampedLock trava = new StampedLock();
+	private long[] tabela;
+	private int tamanho;
+
+	/**
+	 * @param qtdEsperada quantidade de entradas que cabe sem redimensionar
+	 */
+	public MapaLongLong(int qtdEsperada) {
+		this.tabela = alocar(Math.max(CAPACIDADE_MINIMA, (int) Math.ceil(qtdEsperada / CARGA_MAXIMA)));
+	}
+
+	/**
+	 * Retorna o valor associado à chave.
+	 *
+	 * @param chave
+	 * @return valor, ou AUSENTE se a chave não existir
+	 */
+	public long buscar(long chave) {
+		if(chave < 0) {
+			return AUSENTE;
+		}
+		long carimbo = this.trava.tryOptimisticRead();
+		long valor = buscar(this.tabela, chave);
+		if(this.trava.validate(carimbo)) {
+			return valor;
+		}
+
+		carimbo = this.trava.readLock();
+		try {
+			return buscar(this.tabela, chave);
+		} finally {
+			this.trava.unlockRead(carimbo);
+		}
+	}
+
+	/**
+	 * Associa o valor à chave, substituindo o valor anterior.
+	 *
+	 * @param chave não negativa
+	 * @param valor
+	 * @throws IllegalArgumentException se a chave for negativa
+	 */
+	public void colocar(long chave, long valor) {
+		if(chave < 0) {
+			throw new IllegalArgumentException("Chave negativa: " + chave);
+		}
+		long carimbo = this.trava.writeLock();
+		try {
+			if(this.tamanho + 1 > (long) (capacidade(this.tabela) * CARGA_MAXIMA)) {
+				this.redimensionar(capacidade(this.tabela) + capacidade(this.tabela) / 2);
+			}
+			int posicao = posicao(this.tabela, chave);
+			if(this.tabela[2 * posicao] == VAZIO) {
+				this.tamanho++;
+			}
+			this.tabela[2 * posicao] = chave;
+			this.tabela[2 * posicao + 1] = valor;
+		} finally {
+			this.trava.unlockWrite(carimbo);
+		}
+	}
+
+	/**
+	 * Remove a chave se ela estiver associada ao valor informado.
+	 *
+	 * @param chave
+	 * @param valor
+	 * @return true se a entrada foi removida
+	 */
+	public boolean remover(long chave, long valor) {
+		if(chave < 0) {
+			return false;
+		}
+		long carimbo = this.trava.writeLock();
+		try {
+			int posicao = posicao(this.tabela, chave);
+			if(this.tabela[2 * posicao] == VAZIO || this.tabela[2 * posicao + 1] != valor) {
+				return false;
+			}
+			this.deslocarApos(posicao);
+			this.tamanho--;
+			return true;
+		} finally {
+			this.trava.unlockWrite(carimbo);
+		}
+	}
+
+	/**
+	 * @return quantidade de entradas
+	 */
+	public int tamanho() {
+		long carimbo = this.trava.readLock();
+		try {
+			return this.tamanho;
+		} finally {
+			this.trava.unlockRead(carimbo);
+		}
+	}
+
+	/**
+	 * @return bytes ocupados pela tabela
+	 */
+	public long bytesAlocados() {
+		long carimbo = this.trava.readLock();
+		try {
+			return (long) this.tabela.length * Long.BYTES;
+		} finally {
+			this.trava.unlockRead(carimbo);
+		}
+	}
+
+	/**
+	 * Fecha o buraco deixado em posicao movendo para trás as entradas
+	 * seguintes cuja posição ideal não está entre o buraco e elas.
+	 */
+	private void deslocarApos(int posicao) {
+		int capacidade = capacidade(this.tabela);
+		int buraco = posicao;
+		int atual = posicao;
+		while(true) {
+			atual = atual + 1 == capacidade ? 0 : atual + 1;
+			long chave = this.tabela[2 * atual];
+			if(chave == VAZIO) {
+				break;
+			}
+			int ideal = ideal(chave, capacidade);
+			boolean permanece = buraco <= atual ? buraco < ideal && ideal <= atual : buraco < ideal || ideal <= atual;
+			if(!permanece) {
+				this.tabela[2 * buraco] = chave;
+				this.tabela[2 * buraco + 1] = this.tabela[2 * atual + 1];
+				buraco = atual;
+			}
+		}
+		this.tabela[2 * buraco] = VAZIO;
+		this.tabela[2 * buraco + 1] = 0;
+	}
+
+	private void redimensionar(int novaCapacidade) {
+		long[] antiga = this.tabela;
+		long[] nova = alocar(novaCapacidade);
+		for(int i = 0; i < antiga.length; i += 2) {
+			if(antiga[i] != VAZIO) {
+				int posicao = posicao(nova, antiga[i]);
+				nova[2 * posicao] = antiga[i];
+				nova[2 * posicao + 1] = antiga[i + 1];
+			}
+		}
+		this.tabela = nova;
+	}
+
+	/**
+	 * Busca sem trava. Numa leitura otimista a tabela pode estar sendo
+	 * alterada, então a sondagem é limitada à capacidade para sempre terminar.
+	 */
+	private static long buscar(long[] tabela, long chave) {
+		int capacidade = capacidade(tabela);
+		int posicao = ideal(chave, capacidade);
+		for(int i = 0; i < capacidade; i++) {
+			long atual = tabela[2 * posicao];
+			if(atual == chave) {
+				return tabela[2 * posicao + 1];
+			}
+			if(atual == VAZIO) {
+				return AUSENTE;
+			}
+			posicao = posicao + 1 == capacidade ? 0 : posicao + 1;
+		}
+		return AUSENTE;
+	}
+
+	/**
+	 * @return posição da chave, ou da primeira posição vazia na sua sondagem
+	 */
+	private static int posicao(long[] tabela, long chave) {
+		int capacidade = capacidade(tabela);
+		int posicao = ideal(chave, capacidade);
+		while(tabela[2 * posicao] != VAZIO && tabela[2 * posicao] != chave) {
+			posicao = posicao + 1 == capacidade ? 0 : posicao + 1;
+		}
+		return posicao;
+	}
+
+	/**
+	 * Espalha a chave e a reduz ao intervalo [0, capacidade) por
+	 * multiplicação, o que dispensa capacidades em potência de dois.
+	 */
+	private static int ideal(long chave, int capacidade) {
+		long hash = chave * 0x9E3779B97F4A7C15L;
+		return (int) (((hash >>> 32) * capacidade) >>> 32);
+	}
+
+	private static int capacidade(long[] tabela) {
+		return tabela.length / 2;
+	}
+
+	private static long[] alocar(int capacidade) {
+		long[] tabela = new long[2 * capacidade];
+		for(int i = 0; i < tabela.length; i += 2) {
+			tabela[i] = VAZIO;
+		}
+		return tabela;
+	}
+
+	@Override
+	public String toString() {
+		return "MapaLongLong [tamanho=" + tamanho() + ", bytesAlocados=" + bytesAlocados() + "]";
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.util.Arrays;
+
+/**
+ * Marcações de ponto em arrays primitivos paralelos, na ordem em que foram
+ * adicionadas: a data em milissegundos desde a epoch e o ordinal do TipoEnum.
+ * Os arrays crescem conforme a necessidade e podem ser reaproveitados entre
+ * leituras com limpar.
+ *
+ * Não é thread-safe.
+ */
+public final class Marcacoes {
+
+	private long[] datas;
+	private byte[] tipos;
+	private int quantidade;
+
+	public Marcacoes() {
+		this(64);
+	}
+
+	/**
+	 * @param capacidade quantidade de marcações que cabe sem redimensionar
+	 */
+	public Marcacoes(int capacidade) {
+		this.datas = new long[Math.max(capacidade, 1)];
+		this.tipos = new byte[this.datas.length];
+	}
+
+	public void adicionar(long data, byte tipo) {
+		if(this.quantidade == this.datas.length) {
+			this.datas = Arrays.copyOf(this.datas, this.quantidade * 2);
+			this.tipos = Arrays.copyOf(this.tipos, this.quantidade * 2);
+		}
+		this.datas[this.quantidade] = data;
+		this.tipos[this.quantidade] = tipo;
+		this.quantidade++;
+	}
+
+	public void limpar() {
+		this.quantidade = 0;
+	}
+
+	/**
+	 * @return datas das marcações; só as primeiras getQuantidade posições são válidas
+	 */
+	public long[] getDatas() {
+		return datas;
+	}
+
+	/**
+	 * @return ordinais do TipoEnum; só as primeiras getQuantidade posições são válidas
+	 */
+	public byte[] getTipos() {
+		return tipos;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+}
@@ -1,27 +0,0 @@
-package com.baracho.pontointeligente.api.utils;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-
-public class PasswordUtils {
-	
-	private static final Logger log = LoggerFactory.getLogger(PasswordUtils.class);
-	
-	public PasswordUtils() {}
-	
-	
-	public static String gerarBcrypt(String senha) {
-		if (senha == null) {
-			return senha;
-		}
-		
-		log.info("Gerando hash com o BCrypt.");
-		BCryptPasswordEncoder bCryptEncorder = new BCryptPasswordEncoder();
-		return bCryptEncorder.encode(senha);
-	}
-}
-
-
-
-	
@@ -0,0 +1,65 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.util.Optional;
+
+/**
+ * Oculta dados pessoais e senhas no toString() das entidades e DTOs, que é o
+ * que aparece nos logs.
+ */
+public class RedacaoUtils {
+	
+	public static final String OCULTO = "***";
+	
+	public RedacaoUtils() {}
+	
+	/**
+	 * @param senha
+	 * @return OCULTO se a senha foi informada, ou null
+	 */
+	public static String ocultarSenha(String senha) {
+		return senha != null ? OCULTO : null;
+	}
+	
+	/**
+	 * @param senha
+	 * @return OCULTO se a senha foi informada, ou null
+	 */
+	public static String ocultarSenha(Optional<String> senha) {
+		return senha != null && senha.isPresent() ? OCULTO : null;
+	}
+	
+	/**
+	 * Mantém só os dois últimos dígitos do CPF.
+	 * 
+	 * @param cpf
+	 * @return String como "*********74"
+	 */
+	public static String mascararCpf(String cpf) {
+		if(cpf == null || cpf.length() <= 2) {
+			return cpf == null ? null : OCULTO;
+		}
+		StringBuilder mascarado = new StringBuilder(cpf.length());
+		for(int i = 0; i < cpf.length() - 2; i++) {
+			mascarado.append('*');
+		}
+		return mascarado.append(cpf, cpf.length() - 2, cpf.length()).toString();
+	}
+	
+	/**
+	 * Mantém a primeira letra do usuário e o domínio do email.
+	 * 
+	 * @param email
+	 * @return String como "f***@email.com"
+	 */
+	public static String mascararEmail(String email) {
+		if(email == null) {
+			return null;
+		}
+		int arroba = email.indexOf('@');
+		if(arroba <= 0) {
+			return OCULTO;
+		}
+		return email.charAt(0) + OCULTO + email.substring(arroba);
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.baracho.pontointeligente.api.utils;
+
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Identifica a restrição da base violada em uma DataIntegrityViolationException.
+ */
+public class RestricoesUtils {
+
+	public RestricoesUtils() {}
+
+	/**
+	 * Verifica se a exceção foi causada pela violação da restrição com o nome
+	 * informado. O H2 e o MySQL acrescentam sufixos ao nome, então a
+	 * comparação é por conteúdo, sem diferenciar maiúsculas.
+	 *
+	 * @param e
+	 * @param restricao
+	 * @return boolean
+	 */
+	public static boolean violou(DataIntegrityViolationException e, String restricao) {
+		String nome = restricao.toLowerCase(Locale.ROOT);
+		for(Throwable causa = e; causa != null; causa = causa.getCause()) {
+			if(causa instanceof ConstraintViolationException) {
+				String violada = ((ConstraintViolationException) causa).getConstraintName();
+				if(violada != null && violada.toLowerCase(Locale.ROOT).contains(nome)) {
+					return true;
+				}
+			}
+			if(causa.getMessage() != null && causa.getMessage().toLowerCase(Locale.ROOT).contains(nome)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,10 @@
+-- Executado a cada inicialização, depois do ddl-auto=update do Hibernate.
+--
+-- O MySQL não tem sequências: o Hibernate emula lancamento_seq com uma tabela
+-- de uma linha (next_val), criada com o valor 1 em bancos que já tinham
+-- lançamentos gerados pelo antigo hibernate_sequence. O otimizador pooled
+-- (allocationSize = 50) usa o valor lido como o fim do bloco de ids, então a
+-- tabela precisa ficar pelo menos 50 acima do maior id existente.
+UPDATE lancamento_seq
+	SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM lancamento)
+	WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM lancamento);
@@ -0,0 +1,179 @@
+package com.baracho.pontointeligente.api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.ChaveIdempotenciaRepository;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LancamentoControllerTest {
+
+	private static final String URL = "/api/lancamentos";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+	private Funcionario funcionario;
+	private Funcionario admin;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+		this.funcionario = this.salvarFuncionario(empresa, "usuario@email.com", "24291173474", PerfilEnum.ROLE_USUARIO);
+		this.admin = this.salvarFuncionario(empresa, "admin@email.com", "11144477735", PerfilEnum.ROLE_ADMIN);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.chaveIdempotenciaRepository.deleteAll();
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testRepetirChaveDeIdempotenciaRetornaRespostaOriginal() throws Exception {
+		String corpo = this.corpo(this.funcionario.getId(), "2023-03-01 08:00:00");
+		String primeira = this.adicionar(this.funcionario, "chave-1", corpo)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String segunda = this.adicionar(this.funcionario, "chave-1", corpo)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertEquals(primeira, segunda);
+		assertEquals(1, this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId()).size());
+	}
+
+	@Test
+	public void testChaveDeIdempotenciaComOutroCorpo() throws Exception {
+		this.adicionar(this.funcionario, "chave-2", this.corpo(this.funcionario.getId(), "2023-03-01 08:00:00"))
+				.andExpect(status().isOk());
+		this.adicionar(this.funcionario, "chave-2", this.corpo(this.funcionario.getId(), "2023-03-01 12:00:00"))
+				.andExpect(status().isUnprocessableEntity())
+				.andExpect(jsonPath("$.errors[0]").value("Idempotency-Key já usada com outra requisição"));
+
+		assertEquals(1, this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId()).size());
+	}
+
+	@Test
+	public void testChaveDeIdempotenciaDeOutroUsuario() throws Exception {
+		String corpo = this.corpo(this.funcionario.getId(), "2023-03-01 08:00:00");
+		this.adicionar(this.funcionario, "chave-3", corpo).andExpect(status().isOk());
+		this.adicionar(this.admin, "chave-3", corpo).andExpect(status().isOk());
+
+		assertEquals(2, this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId()).size());
+	}
+
+	@Test
+	public void testAdicionarComIdNaoAlteraLancamentoExistente() throws Exception {
+		Long id = this.salvarLancamento();
+		String corpo = "{\"id\":" + id + ",\"funcionarioId\":" + this.funcionario.getId()
+				+ ",\"data\":\"2023-03-02 08:00:00\",\"tipo\":\"TERMINO_TRABALHO\"}";
+		
+		this.mvc.perform(MockMvcRequestBuilders.post(URL)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.funcionario))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Lançamentos novos não podem informar id"));
+		
+		assertEquals(TipoEnum.INICIO_TRABALHO, this.lancamentoRepository.findById(id).get().getTipo());
+	}
+	
+	@Test
+	public void testAdicionarParaFuncionarioRemovido() throws Exception {
+		Funcionario removido = new Funcionario();
+		removido.setId(this.admin.getId() + 1000);
+		removido.setEmpresa(this.funcionario.getEmpresa());
+		removido.setPerfil(PerfilEnum.ROLE_USUARIO);
+		
+		this.mvc.perform(MockMvcRequestBuilders.post(URL)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(removido))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(this.corpo(removido.getId(), "2023-03-01 08:00:00")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Funcionario não encontrado. ID inexistente"));
+	}
+	
+	private Long salvarLancamento() {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(new Date());
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setFuncionario(this.funcionario);
+		return this.lancamentoRepository.save(lancamento).getId();
+	}
+	
+	private ResultActions adicionar(Funcionario usuario, String chave, String corpo) throws Exception {
+		return this.mvc.perform(MockMvcRequestBuilders.post(URL)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(usuario))
+				.header("Idempotency-Key", chave)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corpo));
+	}
+
+	private String corpo(Long funcionarioId, String data) {
+		return "{\"funcionarioId\":" + funcionarioId + ",\"data\":\"" + data + "\",\"tipo\":\"INICIO_TRABALHO\"}";
+	}
+
+	private String token(Funcionario usuario) {
+		return this.tokenService.gerarToken(new UsuarioAutenticado(usuario.getId(), usuario.getEmpresa().getId(),
+				usuario.getPerfil()));
+	}
+
+	private Funcionario salvarFuncionario(Empresa empresa, String email, String cpf, PerfilEnum perfil) {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(perfil);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(cpf);
+		funcionario.setEmail(email);
+		funcionario.setEmpresa(empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+
+}
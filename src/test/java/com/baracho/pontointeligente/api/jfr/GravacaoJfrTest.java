@@ -0,0 +1,197 @@
+package com.baracho.pontointeligente.api.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.GravacaoJfrService;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class GravacaoJfrTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private GravacaoJfrService gravacaoJfrService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TokenService tokenService;
+
+	private Funcionario funcionario;
+
+	private String token;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_SISTEMA);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+		this.token = "Bearer " + this.tokenService.gerarToken(
+				new UsuarioAutenticado(this.funcionario.getId(), empresa.getId(), PerfilEnum.ROLE_SISTEMA));
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.pararGravacao();
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testEventosDoLancamento() throws Exception {
+		this.mvc.perform(MockMvcRequestBuilders.post("/admin/jfr").param("duracaoSegundos", "60")
+				.header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.estado").value("RUNNING"))
+				.andExpect(jsonPath("$.data.duracaoSegundos").value(60));
+		this.mvc.perform(MockMvcRequestBuilders.post("/admin/jfr").header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isBadRequest());
+
+		String lancamento = "{\"data\":\"2026-01-02 08:00:00\",\"tipo\":\"INICIO_TRABALHO\",\"funcionarioId\":"
+				+ this.funcionario.getId() + "}";
+		this.mvc.perform(MockMvcRequestBuilders.post("/api/lancamentos").header("Idempotency-Key", "jfr-1")
+				.header(HttpHeaders.AUTHORIZATION, this.token)
+				.contentType(MediaType.APPLICATION_JSON).content(lancamento))
+				.andExpect(status().isOk());
+
+		Set<Path> downloads = this.downloads();
+		MvcResult resultado = this.mvc.perform(MockMvcRequestBuilders.post("/admin/jfr/parar")
+				.header(HttpHeaders.AUTHORIZATION, this.token)).andReturn();
+		byte[] jfr = this.mvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		assertEquals(downloads, this.downloads());
+
+		Path arquivo = Files.createTempFile("teste-", ".jfr");
+		try {
+			Files.write(arquivo, jfr);
+			List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo).stream()
+					.filter(evento -> evento.getEventType().getName().startsWith("com.baracho.pontointeligente."))
+					.collect(Collectors.toList());
+			long empresaId = this.funcionario.getEmpresa().getId();
+
+			RecordedEvent recebido = this.evento(eventos, "LancamentoRecebido");
+			assertEquals(this.funcionario.getId().longValue(), recebido.getLong("funcionarioId"));
+			assertEquals(empresaId, recebido.getLong("empresaId"));
+			assertEquals("INICIO_TRABALHO", recebido.getString("tipo"));
+			assertTrue(this.evento(eventos, "LancamentoValidado").getBoolean("valido"));
+			RecordedEvent persistido = this.evento(eventos, "LancamentoPersistido");
+			assertEquals(empresaId, persistido.getLong("empresaId"));
+			assertTrue(persistido.getLong("lancamentoId") > 0);
+			assertFalse(persistido.getDuration().isNegative());
+			RecordedEvent cache = this.eventoCache(eventos, "idempotencia");
+			assertEquals(this.funcionario.getId().longValue(), cache.getLong("funcionarioId"));
+			assertFalse(cache.getBoolean("acerto"));
+			assertTrue(this.eventoCache(eventos, "jwt").getBoolean("acerto"));
+		} finally {
+			Files.delete(arquivo);
+		}
+	}
+
+	@Test
+	public void testPararSemGravacao() throws Exception {
+		this.gravacaoJfrService.iniciar(1);
+		this.pararGravacao();
+		this.mvc.perform(MockMvcRequestBuilders.get("/admin/jfr").header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.estado").value("CLOSED"));
+	}
+
+	@Test
+	public void testCopiaParadaSobreviveANovaGravacao() throws Exception {
+		this.gravacaoJfrService.iniciar(60);
+		Path copia = this.gravacaoJfrService.parar().get();
+		try {
+			this.gravacaoJfrService.iniciar(60);
+			assertTrue(Files.exists(copia));
+			assertTrue(Files.size(copia) > 0);
+			RecordingFile.readAllEvents(copia);
+		} finally {
+			Files.deleteIfExists(copia);
+		}
+	}
+
+	private void pararGravacao() throws IOException {
+		Optional<Path> copia = this.gravacaoJfrService.parar();
+		if(copia.isPresent()) {
+			Files.deleteIfExists(copia.get());
+		}
+	}
+
+	private Set<Path> downloads() throws IOException {
+		try (Stream<Path> arquivos = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+			return arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("ponto-download-"))
+					.collect(Collectors.toSet());
+		}
+	}
+
+	private RecordedEvent evento(List<RecordedEvent> eventos, String nome) {
+		return eventos.stream()
+				.filter(evento -> evento.getEventType().getName().equals("com.baracho.pontointeligente." + nome))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("Evento " + nome + " não gravado"));
+	}
+
+	private RecordedEvent eventoCache(List<RecordedEvent> eventos, String cache) {
+		return eventos.stream()
+				.filter(evento -> evento.getEventType().getName().equals("com.baracho.pontointeligente.Cache"))
+				.filter(evento -> cache.equals(evento.getString("cache")))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("Evento do cache " + cache + " não gravado"));
+	}
+
+}
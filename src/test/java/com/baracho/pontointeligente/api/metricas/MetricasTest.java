@@ -0,0 +1,120 @@
+package com.baracho.pontointeligente.api.metricas;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+public class MetricasTest {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Funcionario funcionario;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testExposicaoPrometheus() throws Exception {
+		String token = this.tokenService.gerarToken(new UsuarioAutenticado(this.funcionario.getId(),
+				this.funcionario.getEmpresa().getId(), PerfilEnum.ROLE_USUARIO));
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/funcionarios/" + this.funcionario.getId() + "/banco-horas")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+
+		String empresa = "empresa=\"" + this.funcionario.getEmpresa().getId() + "\"";
+		this.mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+		String sistema = this.tokenService.gerarToken(new UsuarioAutenticado(this.funcionario.getId(),
+				this.funcionario.getEmpresa().getId(), PerfilEnum.ROLE_SISTEMA));
+		this.mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + sistema))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("http_server_requests_seconds_bucket{controller=\"FuncionarioController\"")))
+				.andExpect(content().string(containsString(empresa)))
+				.andExpect(content().string(containsString("servico_execucao_seconds_bucket{classe=\"BancoHorasServiceImpl\"")))
+				.andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+				.andExpect(content().string(containsString("hikaricp_connections_active")))
+				.andExpect(content().string(containsString("hibernate_sessions_open_total")))
+				.andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")));
+	}
+
+	@Test
+	public void testEmpresaDoCaminhoRecusadaNaoViraTag() throws Exception {
+		String admin = this.tokenService.gerarToken(new UsuarioAutenticado(this.funcionario.getId(),
+				this.funcionario.getEmpresa().getId(), PerfilEnum.ROLE_ADMIN));
+		long outraEmpresa = this.funcionario.getEmpresa().getId() + 987654;
+		MvcResult resultado = this.mvc.perform(MockMvcRequestBuilders.get("/api/empresas/" + outraEmpresa + "/afd")
+				.param("inicio", "2023-05-01").param("fim", "2023-05-31")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + admin))
+				.andReturn();
+		this.mvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isForbidden());
+
+		assertNull(this.meterRegistry.find("http.server.requests")
+				.tag(TagEmpresa.NOME, Long.toString(outraEmpresa)).timer());
+		assertNotNull(this.meterRegistry.find("http.server.requests").tag("metodo", "exportarAfd")
+				.tag(TagEmpresa.NOME, TagEmpresa.NENHUMA).timer());
+	}
+
+}
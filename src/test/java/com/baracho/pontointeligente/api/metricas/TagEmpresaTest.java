@@ -0,0 +1,48 @@
+package com.baracho.pontointeligente.api.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class TagEmpresaTest {
+
+	@Test
+	public void testMaioresEmpresasComTagPropria() {
+		TagEmpresa tagEmpresa = new TagEmpresa(3, 10);
+		SplittableRandom aleatorio = new SplittableRandom(7);
+
+		// as empresas 1, 2 e 3 concentram metade das requisições, o resto se divide entre 1000
+		for(int i = 0; i < 20000; i++) {
+			long empresaId = aleatorio.nextBoolean() ? 1 + aleatorio.nextInt(3) : 100 + aleatorio.nextInt(1000);
+			tagEmpresa.valor(empresaId);
+		}
+
+		assertEquals("1", tagEmpresa.valor(1));
+		assertEquals("2", tagEmpresa.valor(2));
+		assertEquals("3", tagEmpresa.valor(3));
+		assertEquals(TagEmpresa.OUTRAS, tagEmpresa.valor(500));
+		assertEquals(TagEmpresa.NENHUMA, tagEmpresa.valor(-1));
+	}
+
+	@Test
+	public void testCardinalidadeLimitada() {
+		TagEmpresa tagEmpresa = new TagEmpresa(2, 5);
+		Set<String> valores = new HashSet<String>();
+
+		// cada empresa domina por um período e depois some
+		for(long empresaId = 1; empresaId <= 100; empresaId++) {
+			for(int i = 0; i < 20000; i++) {
+				valores.add(tagEmpresa.valor(empresaId));
+			}
+		}
+
+		assertTrue(valores.size() <= 5 + 1, () -> "Valores emitidos: " + valores);
+		assertTrue(valores.contains(TagEmpresa.OUTRAS));
+	}
+
+}
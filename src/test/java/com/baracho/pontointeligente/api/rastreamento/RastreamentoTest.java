@@ -0,0 +1,125 @@
+package com.baracho.pontointeligente.api.rastreamento;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.seguranca.UsuarioAutenticado;
+import com.baracho.pontointeligente.api.services.TokenService;
+
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RastreamentoTest {
+
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private SdkTracerProvider sdkTracerProvider;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Value("${rastreamento.arquivo.caminho}")
+	private String arquivo;
+
+	private Funcionario funcionario;
+
+	private String token;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_SISTEMA);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+		this.token = "Bearer " + this.tokenService.gerarToken(
+				new UsuarioAutenticado(this.funcionario.getId(), empresa.getId(), PerfilEnum.ROLE_SISTEMA));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testTracesLentosComFases() throws Exception {
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/funcionarios/" + this.funcionario.getId() + "/banco-horas")
+				.header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")
+				.header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isOk());
+
+		String trace = "$.data[?(@.traceId == '" + TRACE_ID + "')]";
+		this.mvc.perform(MockMvcRequestBuilders.get("/admin/traces/slow").header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(trace + ".requisicao", hasItem("GET /api/funcionarios/{id}/banco-horas")))
+				.andExpect(jsonPath(trace + ".status", hasItem(200)))
+				.andExpect(jsonPath(trace + ".fases.controller", hasItem(greaterThan(0.0))))
+				.andExpect(jsonPath(trace + ".fases.servico", hasItem(greaterThan(0.0))))
+				.andExpect(jsonPath(trace + ".fases.repositorio", hasItem(greaterThan(0.0))))
+				.andExpect(jsonPath(trace + ".fases.serializacao", hasItem(greaterThan(0.0))))
+				.andExpect(jsonPath(trace + ".spans[0].profundidade", hasItem(is(0))))
+				.andExpect(jsonPath(trace + ".spans[*].nome", hasItem("FuncionarioController.buscarBancoHoras")));
+	}
+
+	@Test
+	public void testExportacaoArquivoOtlpJson() throws Exception {
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/funcionarios/" + this.funcionario.getId() + "/banco-horas")
+				.header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")
+				.header(HttpHeaders.AUTHORIZATION, this.token))
+				.andExpect(status().isOk());
+		this.sdkTracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+		Path caminho = Paths.get(this.arquivo);
+		assertTrue(Files.exists(caminho));
+		String conteudo = new String(Files.readAllBytes(caminho), "UTF-8");
+		assertTrue(conteudo.startsWith("{\"resourceSpans\":["));
+		assertTrue(conteudo.contains(TRACE_ID));
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.baracho.pontointeligente.api.repositories;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Guarda o SQL gerado pelo Hibernate, para que os testes possam verificar o
+ * plano de execução das consultas reais dos repositórios.
+ */
+public class ConsultasCapturadas implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> CONSULTAS = new CopyOnWriteArrayList<String>();
+
+	@Override
+	public String inspect(String sql) {
+		CONSULTAS.add(sql);
+		return sql;
+	}
+
+	public static void limpar() {
+		CONSULTAS.clear();
+	}
+
+	/**
+	 * @param trecho
+	 * @return última consulta capturada que contém o trecho
+	 * @throws IllegalStateException se nenhuma consulta contiver o trecho
+	 */
+	public static String ultimaCom(String trecho) {
+		for(int i = CONSULTAS.size() - 1; i >= 0; i--) {
+			if(CONSULTAS.get(i).contains(trecho)) {
+				return CONSULTAS.get(i);
+			}
+		}
+		throw new IllegalStateException("Nenhuma consulta capturada com " + trecho + ": " + CONSULTAS);
+	}
+
+}
@@ -2,20 +2,26 @@ package com.baracho.pontointeligente.api.repositories;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.baracho.pontointeligente.api.entities.Empresa;
 import com.baracho.pontointeligente.api.entities.Funcionario;
 import com.baracho.pontointeligente.api.enums.PerfilEnum;
-import com.baracho.pontointeligente.api.utils.PasswordUtils;
+import com.baracho.pontointeligente.api.utils.RestricoesUtils;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -30,10 +36,13 @@ public class FuncionarioRepositoryTest {
 	private static final String EMAIL = "email@email.com";
 	private static final String CPF = "241535847321";
 	
+	private Long funcionarioId;
+	private Empresa empresa;
+	
 	@BeforeEach
 	public void setUp() throws Exception {
-		Empresa empresa = this.empresaRepository.save(obterDadosEmpresa());
-		this.funcionarioRepository.save(obterDadosFuncionario(empresa));
+		this.empresa = this.empresaRepository.save(obterDadosEmpresa());
+		this.funcionarioId = this.funcionarioRepository.save(obterDadosFuncionario(this.empresa)).getId();
 	}
 	
 	@AfterEach
@@ -53,6 +62,13 @@ public class FuncionarioRepositoryTest {
 		assertEquals(CPF, funcionario.getCpf());
 	}
 	
+	@Test
+	public void testBuscarIdsExistentes() {
+		List<Long> ids = this.funcionarioRepository.findIdsExistentes(Arrays.asList(funcionarioId, -1L));
+		assertEquals(1, ids.size());
+		assertEquals(funcionarioId, ids.get(0));
+	}
+	
 	@Test
 	public void testBuscarPorEmailECpf() {
 		Funcionario funcionario = this.funcionarioRepository.findByCpfOrEmail(CPF, EMAIL);
@@ -74,6 +90,15 @@ public class FuncionarioRepositoryTest {
 		assertNotNull(funcionario);
 	}
 	
+	@Test
+	public void testCpfDuplicadoViolaChaveUnica() throws NoSuchAlgorithmException {
+		Funcionario duplicado = obterDadosFuncionario(this.empresa);
+		duplicado.setEmail("outro@email.com");
+		
+		DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+				() -> this.funcionarioRepository.save(duplicado));
+		assertTrue(RestricoesUtils.violou(e, Funcionario.CHAVE_CPF));
+	}
 	
 	private Empresa obterDadosEmpresa() {
 		
@@ -89,7 +114,7 @@ public class FuncionarioRepositoryTest {
 		Funcionario funcionario = new Funcionario();
 		funcionario.setNome("João");
 		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
-		funcionario.setSenha(PasswordUtils.gerarBcrypt("12345"));
+		funcionario.setSenha(new BCryptPasswordEncoder().encode("12345"));
 		funcionario.setCpf(CPF);
 		funcionario.setEmail(EMAIL);
 		funcionario.setEmpresa(empresa);
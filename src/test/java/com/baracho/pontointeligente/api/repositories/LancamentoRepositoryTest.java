@@ -1,8 +1,11 @@
 package com.baracho.pontointeligente.api.repositories;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
 
@@ -13,16 +16,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
 import com.baracho.pontointeligente.api.entities.Empresa;
 import com.baracho.pontointeligente.api.entities.Funcionario;
 import com.baracho.pontointeligente.api.entities.Lancamento;
 import com.baracho.pontointeligente.api.enums.PerfilEnum;
 import com.baracho.pontointeligente.api.enums.TipoEnum;
-import com.baracho.pontointeligente.api.utils.PasswordUtils;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.baracho.pontointeligente.api.repositories.ConsultasCapturadas")
 @ActiveProfiles("test")
 public class LancamentoRepositoryTest {
 	
@@ -35,6 +43,9 @@ public class LancamentoRepositoryTest {
 	@Autowired
 	private FuncionarioRepository funcionarioRepository;
 	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
 	private Long funcionarioId;
 	
 	@BeforeEach
@@ -72,6 +83,91 @@ public class LancamentoRepositoryTest {
 	
 	
 	
+	@Test
+	public void testBuscarPaginaAposData() {
+		Funcionario funcionario = this.funcionarioRepository.findById(this.funcionarioId).get();
+		Lancamento anterior = obterDadosLancamentos(funcionario);
+		anterior.setData(new Date(System.currentTimeMillis() - 3600000));
+		this.lancamentoRepository.save(anterior);
+		
+		PageRequest pagina = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "data").and(Sort.by(Sort.Direction.ASC, "id")));
+		Slice<LancamentoResumo> primeira = this.lancamentoRepository.findPrimeiraPagina(funcionarioId, new Date(0), new Date(Long.MAX_VALUE / 2), pagina);
+		
+		assertEquals(2, primeira.getNumberOfElements());
+		assertEquals(anterior.getId(), primeira.getContent().get(0).getId());
+		assertTrue(primeira.hasNext());
+		
+		LancamentoResumo ultimo = primeira.getContent().get(1);
+		Slice<LancamentoResumo> segunda = this.lancamentoRepository.findPaginaAposData(funcionarioId, new Date(0), new Date(Long.MAX_VALUE / 2),
+				ultimo.getData(), ultimo.getId(), pagina);
+		
+		assertEquals(1, segunda.getNumberOfElements());
+		assertFalse(segunda.hasNext());
+	}
+	
+	@Test
+	public void testBuscarPorPeriodo() {
+		Funcionario funcionario = this.funcionarioRepository.findById(this.funcionarioId).get();
+		Lancamento anterior = obterDadosLancamentos(funcionario);
+		anterior.setData(new Date(System.currentTimeMillis() - 86400000L));
+		this.lancamentoRepository.save(anterior);
+		Date inicioDoDia = new Date(System.currentTimeMillis() - 3600000L);
+		
+		Slice<LancamentoResumo> lancamentos = this.lancamentoRepository.findPrimeiraPagina(funcionarioId, inicioDoDia,
+				new Date(System.currentTimeMillis() + 3600000L), PageRequest.of(0, 10, Sort.by("data")));
+		
+		assertEquals(2, lancamentos.getNumberOfElements());
+		assertEquals(1, this.lancamentoRepository.countNoPeriodo(funcionarioId, new Date(0), inicioDoDia));
+	}
+	
+	@Test
+	public void testBuscarResumoPorId() {
+		Lancamento lancamento = this.lancamentoRepository.findByFuncionarioId(funcionarioId).get(0);
+		
+		LancamentoResumo resumo = this.lancamentoRepository.findResumoPorId(lancamento.getId()).get();
+		
+		assertEquals(lancamento.getId(), resumo.getId());
+		assertEquals(TipoEnum.INICIO_ALMOCO, resumo.getTipo());
+		assertEquals(funcionarioId, resumo.getFuncionarioId());
+	}
+	
+	@Test
+	public void testConsultasPorPeriodoUsamIndice() {
+		Date de = new Date(1677639600000L);
+		Date ate = new Date(1680318000000L);
+		PageRequest pagina = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "data").and(Sort.by(Sort.Direction.ASC, "id")));
+		
+		ConsultasCapturadas.limpar();
+		this.lancamentoRepository.findPrimeiraPagina(this.funcionarioId, de, ate, pagina);
+		this.assertUsaIndice(ConsultasCapturadas.ultimaCom("from lancamento"),
+				this.funcionarioId, this.literal(de), this.literal(ate), 11);
+		
+		ConsultasCapturadas.limpar();
+		this.lancamentoRepository.findPaginaAposData(this.funcionarioId, de, ate, de, 1L, pagina);
+		this.assertUsaIndice(ConsultasCapturadas.ultimaCom("from lancamento"),
+				this.funcionarioId, this.literal(de), this.literal(ate), this.literal(de), this.literal(de), 1, 11);
+	}
+	
+	/**
+	 * Substitui os parâmetros da consulta capturada pelos valores, na ordem, e
+	 * verifica que o plano usa o índice de lançamentos por funcionario e data.
+	 */
+	private void assertUsaIndice(String sql, Object... valores) {
+		StringBuilder consulta = new StringBuilder(sql);
+		for(Object valor : valores) {
+			int parametro = consulta.indexOf("?");
+			consulta.replace(parametro, parametro + 1, valor.toString());
+		}
+		assertEquals(-1, consulta.indexOf("?"), consulta.toString());
+		
+		String plano = this.jdbcTemplate.queryForObject("EXPLAIN " + consulta, String.class);
+		assertTrue(plano.toUpperCase().contains("IDX_LANCAMENTO_FUNCIONARIO_DATA"), plano);
+	}
+	
+	private String literal(Date data) {
+		return "TIMESTAMP '" + new Timestamp(data.getTime()) + "'";
+	}
+	
 	private Lancamento obterDadosLancamentos(Funcionario funcionario) {
 		Lancamento lancameto = new Lancamento();
 		lancameto.setData(new Date());
@@ -86,7 +182,7 @@ public class LancamentoRepositoryTest {
 		Funcionario funcionario = new Funcionario();
 		funcionario.setNome("Fulano de Tal");
 		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
-		funcionario.setSenha(PasswordUtils.gerarBcrypt("123456"));
+		funcionario.setSenha(new BCryptPasswordEncoder().encode("123456"));
 		funcionario.setCpf("24291173474");
 		funcionario.setEmail("email@email.com");
 		funcionario.setEmpresa(empresa);
@@ -0,0 +1,334 @@
+package com.baracho.pontointeligente.api.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.baracho.pontointeligente.api.controllers.RespostasAssincronasConfiguration;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.services.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AutenticacaoTest {
+
+	private static final String SENHA = "123456";
+	private static final long TIMEOUT_DOWNLOADS_MS = 10 * 60 * 1000;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RespostasAssincronasConfiguration respostasAssincronas;
+
+	private Funcionario usuario;
+	private Funcionario colega;
+	private Funcionario admin;
+	private Funcionario adminOutraEmpresa;
+	private Funcionario sistema;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = this.salvarEmpresa("51463645000100");
+		Empresa outraEmpresa = this.salvarEmpresa("82198127000121");
+		String hash = new BCryptPasswordEncoder(10).encode(SENHA);
+		this.usuario = this.salvarFuncionario(empresa, "usuario@email.com", "24291173474", PerfilEnum.ROLE_USUARIO, hash);
+		this.colega = this.salvarFuncionario(empresa, "colega@email.com", "52998224725", PerfilEnum.ROLE_USUARIO, hash);
+		this.admin = this.salvarFuncionario(empresa, "admin@email.com", "11144477735", PerfilEnum.ROLE_ADMIN, hash);
+		this.adminOutraEmpresa = this.salvarFuncionario(outraEmpresa, "admin@outra.com", "39053344705",
+				PerfilEnum.ROLE_ADMIN, hash);
+		this.sistema = this.salvarFuncionario(outraEmpresa, "sistema@outra.com", "86288366757",
+				PerfilEnum.ROLE_SISTEMA, hash);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testLoginGeraTokenAceitoNaApi() throws Exception {
+		MvcResult login = this.mvc.perform(MockMvcRequestBuilders.post("/auth")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"usuario@email.com\",\"senha\":\"" + SENHA + "\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String resposta = this.mvc.perform(asyncDispatch(login))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String token = this.objectMapper.readTree(resposta).at("/data/token").asText();
+
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos/funcionario/" + this.usuario.getId())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void testLoginDuranteExportacao() throws Exception {
+		// todas as threads de streaming ocupadas, com uma exportação na fila
+		ThreadPoolTaskExecutor streaming = this.respostasAssincronas.getExecutorStreaming();
+		CountDownLatch liberar = new CountDownLatch(1);
+		for(int i = 0; i < streaming.getMaxPoolSize(); i++) {
+			streaming.execute(() -> {
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		try {
+			MvcResult afd = this.mvc.perform(MockMvcRequestBuilders.get("/api/empresas/" + this.admin.getEmpresa().getId() + "/afd")
+					.param("inicio", "2023-05-01").param("fim", "2023-05-31")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			MvcResult login = this.mvc.perform(MockMvcRequestBuilders.post("/auth")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"email\":\"usuario@email.com\",\"senha\":\"" + SENHA + "\"}"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+			login.getAsyncResult(5000);
+			this.mvc.perform(asyncDispatch(login))
+					.andExpect(status().isOk());
+
+			assertEquals(1, streaming.getThreadPoolExecutor().getQueue().size());
+
+			liberar.countDown();
+			afd.getAsyncResult(5000);
+			this.mvc.perform(asyncDispatch(afd))
+					.andExpect(status().isOk());
+		} finally {
+			liberar.countDown();
+		}
+	}
+
+	@Test
+	public void testLoginComSenhaIncorreta() throws Exception {
+		MvcResult login = this.mvc.perform(MockMvcRequestBuilders.post("/auth")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"usuario@email.com\",\"senha\":\"654321\"}"))
+				.andReturn();
+		this.mvc.perform(asyncDispatch(login))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.data").isEmpty());
+
+		MvcResult naoCadastrado = this.mvc.perform(MockMvcRequestBuilders.post("/auth")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"ninguem@email.com\",\"senha\":\"" + SENHA + "\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		this.mvc.perform(asyncDispatch(naoCadastrado))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.errors[0]").value("Email ou senha inválidos."));
+	}
+
+	@Test
+	public void testRequisicaoSemTokenOuComTokenAlterado() throws Exception {
+		String url = "/api/lancamentos/funcionario/" + this.usuario.getId();
+		this.mvc.perform(MockMvcRequestBuilders.get(url))
+				.andExpect(status().isUnauthorized());
+
+		String token = this.token(this.usuario);
+		String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+		this.mvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + alterado))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	public void testAcessoAosLancamentosDeOutroFuncionario() throws Exception {
+		String url = "/api/lancamentos/funcionario/" + this.colega.getId();
+		this.mvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.usuario)))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.errors[0]").value(ControleAcesso.ACESSO_NEGADO));
+		this.mvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+				.andExpect(status().isOk());
+		this.mvc.perform(MockMvcRequestBuilders.get(url)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.adminOutraEmpresa)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	public void testAdminAcessaFuncionarioForaDoIndice() throws Exception {
+		// cadastrado por outra instância: não passou pelos eventos deste índice
+		long funcionarioId = this.sistema.getId() + 1000;
+		this.jdbcTemplate.update("INSERT INTO funcionario (id, nome, email, senha, cpf, perfil, empresa_id, data_criacao, "
+				+ "data_atualizacao) VALUES (?, 'Beltrano', 'beltrano@email.com', 'hash', '71428793860', 'ROLE_USUARIO', ?, "
+				+ "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", funcionarioId, this.admin.getEmpresa().getId());
+
+		String url = "/api/lancamentos/funcionario/" + funcionarioId;
+		this.mvc.perform(MockMvcRequestBuilders.get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+				.andExpect(status().isOk());
+		this.mvc.perform(MockMvcRequestBuilders.get(url)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.adminOutraEmpresa)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	public void testAdminExigePerfilSistema() throws Exception {
+		this.mvc.perform(MockMvcRequestBuilders.get("/admin/cache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.usuario)))
+				.andExpect(status().isForbidden());
+		this.mvc.perform(MockMvcRequestBuilders.get("/admin/cache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+				.andExpect(status().isForbidden());
+		this.mvc.perform(MockMvcRequestBuilders.get("/admin/cache")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.sistema)))
+				.andExpect(status().isOk());
+		this.mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics"))
+				.andExpect(status().isUnauthorized());
+		this.mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	public void testAcessoAosDadosDeOutraEmpresa() throws Exception {
+		Long empresaId = this.admin.getEmpresa().getId();
+		String token = "Bearer " + this.token(this.adminOutraEmpresa);
+		MvcResult afd = this.mvc.perform(MockMvcRequestBuilders.get("/api/empresas/" + empresaId + "/afd")
+				.param("inicio", "2023-05-01").param("fim", "2023-05-31")
+				.header(HttpHeaders.AUTHORIZATION, token))
+				.andReturn();
+		this.mvc.perform(asyncDispatch(afd))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.errors[0]").value(ControleAcesso.ACESSO_NEGADO_EMPRESA));
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/empresas/cnpj/51463645000100")
+				.header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(status().isForbidden());
+		this.mvc.perform(MockMvcRequestBuilders.get("/api/empresas/cnpj/51463645000100")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin)))
+				.andExpect(status().isOk());
+		this.mvc.perform(MockMvcRequestBuilders.post("/api/folhas-pagamento")
+				.header(HttpHeaders.AUTHORIZATION, token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"empresaId\":" + empresaId + ",\"competencia\":\"2023-05\"}"))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.errors[0]").value(ControleAcesso.ACESSO_NEGADO_EMPRESA));
+		this.mvc.perform(MockMvcRequestBuilders.post("/api/folhas-pagamento")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"empresaId\":" + empresaId + ",\"competencia\":\"2024-13\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Competência inválida, use o formato AAAA-MM."));
+	}
+
+	@Test
+	public void testDownloadsSemCorteNoTimeoutPadrao() throws Exception {
+		String token = "Bearer " + this.token(this.admin);
+		String empresa = "/api/empresas/" + this.admin.getEmpresa().getId();
+		MvcResult espelhos = this.mvc.perform(MockMvcRequestBuilders.get(empresa + "/espelhos")
+				.param("competencia", "2023-05")
+				.header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertEquals(TIMEOUT_DOWNLOADS_MS, espelhos.getRequest().getAsyncContext().getTimeout());
+		this.mvc.perform(asyncDispatch(espelhos))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/zip"));
+
+		MvcResult afd = this.mvc.perform(MockMvcRequestBuilders.get(empresa + "/afd")
+				.param("inicio", "2023-05-01").param("fim", "2023-05-31")
+				.header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertEquals(TIMEOUT_DOWNLOADS_MS, afd.getRequest().getAsyncContext().getTimeout());
+		this.mvc.perform(asyncDispatch(afd))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	public void testCadastroPFExigeAdminDaEmpresa() throws Exception {
+		String cadastro = "{\"nome\":\"Ciclano\",\"email\":\"ciclano@email.com\",\"senha\":\"" + SENHA
+				+ "\",\"cpf\":\"71428793860\",\"cnpj\":\"51463645000100\"}";
+		this.mvc.perform(MockMvcRequestBuilders.post("/api/cadastrar-pf")
+				.contentType(MediaType.APPLICATION_JSON).content(cadastro))
+				.andExpect(status().isUnauthorized());
+		this.mvc.perform(MockMvcRequestBuilders.post("/api/cadastrar-pf")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.usuario))
+				.contentType(MediaType.APPLICATION_JSON).content(cadastro))
+				.andExpect(status().isForbidden());
+
+		MvcResult outraEmpresa = this.mvc.perform(MockMvcRequestBuilders.post("/api/cadastrar-pf")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.adminOutraEmpresa))
+				.contentType(MediaType.APPLICATION_JSON).content(cadastro))
+				.andReturn();
+		this.mvc.perform(asyncDispatch(outraEmpresa))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.errors[0]").value(ControleAcesso.ACESSO_NEGADO_EMPRESA));
+
+		MvcResult mesmaEmpresa = this.mvc.perform(MockMvcRequestBuilders.post("/api/cadastrar-pf")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.token(this.admin))
+				.contentType(MediaType.APPLICATION_JSON).content(cadastro))
+				.andReturn();
+		this.mvc.perform(asyncDispatch(mesmaEmpresa))
+				.andExpect(status().isOk());
+	}
+
+	private String token(Funcionario funcionario) {
+		return this.tokenService.gerarToken(new UsuarioAutenticado(funcionario.getId(),
+				funcionario.getEmpresa().getId(), funcionario.getPerfil()));
+	}
+
+	private Empresa salvarEmpresa(String cnpj) {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj(cnpj);
+		return this.empresaRepository.save(empresa);
+	}
+
+	private Funcionario salvarFuncionario(Empresa empresa, String email, String cpf, PerfilEnum perfil, String hash) {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(perfil);
+		funcionario.setSenha(hash);
+		funcionario.setCpf(cpf);
+		funcionario.setEmail(email);
+		funcionario.setEmpresa(empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+
+}
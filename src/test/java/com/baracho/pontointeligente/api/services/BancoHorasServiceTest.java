@@ -0,0 +1,219 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.entities.TotalDiario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.BancoHorasRepository;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class BancoHorasServiceTest {
+	
+	private static final long HORA = 3600000L;
+	
+	@Autowired
+	private BancoHorasService bancoHorasService;
+	
+	@Autowired
+	private LancamentoService lancamentoService;
+	
+	@Autowired
+	private EmpresaRepository empresaRepository;
+	
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+	
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+	
+	@Autowired
+	private BancoHorasRepository bancoHorasRepository;
+	
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	private Funcionario funcionario;
+	private final SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+		
+		this.funcionario = new Funcionario();
+		this.funcionario.setNome("Fulano de Tal");
+		this.funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		this.funcionario.setSenha("hash");
+		this.funcionario.setCpf("24291173474");
+		this.funcionario.setEmail("email@email.com");
+		this.funcionario.setQtdHorasTrabalhoDia(8f);
+		this.funcionario.setQtdHorasAlmoco(1f);
+		this.funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(this.funcionario);
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.empresaRepository.deleteAll();
+		this.totalDiarioRepository.deleteAll();
+		this.bancoHorasRepository.deleteAll();
+	}
+	
+	@Test
+	public void testSaldoAtualizadoAoPersistirEAlterar() throws Exception {
+		this.persistir("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		Lancamento termino = this.persistir("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		this.persistir("2023-03-02 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-03-02 16:30:00", TipoEnum.TERMINO_TRABALHO);
+		
+		assertEquals(2 * HORA + HORA / 2, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		
+		termino.setData(this.formato.parse("2023-03-01 17:00:00"));
+		this.lancamentoService.persistir(termino);
+		
+		assertEquals(HORA + HORA / 2, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		List<TotalDiario> totais = this.bancoHorasService.buscarTotais(this.funcionario.getId(),
+				LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 31));
+		assertEquals(2, totais.size());
+		assertEquals(LocalDate.of(2023, 3, 1), totais.get(0).getData());
+		assertEquals(9 * HORA, totais.get(0).getTrabalhado());
+		assertEquals(HORA, totais.get(0).getSaldo());
+	}
+	
+	@Test
+	public void testSaldoAtualizadoAoRemover() throws Exception {
+		Lancamento inicio = this.persistir("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		Lancamento termino = this.persistir("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		
+		this.lancamentoService.remover(termino.getId());
+		assertEquals(-8 * HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		
+		this.lancamentoService.remover(inicio.getId());
+		assertEquals(0, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		assertTrue(this.bancoHorasService.buscarTotais(this.funcionario.getId(), LocalDate.of(2023, 3, 1),
+				LocalDate.of(2023, 3, 1)).isEmpty());
+	}
+	
+	@Test
+	public void testMarcacaoDoDiaSemTravarBancoHoras() throws Exception {
+		this.persistir("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-03-01 12:00:00", TipoEnum.INICIO_ALMOCO);
+		this.persistir("2023-03-01 13:00:00", TipoEnum.TERMINO_ALMOCO);
+		Statistics estatisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		
+		// inserção do lançamento, totais travados, total do dia e saldo; as marcações são lidas por JDBC
+		this.persistir("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		
+		assertEquals(4, estatisticas.getPrepareStatementCount());
+		assertEquals(HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+	}
+	
+	@Test
+	public void testTurnoNoturnoContaNoDiaDoInicio() throws Exception {
+		this.persistir("2023-03-01 22:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-03-02 07:00:00", TipoEnum.TERMINO_TRABALHO);
+		
+		assertEquals(HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		List<TotalDiario> totais = this.bancoHorasService.buscarTotais(this.funcionario.getId(),
+				LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 2));
+		assertEquals(1, totais.size());
+		assertEquals(LocalDate.of(2023, 3, 1), totais.get(0).getData());
+	}
+	
+	@Test
+	public void testRecalcularHistoricoGravadoSemTotais() throws Exception {
+		this.gravarSemRecalcular("2023-02-27 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.gravarSemRecalcular("2023-02-27 17:00:00", TipoEnum.TERMINO_TRABALHO);
+		this.gravarSemRecalcular("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.gravarSemRecalcular("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		assertEquals(0, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		
+		assertEquals(1, this.bancoHorasService.recalcularHistorico());
+		assertEquals(3 * HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		assertEquals(2, this.bancoHorasService.buscarTotais(this.funcionario.getId(), LocalDate.of(2023, 2, 1),
+				LocalDate.of(2023, 3, 31)).size());
+		
+		this.bancoHorasService.recalcularHistorico(this.funcionario.getId());
+		assertEquals(3 * HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+	}
+	
+	@Test
+	public void testRecalculosConcorrentesDoPrimeiroDia() throws Exception {
+		this.gravarSemRecalcular("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		Lancamento termino = this.gravarSemRecalcular("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Void>> recalculos = new ArrayList<Callable<Void>>();
+			for(int i = 0; i < 4; i++) {
+				recalculos.add(() -> {
+					this.bancoHorasService.recalcular(this.funcionario.getId(), Collections.singletonList(termino.getData()));
+					return null;
+				});
+			}
+			for(Future<Void> recalculo : executor.invokeAll(recalculos)) {
+				recalculo.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		assertEquals(2 * HORA, this.bancoHorasService.buscarSaldo(this.funcionario.getId()));
+		assertEquals(1, this.bancoHorasService.buscarTotais(this.funcionario.getId(), LocalDate.of(2023, 3, 1),
+				LocalDate.of(2023, 3, 1)).size());
+	}
+	
+	private Lancamento gravarSemRecalcular(String data, TipoEnum tipo) throws Exception {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(this.formato.parse(data));
+		lancamento.setTipo(tipo);
+		lancamento.setFuncionario(this.funcionario);
+		return this.lancamentoRepository.save(lancamento);
+	}
+	
+	private Lancamento persistir(String data, TipoEnum tipo) throws Exception {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(this.formato.parse(data));
+		lancamento.setTipo(tipo);
+		lancamento.setFuncionario(this.funcionario);
+		return this.lancamentoService.persistir(lancamento);
+	}
+
+}
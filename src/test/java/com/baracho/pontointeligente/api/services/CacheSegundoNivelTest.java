@@ -0,0 +1,138 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.dtos.EstatisticasCacheDto;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CacheSegundoNivelTest {
+
+	private static final String CPF = "24291173474";
+	private static final String CNPJ = "51463645000100";
+
+	@Autowired
+	private FuncionarioService funcionarioService;
+
+	@Autowired
+	private EmpresaServices empresaService;
+
+	@Autowired
+	private EstatisticasCacheService estatisticasCacheService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics estatisticas;
+	private Empresa empresa;
+
+	@BeforeEach
+	public void setUp() {
+		SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj(CNPJ);
+		this.empresa = this.empresaService.persistir(empresa);
+
+		this.estatisticas = sessionFactory.getStatistics();
+		this.estatisticas.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testBuscarFuncionarioPorCpfUsaCache() {
+		Funcionario funcionario = this.funcionarioService.persistir(novoFuncionario());
+		this.funcionarioService.buscarPorCpf(CPF);
+		this.estatisticas.clear();
+
+		Funcionario encontrado = this.funcionarioService.buscarPorCpf(CPF).get();
+
+		assertEquals(0, this.estatisticas.getPrepareStatementCount());
+		assertEquals(funcionario.getId(), encontrado.getId());
+	}
+
+	@Test
+	public void testBuscarFuncionarioPorIdUsaCache() {
+		Funcionario funcionario = this.funcionarioService.persistir(novoFuncionario());
+		this.funcionarioService.buscarPorId(funcionario.getId());
+		this.estatisticas.clear();
+
+		assertTrue(this.funcionarioService.buscarPorId(funcionario.getId()).isPresent());
+		assertEquals(0, this.estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testBuscarEmpresaUsaCache() {
+		this.empresaService.buscarPorCnpj(CNPJ);
+		this.empresaService.buscarPorId(this.empresa.getId());
+		this.estatisticas.clear();
+
+		assertTrue(this.empresaService.buscarPorCnpj(CNPJ).isPresent());
+		assertTrue(this.empresaService.buscarPorId(this.empresa.getId()).isPresent());
+		assertEquals(0, this.estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testCpfInexistenteFicaEmCacheAteSerCadastrado() {
+		assertFalse(this.funcionarioService.buscarPorCpf(CPF).isPresent());
+		this.estatisticas.clear();
+
+		assertFalse(this.funcionarioService.buscarPorCpf(CPF).isPresent());
+		assertEquals(0, this.estatisticas.getPrepareStatementCount());
+
+		this.funcionarioService.persistir(novoFuncionario());
+
+		assertTrue(this.funcionarioService.buscarPorCpf(CPF).isPresent());
+	}
+
+	@Test
+	public void testEstatisticasPorRegiao() {
+		Funcionario funcionario = this.funcionarioService.persistir(novoFuncionario());
+		this.funcionarioService.buscarPorId(funcionario.getId());
+		this.funcionarioService.buscarPorId(funcionario.getId());
+
+		EstatisticasCacheDto regiao = this.estatisticasCacheService.obterEstatisticas().stream()
+				.filter(e -> e.getRegiao().equals("funcionario")).findFirst().get();
+
+		assertTrue(regiao.getAcertos() > 0);
+		assertTrue(regiao.getInsercoes() > 0);
+	}
+
+	private Funcionario novoFuncionario() {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(CPF);
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(this.empresa);
+		return funcionario;
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.utils.CursorPaginacao;
+
+/**
+ * Verifica quantas consultas cada operação de leitura executa, para que
+ * associações carregadas em cadeia não voltem sem ser percebidas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CarregamentoAssociacoesTest {
+
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private FuncionarioService funcionarioService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics estatisticas;
+	private Funcionario funcionario;
+	private Lancamento lancamento;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(new Date());
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setFuncionario(this.funcionario);
+		this.lancamento = this.lancamentoRepository.save(lancamento);
+
+		SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		this.estatisticas = sessionFactory.getStatistics();
+		this.estatisticas.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testBuscarLancamentoCarregaApenasLancamento() {
+		Lancamento lancamento = this.lancamentoService.buscarPorId(this.lancamento.getId()).get();
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertFalse(Hibernate.isInitialized(lancamento.getFuncionario()));
+		assertEquals(this.funcionario.getId(), lancamento.getFuncionario().getId());
+	}
+
+	@Test
+	public void testBuscarLancamentoComFuncionario() {
+		Lancamento lancamento = this.lancamentoService.buscarPorIdComFuncionario(this.lancamento.getId()).get();
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertTrue(Hibernate.isInitialized(lancamento.getFuncionario()));
+		assertFalse(Hibernate.isInitialized(lancamento.getFuncionario().getEmpresa()));
+	}
+
+	@Test
+	public void testListarLancamentosUmaConsulta() {
+		this.lancamentoService.buscarPorFuncionarioId(this.funcionario.getId(), null, null,
+				CursorPaginacao.inicio("data", "DESC"), 25);
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertEquals(0, this.estatisticas.getEntityLoadCount());
+	}
+
+	@Test
+	public void testBuscarFuncionarioCarregaApenasFuncionario() {
+		Funcionario funcionario = this.funcionarioService.buscarPorId(this.funcionario.getId()).get();
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertFalse(Hibernate.isInitialized(funcionario.getEmpresa()));
+	}
+
+	@Test
+	public void testBuscarFuncionarioComEmpresa() {
+		Funcionario funcionario = this.funcionarioService.buscarPorIdComEmpresa(this.funcionario.getId()).get();
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertTrue(Hibernate.isInitialized(funcionario.getEmpresa()));
+		assertEquals("51463645000100", funcionario.getEmpresa().getCnpj());
+	}
+
+	@Test
+	public void testBuscarFuncionarioPorCpfUmaConsulta() {
+		this.funcionarioService.buscarPorCpf(this.funcionario.getCpf()).get();
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+	}
+
+}
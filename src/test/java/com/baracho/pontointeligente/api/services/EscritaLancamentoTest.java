@@ -0,0 +1,172 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+
+/**
+ * Conta as instruções SQL das escritas de lançamento. O banco de horas é
+ * substituído por um mock para medir só a gravação do lançamento.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class EscritaLancamentoTest {
+
+	@MockBean
+	private BancoHorasService bancoHorasService;
+
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics estatisticas;
+	private Funcionario funcionario;
+	private Lancamento lancamento;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+		this.lancamento = this.lancamentoService.persistir(novoLancamento(this.funcionario.getId()));
+
+		this.estatisticas = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.estatisticas.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.lancamentoRepository.deleteAll();
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testInclusaoUmaInstrucao() {
+		// o otimizador da sequência consulta o próximo bloco de ids na segunda inclusão
+		this.lancamentoService.persistir(novoLancamento(this.funcionario.getId()));
+		this.estatisticas.clear();
+
+		Lancamento lancamento = this.lancamentoService.persistir(novoLancamento(this.funcionario.getId()));
+
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+		assertTrue(this.lancamentoRepository.existsById(lancamento.getId()));
+	}
+
+	@Test
+	public void testInclusaoFuncionarioInexistente() {
+		assertThrows(DataIntegrityViolationException.class,
+				() -> this.lancamentoService.persistir(novoLancamento(this.funcionario.getId() + 1000)));
+	}
+
+	@Test
+	public void testAtualizacaoSemCarregarEntidade() {
+		Lancamento lancamento = novoLancamento(this.funcionario.getId());
+		lancamento.setId(this.lancamento.getId());
+		lancamento.setTipo(TipoEnum.TERMINO_TRABALHO);
+
+		assertTrue(this.lancamentoService.atualizar(lancamento).isPresent());
+		assertEquals(2, this.estatisticas.getPrepareStatementCount());
+		assertEquals(TipoEnum.TERMINO_TRABALHO, this.lancamentoService.buscarResumoPorId(lancamento.getId()).get().getTipo());
+	}
+
+	@Test
+	public void testAtualizacaoMenosInstrucoesQueMerge() {
+		Lancamento carregado = this.lancamentoService.buscarPorId(this.lancamento.getId()).get();
+		carregado.setDescricao("merge");
+		this.lancamentoService.persistir(carregado);
+		long instrucoesMerge = this.estatisticas.getPrepareStatementCount();
+		this.estatisticas.clear();
+
+		Lancamento lancamento = novoLancamento(this.funcionario.getId());
+		lancamento.setId(this.lancamento.getId());
+		this.lancamentoService.atualizar(lancamento);
+
+		assertTrue(this.estatisticas.getPrepareStatementCount() < instrucoesMerge);
+	}
+
+	@Test
+	public void testAtualizacaoDeOutroFuncionario() {
+		Lancamento lancamento = novoLancamento(this.funcionario.getId() + 1000);
+		lancamento.setId(this.lancamento.getId());
+
+		assertFalse(this.lancamentoService.atualizar(lancamento).isPresent());
+	}
+
+	@Test
+	public void testAtualizacaoInexistente() {
+		Lancamento lancamento = novoLancamento(this.funcionario.getId());
+		lancamento.setId(this.lancamento.getId() + 1000);
+
+		assertFalse(this.lancamentoService.atualizar(lancamento).isPresent());
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	public void testRemocaoSemCarregarEntidade() {
+		assertTrue(this.lancamentoService.remover(this.lancamento.getId()));
+		assertEquals(2, this.estatisticas.getPrepareStatementCount());
+		assertFalse(this.lancamentoRepository.existsById(this.lancamento.getId()));
+	}
+
+	@Test
+	public void testRemocaoInexistente() {
+		assertFalse(this.lancamentoService.remover(this.lancamento.getId() + 1000));
+		assertEquals(1, this.estatisticas.getPrepareStatementCount());
+	}
+
+	private Lancamento novoLancamento(Long funcionarioId) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(new Date());
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setFuncionario(new Funcionario());
+		lancamento.getFuncionario().setId(funcionarioId);
+		return lancamento;
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.YearMonth;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.BancoHorasRepository;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+
+@SpringBootTest(properties = "espelho.max_em_andamento=1")
+@ActiveProfiles("test")
+public class EspelhoPontoServiceTest {
+
+	@Autowired
+	private EspelhoPontoService espelhoPontoService;
+
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+
+	@Autowired
+	private BancoHorasRepository bancoHorasRepository;
+
+	private Empresa empresa;
+	private Funcionario funcionario;
+	private final SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.empresa = new Empresa();
+		this.empresa.setRazaoSocial("Empresa de exemplo");
+		this.empresa.setCnpj("51463645000100");
+		this.empresa = this.empresaRepository.save(this.empresa);
+
+		this.funcionario = this.criarFuncionario("Ana; Souza", "24291173474", "email@email.com");
+		this.criarFuncionario("Bruno", "52778936080", "outro@email.com");
+
+		this.persistir("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-03-01 12:00:00", TipoEnum.INICIO_ALMOCO);
+		this.persistir("2023-03-01 13:00:00", TipoEnum.TERMINO_ALMOCO);
+		this.persistir("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.empresaRepository.deleteAll();
+		this.totalDiarioRepository.deleteAll();
+		this.bancoHorasRepository.deleteAll();
+	}
+
+	@Test
+	public void testGerarZip() throws Exception {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		int gerados = this.espelhoPontoService.gerarZip(this.empresa, YearMonth.of(2023, 3), saida);
+
+		assertEquals(2, gerados);
+		try(ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+			ZipEntry entrada = zip.getNextEntry();
+			assertEquals("espelho_2023-03_24291173474.csv", entrada.getName());
+			String[] linhas = new String(zip.readAllBytes(), StandardCharsets.UTF_8).split("\r\n");
+			assertEquals("Funcionario;\"Ana; Souza\";CPF;24291173474;Competencia;2023-03", linhas[0]);
+			assertEquals(2 + 31 + 1, linhas.length);
+			assertEquals("2023-03-01;08:00 E 12:00 SA 13:00 RA 18:00 S;09:00;01:00;00:00;01:00;01:00;0", linhas[2]);
+			assertTrue(linhas[3].startsWith("2023-03-02;;"));
+			assertEquals("Total;;09:00;;;01:00;01:00;", linhas[33]);
+
+			entrada = zip.getNextEntry();
+			assertEquals("espelho_2023-03_52778936080.csv", entrada.getName());
+			assertNull(zip.getNextEntry());
+		}
+	}
+
+	private Funcionario criarFuncionario(String nome, String cpf, String email) {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome(nome);
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(cpf);
+		funcionario.setEmail(email);
+		funcionario.setQtdHorasTrabalhoDia(8f);
+		funcionario.setEmpresa(this.empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+
+	private void persistir(String data, TipoEnum tipo) throws Exception {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(this.formato.parse(data));
+		lancamento.setTipo(tipo);
+		lancamento.setFuncionario(this.funcionario);
+		this.lancamentoService.persistir(lancamento);
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.afd.AfdLeitor;
+import com.baracho.pontointeligente.api.afd.MarcacaoAfd;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExportacaoAfdServiceTest {
+	
+	@TempDir
+	Path diretorio;
+	
+	@Autowired
+	private ExportacaoAfdService exportacaoAfdService;
+	
+	@Autowired
+	private EmpresaRepository empresaRepository;
+	
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+	
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	private Empresa empresa;
+	private final SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.empresa = this.criarEmpresa("51463645000100");
+		Funcionario funcionario = this.criarFuncionario(this.empresa, "24291173474", "email@email.com");
+		Funcionario outro = this.criarFuncionario(this.criarEmpresa("82198127000121"), "52778936080", "outro@email.com");
+		
+		this.criarLancamento(funcionario, "2023-03-01 08:00:00");
+		this.criarLancamento(funcionario, "2023-03-01 17:30:00");
+		this.criarLancamento(funcionario, "2023-03-02 08:05:00");
+		this.criarLancamento(funcionario, "2023-03-03 08:00:00");
+		this.criarLancamento(outro, "2023-03-01 09:00:00");
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.empresaRepository.deleteAll();
+	}
+	
+	@Test
+	public void testExportarAfd() throws Exception {
+		Path arquivo = this.diretorio.resolve("afd.txt");
+		try(OutputStream saida = Files.newOutputStream(arquivo)) {
+			long exportadas = this.exportacaoAfdService.exportar(this.empresa, LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 2), saida);
+			assertEquals(3, exportadas);
+		}
+		
+		List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.ISO_8859_1);
+		assertEquals(5, linhas.size());
+		assertTrue(linhas.get(0).startsWith("00000000011" + "51463645000100"));
+		assertTrue(linhas.get(4).startsWith("999999999" + "000000000" + "000000003"));
+		
+		try(FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			AfdLeitor leitor = new AfdLeitor(canal, 0);
+			MarcacaoAfd marcacao = new MarcacaoAfd();
+			
+			assertTrue(leitor.proxima(marcacao));
+			assertEquals(1, marcacao.getNsr());
+			assertEquals(24291173474L, marcacao.getCpf());
+			assertEquals(this.formato.parse("2023-03-01 08:00:00").getTime(), marcacao.getDataHora());
+			assertTrue(leitor.proxima(marcacao));
+			assertEquals(this.formato.parse("2023-03-01 17:30:00").getTime(), marcacao.getDataHora());
+			assertTrue(leitor.proxima(marcacao));
+			assertEquals(3, marcacao.getNsr());
+			assertEquals(this.formato.parse("2023-03-02 08:05:00").getTime(), marcacao.getDataHora());
+			assertFalse(leitor.proxima(marcacao));
+			assertEquals(2, leitor.getLinhasIgnoradas());
+		}
+	}
+	
+	private Empresa criarEmpresa(String cnpj) {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj(cnpj);
+		return this.empresaRepository.save(empresa);
+	}
+	
+	private Funcionario criarFuncionario(Empresa empresa, String cpf, String email) {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(cpf);
+		funcionario.setEmail(email);
+		funcionario.setEmpresa(empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+	
+	private void criarLancamento(Funcionario funcionario, String data) throws Exception {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(this.formato.parse(data));
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setFuncionario(funcionario);
+		this.lancamentoRepository.save(lancamento);
+	}
+	
+}
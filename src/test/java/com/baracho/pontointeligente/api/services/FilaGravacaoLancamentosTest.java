@@ -0,0 +1,112 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.dtos.FilaGravacaoDto;
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+import com.baracho.pontointeligente.api.services.impl.FilaGravacaoLancamentos;
+
+@SpringBootTest(properties = { "lancamento.write_behind.habilitado=true", "lancamento.write_behind.qtd_por_commit=20" })
+@ActiveProfiles("test")
+public class FilaGravacaoLancamentosTest {
+
+	@Autowired
+	private LancamentoService lancamentoService;
+
+	@Autowired
+	private FilaGravacaoLancamentos filaGravacao;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+
+	private Funcionario funcionario;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionario = this.funcionarioRepository.save(funcionario);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testGravarLancamentosConcorrentesEmCommitsAgrupados() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		List<Future<Lancamento>> resultados = new ArrayList<Future<Lancamento>>();
+		for(int i = 0; i < 200; i++) {
+			resultados.add(executor.submit(() -> this.lancamentoService.persistir(obterDadosLancamento(this.funcionario))));
+		}
+
+		for(Future<Lancamento> resultado : resultados) {
+			assertNotNull(resultado.get().getId());
+		}
+		executor.shutdown();
+
+		FilaGravacaoDto estatisticas = this.filaGravacao.obterEstatisticas();
+		assertEquals(200, this.lancamentoRepository.findByFuncionarioId(this.funcionario.getId()).size());
+		assertTrue(estatisticas.getLancamentosGravados() >= 200);
+		assertTrue(estatisticas.getCommits() < estatisticas.getLancamentosGravados());
+	}
+
+	@Test
+	public void testLancamentoInvalidoNaoAfetaDemaisDoGrupo() {
+		Funcionario inexistente = new Funcionario();
+		inexistente.setId(-1L);
+
+		assertThrows(RuntimeException.class, () -> this.lancamentoService.persistir(obterDadosLancamento(inexistente)));
+		assertNotNull(this.lancamentoService.persistir(obterDadosLancamento(this.funcionario)).getId());
+	}
+
+	private Lancamento obterDadosLancamento(Funcionario funcionario) {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(new Date());
+		lancamento.setTipo(TipoEnum.INICIO_TRABALHO);
+		lancamento.setFuncionario(funcionario);
+		return lancamento;
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.FolhaPagamento;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.ItemFolhaPagamento;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.StatusFolhaPagamentoEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.BancoHorasRepository;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FolhaPagamentoRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.ItemFolhaPagamentoRepository;
+import com.baracho.pontointeligente.api.repositories.TotalDiarioRepository;
+
+@SpringBootTest(properties = "folha.funcionarios_por_bloco=1")
+@ActiveProfiles("test")
+public class FolhaPagamentoServiceTest {
+	
+	@Autowired
+	private FolhaPagamentoService folhaPagamentoService;
+	
+	@Autowired
+	private LancamentoService lancamentoService;
+	
+	@Autowired
+	private EmpresaRepository empresaRepository;
+	
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+	
+	@Autowired
+	private FolhaPagamentoRepository folhaPagamentoRepository;
+	
+	@Autowired
+	private ItemFolhaPagamentoRepository itemFolhaPagamentoRepository;
+	
+	@Autowired
+	private TotalDiarioRepository totalDiarioRepository;
+	
+	@Autowired
+	private BancoHorasRepository bancoHorasRepository;
+	
+	private Empresa empresa;
+	private Funcionario comLancamentos;
+	private Funcionario semLancamentos;
+	private final SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.empresa = new Empresa();
+		this.empresa.setRazaoSocial("Empresa de exemplo");
+		this.empresa.setCnpj("51463645000100");
+		this.empresa = this.empresaRepository.save(this.empresa);
+		
+		this.comLancamentos = this.criarFuncionario("24291173474", "email@email.com", new BigDecimal("20.00"));
+		this.semLancamentos = this.criarFuncionario("52778936080", "outro@email.com", new BigDecimal("15.50"));
+		this.criarFuncionario("71354316082", "sem@email.com", null);
+		
+		this.persistir("2023-03-01 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-03-01 18:00:00", TipoEnum.TERMINO_TRABALHO);
+		this.persistir("2023-04-03 08:00:00", TipoEnum.INICIO_TRABALHO);
+		this.persistir("2023-04-03 18:00:00", TipoEnum.TERMINO_TRABALHO);
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.empresaRepository.deleteAll();
+		this.totalDiarioRepository.deleteAll();
+		this.bancoHorasRepository.deleteAll();
+		this.itemFolhaPagamentoRepository.deleteAll();
+		this.folhaPagamentoRepository.deleteAll();
+	}
+	
+	@Test
+	public void testCalcularFolha() throws Exception {
+		FolhaPagamento folha = this.folhaPagamentoService.iniciar(this.empresa, YearMonth.of(2023, 3)).get();
+		folha = this.aguardar(folha.getId());
+		
+		assertEquals(StatusFolhaPagamentoEnum.CONCLUIDA, folha.getStatus());
+		assertEquals(2, folha.getQtdFuncionarios());
+		assertEquals(2, folha.getQtdProcessados());
+		assertEquals(1, folha.getQtdSemValorHora());
+		assertEquals(new BigDecimal("220.00"), folha.getValorTotal());
+		
+		List<ItemFolhaPagamento> itens = this.itemFolhaPagamentoRepository.findByFolhaPagamentoIdOrderByFuncionarioIdAsc(folha.getId());
+		assertEquals(2, itens.size());
+		assertEquals(this.comLancamentos.getId(), itens.get(0).getFuncionarioId());
+		assertEquals(8 * 3600000L, itens.get(0).getHorasNormais());
+		assertEquals(2 * 3600000L, itens.get(0).getHorasExtras());
+		assertEquals(new BigDecimal("160.00"), itens.get(0).getValorNormal());
+		assertEquals(new BigDecimal("60.00"), itens.get(0).getValorExtras());
+		assertEquals(this.semLancamentos.getId(), itens.get(1).getFuncionarioId());
+		assertEquals(new BigDecimal("0.00"), itens.get(1).getValorTotal());
+	}
+	
+	@Test
+	public void testFolhaInterrompidaMarcadaComoFalha() throws Exception {
+		FolhaPagamento folha = new FolhaPagamento();
+		folha.setEmpresaId(this.empresa.getId());
+		folha.setCompetencia(YearMonth.of(2023, 3).atDay(1));
+		folha.setStatus(StatusFolhaPagamentoEnum.EM_ANDAMENTO);
+		folha = this.folhaPagamentoRepository.save(folha);
+		
+		assertEquals(1, this.folhaPagamentoService.marcarInterrompidas());
+		FolhaPagamento interrompida = this.folhaPagamentoRepository.findById(folha.getId()).get();
+		assertEquals(StatusFolhaPagamentoEnum.FALHA, interrompida.getStatus());
+		assertNotNull(interrompida.getMensagemErro());
+		// a competência não fica presa pela folha interrompida
+		Optional<FolhaPagamento> nova = this.folhaPagamentoService.iniciar(this.empresa, YearMonth.of(2023, 3));
+		assertTrue(nova.isPresent());
+		assertEquals(StatusFolhaPagamentoEnum.CONCLUIDA, this.aguardar(nova.get().getId()).getStatus());
+	}
+	
+	@Test
+	public void testCancelarFolhaInexistente() {
+		assertFalse(this.folhaPagamentoService.cancelar(-1L));
+	}
+	
+	private FolhaPagamento aguardar(Long id) throws InterruptedException {
+		for(int tentativa = 0; tentativa < 200; tentativa++) {
+			FolhaPagamento folha = this.folhaPagamentoService.buscarPorId(id).get();
+			if(folha.getStatus() != StatusFolhaPagamentoEnum.EM_ANDAMENTO) {
+				return folha;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Folha de pagamento não concluída");
+	}
+	
+	private Funcionario criarFuncionario(String cpf, String email, BigDecimal valorHora) {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(cpf);
+		funcionario.setEmail(email);
+		funcionario.setValorHora(valorHora);
+		funcionario.setQtdHorasTrabalhoDia(8f);
+		funcionario.setEmpresa(this.empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+	
+	private void persistir(String data, TipoEnum tipo) throws Exception {
+		Lancamento lancamento = new Lancamento();
+		lancamento.setData(this.formato.parse(data));
+		lancamento.setTipo(tipo);
+		lancamento.setFuncionario(this.comLancamentos);
+		this.lancamentoService.persistir(lancamento);
+	}
+
+}
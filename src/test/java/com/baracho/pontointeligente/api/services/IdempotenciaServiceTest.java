@@ -0,0 +1,135 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.ChaveIdempotencia;
+import com.baracho.pontointeligente.api.repositories.ChaveIdempotenciaRepository;
+
+@SpringBootTest(properties = { "idempotencia.capacidade=1", "idempotencia.reserva_ms=60000" })
+@ActiveProfiles("test")
+public class IdempotenciaServiceTest {
+	
+	@Autowired
+	private IdempotenciaService idempotenciaService;
+	
+	@Autowired
+	private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+	
+	@AfterEach
+	public void tearDown() {
+		this.chaveIdempotenciaRepository.deleteAll();
+	}
+	
+	@Test
+	public void testBuscarChaveRegistrada() {
+		this.registrar("chave-1", "{\"data\":null}");
+		Optional<ChaveIdempotencia> registro = this.idempotenciaService.buscar("chave-1");
+		
+		assertTrue(registro.isPresent());
+		assertEquals(200, registro.get().getStatus());
+		assertEquals("impressao", registro.get().getImpressao());
+	}
+	
+	@Test
+	public void testBuscarChaveForaDoCacheUsaBaseDeDados() {
+		this.registrar("chave-2", "{}");
+		this.registrar("chave-3", "{}");
+		
+		assertTrue(this.idempotenciaService.buscar("chave-2").isPresent());
+		assertFalse(this.idempotenciaService.buscar("inexistente").isPresent());
+	}
+	
+	@Test
+	public void testReservarChaveEmProcessamento() {
+		assertTrue(this.idempotenciaService.reservar("chave-4", "impressao"));
+		assertTrue(this.idempotenciaService.buscar("chave-4").get().isEmProcessamento());
+		this.idempotenciaService.liberar("chave-4");
+		assertFalse(this.idempotenciaService.buscar("chave-4").isPresent());
+		assertTrue(this.idempotenciaService.reservar("chave-4", "impressao"));
+	}
+	
+	@Test
+	public void testChaveRegistradaNaoPodeSerReservadaNovamente() {
+		this.registrar("chave-5", "{}");
+		
+		assertFalse(this.idempotenciaService.reservar("chave-5", "impressao"));
+		this.idempotenciaService.liberar("chave-5");
+		assertTrue(this.idempotenciaService.buscar("chave-5").isPresent());
+	}
+	
+	@Test
+	public void testReservaAbandonadaPodeSerRetomada() {
+		ChaveIdempotencia abandonada = new ChaveIdempotencia("chave-6", "impressao");
+		abandonada.setDataCriacao(new Date(System.currentTimeMillis() - 120000));
+		this.chaveIdempotenciaRepository.save(abandonada);
+		assertTrue(this.idempotenciaService.reservar("chave-6", "impressao"));
+		assertFalse(this.idempotenciaService.reservar("chave-6", "impressao"));
+	}
+	
+	@Test
+	public void testRespostaExpiradaAindaNaoRemovidaPodeSerReservada() {
+		ChaveIdempotencia expirada = new ChaveIdempotencia("chave-9", "impressao");
+		expirada.setStatus(200);
+		expirada.setResposta("{}");
+		expirada.setDataCriacao(new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1441)));
+		this.chaveIdempotenciaRepository.save(expirada);
+		
+		assertFalse(this.idempotenciaService.buscar("chave-9").isPresent());
+		assertTrue(this.idempotenciaService.reservar("chave-9", "outra"));
+		assertTrue(this.idempotenciaService.buscar("chave-9").get().isEmProcessamento());
+	}
+	
+	@Test
+	public void testReservasConcorrentesDaMesmaChave() throws Exception {
+		this.registrar("chave-7", "{}");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> reservas = new ArrayList<Future<Boolean>>();
+		Callable<Boolean> reservar = () -> this.idempotenciaService.reservar("chave-8", "impressao");
+		for(int i = 0; i < 8; i++) {
+			reservas.add(executor.submit(reservar));
+		}
+		
+		int reservadas = 0;
+		for(Future<Boolean> reserva : reservas) {
+			reservadas += reserva.get() ? 1 : 0;
+		}
+		executor.shutdown();
+		assertEquals(1, reservadas);
+		assertFalse(this.idempotenciaService.reservar("chave-7", "impressao"));
+	}
+	
+	@Test
+	public void testImpressaoDependeDoCorpo() {
+		String impressao = this.idempotenciaService.gerarImpressao("{\"tipo\":\"INICIO_TRABALHO\"}".getBytes(StandardCharsets.UTF_8));
+		
+		assertEquals(64, impressao.length());
+		assertEquals(impressao, this.idempotenciaService.gerarImpressao("{\"tipo\":\"INICIO_TRABALHO\"}".getBytes(StandardCharsets.UTF_8)));
+		assertNotEquals(impressao, this.idempotenciaService.gerarImpressao("{\"tipo\":\"TERMINO_TRABALHO\"}".getBytes(StandardCharsets.UTF_8)));
+	}
+	
+	private void registrar(String chave, String resposta) {
+		assertTrue(this.idempotenciaService.reservar(chave, "impressao"));
+		this.idempotenciaService.registrar(chave, "impressao", 200, resposta);
+	}
+
+}
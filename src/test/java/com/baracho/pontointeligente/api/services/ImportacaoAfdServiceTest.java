@@ -0,0 +1,216 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.entities.ImportacaoAfd;
+import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.enums.StatusImportacaoEnum;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+import com.baracho.pontointeligente.api.repositories.ImportacaoAfdRepository;
+import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
+
+@SpringBootTest(properties = "importacao.afd.linhas_por_commit=2")
+@ActiveProfiles("test")
+public class ImportacaoAfdServiceTest {
+	
+	private static final String AFD = "000000000100000000000000000000000000Cabecalho ignorado\r\n"
+			+ "0000000023" + "2023-05-02T08:00:00-0300" + "024291173474" + "ABCD\r\n"
+			+ "0000000033" + "2023-05-02T08:01:00-0300" + "099999999999" + "ABCD\r\n"
+			+ "0000000043" + "2023-05-02T12:00:00-0300" + "024291173474" + "ABCD\r\n"
+			+ "0000000053" + "2023-05-02T13:00:00-0300" + "024291173474" + "ABCD\r\n"
+			+ "999999999000000004\r\n";
+	
+	@TempDir
+	static Path diretorio;
+	
+	@DynamicPropertySource
+	static void configurarDiretorio(DynamicPropertyRegistry registry) {
+		registry.add("importacao.afd.diretorio", () -> diretorio.toString());
+	}
+	
+	@Autowired
+	private ImportacaoAfdService importacaoAfdService;
+	
+	@Autowired
+	private EmpresaRepository empresaRepository;
+	
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+	
+	@Autowired
+	private LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	private ImportacaoAfdRepository importacaoAfdRepository;
+	
+	private Long empresaId;
+	private Long funcionarioId;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj("51463645000100");
+		empresa = this.empresaRepository.save(empresa);
+		this.empresaId = empresa.getId();
+		
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(empresa);
+		this.funcionarioId = this.funcionarioRepository.save(funcionario).getId();
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.importacaoAfdRepository.deleteAll();
+		this.empresaRepository.deleteAll();
+	}
+	
+	@Test
+	public void testImportarArquivoAfd() throws Exception {
+		Files.write(diretorio.resolve("rep.afd"), AFD.getBytes(StandardCharsets.US_ASCII));
+		
+		ImportacaoAfd importacao = this.aguardar(this.importacaoAfdService.iniciar(
+				this.importacaoAfdService.localizarArquivo("rep.afd").get(), this.empresaId));
+		
+		assertEquals(StatusImportacaoEnum.CONCLUIDA, importacao.getStatus());
+		assertEquals(3, importacao.getLancamentosImportados());
+		assertEquals(6, importacao.getLinhasLidas());
+		assertEquals(3, importacao.getLinhasIgnoradas());
+		assertEquals(importacao.getTamanho(), importacao.getPosicao());
+		
+		List<Lancamento> lancamentos = this.lancamentosEmOrdem();
+		SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssXX");
+		assertEquals(formato.parse("2023-05-02 08:00:00-0300"), lancamentos.get(0).getData());
+		assertEquals(TipoEnum.INICIO_TRABALHO, lancamentos.get(0).getTipo());
+		assertEquals(TipoEnum.TERMINO_TRABALHO, lancamentos.get(1).getTipo());
+		assertEquals(TipoEnum.INICIO_TRABALHO, lancamentos.get(2).getTipo());
+		assertEquals(Long.valueOf(4), lancamentos.get(1).getNsr());
+	}
+	
+	@Test
+	public void testReimportarArquivoNaoDuplicaLancamentos() throws Exception {
+		Files.write(diretorio.resolve("rep.afd"), AFD.getBytes(StandardCharsets.US_ASCII));
+		Path arquivo = this.importacaoAfdService.localizarArquivo("rep.afd").get();
+		this.aguardar(this.importacaoAfdService.iniciar(arquivo, this.empresaId));
+		
+		ImportacaoAfd reimportacao = this.aguardar(this.importacaoAfdService.iniciar(arquivo, this.empresaId));
+		
+		assertEquals(StatusImportacaoEnum.CONCLUIDA, reimportacao.getStatus());
+		assertEquals(0, reimportacao.getLancamentosImportados());
+		assertEquals(6, reimportacao.getLinhasIgnoradas());
+		assertEquals(3, this.lancamentoRepository.findByFuncionarioId(this.funcionarioId).size());
+	}
+	
+	@Test
+	public void testImportarIgnoraFuncionariosDeOutraEmpresa() throws Exception {
+		Files.write(diretorio.resolve("rep.afd"), AFD.getBytes(StandardCharsets.US_ASCII));
+		Empresa outraEmpresa = new Empresa();
+		outraEmpresa.setRazaoSocial("Outra empresa");
+		outraEmpresa.setCnpj("82198127000121");
+		outraEmpresa = this.empresaRepository.save(outraEmpresa);
+		
+		ImportacaoAfd importacao = this.aguardar(this.importacaoAfdService.iniciar(
+				this.importacaoAfdService.localizarArquivo("rep.afd").get(), outraEmpresa.getId()));
+		
+		assertEquals(StatusImportacaoEnum.CONCLUIDA, importacao.getStatus());
+		assertEquals(0, importacao.getLancamentosImportados());
+		assertEquals(6, importacao.getLinhasIgnoradas());
+		assertEquals(0, this.lancamentoRepository.findByFuncionarioId(this.funcionarioId).size());
+	}
+	
+	@Test
+	public void testRetomarContinuaAlternanciaDoDia() throws Exception {
+		Files.write(diretorio.resolve("rep.afd"), AFD.getBytes(StandardCharsets.US_ASCII));
+		SimpleDateFormat formato = new SimpleDateFormat("yyyy-MM-dd HH:mm:ssXX");
+		Lancamento gravado = new Lancamento();
+		gravado.setData(formato.parse("2023-05-02 08:00:00-0300"));
+		gravado.setTipo(TipoEnum.INICIO_TRABALHO);
+		gravado.setNsr(2L);
+		gravado.setFuncionario(this.funcionarioRepository.findById(this.funcionarioId).get());
+		this.lancamentoRepository.save(gravado);
+		
+		ImportacaoAfd interrompida = new ImportacaoAfd();
+		interrompida.setEmpresaId(this.empresaId);
+		interrompida.setArquivo("rep.afd");
+		interrompida.setTamanho(AFD.length());
+		interrompida.setPosicao(AFD.indexOf("0000000033"));
+		interrompida.setLinhasLidas(2);
+		interrompida.setLinhasIgnoradas(1);
+		interrompida.setLancamentosImportados(1);
+		interrompida.setStatus(StatusImportacaoEnum.INTERROMPIDA);
+		interrompida = this.importacaoAfdRepository.save(interrompida);
+		
+		ImportacaoAfd retomada = this.importacaoAfdService.retomar(interrompida).get();
+		assertFalse(this.importacaoAfdService.retomar(interrompida).isPresent());
+		retomada = this.aguardar(retomada);
+		
+		assertEquals(StatusImportacaoEnum.CONCLUIDA, retomada.getStatus());
+		assertEquals(3, retomada.getLancamentosImportados());
+		List<Lancamento> lancamentos = this.lancamentosEmOrdem();
+		assertEquals(3, lancamentos.size());
+		assertEquals(TipoEnum.INICIO_TRABALHO, lancamentos.get(0).getTipo());
+		assertEquals(TipoEnum.TERMINO_TRABALHO, lancamentos.get(1).getTipo());
+		assertEquals(TipoEnum.INICIO_TRABALHO, lancamentos.get(2).getTipo());
+	}
+	
+	@Test
+	public void testRetomarImportacaoEmAndamentoRecente() throws Exception {
+		ImportacaoAfd importacao = new ImportacaoAfd();
+		importacao.setEmpresaId(this.empresaId);
+		importacao.setArquivo("rep.afd");
+		importacao.setStatus(StatusImportacaoEnum.EM_ANDAMENTO);
+		importacao = this.importacaoAfdRepository.save(importacao);
+		
+		assertFalse(this.importacaoAfdService.retomar(importacao).isPresent());
+		assertFalse(this.importacaoAfdService.emExecucao(importacao.getId()));
+	}
+	
+	@Test
+	public void testLocalizarArquivoForaDoDiretorio() {
+		assertFalse(this.importacaoAfdService.localizarArquivo("../fora.afd").isPresent());
+		assertFalse(this.importacaoAfdService.localizarArquivo("inexistente.afd").isPresent());
+		assertFalse(this.importacaoAfdService.localizarArquivo(".").isPresent());
+	}
+	
+	private ImportacaoAfd aguardar(ImportacaoAfd importacao) throws InterruptedException {
+		while(this.importacaoAfdService.emExecucao(importacao.getId())) {
+			Thread.sleep(20);
+		}
+		return this.importacaoAfdService.buscarPorId(importacao.getId()).get();
+	}
+	
+	private List<Lancamento> lancamentosEmOrdem() {
+		List<Lancamento> lancamentos = this.lancamentoRepository.findByFuncionarioId(this.funcionarioId);
+		lancamentos.sort(Comparator.comparing(Lancamento::getData));
+		return lancamentos;
+	}
+
+}
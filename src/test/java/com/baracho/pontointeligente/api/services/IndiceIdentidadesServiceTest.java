@@ -0,0 +1,127 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class IndiceIdentidadesServiceTest {
+
+	private static final String CPF = "24291173474";
+	private static final String CNPJ = "51463645000100";
+
+	@Autowired
+	private IndiceIdentidadesService indiceIdentidades;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Empresa empresa;
+
+	@BeforeEach
+	public void setUp() {
+		Empresa empresa = new Empresa();
+		empresa.setRazaoSocial("Empresa de exemplo");
+		empresa.setCnpj(CNPJ);
+		this.empresa = this.empresaRepository.save(empresa);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testRegistraAposCommit() {
+		Funcionario funcionario = this.funcionarioRepository.save(novoFuncionario());
+
+		assertTrue(this.indiceIdentidades.cnpjCadastrado(CNPJ));
+		assertTrue(this.indiceIdentidades.cpfCadastrado(CPF));
+		assertEquals(funcionario.getId().longValue(), this.indiceIdentidades.buscarFuncionarioId(24291173474L));
+		assertEquals(this.empresa.getId().longValue(), this.indiceIdentidades.buscarEmpresaId(51463645000100L));
+		assertEquals(this.empresa.getId().longValue(), this.indiceIdentidades.buscarEmpresaIdDoFuncionario(funcionario.getId()));
+	}
+
+	@Test
+	public void testRemoveAposExclusao() {
+		Funcionario funcionario = this.funcionarioRepository.save(novoFuncionario());
+		this.empresaRepository.deleteAll();
+
+		assertFalse(this.indiceIdentidades.cpfCadastrado(CPF));
+		assertFalse(this.indiceIdentidades.cnpjCadastrado(CNPJ));
+		assertEquals(IndiceIdentidadesService.NAO_ENCONTRADO, this.indiceIdentidades.buscarEmpresaIdDoFuncionario(funcionario.getId()));
+	}
+
+	@Test
+	public void testIgnoraRollback() {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.funcionarioRepository.save(novoFuncionario());
+			status.setRollbackOnly();
+		});
+
+		assertFalse(this.indiceIdentidades.cpfCadastrado(CPF));
+		assertEquals(IndiceIdentidadesService.NAO_ENCONTRADO, this.indiceIdentidades.buscarFuncionarioId(24291173474L));
+	}
+
+	@Test
+	public void testBuscaNaBaseCadastroDeOutraInstancia() {
+		// gravado sem passar pelo Hibernate, como o cadastro feito por outra instância
+		long empresaId = this.empresa.getId() + 1000;
+		long funcionarioId = this.empresa.getId() + 2000;
+		this.jdbcTemplate.update("INSERT INTO empresa (id, razao_social, cnpj, data_criacao, data_atualizacao) "
+				+ "VALUES (?, 'Outra empresa', '82198127000121', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", empresaId);
+		this.jdbcTemplate.update("INSERT INTO funcionario (id, nome, email, senha, cpf, perfil, empresa_id, data_criacao, "
+				+ "data_atualizacao) VALUES (?, 'Ciclano', 'ciclano@email.com', 'hash', '52998224725', 'ROLE_USUARIO', ?, "
+				+ "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", funcionarioId, empresaId);
+
+		assertTrue(this.indiceIdentidades.cnpjCadastrado("82198127000121"));
+		assertTrue(this.indiceIdentidades.cpfCadastrado("52998224725"));
+		assertEquals(funcionarioId, this.indiceIdentidades.buscarFuncionarioId(52998224725L));
+		assertEquals(empresaId, this.indiceIdentidades.buscarEmpresaId(82198127000121L));
+		assertEquals(empresaId, this.indiceIdentidades.buscarEmpresaIdDoFuncionario(funcionarioId));
+	}
+
+	@Test
+	public void testDocumentoNaoNumerico() {
+		this.funcionarioRepository.save(novoFuncionario());
+
+		assertFalse(this.indiceIdentidades.cpfCadastrado("242.911.734-74"));
+	}
+
+	private Funcionario novoFuncionario() {
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("Fulano de Tal");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha("hash");
+		funcionario.setCpf(CPF);
+		funcionario.setEmail("email@email.com");
+		funcionario.setEmpresa(this.empresa);
+		return funcionario;
+	}
+
+}
@@ -1,11 +1,17 @@
 package com.baracho.pontointeligente.api.services;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +26,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.baracho.pontointeligente.api.dtos.LancamentoResumo;
 import com.baracho.pontointeligente.api.entities.Lancamento;
+import com.baracho.pontointeligente.api.enums.TipoEnum;
 import com.baracho.pontointeligente.api.repositories.LancamentoRepository;
 
 @SpringBootTest
@@ -30,6 +38,9 @@ public class LancamentoServiceTest {
 	@MockBean
 	private LancamentoRepository lancamentoRepository;
 	
+	@MockBean
+	private BancoHorasService bancoHorasService;
+	
 	@Autowired
 	private LancamentoService lancamentoService;
 	
@@ -68,11 +79,40 @@ public class LancamentoServiceTest {
 		assertNotNull(lancamento);
 	}
 	
+	@Test
+	public void testPersistirLoteLancamentos() {
+		List<Lancamento> lancamentos = this.lancamentoService.persistirLote(Arrays.asList(new Lancamento(), new Lancamento()));
+		
+		assertEquals(2, lancamentos.size());
+		verify(this.lancamentoRepository, times(1)).saveAll(Mockito.anyList());
+		verify(this.bancoHorasService, times(1)).recalcular(Mockito.anyList());
+	}
+	
 	@Test
 	public void testRemoverLancamentoPorId() {
-		this.lancamentoService.remover(1L);
-		verify(this.lancamentoRepository, times(1)).deleteById(1L);
+		Date data = new Date();
+		BDDMockito.given(this.lancamentoRepository.findResumoPorId(1L)).willReturn(
+				Optional.of(new LancamentoResumo(1L, data, TipoEnum.INICIO_TRABALHO, null, null, 1L)));
+		BDDMockito.given(this.lancamentoRepository.excluir(1L, 1L, data)).willReturn(1);
+		
+		assertTrue(this.lancamentoService.remover(1L));
+		verify(this.lancamentoRepository, times(1)).excluir(1L, 1L, data);
+		verify(this.lancamentoRepository, never()).findById(1L);
+	}
+	
+	@Test
+	public void testRemoverLancamentoJaConsultado() {
+		Date data = new Date();
+		BDDMockito.given(this.lancamentoRepository.excluir(1L, 1L, data)).willReturn(1);
+		
+		assertTrue(this.lancamentoService.remover(new LancamentoResumo(1L, data, TipoEnum.INICIO_TRABALHO, null, null, 1L)));
+		verify(this.lancamentoRepository, never()).findResumoPorId(1L);
+	}
 	
+	@Test
+	public void testRemoverLancamentoInexistente() {
+		assertFalse(this.lancamentoService.remover(2L));
+		verify(this.lancamentoRepository, never()).excluir(Mockito.eq(2L), Mockito.any(), Mockito.any());
 	}
 	
 
@@ -0,0 +1,129 @@
+package com.baracho.pontointeligente.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.baracho.pontointeligente.api.entities.Empresa;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+import com.baracho.pontointeligente.api.enums.PerfilEnum;
+import com.baracho.pontointeligente.api.repositories.EmpresaRepository;
+import com.baracho.pontointeligente.api.repositories.FuncionarioRepository;
+
+@SpringBootTest(properties = { "senha.bcrypt.custo=5", "senha.paralelismo=1", "senha.capacidade_fila=1" })
+@ActiveProfiles("test")
+public class SenhaServiceTest {
+
+	private static final String SENHA = "123456";
+
+	@Autowired
+	private SenhaService senhaService;
+
+	@SpyBean
+	private FuncionarioService funcionarioService;
+
+	@Autowired
+	private FuncionarioRepository funcionarioRepository;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@AfterEach
+	public void tearDown() {
+		this.empresaRepository.deleteAll();
+	}
+
+	@Test
+	public void testGerarHashComCustoConfigurado() {
+		String hash = this.senhaService.gerarHash(SENHA).join();
+
+		assertTrue(hash.startsWith("$2a$05$"));
+		assertTrue(new BCryptPasswordEncoder().matches(SENHA, hash));
+	}
+
+	@Test
+	public void testVerificarSenhaIncorreta() {
+		Funcionario funcionario = this.salvarFuncionario(new BCryptPasswordEncoder(5).encode(SENHA));
+
+		assertFalse(this.senhaService.verificar(funcionario, "654321").join());
+	}
+
+	@Test
+	public void testVerificarAtualizaHashComOutroCusto() {
+		Funcionario funcionario = this.salvarFuncionario(new BCryptPasswordEncoder(4).encode(SENHA));
+
+		assertTrue(this.senhaService.verificar(funcionario, SENHA).join());
+
+		String hash = this.funcionarioRepository.findById(funcionario.getId()).get().getSenha();
+		assertTrue(hash.startsWith("$2a$05$"));
+		assertTrue(new BCryptPasswordEncoder().matches(SENHA, hash));
+	}
+
+	@Test
+	public void testVerificarPersisteForaDoPoolDeSenhas() {
+		Funcionario funcionario = this.salvarFuncionario(new BCryptPasswordEncoder(4).encode(SENHA));
+		AtomicReference<String> thread = new AtomicReference<String>();
+		doAnswer(invocacao -> {
+			thread.set(Thread.currentThread().getName());
+			return invocacao.callRealMethod();
+		}).when(this.funcionarioService).persistir(any(Funcionario.class));
+
+		assertTrue(this.senhaService.verificar(funcionario, SENHA).join());
+
+		assertNotNull(thread.get());
+		assertFalse(thread.get().startsWith("senha-"));
+	}
+
+	@Test
+	public void testFilaCheiaRecusaHash() {
+		List<CompletableFuture<String>> hashes = new ArrayList<CompletableFuture<String>>();
+		for(int i = 0; i < 10; i++) {
+			hashes.add(this.senhaService.gerarHash(SENHA));
+		}
+
+		int recusados = 0;
+		for(CompletableFuture<String> hash : hashes) {
+			try {
+				hash.join();
+			} catch (CompletionException e) {
+				assertTrue(e.getCause() instanceof RejectedExecutionException);
+				recusados++;
+			}
+		}
+		assertTrue(recusados > 0);
+	}
+
+	private Funcionario salvarFuncionario(String hash) {
+		Empresa empresa = new Empresa();
+		empresa.setCnpj("51463645000100");
+		empresa.setRazaoSocial("Empresa de Exemplo");
+		empresa = this.empresaRepository.save(empresa);
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setNome("João");
+		funcionario.setPerfil(PerfilEnum.ROLE_USUARIO);
+		funcionario.setSenha(hash);
+		funcionario.setCpf("24153584732");
+		funcionario.setEmail("senha@email.com");
+		funcionario.setEmpresa(empresa);
+		return this.funcionarioRepository.save(funcionario);
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.baracho.pontointeligente.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+import com.baracho.pontointeligente.api.enums.TipoEnum;
+
+public class CalculadoraJornadaTest {
+	
+	private static final ZoneId FUSO = ZoneId.of("America/Sao_Paulo");
+	private static final long HORA = 3600000L;
+	private static final long MINUTO = 60000L;
+	
+	private final CalculadoraJornada calculadora = new CalculadoraJornada(FUSO, 8 * HORA, HORA);
+	
+	@Test
+	public void testDiaComAlmocoEPausa() {
+		long[] datas = {
+				this.data("2023-03-01T08:00"), this.data("2023-03-01T10:00"), this.data("2023-03-01T10:15"),
+				this.data("2023-03-01T12:00"), this.data("2023-03-01T13:00"), this.data("2023-03-01T17:30") };
+		byte[] tipos = this.tipos(TipoEnum.INICIO_TRABALHO, TipoEnum.INICIO_PAUSA, TipoEnum.TERMINO_PAUSA,
+				TipoEnum.INICIO_ALMOCO, TipoEnum.TERMINO_ALMOCO, TipoEnum.TERMINO_TRABALHO);
+		
+		this.calculadora.calcular(datas, tipos, datas.length);
+		
+		assertEquals(1, this.calculadora.getQtdDias());
+		assertEquals(LocalDate.of(2023, 3, 1).toEpochDay(), this.calculadora.getDia(0));
+		assertEquals(8 * HORA + 15 * MINUTO, this.calculadora.getTrabalhado(0));
+		assertEquals(HORA, this.calculadora.getAlmoco(0));
+		assertEquals(15 * MINUTO, this.calculadora.getPausa(0));
+		assertEquals(15 * MINUTO, this.calculadora.getExtras(0));
+		assertEquals(15 * MINUTO, this.calculadora.getSaldo(0));
+		assertEquals(0, this.calculadora.getAlmocoSuprimido(0));
+		assertEquals(0, this.calculadora.getInconsistencias(0));
+	}
+	
+	@Test
+	public void testTurnoNoturnoContaNoDiaDoInicio() {
+		long[] datas = { this.data("2023-03-01T22:00"), this.data("2023-03-02T05:00") };
+		byte[] tipos = this.tipos(TipoEnum.INICIO_TRABALHO, TipoEnum.TERMINO_TRABALHO);
+		
+		this.calculadora.calcular(datas, tipos, datas.length);
+		
+		assertEquals(1, this.calculadora.getQtdDias());
+		assertEquals(LocalDate.of(2023, 3, 1).toEpochDay(), this.calculadora.getDia(0));
+		assertEquals(7 * HORA, this.calculadora.getTrabalhado(0));
+		assertEquals(-HORA, this.calculadora.getSaldo(0));
+		assertEquals(0, this.calculadora.getExtras(0));
+		assertEquals(HORA, this.calculadora.getAlmocoSuprimido(0));
+	}
+	
+	@Test
+	public void testMarcacoesInconsistentes() {
+		long[] datas = {
+				this.data("2023-03-01T08:00"), this.data("2023-03-01T12:00"), this.data("2023-03-01T13:00"),
+				this.data("2023-03-02T08:00") };
+		byte[] tipos = this.tipos(TipoEnum.INICIO_TRABALHO, TipoEnum.TERMINO_TRABALHO, TipoEnum.TERMINO_ALMOCO,
+				TipoEnum.INICIO_TRABALHO);
+		
+		this.calculadora.calcular(datas, tipos, datas.length);
+		
+		assertEquals(2, this.calculadora.getQtdDias());
+		assertEquals(4 * HORA, this.calculadora.getTrabalhado(0));
+		assertEquals(1, this.calculadora.getInconsistencias(0));
+		assertEquals(0, this.calculadora.getTrabalhado(1));
+		assertEquals(1, this.calculadora.getInconsistencias(1));
+	}
+	
+	@Test
+	public void testAnoCompleto() {
+		int dias = 366;
+		long[] datas = new long[dias * 4];
+		byte[] tipos = new byte[dias * 4];
+		LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 8, 0);
+		for(int d = 0; d < dias; d++) {
+			LocalDateTime dia = inicio.plusDays(d);
+			datas[d * 4] = dia.atZone(FUSO).toInstant().toEpochMilli();
+			datas[d * 4 + 1] = dia.plusHours(4).atZone(FUSO).toInstant().toEpochMilli();
+			datas[d * 4 + 2] = dia.plusHours(5).atZone(FUSO).toInstant().toEpochMilli();
+			datas[d * 4 + 3] = dia.plusHours(9).atZone(FUSO).toInstant().toEpochMilli();
+			tipos[d * 4] = (byte) TipoEnum.INICIO_TRABALHO.ordinal();
+			tipos[d * 4 + 1] = (byte) TipoEnum.INICIO_ALMOCO.ordinal();
+			tipos[d * 4 + 2] = (byte) TipoEnum.TERMINO_ALMOCO.ordinal();
+			tipos[d * 4 + 3] = (byte) TipoEnum.TERMINO_TRABALHO.ordinal();
+		}
+		
+		this.calculadora.calcular(datas, tipos, datas.length);
+		
+		assertEquals(dias, this.calculadora.getQtdDias());
+		assertEquals(LocalDate.of(2024, 12, 31).toEpochDay(), this.calculadora.getDia(dias - 1));
+		for(int i = 0; i < dias; i++) {
+			assertEquals(8 * HORA, this.calculadora.getTrabalhado(i));
+			assertEquals(0, this.calculadora.getSaldo(i));
+		}
+	}
+	
+	private long data(String dataHora) {
+		return LocalDateTime.parse(dataHora).atZone(FUSO).toInstant().toEpochMilli();
+	}
+	
+	private byte[] tipos(TipoEnum... tipos) {
+		byte[] ordinais = new byte[tipos.length];
+		for(int i = 0; i < tipos.length; i++) {
+			ordinais[i] = (byte) tipos[i].ordinal();
+		}
+		return ordinais;
+	}
+
+}
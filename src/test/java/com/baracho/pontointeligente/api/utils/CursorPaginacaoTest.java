@@ -0,0 +1,38 @@
+package com.baracho.pontointeligente.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+public class CursorPaginacaoTest {
+
+	@Test
+	public void testCodificarEDecodificar() {
+		Date data = new Date(1677668400000L);
+		String token = CursorPaginacao.inicio("data", "desc").apos(data, 42L).codificar();
+
+		CursorPaginacao cursor = CursorPaginacao.decodificar(token);
+
+		assertEquals("data", cursor.getOrdem());
+		assertEquals(Sort.Direction.DESC, cursor.getDirecao());
+		assertEquals(data, cursor.getData());
+		assertEquals(Long.valueOf(42L), cursor.getId());
+		assertEquals(Sort.by(Sort.Direction.DESC, "data").and(Sort.by(Sort.Direction.DESC, "id")), cursor.getSort());
+		assertTrue(CursorPaginacao.inicio("data", "ASC").isInicio());
+	}
+
+	@Test
+	public void testParametrosInvalidos() {
+		assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.inicio("descricao", "ASC"));
+		assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.inicio("id", "ASC"));
+		assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.inicio("data", "X"));
+		assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar("nao-e-um-cursor"));
+		assertThrows(IllegalArgumentException.class, () -> CursorPaginacao.decodificar("AQkBAAAAAAAAAAAAAAAAAAAAAA"));
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.baracho.pontointeligente.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class DataHoraCodecTest {
+
+	private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+	private static final DateTimeFormatter FORMATADOR = DateTimeFormatter.ofPattern(DataHoraCodec.FORMATO);
+
+	// de 1900 a 2100, passando pelos horários de verão de São Paulo
+	private static final long INICIO = -2208988800000L;
+	private static final long FIM = 4102444800000L;
+
+	@Test
+	public void testFormatarIgualAoSimpleDateFormat() {
+		for(ZoneId fuso : new ZoneId[] { SAO_PAULO, ZoneId.of("UTC") }) {
+			DataHoraCodec codec = new DataHoraCodec(fuso);
+			SimpleDateFormat formato = new SimpleDateFormat(DataHoraCodec.FORMATO);
+			formato.setTimeZone(TimeZone.getTimeZone(fuso));
+			SplittableRandom aleatorio = new SplittableRandom(17);
+
+			for(int i = 0; i < 200_000; i++) {
+				Date data = new Date(aleatorio.nextLong(INICIO, FIM));
+				assertEquals(formato.format(data), codec.formatar(data), () -> "Instante " + data.getTime());
+			}
+		}
+	}
+
+	@Test
+	public void testLerIgualAoJavaTime() throws ParseException {
+		DataHoraCodec codec = new DataHoraCodec(SAO_PAULO);
+		SplittableRandom aleatorio = new SplittableRandom(23);
+
+		for(int i = 0; i < 200_000; i++) {
+			LocalDateTime local = LocalDateTime.ofEpochSecond(aleatorio.nextLong(INICIO, FIM) / 1000, 0,
+					ZoneOffset.UTC);
+			String texto = local.format(FORMATADOR);
+			assertEquals(ZonedDateTime.ofLocal(local, SAO_PAULO, null).toInstant().toEpochMilli(), codec.ler(texto),
+					texto);
+		}
+	}
+
+	@Test
+	public void testTransicoesHorarioVerao() throws ParseException {
+		DataHoraCodec codec = new DataHoraCodec(SAO_PAULO);
+
+		// 2018-11-04 00:00 não existe em São Paulo e avança para 01:00
+		assertEquals("2018-11-04 01:30:00", codec.formatar(codec.lerData("2018-11-04 00:30:00")));
+		// 2019-02-16 23:30 acontece duas vezes; vale a primeira, ainda no horário de verão
+		assertEquals(ZonedDateTime.of(2019, 2, 16, 23, 30, 0, 0, SAO_PAULO).toInstant().toEpochMilli(),
+				codec.ler("2019-02-16 23:30:00"));
+	}
+
+	@Test
+	public void testTextoInvalido() {
+		DataHoraCodec codec = new DataHoraCodec(SAO_PAULO);
+
+		assertThrows(ParseException.class, () -> codec.ler(null));
+		assertThrows(ParseException.class, () -> codec.ler("2023-03-01"));
+		assertThrows(ParseException.class, () -> codec.ler("2023-03-01T08:00:00"));
+		assertThrows(ParseException.class, () -> codec.ler("2023-02-29 08:00:00"));
+		assertThrows(ParseException.class, () -> codec.ler("2023-13-01 08:00:00"));
+		assertThrows(ParseException.class, () -> codec.ler("2023-03-01 24:00:00"));
+		assertThrows(ParseException.class, () -> codec.ler("2023-03-01 08:6a:00"));
+		assertThrows(ParseException.class, () -> codec.ler("+023-03-01 08:00:00"));
+	}
+
+	@Test
+	public void testConcorrencia() throws Exception {
+		DataHoraCodec codec = new DataHoraCodec(SAO_PAULO);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Integer>> tarefas = new ArrayList<>();
+			for(int t = 0; t < threads; t++) {
+				long semente = t;
+				tarefas.add(() -> {
+					// cada thread salta entre décadas para forçar a troca da janela de offset
+					SplittableRandom aleatorio = new SplittableRandom(semente);
+					int divergencias = 0;
+					for(int i = 0; i < 50_000; i++) {
+						long instante = aleatorio.nextLong(INICIO, FIM) / 1000 * 1000;
+						String esperado = ZonedDateTime.ofInstant(Instant.ofEpochMilli(instante), SAO_PAULO)
+								.format(FORMATADOR);
+						String texto = codec.formatar(new Date(instante));
+						long lido = codec.ler(texto);
+						if(!esperado.equals(texto) || lido != ZonedDateTime.ofLocal(LocalDateTime.parse(texto, FORMATADOR),
+								SAO_PAULO, null).toInstant().toEpochMilli()) {
+							divergencias++;
+						}
+					}
+					return divergencias;
+				});
+			}
+			int divergencias = 0;
+			for(Future<Integer> resultado : executor.invokeAll(tarefas)) {
+				divergencias += resultado.get();
+			}
+			assertEquals(0, divergencias);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testModuloJackson() throws Exception {
+		DataHoraCodec codec = new DataHoraCodec(SAO_PAULO);
+		ObjectMapper mapper = new ObjectMapper().registerModule(new DataHoraModule(codec));
+		Date data = codec.lerData("2023-03-01 08:15:30");
+
+		String json = mapper.writeValueAsString(data);
+
+		assertEquals("\"2023-03-01 08:15:30\"", json);
+		assertEquals(data, mapper.readValue(json, Date.class));
+		assertEquals(data, mapper.readValue(Long.toString(data.getTime()), Date.class));
+		assertThrows(Exception.class, () -> mapper.readValue("\"01/03/2023\"", Date.class));
+	}
+
+}
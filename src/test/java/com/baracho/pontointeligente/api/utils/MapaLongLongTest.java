@@ -0,0 +1,107 @@
+package com.baracho.pontointeligente.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class MapaLongLongTest {
+
+	@Test
+	public void testColocarBuscarERemover() {
+		MapaLongLong mapa = new MapaLongLong(0);
+		mapa.colocar(24291173474L, 1L);
+		mapa.colocar(51463645000100L, 2L);
+		mapa.colocar(0L, 3L);
+		mapa.colocar(24291173474L, 4L);
+
+		assertEquals(3, mapa.tamanho());
+		assertEquals(4L, mapa.buscar(24291173474L));
+		assertEquals(3L, mapa.buscar(0L));
+		assertEquals(MapaLongLong.AUSENTE, mapa.buscar(12345678901L));
+		assertEquals(MapaLongLong.AUSENTE, mapa.buscar(-5L));
+
+		assertFalse(mapa.remover(24291173474L, 1L));
+		assertTrue(mapa.remover(24291173474L, 4L));
+		assertEquals(MapaLongLong.AUSENTE, mapa.buscar(24291173474L));
+		assertEquals(2, mapa.tamanho());
+		assertThrows(IllegalArgumentException.class, () -> mapa.colocar(-1L, 1L));
+	}
+
+	@Test
+	public void testEquivalenteAoHashMap() {
+		MapaLongLong mapa = new MapaLongLong(16);
+		Map<Long, Long> esperado = new HashMap<Long, Long>();
+		Random aleatorio = new Random(42);
+
+		for(int i = 0; i < 200_000; i++) {
+			long chave = aleatorio.nextInt(20_000);
+			if(aleatorio.nextInt(3) == 0) {
+				Long valor = esperado.get(chave);
+				assertEquals(valor != null, valor != null && mapa.remover(chave, valor));
+				esperado.remove(chave);
+			} else {
+				mapa.colocar(chave, i);
+				esperado.put(chave, (long) i);
+			}
+		}
+
+		assertEquals(esperado.size(), mapa.tamanho());
+		for(long chave = 0; chave < 20_000; chave++) {
+			Long valor = esperado.get(chave);
+			assertEquals(valor == null ? MapaLongLong.AUSENTE : valor, mapa.buscar(chave));
+		}
+	}
+
+	@Test
+	public void testMilhoesDeEntradasEmPoucosMegabytes() {
+		MapaLongLong mapa = new MapaLongLong(2_000_000);
+		for(long cpf = 1; cpf <= 2_000_000; cpf++) {
+			mapa.colocar(10_000_000_000L + cpf * 7, cpf);
+		}
+
+		assertEquals(2_000_000, mapa.tamanho());
+		assertEquals(1_000_000L, mapa.buscar(10_000_000_000L + 7_000_000L));
+		assertTrue(mapa.bytesAlocados() <= 41 * 1024 * 1024);
+	}
+
+	@Test
+	public void testLeiturasDuranteEscritas() throws Exception {
+		MapaLongLong mapa = new MapaLongLong(16);
+		for(long chave = 0; chave < 1000; chave++) {
+			mapa.colocar(chave, chave * 10);
+		}
+
+		AtomicBoolean escrevendo = new AtomicBoolean(true);
+		AtomicLong erros = new AtomicLong();
+		Thread leitor = new Thread(() -> {
+			Random aleatorio = new Random();
+			while(escrevendo.get()) {
+				long chave = aleatorio.nextInt(1000);
+				if(mapa.buscar(chave) != chave * 10) {
+					erros.incrementAndGet();
+				}
+			}
+		});
+		leitor.start();
+
+		for(long chave = 1000; chave < 200_000; chave++) {
+			mapa.colocar(chave, chave * 10);
+			mapa.remover(chave - 500, (chave - 500) * 10);
+			mapa.colocar(chave - 500, (chave - 500) * 10);
+		}
+		escrevendo.set(false);
+		leitor.join();
+
+		assertEquals(0, erros.get());
+	}
+
+}
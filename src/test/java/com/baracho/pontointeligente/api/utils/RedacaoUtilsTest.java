@@ -0,0 +1,48 @@
+package com.baracho.pontointeligente.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.baracho.pontointeligente.api.dtos.CadastroPFDto;
+import com.baracho.pontointeligente.api.entities.Funcionario;
+
+public class RedacaoUtilsTest {
+
+	@Test
+	public void testMascaras() {
+		assertEquals("*********74", RedacaoUtils.mascararCpf("24291173474"));
+		assertEquals("f***@email.com", RedacaoUtils.mascararEmail("fulano@email.com"));
+		assertEquals(RedacaoUtils.OCULTO, RedacaoUtils.mascararEmail("invalido"));
+		assertEquals(RedacaoUtils.OCULTO, RedacaoUtils.ocultarSenha("123456"));
+		assertNull(RedacaoUtils.ocultarSenha(Optional.empty()));
+		assertNull(RedacaoUtils.mascararCpf(null));
+	}
+
+	@Test
+	public void testToStringSemDadosSensiveis() {
+		CadastroPFDto cadastro = new CadastroPFDto();
+		cadastro.setCpf("24291173474");
+		cadastro.setEmail("fulano@email.com");
+		cadastro.setSenha("123456");
+		String texto = cadastro.toString();
+		assertFalse(texto.contains("123456"));
+		assertFalse(texto.contains("24291173474"));
+		assertFalse(texto.contains("fulano@"));
+
+		Funcionario funcionario = new Funcionario();
+		funcionario.setCpf("24291173474");
+		funcionario.setEmail("fulano@email.com");
+		funcionario.setSenha("$2a$10$hash");
+		texto = funcionario.toString();
+		assertFalse(texto.contains("24291173474"));
+		assertFalse(texto.contains("$2a$10$hash"));
+		assertTrue(texto.contains("f***@email.com"));
+	}
+
+}